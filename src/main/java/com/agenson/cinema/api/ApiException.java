@@ -0,0 +1,17 @@
+package com.agenson.cinema.api;
+
+import lombok.Getter;
+
+/**
+ * Failure of a request, answered with its HTTP status and message.
+ */
+public class ApiException extends RuntimeException {
+
+    @Getter
+    private final int status;
+
+    public ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
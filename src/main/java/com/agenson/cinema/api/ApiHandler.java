@@ -0,0 +1,143 @@
+package com.agenson.cinema.api;
+
+import com.agenson.cinema.order.InvalidOrderException;
+import com.agenson.cinema.security.SecurityException;
+import com.agenson.cinema.ticket.InvalidTicketException;
+import com.agenson.cinema.ticket.seat.InvalidSeatException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Base of the API endpoints: JSON bodies, conditional GETs and the mapping of service errors to HTTP statuses.
+ * <p>
+ * ETags are built from versions kept in memory by the services, prefixed with the start time of the process:
+ * a request carrying the current ETag is answered with a 304 before any query.
+ */
+public abstract class ApiHandler implements HttpHandler {
+
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private static final int MAX_BODY_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+
+    protected ApiHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Paths of the requests handled, relative to the API root (e.g. "/movies").
+     */
+    protected abstract String getPath();
+
+    protected abstract void process(HttpExchange exchange) throws IOException;
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            this.process(exchange);
+        } catch (ApiException ex) {
+            this.sendError(exchange, ex.getStatus(), ex.getMessage());
+        } catch (InvalidTicketException ex) {
+            int status = (ex.getType() == InvalidTicketException.Type.ROOM)
+                    ? HttpURLConnection.HTTP_NOT_FOUND
+                    : HttpURLConnection.HTTP_BAD_REQUEST;
+
+            this.sendError(exchange, status, ex.getMessage());
+        } catch (InvalidSeatException | InvalidOrderException | JsonProcessingException ex) {
+            this.sendError(exchange, HttpURLConnection.HTTP_BAD_REQUEST, ex.getMessage());
+        } catch (SecurityException ex) {
+            this.sendError(exchange, HttpURLConnection.HTTP_FORBIDDEN, ex.getMessage());
+        } catch (RuntimeException ex) {
+            this.sendError(exchange, HttpURLConnection.HTTP_INTERNAL_ERROR, "Error: Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    protected static String etag(String resource, long version) {
+        return "\"" + resource + "-" + EPOCH + "-" + version + "\"";
+    }
+
+    /**
+     * Answers with a 304 when the client already holds the given version.
+     *
+     * @return whether the request was answered
+     */
+    protected boolean sendNotModified(HttpExchange exchange, String etag) throws IOException {
+        List<String> values = exchange.getRequestHeaders().getOrDefault("If-None-Match", Collections.emptyList());
+
+        for (String value : values) {
+            for (String candidate : value.split(",")) {
+                if (candidate.trim().equals(etag) || candidate.trim().equals("*")) {
+                    exchange.getResponseHeaders().set("ETag", etag);
+                    exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_MODIFIED, -1);
+
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    protected void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        this.sendJson(exchange, status, body, null);
+    }
+
+    protected void sendJson(HttpExchange exchange, int status, Object body, String etag) throws IOException {
+        byte[] bytes = this.toJson(body);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+
+        if (etag != null) {
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        }
+
+        exchange.sendResponseHeaders(status, bytes.length);
+
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    protected byte[] toJson(Object body) throws IOException {
+        return this.objectMapper.writeValueAsBytes(body);
+    }
+
+    protected <T> T readJson(HttpExchange exchange, Class<T> type) throws IOException {
+        try (InputStream input = exchange.getRequestBody()) {
+            byte[] bytes = input.readNBytes(MAX_BODY_SIZE + 1);
+
+            if (bytes.length > MAX_BODY_SIZE)
+                throw new ApiException(HttpURLConnection.HTTP_ENTITY_TOO_LARGE, "Error: Request too large");
+
+            return this.objectMapper.readValue(bytes, type);
+        }
+    }
+
+    protected void requireMethod(HttpExchange exchange, String method) {
+        if (!method.equals(exchange.getRequestMethod()))
+            throw new ApiException(HttpURLConnection.HTTP_BAD_METHOD, "Error: Method not allowed");
+    }
+
+    protected ApiException notFound() {
+        return new ApiException(HttpURLConnection.HTTP_NOT_FOUND, "Error: Resource not found");
+    }
+
+    // Once the headers are sent (a stream), no other status can follow: the exchange is only closed
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        if (exchange.getResponseCode() == -1)
+            this.sendJson(exchange, status, Collections.singletonMap("error", message));
+    }
+}
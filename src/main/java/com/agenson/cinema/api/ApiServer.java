@@ -0,0 +1,61 @@
+package com.agenson.cinema.api;
+
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP/JSON API over the services, each request handled on a virtual thread of its own.
+ */
+@Component
+public class ApiServer {
+
+    public static final String ROOT = "/api";
+
+    private final List<ApiHandler> handlers;
+
+    private final String address;
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    public ApiServer(List<ApiHandler> handlers, @Value("${cinema.api.address:127.0.0.1}") String address) {
+        this.handlers = handlers;
+        this.address = address;
+    }
+
+    /**
+     * Starts listening, 0 picking any free port.
+     *
+     * @return the port the server listens to
+     */
+    public synchronized int start(int port) throws IOException {
+        if (this.server != null) throw new IllegalStateException("API server already started");
+
+        this.server = HttpServer.create(new InetSocketAddress(this.address, port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server.setExecutor(this.executor);
+        this.handlers.forEach(handler -> this.server.createContext(ROOT + handler.getPath(), handler));
+        this.server.start();
+
+        return this.server.getAddress().getPort();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (this.server == null) return;
+
+        this.server.stop(0);
+        // Interrupts the streams of seat changes, which would otherwise last until their next heartbeat
+        this.executor.shutdownNow();
+        this.server = null;
+    }
+}
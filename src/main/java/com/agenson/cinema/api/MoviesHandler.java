@@ -0,0 +1,45 @@
+package com.agenson.cinema.api;
+
+import com.agenson.cinema.movie.MovieService;
+import com.agenson.cinema.room.CatalogVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+/**
+ * GET /api/movies: the movies of the catalog.
+ */
+@Component
+public class MoviesHandler extends ApiHandler {
+
+    private final MovieService movieService;
+
+    private final CatalogVersion catalogVersion;
+
+    public MoviesHandler(ObjectMapper objectMapper, MovieService movieService, CatalogVersion catalogVersion) {
+        super(objectMapper);
+        this.movieService = movieService;
+        this.catalogVersion = catalogVersion;
+    }
+
+    @Override
+    protected String getPath() {
+        return "/movies";
+    }
+
+    @Override
+    protected void process(HttpExchange exchange) throws IOException {
+        this.requireMethod(exchange, "GET");
+
+        if (!exchange.getRequestURI().getPath().equals(ApiServer.ROOT + this.getPath())) throw this.notFound();
+
+        // The version is read before the movies, so that it is never newer than them
+        String etag = ApiHandler.etag("movies", this.catalogVersion.current());
+
+        if (!this.sendNotModified(exchange, etag))
+            this.sendJson(exchange, HttpURLConnection.HTTP_OK, this.movieService.findMovies(), etag);
+    }
+}
@@ -0,0 +1,18 @@
+package com.agenson.cinema.api;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Body of POST /api/orders: the seats to book in a room, like "A01".
+ */
+@Getter
+@Setter
+public class OrderRequest {
+
+    private UUID room;
+    private List<String> seats;
+}
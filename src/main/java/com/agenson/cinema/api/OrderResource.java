@@ -0,0 +1,24 @@
+package com.agenson.cinema.api;
+
+import com.agenson.cinema.ticket.TicketBatchDTO;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Getter
+public class OrderResource {
+
+    private final UUID uuid;
+    private final UUID room;
+    private final List<String> seats;
+
+    public OrderResource(UUID uuid, UUID room, TicketBatchDTO batch) {
+        this.uuid = uuid;
+        this.room = room;
+        this.seats = batch.getTickets().stream()
+                .map(ticket -> ticket.getSeat().toString())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,111 @@
+package com.agenson.cinema.api;
+
+import com.agenson.cinema.order.OrderBookingDTO;
+import com.agenson.cinema.order.OrderService;
+import com.agenson.cinema.security.SecurityException;
+import com.agenson.cinema.security.SecurityService;
+import com.agenson.cinema.security.session.Session;
+import com.agenson.cinema.security.session.SessionContext;
+import com.agenson.cinema.ticket.InvalidTicketException;
+import com.agenson.cinema.ticket.TicketBatchDTO;
+import com.agenson.cinema.ticket.seat.Seat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * POST /api/orders: books seats for the user of the request, identified with basic authentication.
+ * <p>
+ * The order and its seats are all booked or none of them: conflicting seats are answered with a 409 listing them.
+ * Credentials are checked before the body is read.
+ */
+@Component
+public class OrdersHandler extends ApiHandler {
+
+    private static final String BASIC = "Basic ";
+
+    private final SecurityService securityService;
+
+    private final OrderService orderService;
+
+    public OrdersHandler(ObjectMapper objectMapper,
+                         SecurityService securityService,
+                         OrderService orderService) {
+        super(objectMapper);
+        this.securityService = securityService;
+        this.orderService = orderService;
+    }
+
+    @Override
+    protected String getPath() {
+        return "/orders";
+    }
+
+    @Override
+    protected void process(HttpExchange exchange) throws IOException {
+        this.requireMethod(exchange, "POST");
+
+        if (!exchange.getRequestURI().getPath().equals(ApiServer.ROOT + this.getPath())) throw this.notFound();
+
+        // Before reading the body: unauthenticated requests cost no parsing
+        Session session = this.authenticate(exchange);
+
+        try {
+            OrderRequest request = this.readJson(exchange, OrderRequest.class);
+
+            if (request.getSeats() == null || request.getSeats().isEmpty())
+                throw new InvalidTicketException(InvalidTicketException.Type.SEAT);
+
+            List<Seat> seats = request.getSeats().stream().map(Seat::fromString).collect(Collectors.toList());
+            OrderBookingDTO booking = SessionContext.callAs(session,
+                    () -> this.orderService.bookSeats(session.getUser().getUuid(), request.getRoom(), seats));
+            TicketBatchDTO batch = booking.getBatch();
+
+            if (booking.isBooked()) {
+                OrderResource resource = new OrderResource(booking.getOrderUuid(), request.getRoom(), batch);
+
+                this.sendJson(exchange, HttpURLConnection.HTTP_CREATED, resource);
+            } else {
+                Map<String, String> conflicts = new LinkedHashMap<>();
+
+                batch.getConflicts().forEach((seat, type) -> conflicts.put(String.valueOf(seat), type.toString()));
+                this.sendJson(exchange, HttpURLConnection.HTTP_CONFLICT, conflicts);
+            }
+        } finally {
+            SessionContext.runAs(session, this.securityService::logout);
+        }
+    }
+
+    private Session authenticate(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+
+        try {
+            if (authorization != null && authorization.startsWith(BASIC)) {
+                byte[] decoded = Base64.getDecoder().decode(authorization.substring(BASIC.length()).trim());
+                String credentials = new String(decoded, StandardCharsets.UTF_8);
+                int separator = credentials.indexOf(':');
+
+                if (separator > 0)
+                    return this.securityService.openSession(
+                            credentials.substring(0, separator),
+                            credentials.substring(separator + 1)
+                    );
+            }
+        } catch (IllegalArgumentException | SecurityException ignored) {
+            // Malformed header or wrong credentials: both answered the same way
+        }
+
+        exchange.getResponseHeaders().set("WWW-Authenticate", "Basic realm=\"cinema\"");
+
+        throw new ApiException(HttpURLConnection.HTTP_UNAUTHORIZED, "Error: Username or password is incorrect");
+    }
+}
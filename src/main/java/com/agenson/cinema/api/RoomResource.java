@@ -0,0 +1,28 @@
+package com.agenson.cinema.api;
+
+import com.agenson.cinema.movie.MovieDTO;
+import com.agenson.cinema.room.RoomDTO;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Room of the catalog, without its sales which change with every order.
+ */
+@Getter
+public class RoomResource {
+
+    private final UUID uuid;
+    private final int number;
+    private final int nbRows;
+    private final int nbCols;
+    private final MovieDTO movie;
+
+    public RoomResource(RoomDTO room) {
+        this.uuid = room.getUuid();
+        this.number = room.getNumber();
+        this.nbRows = room.getNbRows();
+        this.nbCols = room.getNbCols();
+        this.movie = room.getMovie();
+    }
+}
@@ -0,0 +1,198 @@
+package com.agenson.cinema.api;
+
+import com.agenson.cinema.room.CatalogVersion;
+import com.agenson.cinema.room.RoomService;
+import com.agenson.cinema.ticket.SeatChanges;
+import com.agenson.cinema.ticket.TicketService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * GET /api/rooms: the rooms showing a movie.
+ * <p>
+ * GET /api/rooms/{uuid}/seats: the seat map of a room, answered without any query once the room is indexed.
+ * <p>
+ * GET /api/rooms/{uuid}/seats/changes?since={version}: the seat changes since a version of the seat map.
+ * <p>
+ * GET /api/rooms/{uuid}/seats/stream?since={version}: the same changes, then every later one as it happens,
+ * pushed as server-sent events. A client falling too far behind is disconnected: it reconnects from its last version,
+ * and gets a reset when those changes are no longer known.
+ */
+@Component
+public class RoomsHandler extends ApiHandler {
+
+    private static final String SEATS = "seats";
+
+    private static final long HEARTBEAT_SECONDS = 15;
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    static final int MAX_PENDING_CHANGES = 256;
+
+    private final RoomService roomService;
+
+    private final TicketService ticketService;
+
+    private final CatalogVersion catalogVersion;
+
+    public RoomsHandler(ObjectMapper objectMapper,
+                        RoomService roomService,
+                        TicketService ticketService,
+                        CatalogVersion catalogVersion) {
+        super(objectMapper);
+        this.roomService = roomService;
+        this.ticketService = ticketService;
+        this.catalogVersion = catalogVersion;
+    }
+
+    @Override
+    protected String getPath() {
+        return "/rooms";
+    }
+
+    @Override
+    protected void process(HttpExchange exchange) throws IOException {
+        this.requireMethod(exchange, "GET");
+
+        String path = exchange.getRequestURI().getPath().substring((ApiServer.ROOT + this.getPath()).length());
+        String[] parts = path.split("/");
+
+        if (path.isEmpty() || path.equals("/")) {
+            this.sendRooms(exchange);
+            return;
+        } else if (parts.length < 3 || parts.length > 4 || !parts[0].isEmpty() || !SEATS.equals(parts[2]))
+            throw this.notFound();
+
+        UUID roomUuid = this.parseUuid(parts[1]);
+
+        if (parts.length == 3) this.sendSeatMap(exchange, roomUuid);
+        else if (parts[3].equals("changes")) this.sendSeatChanges(exchange, roomUuid, this.parseSince(exchange));
+        else if (parts[3].equals("stream")) this.streamSeatChanges(exchange, roomUuid, this.parseSince(exchange));
+        else throw this.notFound();
+    }
+
+    private void sendRooms(HttpExchange exchange) throws IOException {
+        String etag = ApiHandler.etag("rooms", this.catalogVersion.current());
+
+        if (this.sendNotModified(exchange, etag)) return;
+
+        List<RoomResource> rooms = this.roomService.findShowingRooms().stream()
+                .map(RoomResource::new)
+                .collect(Collectors.toList());
+
+        this.sendJson(exchange, HttpURLConnection.HTTP_OK, rooms, etag);
+    }
+
+    private void sendSeatMap(HttpExchange exchange, UUID roomUuid) throws IOException {
+        Optional<Long> version = this.ticketService.findOccupancyVersion(roomUuid);
+
+        if (version.isPresent() && this.sendNotModified(exchange, ApiHandler.etag("seats", version.get()))) return;
+
+        SeatMapResource seatMap = this.ticketService.findVersionedOccupancy(roomUuid)
+                .map(occupancy -> new SeatMapResource(roomUuid, occupancy))
+                .orElseThrow(this::notFound);
+        String etag = ApiHandler.etag("seats", seatMap.getVersion());
+
+        if (!this.sendNotModified(exchange, etag))
+            this.sendJson(exchange, HttpURLConnection.HTTP_OK, seatMap, etag);
+    }
+
+    private void sendSeatChanges(HttpExchange exchange, UUID roomUuid, long version) throws IOException {
+        SeatChanges changes = this.ticketService.findSeatChanges(roomUuid, version);
+
+        this.sendJson(exchange, HttpURLConnection.HTTP_OK, new SeatChangesResource(changes));
+    }
+
+    // Subscribes before reading the changes since the version, so that none is missed in between
+    // The subscriber runs under the lock of the room: once the queue is full, it drops the stream rather than wait
+    private void streamSeatChanges(HttpExchange exchange, UUID roomUuid, long since) throws IOException {
+        BlockingQueue<SeatChanges> pushed = new ArrayBlockingQueue<>(MAX_PENDING_CHANGES);
+        AtomicBoolean overflowed = new AtomicBoolean(false);
+        Consumer<SeatChanges> subscriber = new Consumer<SeatChanges>() {
+            @Override
+            public void accept(SeatChanges changes) {
+                if (!pushed.offer(changes) && overflowed.compareAndSet(false, true))
+                    RoomsHandler.this.ticketService.unsubscribeSeatChanges(roomUuid, this);
+            }
+        };
+
+        if (!this.ticketService.findVersionedOccupancy(roomUuid).isPresent()) throw this.notFound();
+
+        this.ticketService.subscribeSeatChanges(roomUuid, subscriber);
+
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, 0);
+
+            OutputStream output = exchange.getResponseBody();
+            SeatChanges changes = this.ticketService.findSeatChanges(roomUuid, since);
+            long version = since;
+
+            while (!overflowed.get()) {
+                if (changes == null)
+                    output.write(HEARTBEAT);
+                else if (changes.isReset() || changes.getVersion() > version) {
+                    output.write(this.event(changes));
+                    version = changes.getVersion();
+                }
+
+                output.flush();
+                changes = pushed.poll(HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.ticketService.unsubscribeSeatChanges(roomUuid, subscriber);
+        }
+    }
+
+    private byte[] event(SeatChanges changes) throws IOException {
+        String event = "event: " + (changes.isReset() ? "reset" : "seats") + "\n"
+                + "id: " + changes.getVersion() + "\n"
+                + "data: " + new String(this.toJson(new SeatChangesResource(changes)), StandardCharsets.UTF_8) + "\n\n";
+
+        return event.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private long parseSince(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getQuery();
+
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith("since=")) {
+                    try {
+                        return Long.parseLong(parameter.substring("since=".length()));
+                    } catch (NumberFormatException ignored) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        throw new ApiException(HttpURLConnection.HTTP_BAD_REQUEST, "Error: Parameter 'since' is mandatory");
+    }
+
+    private UUID parseUuid(String uuid) {
+        try {
+            return UUID.fromString(uuid);
+        } catch (IllegalArgumentException ex) {
+            throw this.notFound();
+        }
+    }
+}
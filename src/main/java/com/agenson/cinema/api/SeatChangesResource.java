@@ -0,0 +1,38 @@
+package com.agenson.cinema.api;
+
+import com.agenson.cinema.ticket.SeatChanges;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Seat changes since a version: a reset means the seat map must be read again.
+ */
+@Getter
+public class SeatChangesResource {
+
+    private final long version;
+    private final boolean reset;
+    private final List<Change> changes;
+
+    public SeatChangesResource(SeatChanges changes) {
+        this.version = changes.getVersion();
+        this.reset = changes.isReset();
+        this.changes = changes.getChanges().stream()
+                .map(change -> new Change(change.getSeat().toString(), change.isAvailable()))
+                .collect(Collectors.toList());
+    }
+
+    @Getter
+    public static class Change {
+
+        private final String seat;
+        private final boolean available;
+
+        private Change(String seat, boolean available) {
+            this.seat = seat;
+            this.available = available;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.agenson.cinema.api;
+
+import com.agenson.cinema.ticket.VersionedOccupancy;
+import com.agenson.cinema.ticket.seat.Seat;
+import com.agenson.cinema.ticket.seat.SeatOccupancy;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seats of a room which can no longer be booked, sold or held.
+ */
+@Getter
+public class SeatMapResource {
+
+    private final UUID room;
+    private final long version;
+    private final int nbRows;
+    private final int nbCols;
+    private final List<String> unavailable = new ArrayList<>();
+
+    public SeatMapResource(UUID room, VersionedOccupancy snapshot) {
+        SeatOccupancy occupancy = snapshot.getOccupancy();
+
+        this.room = room;
+        this.version = snapshot.getVersion();
+        this.nbRows = occupancy.getNbRows();
+        this.nbCols = occupancy.getNbCols();
+
+        for (int row = 1; row <= this.nbRows; row++)
+            for (int col = 1; col <= this.nbCols; col++)
+                if (occupancy.isReserved(row, col)) this.unavailable.add(Seat.of(row, col).toString());
+    }
+}
@@ -1,14 +1,74 @@
 package com.agenson.cinema.config;
 
+import com.agenson.cinema.security.PasswordHasher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Slf4j
 @Configuration
 public class EncoderConfig {
 
+    /**
+     * Uses the configured BCrypt cost, or the one calibrated at startup to the target latency when none is set.
+     * <p>
+     * With a strength file, the calibrated cost is kept across restarts as long as a new calibration is within
+     * a step of it, so that logins do not rehash every password whenever the timing of the host varies.
+     */
     @Bean
-    public BCryptPasswordEncoder encoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder encoder(@Value("${cinema.security.hash.strength:0}") int strength,
+                                         @Value("${cinema.security.hash.target:250ms}") Duration target,
+                                         @Value("${cinema.security.hash.strength-file:}") String strengthFile) {
+        if (strength > 0) return new BCryptPasswordEncoder(strength);
+
+        int calibrated = PasswordHasher.calibrate(target);
+
+        if (strengthFile.isEmpty()) {
+            log.info("BCrypt strength calibrated to {}", calibrated);
+
+            return new BCryptPasswordEncoder(calibrated);
+        }
+
+        Path path = Paths.get(strengthFile);
+        int previous = EncoderConfig.readStrength(path);
+        int settled = PasswordHasher.settle(previous, calibrated);
+
+        log.info("BCrypt strength calibrated to {}, previously {}: using {}", calibrated, previous, settled);
+
+        if (settled != previous) EncoderConfig.writeStrength(path, settled);
+
+        return new BCryptPasswordEncoder(settled);
+    }
+
+    // 0 when the file is missing or unreadable: the calibrated cost is used as is
+    private static int readStrength(Path path) {
+        if (!Files.exists(path)) return 0;
+
+        try {
+            return Integer.parseInt(new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException ex) {
+            log.warn("Cannot read the BCrypt strength from {}", path, ex);
+
+            return 0;
+        }
+    }
+
+    private static void writeStrength(Path path, int strength) {
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+
+            Files.write(path, Integer.toString(strength).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            log.warn("Cannot write the BCrypt strength to {}", path, ex);
+        }
     }
 }
@@ -0,0 +1,42 @@
+package com.agenson.cinema.config;
+
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@Profile("persistent")
+@Configuration
+public class StorageConfig {
+
+    /**
+     * Runs the schema and data scripts only on a new database: an existing one keeps its data across restarts.
+     */
+    @Bean
+    public SqlDataSourceScriptDatabaseInitializer storageInitializer(DataSource dataSource,
+                                                                     SqlInitializationProperties properties) {
+        return new SqlDataSourceScriptDatabaseInitializer(dataSource, properties) {
+
+            @Override
+            public boolean initializeDatabase() {
+                return !StorageConfig.isInitialized(dataSource) && super.initializeDatabase();
+            }
+        };
+    }
+
+    // The ticket table is the last one created by the schema script
+    private static boolean isInitialized(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tables = connection.getMetaData().getTables(null, null, "TICKET", new String[]{"TABLE"})) {
+            return tables.next();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Cannot read the tables of the storage", ex);
+        }
+    }
+}
@@ -1,32 +1,130 @@
 package com.agenson.cinema.console;
 
+import com.agenson.cinema.api.ApiServer;
+import com.agenson.cinema.console.io.ConsoleContext;
+import com.agenson.cinema.console.io.ConsoleIO;
+import com.agenson.cinema.console.script.ScriptReport;
+import com.agenson.cinema.console.script.ScriptRunner;
+import com.agenson.cinema.console.server.ConsoleServer;
 import com.agenson.cinema.console.views.MainMenuView;
-import lombok.RequiredArgsConstructor;
+import com.agenson.cinema.snapshot.SnapshotService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-@RequiredArgsConstructor
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
 @Profile("!test")
 @Component
 public class Console implements CommandLineRunner {
 
     private final MainMenuView mainMenuView;
 
-    private static void welcome() {
-        System.out.println("########################");
-        System.out.println("Welcome to the Cinema!");
+    private final ScriptRunner scriptRunner;
+
+    private final String scriptFile;
+
+    private final int scriptSessions;
+
+    private final int scriptThreads;
+
+    private final ConsoleServer consoleServer;
+
+    private final int serverPort;
+
+    private final ApiServer apiServer;
+
+    private final int apiPort;
+
+    private final SnapshotService snapshotService;
+
+    private final String snapshotRestore;
+
+    private final String snapshotSave;
+
+    public Console(MainMenuView mainMenuView,
+                   ScriptRunner scriptRunner,
+                   @Value("${cinema.script.file:}") String scriptFile,
+                   @Value("${cinema.script.sessions:1}") int scriptSessions,
+                   @Value("${cinema.script.threads:0}") int scriptThreads,
+                   ConsoleServer consoleServer,
+                   @Value("${cinema.server.port:0}") int serverPort,
+                   ApiServer apiServer,
+                   @Value("${cinema.api.port:0}") int apiPort,
+                   SnapshotService snapshotService,
+                   @Value("${cinema.snapshot.restore:}") String snapshotRestore,
+                   @Value("${cinema.snapshot.save:}") String snapshotSave) {
+        this.mainMenuView = mainMenuView;
+        this.scriptRunner = scriptRunner;
+        this.scriptFile = scriptFile;
+        this.scriptSessions = scriptSessions;
+        this.scriptThreads = scriptThreads;
+        this.consoleServer = consoleServer;
+        this.serverPort = serverPort;
+        this.apiServer = apiServer;
+        this.apiPort = apiPort;
+        this.snapshotService = snapshotService;
+        this.snapshotRestore = snapshotRestore;
+        this.snapshotSave = snapshotSave;
     }
 
-    private static void goodbye() {
-        System.out.println("\n########################");
-        System.out.println("Thank you! See you soon!");
+    public static void welcome(ConsoleIO io) {
+        io.println("########################");
+        io.println("Welcome to the Cinema!");
+    }
+
+    public static void goodbye(ConsoleIO io) {
+        io.println("\n########################");
+        io.println("Thank you! See you soon!");
     }
 
     @Override
-    public void run(String... args) {
-        Console.welcome();
-        mainMenuView.handler();
-        Console.goodbye();
+    public void run(String... args) throws IOException, InterruptedException {
+        if (!this.snapshotRestore.isEmpty())
+            System.out.println("Snapshot restored: " + this.snapshotService.restore(Paths.get(this.snapshotRestore)));
+
+        if (this.apiPort > 0)
+            System.out.println("Cinema API listening on port " + this.apiServer.start(this.apiPort));
+
+        try {
+            if (!this.scriptFile.isEmpty())
+                this.replay();
+            else if (this.serverPort > 0)
+                this.serve();
+            else {
+                Console.welcome(ConsoleContext.current());
+                mainMenuView.handler();
+                Console.goodbye(ConsoleContext.current());
+            }
+        } finally {
+            this.apiServer.stop();
+        }
+
+        if (!this.snapshotSave.isEmpty())
+            System.out.println("Snapshot saved: " + this.snapshotService.save(Paths.get(this.snapshotSave)));
+    }
+
+    // Network mode: every client connection gets its own session, until the application is stopped
+    private void serve() throws IOException, InterruptedException {
+        int port = this.consoleServer.start(this.serverPort);
+
+        System.out.println("Cinema console listening on port " + port);
+        this.consoleServer.awaitStop();
+    }
+
+    // Headless run: the script is replayed by as many sessions as configured, then the report is printed
+    private void replay() throws IOException {
+        List<String> script = ScriptRunner.readScript(Paths.get(this.scriptFile));
+        int nbThreads = (this.scriptThreads > 0) ? this.scriptThreads : Runtime.getRuntime().availableProcessors();
+        ScriptReport report = this.scriptRunner.runSessions(
+                Collections.nCopies(Math.max(1, this.scriptSessions), script),
+                nbThreads
+        );
+
+        System.out.print(report);
     }
 }
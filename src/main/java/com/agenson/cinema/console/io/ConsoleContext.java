@@ -0,0 +1,48 @@
+package com.agenson.cinema.console.io;
+
+/**
+ * Console the views of the current thread read from and write to: the terminal unless another one is bound,
+ * so that several scripted sessions can each drive their own views from their own thread.
+ * <p>
+ * The views of a thread also share its frame buffer: a single screen is printed at a time,
+ * so a session keeps one buffer however many views it has.
+ */
+public final class ConsoleContext {
+
+    private static final ThreadLocal<ConsoleIO> CURRENT = new ThreadLocal<>();
+
+    private static final ThreadLocal<FrameBuffer> FRAME = ThreadLocal.withInitial(FrameBuffer::new);
+
+    private ConsoleContext() {
+    }
+
+    public static ConsoleIO current() {
+        ConsoleIO io = CURRENT.get();
+
+        return (io != null) ? io : StreamConsoleIO.SYSTEM;
+    }
+
+    public static FrameBuffer frame() {
+        return FRAME.get();
+    }
+
+    /**
+     * Runs the task with the given console bound to the current thread, then restores the previous one.
+     */
+    public static void runWith(ConsoleIO io, Runnable task) {
+        ConsoleIO previous = CURRENT.get();
+
+        CURRENT.set(io);
+
+        try {
+            task.run();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+                FRAME.remove();
+            }
+        }
+    }
+}
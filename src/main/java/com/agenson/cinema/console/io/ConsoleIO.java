@@ -0,0 +1,34 @@
+package com.agenson.cinema.console.io;
+
+/**
+ * Input and output of the console views.
+ */
+public interface ConsoleIO {
+
+    /**
+     * @throws java.util.NoSuchElementException when there is no more input
+     */
+    String readLine();
+
+    void print(Object text);
+
+    void println(Object line);
+
+    default void println() {
+        this.println("");
+    }
+
+    /**
+     * Writes a whole frame of output at once.
+     */
+    default void write(CharSequence frame) {
+        this.print(frame);
+    }
+
+    /**
+     * Called by a view before printing itself.
+     */
+    default void screen(String title) {
+        // IGNORED
+    }
+}
@@ -0,0 +1,76 @@
+package com.agenson.cinema.console.io;
+
+/**
+ * Collects the output of a screen and hands it to the console as one frame, in a single write.
+ * <p>
+ * The buffer grows with the frames and is kept from one frame to the next: it ends up as large as the largest screen.
+ * A frame larger than the chunk size (a long list) is streamed to the console chunk by chunk
+ * instead of growing the buffer without limit.
+ */
+public class FrameBuffer implements ConsoleIO {
+
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
+
+    private final StringBuilder buffer;
+
+    private final int chunkSize;
+
+    private ConsoleIO target = StreamConsoleIO.SYSTEM;
+
+    public FrameBuffer() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public FrameBuffer(int chunkSize) {
+        this.chunkSize = chunkSize;
+        this.buffer = new StringBuilder();
+    }
+
+    /**
+     * Starts a frame for the given console, the buffer being empty.
+     */
+    public FrameBuffer open(ConsoleIO target) {
+        this.target = target;
+        this.buffer.setLength(0);
+
+        return this;
+    }
+
+    public void flush() {
+        if (this.buffer.length() == 0) return;
+
+        this.target.write(this.buffer);
+        this.buffer.setLength(0);
+    }
+
+    @Override
+    public String readLine() {
+        this.flush();
+
+        return this.target.readLine();
+    }
+
+    @Override
+    public void print(Object text) {
+        this.buffer.append(text);
+
+        if (this.buffer.length() >= this.chunkSize) this.flush();
+    }
+
+    @Override
+    public void println(Object line) {
+        this.buffer.append(line).append('\n');
+
+        if (this.buffer.length() >= this.chunkSize) this.flush();
+    }
+
+    @Override
+    public void write(CharSequence frame) {
+        this.print(frame);
+    }
+
+    @Override
+    public void screen(String title) {
+        this.target.screen(title);
+    }
+}
@@ -0,0 +1,51 @@
+package com.agenson.cinema.console.io;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.Scanner;
+
+/**
+ * Console over an input and an output stream, by default the terminal.
+ */
+public class StreamConsoleIO implements ConsoleIO {
+
+    public static final StreamConsoleIO SYSTEM = new StreamConsoleIO(System.in, System.out);
+
+    private final Scanner scanner;
+
+    private final PrintStream out;
+
+    private final Charset charset = Charset.defaultCharset();
+
+    public StreamConsoleIO(InputStream in, PrintStream out) {
+        this.scanner = new Scanner(in);
+        this.out = out;
+    }
+
+    @Override
+    public String readLine() {
+        return this.scanner.nextLine();
+    }
+
+    @Override
+    public void print(Object text) {
+        this.out.print(text);
+    }
+
+    @Override
+    public void println(Object line) {
+        this.out.println(line);
+    }
+
+    /**
+     * Encodes the frame once and hands it to the stream in a single write, then flushes.
+     */
+    @Override
+    public void write(CharSequence frame) {
+        byte[] bytes = frame.toString().getBytes(this.charset);
+
+        this.out.write(bytes, 0, bytes.length);
+        this.out.flush();
+    }
+}
@@ -0,0 +1,93 @@
+package com.agenson.cinema.console.script;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Outcome of scripted sessions: how each session ended, and the latency of each screen over all sessions.
+ */
+@Getter
+public class ScriptReport {
+
+    private int nbCompleted = 0;
+
+    private int nbExhausted = 0;
+
+    private final List<String> failures = new ArrayList<>();
+
+    private final Map<String, List<Long>> latencies = new LinkedHashMap<>();
+
+    private long elapsedNanos = 0;
+
+    /**
+     * Completed: the session left the main menu. Exhausted: the script ended before.
+     */
+    void add(ScriptedConsole console, RuntimeException failure) {
+        if (failure == null)
+            this.nbCompleted++;
+        else if (failure instanceof NoSuchElementException)
+            this.nbExhausted++;
+        else
+            this.failures.add(failure.toString());
+
+        console.getLatencies().forEach((screen, samples) -> {
+            this.latencies.computeIfAbsent(screen, key -> new ArrayList<>()).addAll(samples);
+        });
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getNbSessions() {
+        return this.nbCompleted + this.nbExhausted + this.failures.size();
+    }
+
+    /**
+     * @return the latency in nanoseconds under which the given percentage of the screen's samples are
+     */
+    public long getPercentile(String screen, double percentage) {
+        List<Long> samples = new ArrayList<>(this.latencies.getOrDefault(screen, Collections.emptyList()));
+
+        if (samples.isEmpty()) return 0;
+
+        Collections.sort(samples);
+
+        int index = (int) Math.ceil(percentage / 100 * samples.size()) - 1;
+
+        return samples.get(Math.max(0, Math.min(samples.size() - 1, index)));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        double seconds = this.elapsedNanos / 1e9;
+
+        report.append(String.format("sessions: %d (completed: %d, exhausted: %d, failed: %d) in %.2fs%n",
+                this.getNbSessions(), this.nbCompleted, this.nbExhausted, this.failures.size(), seconds));
+        report.append(String.format("%-18s %8s %10s %10s %10s %10s%n",
+                "screen", "count", "mean (ms)", "p50 (ms)", "p95 (ms)", "max (ms)"));
+
+        this.latencies.forEach((screen, samples) -> {
+            double mean = samples.stream().mapToLong(Long::longValue).average().orElse(0);
+
+            report.append(String.format("%-18s %8d %10.3f %10.3f %10.3f %10.3f%n",
+                    screen,
+                    samples.size(),
+                    mean / 1e6,
+                    this.getPercentile(screen, 50) / 1e6,
+                    this.getPercentile(screen, 95) / 1e6,
+                    this.getPercentile(screen, 100) / 1e6));
+        });
+
+        this.failures.forEach(failure -> report.append("failure: ").append(failure).append('\n'));
+
+        return report.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package com.agenson.cinema.console.script;
+
+import com.agenson.cinema.console.io.ConsoleContext;
+import com.agenson.cinema.console.views.MainMenuView;
+import com.agenson.cinema.security.SecurityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Drives the console views without a terminal: each session replays a script of inputs from the main menu,
+ * on its own views (they are prototypes), with its own console and user session bound to its thread.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScriptRunner {
+
+    private final ObjectProvider<MainMenuView> mainMenuViews;
+
+    private final SecurityService securityService;
+
+    /**
+     * Reads a script: one input per line, lines starting with '#' are comments.
+     */
+    public static List<String> readScript(Path path) throws IOException {
+        return Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.startsWith("#"))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Runs a single session on the current thread, until it leaves the main menu or the script ends.
+     *
+     * @return the console of the session, with its output
+     */
+    public ScriptedConsole runSession(List<String> script) {
+        ScriptedConsole console = new ScriptedConsole(script);
+        RuntimeException failure = this.replay(console);
+
+        if (failure != null && !(failure instanceof NoSuchElementException)) throw failure;
+
+        return console;
+    }
+
+    public ScriptReport runSessions(List<List<String>> scripts, int nbThreads) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, nbThreads));
+        ScriptReport report = new ScriptReport();
+        long start = System.nanoTime();
+
+        try {
+            List<Future<SessionResult>> sessions = new ArrayList<>();
+
+            for (List<String> script : scripts)
+                sessions.add(executor.submit(() -> {
+                    ScriptedConsole console = new ScriptedConsole(script);
+
+                    return new SessionResult(console, this.replay(console));
+                }));
+
+            for (Future<SessionResult> session : sessions) {
+                SessionResult result = session.get();
+
+                report.add(result.console, result.failure);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        report.setElapsedNanos(System.nanoTime() - start);
+
+        return report;
+    }
+
+    // The exception which ended the session, null when it left the main menu
+    private RuntimeException replay(ScriptedConsole console) {
+        MainMenuView mainMenuView = this.mainMenuViews.getObject();
+        RuntimeException[] failure = new RuntimeException[1];
+
+        ConsoleContext.runWith(console, () -> {
+            try {
+                mainMenuView.handler();
+            } catch (RuntimeException ex) {
+                failure[0] = ex;
+            } finally {
+                this.securityService.logout();
+            }
+        });
+
+        return failure[0];
+    }
+
+    @RequiredArgsConstructor
+    private static class SessionResult {
+
+        private final ScriptedConsole console;
+
+        private final RuntimeException failure;
+    }
+}
@@ -0,0 +1,78 @@
+package com.agenson.cinema.console.script;
+
+import com.agenson.cinema.console.io.ConsoleIO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Console replaying a script of inputs, which keeps the output and times each screen.
+ * <p>
+ * The latency of a screen is the time from the previous input to the screen asking for the next one:
+ * processing of the input, service calls and printing included.
+ */
+public class ScriptedConsole implements ConsoleIO {
+
+    private final List<String> inputs;
+
+    private final StringBuilder output = new StringBuilder();
+
+    private final Map<String, List<Long>> latencies = new LinkedHashMap<>();
+
+    private int position = 0;
+
+    private String screen = "";
+
+    private long lastInput;
+
+    public ScriptedConsole(List<String> inputs) {
+        this.inputs = inputs;
+        this.lastInput = System.nanoTime();
+    }
+
+    @Override
+    public String readLine() {
+        long latency = System.nanoTime() - this.lastInput;
+
+        this.latencies.computeIfAbsent(this.screen, screen -> new ArrayList<>()).add(latency);
+
+        if (this.position >= this.inputs.size())
+            throw new NoSuchElementException("End of script");
+
+        String input = this.inputs.get(this.position++);
+
+        this.output.append(input).append('\n');
+        this.lastInput = System.nanoTime();
+
+        return input;
+    }
+
+    @Override
+    public void print(Object text) {
+        this.output.append(text);
+    }
+
+    @Override
+    public void println(Object line) {
+        this.output.append(line).append('\n');
+    }
+
+    @Override
+    public void screen(String title) {
+        this.screen = title;
+    }
+
+    public String getOutput() {
+        return this.output.toString();
+    }
+
+    /**
+     * @return the latencies in nanoseconds of each screen, in the order they were shown
+     */
+    public Map<String, List<Long>> getLatencies() {
+        return this.latencies;
+    }
+}
@@ -0,0 +1,229 @@
+package com.agenson.cinema.console.server;
+
+import com.agenson.cinema.console.io.ConsoleIO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Console of a client connection.
+ * <p>
+ * The selector thread decodes received bytes into lines and writes pending output whenever the socket accepts it.
+ * The session thread of the connection blocks on the next line, and queues its output without ever blocking.
+ * <p>
+ * Received lines are bounded: once the session is too far behind, the socket is not read anymore until it catches up,
+ * leaving the client blocked on its own writes instead of filling the heap.
+ */
+class ConsoleConnection implements ConsoleIO {
+
+    static final int MAX_LINE_LENGTH = 1024;
+
+    static final int MAX_PENDING_LINES = 256;
+
+    // Marks the end of the input, compared by reference
+    private static final String END_OF_INPUT = new String("");
+
+    private final ConsoleServer server;
+
+    private final SocketChannel channel;
+
+    private final SelectionKey key;
+
+    // One more slot than the pending lines, for the end of input
+    private final BlockingQueue<String> lines = new ArrayBlockingQueue<>(MAX_PENDING_LINES + 1);
+
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+
+    private final Queue<ByteBuffer> output = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private volatile boolean closing = false;
+
+    private volatile boolean readPaused = false;
+
+    // Received bytes left to decode while reading is paused
+    private ByteBuffer unread;
+
+    private boolean ended = false;
+
+    ConsoleConnection(ConsoleServer server, SocketChannel channel, SelectionKey key) {
+        this.server = server;
+        this.channel = channel;
+        this.key = key;
+    }
+
+    // Session thread
+
+    @Override
+    public String readLine() {
+        try {
+            String line = this.lines.take();
+
+            // Half of the pending lines read: the selector thread resumes reading on its next flush
+            if (this.readPaused && this.lines.size() <= MAX_PENDING_LINES / 2) this.requestFlush();
+
+            if (line == END_OF_INPUT) {
+                this.lines.offer(END_OF_INPUT);
+
+                throw new NoSuchElementException("Connection closed");
+            }
+
+            return line;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+
+            throw new NoSuchElementException("Session interrupted");
+        }
+    }
+
+    @Override
+    public void print(Object text) {
+        this.send(String.valueOf(text));
+    }
+
+    @Override
+    public void println(Object line) {
+        this.send(line + "\n");
+    }
+
+    @Override
+    public void write(CharSequence frame) {
+        this.send(frame.toString());
+    }
+
+    /**
+     * Closes the connection once its pending output is written.
+     */
+    void close() {
+        this.closing = true;
+        this.requestFlush();
+    }
+
+    private void send(String text) {
+        if (text.isEmpty()) return;
+
+        this.output.add(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+        this.requestFlush();
+    }
+
+    private void requestFlush() {
+        if (this.flushRequested.compareAndSet(false, true)) this.server.requestFlush(this);
+    }
+
+    // Selector thread
+
+    /**
+     * Splits the received bytes in lines ("\n" or "\r\n"), the last one being kept until its end is received.
+     * Once too many lines are pending, reading is paused and the rest of the bytes are kept aside.
+     */
+    void onRead(ByteBuffer buffer) {
+        this.decode(buffer);
+
+        if (buffer.hasRemaining()) {
+            this.unread = ByteBuffer.allocate(buffer.remaining());
+            this.unread.put(buffer).flip();
+        }
+    }
+
+    private void decode(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+
+            if (b == '\n') {
+                byte[] bytes = this.line.toByteArray();
+                int length = (bytes.length > 0 && bytes[bytes.length - 1] == '\r') ? bytes.length - 1 : bytes.length;
+
+                this.lines.offer(new String(bytes, 0, length, StandardCharsets.UTF_8));
+                this.line.reset();
+
+                if (this.lines.size() >= MAX_PENDING_LINES) {
+                    this.readPaused = true;
+
+                    if (this.key.isValid()) this.key.interestOps(this.key.interestOps() & ~SelectionKey.OP_READ);
+
+                    return;
+                }
+            } else if (this.line.size() < MAX_LINE_LENGTH)
+                this.line.write(b);
+        }
+    }
+
+    // Decodes the bytes kept aside first: reading resumes only once they are all decoded
+    private void resumeReading() {
+        this.readPaused = false;
+
+        if (this.unread != null) {
+            this.decode(this.unread);
+
+            if (!this.unread.hasRemaining()) this.unread = null;
+        }
+    }
+
+    void onEndOfInput() {
+        if (this.ended) return;
+
+        this.ended = true;
+        this.lines.offer(END_OF_INPUT);
+    }
+
+    /**
+     * Writes as much pending output as the socket accepts, and waits for it to be writable again if needed.
+     */
+    void flush() throws IOException {
+        this.flushRequested.set(false);
+
+        if (!this.key.isValid()) {
+            this.output.clear();
+            return;
+        }
+
+        if (this.readPaused && this.lines.size() <= MAX_PENDING_LINES / 2) this.resumeReading();
+
+        ByteBuffer buffer;
+
+        while ((buffer = this.output.peek()) != null) {
+            this.channel.write(buffer);
+
+            if (buffer.hasRemaining()) {
+                this.updateInterestOps(true);
+                return;
+            }
+
+            this.output.poll();
+        }
+
+        if (this.closing) this.closeChannel();
+        else this.updateInterestOps(false);
+    }
+
+    private void updateInterestOps(boolean writing) {
+        if (!this.key.isValid()) return;
+
+        int read = (this.readPaused || this.ended) ? 0 : SelectionKey.OP_READ;
+
+        this.key.interestOps(read | (writing ? SelectionKey.OP_WRITE : 0));
+    }
+
+    void closeChannel() {
+        this.onEndOfInput();
+        this.output.clear();
+        this.key.cancel();
+
+        try {
+            this.channel.close();
+        } catch (IOException ignored) {
+            // Already closed by the client
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.agenson.cinema.console.server;
+
+import com.agenson.cinema.console.Console;
+import com.agenson.cinema.console.io.ConsoleContext;
+import com.agenson.cinema.console.views.MainMenuView;
+import com.agenson.cinema.security.SecurityService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Line-oriented TCP front-end: every connection gets its own session of the console views.
+ * <p>
+ * A single selector thread accepts connections, reads input and writes output for all of them without blocking.
+ * The views of a connection run on a virtual thread of their own, which only blocks waiting for the next line:
+ * an idle connection costs a few kilobytes of stack, views and buffers, whatever the number of connections.
+ * A pool of platform threads can be configured instead, serving only as many sessions at once as it has threads.
+ */
+@Slf4j
+@Component
+public class ConsoleServer {
+
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
+    private final ObjectProvider<MainMenuView> mainMenuViews;
+
+    private final SecurityService securityService;
+
+    private final String address;
+
+    private final int maxSessions;
+
+    private final int sessionThreads;
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+    private final Queue<ConsoleConnection> flushRequests = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger nbSessions = new AtomicInteger();
+
+    private volatile CountDownLatch stopped = new CountDownLatch(1);
+
+    private Selector selector;
+
+    private ServerSocketChannel serverChannel;
+
+    private ExecutorService sessions;
+
+    private volatile boolean running = false;
+
+    public ConsoleServer(ObjectProvider<MainMenuView> mainMenuViews,
+                         SecurityService securityService,
+                         @Value("${cinema.server.address:127.0.0.1}") String address,
+                         @Value("${cinema.server.max-sessions:10000}") int maxSessions,
+                         @Value("${cinema.server.session-threads:0}") int sessionThreads) {
+        this.mainMenuViews = mainMenuViews;
+        this.securityService = securityService;
+        this.address = address;
+        this.maxSessions = maxSessions;
+        this.sessionThreads = sessionThreads;
+    }
+
+    /**
+     * Starts listening, 0 picking any free port.
+     *
+     * @return the port the server listens to
+     */
+    public synchronized int start(int port) throws IOException {
+        if (this.running) throw new IllegalStateException("Console server already started");
+
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(new InetSocketAddress(this.address, port));
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        this.sessions = this.newSessionExecutor();
+        this.stopped = new CountDownLatch(1);
+        this.running = true;
+
+        Thread thread = new Thread(this::loop, "console-server");
+        thread.start();
+
+        return this.serverChannel.socket().getLocalPort();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!this.running) return;
+
+        this.running = false;
+        this.selector.wakeup();
+
+        try {
+            this.stopped.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void awaitStop() throws InterruptedException {
+        this.stopped.await();
+    }
+
+    public int getNbSessions() {
+        return this.nbSessions.get();
+    }
+
+    void requestFlush(ConsoleConnection connection) {
+        if (!this.running) return;
+
+        this.flushRequests.add(connection);
+        this.selector.wakeup();
+    }
+
+    private void loop() {
+        try {
+            while (this.running) {
+                this.selector.select();
+                this.processFlushRequests();
+
+                Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    if (!key.isValid()) continue;
+
+                    if (key.isAcceptable()) this.accept();
+                    else this.process(key);
+                }
+            }
+        } catch (IOException ex) {
+            this.running = false;
+        } finally {
+            this.flushRequests.clear();
+            this.closeAll();
+            this.sessions.shutdown();
+            this.stopped.countDown();
+        }
+    }
+
+    private void processFlushRequests() {
+        ConsoleConnection connection;
+
+        while ((connection = this.flushRequests.poll()) != null) {
+            try {
+                connection.flush();
+            } catch (IOException ex) {
+                connection.closeChannel();
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = this.serverChannel.accept();
+
+        if (channel == null) return;
+
+        channel.configureBlocking(false);
+
+        SelectionKey key = channel.register(this.selector, SelectionKey.OP_READ);
+        ConsoleConnection connection = new ConsoleConnection(this, channel, key);
+
+        key.attach(connection);
+
+        if (this.nbSessions.incrementAndGet() > this.maxSessions) {
+            this.nbSessions.decrementAndGet();
+            connection.println("Server busy: please retry later.");
+            connection.close();
+
+            return;
+        }
+
+        this.sessions.execute(() -> this.runSession(connection));
+    }
+
+    private void process(SelectionKey key) {
+        ConsoleConnection connection = (ConsoleConnection) key.attachment();
+
+        try {
+            if (key.isReadable()) {
+                SocketChannel channel = (SocketChannel) key.channel();
+
+                this.readBuffer.clear();
+
+                if (channel.read(this.readBuffer) < 0) {
+                    connection.onEndOfInput();
+                    key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+                } else {
+                    this.readBuffer.flip();
+                    connection.onRead(this.readBuffer);
+                }
+            }
+
+            if (key.isValid() && key.isWritable())
+                connection.flush();
+        } catch (IOException ex) {
+            connection.closeChannel();
+        }
+    }
+
+    private void runSession(ConsoleConnection connection) {
+        try {
+            MainMenuView mainMenuView = this.mainMenuViews.getObject();
+
+            ConsoleContext.runWith(connection, () -> {
+                Console.welcome(connection);
+                mainMenuView.handler();
+                Console.goodbye(connection);
+            });
+        } catch (NoSuchElementException ignored) {
+            // Connection closed by the client: the session ends
+        } catch (RuntimeException ex) {
+            log.error("Console session failed, closing its connection", ex);
+        } finally {
+            this.securityService.logout();
+            this.nbSessions.decrementAndGet();
+            connection.close();
+        }
+    }
+
+    // One virtual thread per session by default, or a fixed pool of platform threads when configured
+    private ExecutorService newSessionExecutor() {
+        if (this.sessionThreads > 0) {
+            ThreadFactory factory = Thread.ofPlatform().name("console-session-", 1).daemon().factory();
+
+            return Executors.newFixedThreadPool(this.sessionThreads, factory);
+        }
+
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("console-session-", 1).factory());
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : this.selector.keys()) {
+            if (key.attachment() instanceof ConsoleConnection)
+                ((ConsoleConnection) key.attachment()).closeChannel();
+        }
+
+        try {
+            this.serverChannel.close();
+            this.selector.close();
+        } catch (IOException ignored) {
+            // Nothing left to release
+        }
+    }
+}
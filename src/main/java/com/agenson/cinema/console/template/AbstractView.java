@@ -1,25 +1,33 @@
 package com.agenson.cinema.console.template;
 
+import com.agenson.cinema.console.io.ConsoleContext;
+import com.agenson.cinema.console.io.ConsoleIO;
+import com.agenson.cinema.console.io.FrameBuffer;
 import lombok.Setter;
 
-import java.util.Scanner;
-
 public abstract class AbstractView {
 
-    private static final Scanner SCANNER = new Scanner(System.in);
-
     @Setter
     private boolean stayInView = true;
 
     @Setter
     private boolean processInput = true;
 
+    private FrameBuffer frame;
+
     protected abstract String getTitle();
 
+    /**
+     * @return the frame of the screen while it is printed, the console of the thread otherwise
+     */
+    protected ConsoleIO io() {
+        return (this.frame != null) ? this.frame : ConsoleContext.current();
+    }
+
     protected String getInput(String field) {
-        System.out.print(field + " = ");
+        this.io().print(field + " = ");
 
-        return SCANNER.nextLine();
+        return this.io().readLine();
     }
 
     protected String getInput() {
@@ -27,7 +35,7 @@ public abstract class AbstractView {
     }
 
     protected boolean ask(String question) {
-        System.out.println(question + " (y/yes or n/no)");
+        this.io().println(question + " (y/yes or n/no)");
 
         String input = this.getInput().toLowerCase();
 
@@ -35,23 +43,34 @@ public abstract class AbstractView {
     }
 
     protected void informError() {
-        System.out.println("Error: Input incorrect");
+        this.io().println("Error: Input incorrect");
     }
 
     protected void informCancel() {
-        System.out.println("Enter 'C' to cancel.\n");
+        this.io().println("Enter 'C' to cancel.\n");
     }
 
     private void printHeader() {
-        System.out.println("\n------------------------");
-        System.out.println("# " + this.getTitle() + "\n");
+        this.io().screen(this.getTitle());
+        this.io().println("\n------------------------");
+        this.io().println("# " + this.getTitle() + "\n");
     }
 
     protected abstract void printContent();
 
+    // The whole screen is rendered in the frame of the session, then written with one write and one flush
     private void print() {
-        this.printHeader();
-        this.printContent();
+        FrameBuffer frame = ConsoleContext.frame().open(ConsoleContext.current());
+
+        this.frame = frame;
+
+        try {
+            this.printHeader();
+            this.printContent();
+        } finally {
+            this.frame = null;
+            frame.flush();
+        }
     }
 
     protected abstract void logic();
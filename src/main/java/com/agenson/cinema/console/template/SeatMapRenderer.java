@@ -0,0 +1,66 @@
+package com.agenson.cinema.console.template;
+
+import com.agenson.cinema.ticket.seat.Seat;
+import com.agenson.cinema.ticket.seat.SeatOccupancy;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Renders the seat map of a room ("R" reserved, "A" available) in a single buffer, ready to be written at once.
+ * Column headers are built once per room width, cells are read straight from the occupancy bitmap.
+ */
+@Component
+public class SeatMapRenderer {
+
+    private static final int ROW_PREFIX_LENGTH = 3;
+
+    private static final int CELL_LENGTH = 3;
+
+    private final String[] headers = new String[Seat.MAX_COL + 1];
+
+    public SeatMapRenderer() {
+        for (int nbCols = 0; nbCols <= Seat.MAX_COL; nbCols++)
+            this.headers[nbCols] = SeatMapRenderer.buildHeader(nbCols);
+    }
+
+    public String render(SeatOccupancy occupancy) {
+        int nbRows = occupancy.getNbRows();
+        int nbCols = occupancy.getNbCols();
+        String header = this.headers[nbCols];
+        char[] buffer = new char[header.length() + nbRows * (ROW_PREFIX_LENGTH + nbCols * CELL_LENGTH + 1)];
+        int position = header.length();
+
+        header.getChars(0, position, buffer, 0);
+
+        for (int row = 1; row <= nbRows; row++) {
+            long reserved = occupancy.getRowBits(row);
+
+            buffer[position++] = (char) ('A' + row - 1);
+            buffer[position++] = ' ';
+            buffer[position++] = '|';
+
+            for (int col = 0; col < nbCols; col++, reserved >>>= 1) {
+                buffer[position++] = ' ';
+                buffer[position++] = ' ';
+                buffer[position++] = ((reserved & 1L) != 0) ? 'R' : 'A';
+            }
+
+            buffer[position++] = '\n';
+        }
+
+        return new String(buffer);
+    }
+
+    private static String buildHeader(int nbCols) {
+        StringBuilder header = new StringBuilder("\n   ");
+        char[] separator = new char[Math.max(0, CELL_LENGTH * nbCols - 1)];
+
+        for (int col = 1; col <= nbCols; col++)
+            header.append(' ').append(col / 10).append(col % 10);
+
+        Arrays.fill(separator, '-');
+
+        return header.append("\n    ").append(separator).append('\n').toString();
+    }
+}
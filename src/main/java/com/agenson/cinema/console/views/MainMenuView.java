@@ -8,9 +8,12 @@ import com.agenson.cinema.console.views.management.StaffMenuView;
 import com.agenson.cinema.security.SecurityService;
 import com.agenson.cinema.security.SecurityRole;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class MainMenuView extends AbstractStatelessView {
 
@@ -31,22 +34,22 @@ public class MainMenuView extends AbstractStatelessView {
 
     @Override
     protected void printContent() {
-        this.securityService.getCurrentUser().ifPresent(user -> System.out.println("Logged in as: " + user + "\n"));
+        this.securityService.getCurrentUser().ifPresent(user -> this.io().println("Logged in as: " + user + "\n"));
 
-        System.out.println("Please select an action:");
+        this.io().println("Please select an action:");
 
         if (this.securityService.hasRole(SecurityRole.STAFF))
-            System.out.println("[0] - Go to staff section");
+            this.io().println("[0] - Go to staff section");
 
-        System.out.println("[1] - See movie catalog");
+        this.io().println("[1] - See movie catalog");
 
         if (this.securityService.isLoggedIn()) {
-            System.out.println("[2] - See Profile");
-            System.out.println("[3] - Log out");
-            System.out.println("[4] - Leave\n");
+            this.io().println("[2] - See Profile");
+            this.io().println("[3] - Log out");
+            this.io().println("[4] - Leave\n");
         } else {
-            System.out.println("[2] - Identify");
-            System.out.println("[3] - Leave\n");
+            this.io().println("[2] - Identify");
+            this.io().println("[3] - Leave\n");
         }
     }
 
@@ -1,23 +1,23 @@
 package com.agenson.cinema.console.views.customer;
 
 import com.agenson.cinema.console.template.AbstractStatelessView;
-import com.agenson.cinema.order.OrderDTO;
-import com.agenson.cinema.room.RoomDTO;
+import com.agenson.cinema.order.OrderSummaryDTO;
 import com.agenson.cinema.security.SecurityRole;
 import com.agenson.cinema.security.SecurityService;
-import com.agenson.cinema.ticket.TicketDetailsDTO;
 import com.agenson.cinema.ticket.seat.Seat;
 import com.agenson.cinema.user.UserCompleteDTO;
 import com.agenson.cinema.user.UserDetailsDTO;
 import com.agenson.cinema.user.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class ProfileView extends AbstractStatelessView {
 
@@ -38,31 +38,24 @@ public class ProfileView extends AbstractStatelessView {
             Optional<UserCompleteDTO> user = this.userService.findUser(userDetails.get().getUuid());
 
             if (user.isPresent()) {
-                System.out.println("Username: " + user.get().getUsername());
-                System.out.println("Role: " + (SecurityRole.STAFF.equals(user.get().getRole()) ? "STAFF" : "CUSTOMER"));
+                this.io().println("Username: " + user.get().getUsername());
+                this.io().println("Role: " + (SecurityRole.STAFF.equals(user.get().getRole()) ? "STAFF" : "CUSTOMER"));
 
                 if (user.get().getOrders().size() != 0) {
-                    System.out.println("Orders:");
+                    this.io().println("Orders:");
 
-                    for (OrderDTO order : user.get().getOrders()) {
-                        if (order.getTickets().size() != 0) {
-                            RoomDTO room = order.getTickets().get(0).getRoom();
-                            List<Seat> seats = order.getTickets().stream().map(TicketDetailsDTO::getSeat)
-                                    .collect(Collectors.toList());
-
-                            System.out.println("\n> Room: " + room.getNumber());
-                            System.out.println("  Movie: " + room.getMovie());
-                            System.out.println("  Seats: " + seats.stream().map(Seat::toString)
-                                    .collect(Collectors.joining(", ")));
-                            System.out.println("  Price ($): " + seats.stream().map(room::getPrice)
-                                    .reduce(0, Integer::sum));
-                        }
+                    for (OrderSummaryDTO order : user.get().getOrders()) {
+                        this.io().println("\n> Room: " + (order.getSeats().isEmpty() ? "none" : order.getRoomNumber()));
+                        this.io().println("  Movie: " + order.getMovieTitle());
+                        this.io().println("  Seats: " + order.getSeats().stream().map(Seat::toString)
+                                .collect(Collectors.joining(", ")));
+                        this.io().println("  Price ($): " + order.getPrice());
                     }
                 } else
-                    System.out.println("Orders: none");
+                    this.io().println("Orders: none");
             }
         }
-        System.out.println("\nEnter anything to continue.");
+        this.io().println("\nEnter anything to continue.");
     }
 
     @Override
@@ -1,18 +1,24 @@
 package com.agenson.cinema.console.views.customer.catalog;
 
 import com.agenson.cinema.console.template.AbstractStateView;
-import com.agenson.cinema.order.OrderDTO;
+import com.agenson.cinema.order.InvalidOrderException;
 import com.agenson.cinema.order.OrderService;
+import com.agenson.cinema.security.SecurityException;
 import com.agenson.cinema.ticket.InvalidTicketException;
+import com.agenson.cinema.ticket.TicketBatchDTO;
 import com.agenson.cinema.ticket.TicketService;
 import com.agenson.cinema.ticket.seat.Seat;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.stream.Collectors;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class ConfirmOrderView extends AbstractStateView<OrderState> {
 
@@ -34,12 +40,12 @@ public class ConfirmOrderView extends AbstractStateView<OrderState> {
 
     @Override
     protected void printContent() {
-        System.out.println("Room: " + this.state.getRoom().getNumber());
-        System.out.println("Movie: " + this.state.getRoom().getMovie());
-        System.out.println("Seats: " + this.state.getSeats().stream()
+        this.io().println("Room: " + this.state.getRoom().getNumber());
+        this.io().println("Movie: " + this.state.getRoom().getMovie());
+        this.io().println("Seats: " + this.state.getSeats().stream()
                 .map(Seat::toString).collect(Collectors.joining(", ")));
 
-        System.out.println("Price ($): " + this.state.getSeats().stream()
+        this.io().println("Price ($): " + this.state.getSeats().stream()
                 .map(seat -> this.state.getRoom().getPrice(seat)).reduce(0, Integer::sum) + "\n");
     }
 
@@ -49,23 +55,52 @@ public class ConfirmOrderView extends AbstractStateView<OrderState> {
         this.setProcessInput(false);
 
         if (this.ask("Confirm?")) {
-            OrderDTO order = this.orderService.createOrder(this.state.getUser().getUuid());
             ArrayList<String> ticketsStatus = new ArrayList<>();
+            TicketBatchDTO batch = null;
+            String error = null;
+
+            try {
+                batch = this.orderService.bookHolds(
+                        this.state.getUser().getUuid(),
+                        this.state.getRoom().getUuid(),
+                        this.state.getHolds()
+                ).getBatch();
+            } catch (InvalidTicketException | InvalidOrderException | SecurityException ex) {
+                error = ex.getMessage();
+            } catch (DataAccessException ex) {
+                error = "Error: Order could not be booked, please retry";
+            }
+
+            // The booking failed before consuming the holds: those still live are released at once
+            if (batch == null)
+                this.ticketService.releaseHolds(this.state.getHolds());
 
             for (Seat seat : this.state.getSeats()) {
                 String status = "Seat " + seat + " -> ";
 
-                try {
-                    this.ticketService.createTicket(this.state.getRoom().getUuid(), order.getUuid(), seat);
-                    status += "Ordered";
-                } catch (InvalidTicketException ex) {
-                    status += ex.getMessage();
-                }
+                if (batch == null)
+                    status += error;
+                else if (batch.getConflicts().containsKey(seat))
+                    status += ConfirmOrderView.describe(batch.getConflicts().get(seat));
+                else
+                    status += batch.isBooked() ? "Ordered" : "Cancelled";
 
                 ticketsStatus.add(status);
             }
 
             this.orderReviewView.handler(new ReviewState(this.state.getRoom(), ticketsStatus));
+        } else
+            this.ticketService.releaseHolds(this.state.getHolds());
+    }
+
+    // A held seat conflicts when its hold expired or was lost, and the seat was taken meanwhile
+    private static String describe(InvalidTicketException.Type conflict) {
+        switch (conflict) {
+            case EXISTS:
+                return "Error: Seat no longer held, taken meanwhile";
+            default:
+                // Same message as the exception of the conflict, shown by the other views
+                return conflict.toString();
         }
     }
 }
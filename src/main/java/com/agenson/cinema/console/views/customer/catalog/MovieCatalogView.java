@@ -5,9 +5,12 @@ import com.agenson.cinema.console.template.RatioFormatter;
 import com.agenson.cinema.room.RoomDTO;
 import com.agenson.cinema.room.RoomService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class MovieCatalogView extends AbstractListView<RoomDTO> {
 
@@ -19,9 +22,7 @@ public class MovieCatalogView extends AbstractListView<RoomDTO> {
 
     @Override
     protected void refreshList() {
-        this.list = this.roomService.findRooms();
-
-        this.list.removeIf(room -> room.getMovie() == null);
+        this.list = this.roomService.findShowingRooms();
     }
 
     @Override
@@ -31,21 +32,21 @@ public class MovieCatalogView extends AbstractListView<RoomDTO> {
 
     @Override
     protected void printContent() {
-        System.out.println("Please select an action or movie:");
-        System.out.println("[0] - Go back");
+        this.io().println("Please select an action or movie:");
+        this.io().println("[0] - Go back");
 
         for (int i = 0; i < this.list.size(); i++) {
             RoomDTO room = this.list.get(i);
 
-            System.out.println("\n[" + (i + OFFSET) + "] - Room: " + room.getNumber());
-            System.out.println("    > Movie: " + room.getMovie().getTitle());
-            System.out.println("    > Reserved: " + RatioFormatter.format(
-                    room.getTickets().size(),
+            this.io().println("\n[" + (i + OFFSET) + "] - Room: " + room.getNumber());
+            this.io().println("    > Movie: " + room.getMovie().getTitle());
+            this.io().println("    > Reserved: " + RatioFormatter.format(
+                    room.getSoldCount(),
                     room.getCapacity()
             ));
         }
 
-        System.out.println();
+        this.io().println();
     }
 
     public void logic() {
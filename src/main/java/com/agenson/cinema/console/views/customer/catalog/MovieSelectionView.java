@@ -2,30 +2,47 @@ package com.agenson.cinema.console.views.customer.catalog;
 
 import com.agenson.cinema.console.template.AbstractStateView;
 import com.agenson.cinema.console.template.RatioFormatter;
+import com.agenson.cinema.console.template.SeatMapRenderer;
 import com.agenson.cinema.console.views.identification.IdentificationView;
 import com.agenson.cinema.room.RoomDTO;
 import com.agenson.cinema.security.SecurityService;
 import com.agenson.cinema.ticket.InvalidTicketException;
-import com.agenson.cinema.ticket.TicketSeatDTO;
+import com.agenson.cinema.ticket.SeatChange;
+import com.agenson.cinema.ticket.SeatChanges;
+import com.agenson.cinema.ticket.TicketService;
+import com.agenson.cinema.ticket.VersionedOccupancy;
+import com.agenson.cinema.ticket.hold.SeatHold;
 import com.agenson.cinema.ticket.seat.InvalidSeatException;
 import com.agenson.cinema.ticket.seat.Seat;
+import com.agenson.cinema.ticket.seat.SeatOccupancy;
 import com.agenson.cinema.user.UserDetailsDTO;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class MovieSelectionView extends AbstractStateView<RoomDTO> {
 
     private final SecurityService securityService;
 
+    private final TicketService ticketService;
+
+    private final SeatMapRenderer seatMapRenderer;
+
     private final IdentificationView identificationView;
 
     private final ConfirmOrderView confirmOrderView;
 
+    private SeatOccupancy occupancy;
+
+    private long version;
+
     @Override
     protected void refreshState() {
         // IGNORED
@@ -38,64 +55,41 @@ public class MovieSelectionView extends AbstractStateView<RoomDTO> {
 
     @Override
     protected void printContent() {
-        System.out.println("Room: " + this.state.getNumber());
-        System.out.println("Movie: " + this.state.getMovie());
-        System.out.println("Reserved: " + RatioFormatter.format(
-                this.state.getTickets().size(),
+        this.loadOccupancy();
+
+        this.io().println("Room: " + this.state.getNumber());
+        this.io().println("Movie: " + this.state.getMovie());
+        this.io().println("Reserved: " + RatioFormatter.format(
+                this.occupancy.getCount(),
                 this.state.getCapacity()
         ));
-        System.out.print("\n   ");
-
-        for (int j = 1; j <= this.state.getNbCols(); j++)
-            System.out.printf(" %02d", j);
-
-        System.out.println("\n    " + String.join("", Collections.nCopies((3 * this.state.getNbCols() - 1), "-")));
-
-        for (int i = 1; i <= this.state.getNbRows(); i++) {
-            System.out.print(Seat.letterFromNumber(i) + " |");
-
-            for (int j = 1; j <= this.state.getNbCols(); j++) {
-                int row = i;
-                int column = j;
-
-                boolean isReserved = this.state.getTickets().stream()
-                        .map(TicketSeatDTO::getSeat)
-                        .filter(seat -> seat.getRow() == row && seat.getCol() == column)
-                        .count() == 1;
-
-                System.out.print("  " + (isReserved ? "R" : "A"));
-            }
+        this.io().print(this.seatMapRenderer.render(this.occupancy));
 
-            System.out.println();
-        }
-
-        System.out.println("\nPlease select an action or seat:");
-        System.out.println("[0] - Go back");
-        System.out.println("[*] - Select a seat (e.g. A02)");
-        System.out.println("[C] - Confirm order\n");
+        this.io().println("\nPlease select an action or seat:");
+        this.io().println("[0] - Go back");
+        this.io().println("[*] - Select a seat (e.g. A02)");
+        this.io().println("[G] - Select best seats for a group");
+        this.io().println("[C] - Confirm order\n");
     }
 
     @Override
     protected void logic() {
-        ArrayList<Seat> orderSeats = new ArrayList<>();
+        ArrayList<SeatHold> orderHolds = new ArrayList<>();
         boolean loop = true;
 
         this.setStayInView(false);
         this.setProcessInput(false);
 
         while (loop) {
-            List<Seat> reservedSeats = this.state.getTickets().stream()
-                    .map(TicketSeatDTO::getSeat)
-                    .collect(Collectors.toList());
-
-            reservedSeats.addAll(orderSeats);
-
             String input = this.getInput();
 
+            this.applySeatChanges(orderHolds);
+
             if ("0".equals(input)) {
+                this.ticketService.releaseHolds(orderHolds);
                 return;
             } else if ("c".equals(input.toLowerCase())) {
-                if (orderSeats.size() != 0) {
+                if (orderHolds.size() != 0) {
                     Optional<UserDetailsDTO> currentUser = this.securityService.getCurrentUser();
 
                     if (!currentUser.isPresent())
@@ -104,25 +98,98 @@ public class MovieSelectionView extends AbstractStateView<RoomDTO> {
                     currentUser = this.securityService.getCurrentUser();
                     loop = false;
 
-                    currentUser.ifPresent(user -> {
-                        this.confirmOrderView.handler(new OrderState(user, this.state, orderSeats));
-                    });
+                    if (currentUser.isPresent())
+                        this.confirmOrderView.handler(new OrderState(currentUser.get(), this.state, orderHolds));
+                    else
+                        this.ticketService.releaseHolds(orderHolds);
                 } else
-                    System.out.println("Error: No seat has been selected");
+                    this.io().println("Error: No seat has been selected");
+            } else if ("g".equals(input.toLowerCase())) {
+                this.selectGroup(orderHolds);
             } else {
                 try {
                     Seat seat = Seat.fromString(input.toUpperCase());
 
-                    if (seat.getCol() > this.state.getNbCols() || seat.getRow() > this.state.getNbRows())
+                    if (!this.occupancy.fits(seat))
                         throw new InvalidTicketException(InvalidTicketException.Type.CAPACITY);
-                    if (reservedSeats.stream().anyMatch(elt -> elt.equals(seat)))
+                    if (this.occupancy.isReserved(seat))
                         throw new InvalidTicketException(InvalidTicketException.Type.EXISTS);
-                    else
-                        orderSeats.add(seat);
+
+                    orderHolds.add(this.ticketService.holdSeat(this.state.getUuid(), seat));
+                    this.occupancy.reserve(seat);
                 } catch (InvalidTicketException | InvalidSeatException ex) {
-                    System.out.println(ex.getMessage());
+                    this.io().println(ex.getMessage());
                 }
             }
         }
     }
+
+    private void loadOccupancy() {
+        Optional<VersionedOccupancy> snapshot = this.ticketService.findVersionedOccupancy(this.state.getUuid());
+
+        this.occupancy = snapshot.map(VersionedOccupancy::getOccupancy)
+                .orElseGet(() -> new SeatOccupancy(this.state.getNbRows(), this.state.getNbCols()));
+        this.version = snapshot.map(VersionedOccupancy::getVersion).orElse(0L);
+    }
+
+    // Seats taken or freed by other sessions since the seat map was printed: it is updated, and printed again
+    private void applySeatChanges(List<SeatHold> orderHolds) {
+        SeatChanges changes = this.ticketService.findSeatChanges(this.state.getUuid(), this.version);
+        List<String> taken = new ArrayList<>();
+        List<String> freed = new ArrayList<>();
+
+        if (changes.isReset()) {
+            SeatOccupancy previous = this.occupancy;
+
+            this.loadOccupancy();
+
+            for (int row = 1; row <= this.occupancy.getNbRows(); row++) {
+                for (int col = 1; col <= this.occupancy.getNbCols(); col++) {
+                    if (this.occupancy.isReserved(row, col) != previous.isReserved(row, col))
+                        (this.occupancy.isReserved(row, col) ? taken : freed).add(Seat.of(row, col).toString());
+                }
+            }
+        } else {
+            for (SeatChange change : changes.getChanges()) {
+                if (change.isAvailable() && this.occupancy.release(change.getSeat()))
+                    freed.add(change.getSeat().toString());
+                else if (!change.isAvailable() && this.occupancy.reserve(change.getSeat()))
+                    taken.add(change.getSeat().toString());
+            }
+
+            this.version = changes.getVersion();
+        }
+
+        orderHolds.forEach(hold -> taken.remove(hold.getSeat().toString()));
+
+        if (taken.isEmpty() && freed.isEmpty()) return;
+
+        if (!taken.isEmpty()) this.io().println("Taken meanwhile: " + String.join(", ", taken));
+        if (!freed.isEmpty()) this.io().println("Freed meanwhile: " + String.join(", ", freed));
+
+        this.io().print(this.seatMapRenderer.render(this.occupancy));
+    }
+
+    private void selectGroup(List<SeatHold> orderHolds) {
+        int nbSeats;
+
+        try {
+            nbSeats = Integer.parseInt(this.getInput("Number of seats"));
+        } catch (NumberFormatException ignored) {
+            this.informError();
+            return;
+        }
+
+        List<SeatHold> holds = this.ticketService.holdBestBlock(this.state.getUuid(), nbSeats);
+
+        if (holds.isEmpty()) {
+            this.io().println("Error: No " + nbSeats + " adjacent seats available");
+        } else {
+            holds.forEach(hold -> this.occupancy.reserve(hold.getSeat()));
+            orderHolds.addAll(holds);
+
+            this.io().println("Selected: " + holds.stream()
+                    .map(hold -> hold.getSeat().toString()).collect(Collectors.joining(", ")));
+        }
+    }
 }
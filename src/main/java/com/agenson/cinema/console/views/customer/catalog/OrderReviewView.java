@@ -2,9 +2,12 @@ package com.agenson.cinema.console.views.customer.catalog;
 
 import com.agenson.cinema.console.template.AbstractStateView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class OrderReviewView extends AbstractStateView<ReviewState> {
 
@@ -20,10 +23,10 @@ public class OrderReviewView extends AbstractStateView<ReviewState> {
 
     @Override
     protected void printContent() {
-        System.out.println("Room: " + this.state.getRoom().getNumber());
-        System.out.println("Movie: " + this.state.getRoom().getMovie());
-        this.state.getTicketsStatus().forEach(System.out::println);
-        System.out.println("\nEnter anything to continue.");
+        this.io().println("Room: " + this.state.getRoom().getNumber());
+        this.io().println("Movie: " + this.state.getRoom().getMovie());
+        this.state.getTicketsStatus().forEach(this.io()::println);
+        this.io().println("\nEnter anything to continue.");
     }
 
     @Override
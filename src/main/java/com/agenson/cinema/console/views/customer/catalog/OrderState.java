@@ -1,12 +1,14 @@
 package com.agenson.cinema.console.views.customer.catalog;
 
 import com.agenson.cinema.room.RoomDTO;
+import com.agenson.cinema.ticket.hold.SeatHold;
 import com.agenson.cinema.ticket.seat.Seat;
 import com.agenson.cinema.user.UserBasicDTO;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Getter
 @AllArgsConstructor
@@ -14,5 +16,9 @@ public class OrderState {
 
     private final UserBasicDTO user;
     private final RoomDTO room;
-    private final List<Seat> seats;
+    private final List<SeatHold> holds;
+
+    public List<Seat> getSeats() {
+        return this.holds.stream().map(SeatHold::getSeat).collect(Collectors.toList());
+    }
 }
@@ -2,9 +2,12 @@ package com.agenson.cinema.console.views.identification;
 
 import com.agenson.cinema.console.template.AbstractStatelessView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class IdentificationView extends AbstractStatelessView {
 
@@ -19,10 +22,10 @@ public class IdentificationView extends AbstractStatelessView {
 
     @Override
     protected void printContent() {
-        System.out.println("Please select an action:");
-        System.out.println("[0] - Go back");
-        System.out.println("[1] - Sign up");
-        System.out.println("[2] - Log in\n");
+        this.io().println("Please select an action:");
+        this.io().println("[0] - Go back");
+        this.io().println("[1] - Sign up");
+        this.io().println("[2] - Log in\n");
     }
 
     @Override
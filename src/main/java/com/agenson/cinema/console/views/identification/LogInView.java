@@ -4,9 +4,12 @@ import com.agenson.cinema.console.template.AbstractStatelessView;
 import com.agenson.cinema.security.SecurityException;
 import com.agenson.cinema.security.SecurityService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class LogInView extends AbstractStatelessView {
 
@@ -33,7 +36,7 @@ public class LogInView extends AbstractStatelessView {
         try {
             this.securityService.login(username, password);
         } catch (SecurityException ex) {
-            System.out.println("\n" + ex.getMessage());
+            this.io().println("\n" + ex.getMessage());
 
             if (this.ask("Retry?"))
                 this.setStayInView(true);
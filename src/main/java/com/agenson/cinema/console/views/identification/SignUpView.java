@@ -5,9 +5,12 @@ import com.agenson.cinema.security.SecurityService;
 import com.agenson.cinema.user.InvalidUserException;
 import com.agenson.cinema.user.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class SignUpView extends AbstractStatelessView {
 
@@ -41,7 +44,7 @@ public class SignUpView extends AbstractStatelessView {
             this.userService.createUser(username, password);
             this.securityService.login(username, password);
         } catch (InvalidUserException ex) {
-            System.out.println("\n" + ex.getMessage());
+            this.io().println("\n" + ex.getMessage());
 
             if (this.ask("Retry?"))
                 this.setStayInView(true);
@@ -6,9 +6,12 @@ import com.agenson.cinema.console.views.management.rooms.ManageRoomsView;
 import com.agenson.cinema.console.views.management.users.ManageUsersView;
 import com.agenson.cinema.security.SecurityService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class StaffMenuView extends AbstractStatelessView {
 
@@ -27,13 +30,13 @@ public class StaffMenuView extends AbstractStatelessView {
 
     @Override
     protected void printContent() {
-        this.securityService.getCurrentUser().ifPresent(user -> System.out.println("Logged in as: " + user + "\n"));
+        this.securityService.getCurrentUser().ifPresent(user -> this.io().println("Logged in as: " + user + "\n"));
 
-        System.out.println("Please select an action:");
-        System.out.println("[0] - Go to customer section");
-        System.out.println("[1] - Manage Movies");
-        System.out.println("[2] - Manage Rooms");
-        System.out.println("[3] - Manage Users\n");
+        this.io().println("Please select an action:");
+        this.io().println("[0] - Go to customer section");
+        this.io().println("[1] - Manage Movies");
+        this.io().println("[2] - Manage Rooms");
+        this.io().println("[3] - Manage Users\n");
     }
 
     @Override
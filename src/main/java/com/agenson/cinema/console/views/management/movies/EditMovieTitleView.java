@@ -5,9 +5,12 @@ import com.agenson.cinema.movie.InvalidMovieException;
 import com.agenson.cinema.movie.MovieDTO;
 import com.agenson.cinema.movie.MovieService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class EditMovieTitleView extends AbstractStateView<MovieDTO> {
 
@@ -41,7 +44,7 @@ public class EditMovieTitleView extends AbstractStateView<MovieDTO> {
                 this.movieService.updateMovieTitle(this.state.getUuid(), title);
                 this.setStayInView(false);
             } catch (InvalidMovieException ex) {
-                System.out.println("\n" + ex.getMessage());
+                this.io().println("\n" + ex.getMessage());
                 this.setProcessInput(true);
             }
         }
@@ -4,9 +4,12 @@ import com.agenson.cinema.console.template.AbstractStateView;
 import com.agenson.cinema.movie.MovieDTO;
 import com.agenson.cinema.movie.MovieService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class ManageMovieView extends AbstractStateView<MovieDTO> {
 
@@ -26,14 +29,14 @@ public class ManageMovieView extends AbstractStateView<MovieDTO> {
 
     @Override
     protected void printContent() {
-        System.out.println("Title: " + this.state + "\n");
+        this.io().println("Title: " + this.state + "\n");
 
-        System.out.println("(Removing a movie will remove all associated tickets)\n");
+        this.io().println("(Removing a movie will remove all associated tickets)\n");
 
-        System.out.println("Please select an action:");
-        System.out.println("[0] - Go back");
-        System.out.println("[1] - Edit Movie");
-        System.out.println("[2] - Remove Movie\n");
+        this.io().println("Please select an action:");
+        this.io().println("[0] - Go back");
+        this.io().println("[1] - Edit Movie");
+        this.io().println("[2] - Remove Movie\n");
     }
 
     @Override
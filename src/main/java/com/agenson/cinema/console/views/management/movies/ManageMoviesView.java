@@ -4,9 +4,12 @@ import com.agenson.cinema.console.template.AbstractListView;
 import com.agenson.cinema.movie.MovieDTO;
 import com.agenson.cinema.movie.MovieService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class ManageMoviesView extends AbstractListView<MovieDTO> {
 
@@ -30,14 +33,14 @@ public class ManageMoviesView extends AbstractListView<MovieDTO> {
 
     @Override
     protected void printContent() {
-        System.out.println("Please select an action or movie:");
-        System.out.println("[0] - Go back");
-        System.out.println("[1] - Add a movie\n");
+        this.io().println("Please select an action or movie:");
+        this.io().println("[0] - Go back");
+        this.io().println("[1] - Add a movie\n");
 
         for (int i = 0; i < this.list.size(); i++)
-            System.out.println("[" + (i+OFFSET) + "] - " + this.list.get(i));
+            this.io().println("[" + (i+OFFSET) + "] - " + this.list.get(i));
 
-        System.out.println();
+        this.io().println();
     }
 
     @Override
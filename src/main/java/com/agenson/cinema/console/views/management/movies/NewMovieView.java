@@ -4,9 +4,12 @@ import com.agenson.cinema.console.template.AbstractStatelessView;
 import com.agenson.cinema.movie.InvalidMovieException;
 import com.agenson.cinema.movie.MovieService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class NewMovieView extends AbstractStatelessView {
 
@@ -35,7 +38,7 @@ public class NewMovieView extends AbstractStatelessView {
                 this.movieService.createMovie(title);
                 this.setStayInView(false);
             } catch (InvalidMovieException ex) {
-                System.out.println("\n" + ex.getMessage());
+                this.io().println("\n" + ex.getMessage());
                 this.setProcessInput(true);
             }
         }
@@ -6,12 +6,15 @@ import com.agenson.cinema.movie.MovieService;
 import com.agenson.cinema.room.RoomDTO;
 import com.agenson.cinema.room.RoomService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
 import java.util.List;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class EditRoomMovieView extends AbstractStateView<RoomDTO> {
 
@@ -37,15 +40,15 @@ public class EditRoomMovieView extends AbstractStateView<RoomDTO> {
     protected void printContent() {
         this.list = this.movieService.findMovies();
 
-        System.out.println("(Selecting a new movie will delete all tickets for the room)\n");
+        this.io().println("(Selecting a new movie will delete all tickets for the room)\n");
 
-        System.out.println("Please select an action or movie:");
-        System.out.println("[0] - Go back\n");
+        this.io().println("Please select an action or movie:");
+        this.io().println("[0] - Go back\n");
 
         for (int i = 0; i < list.size(); i++)
-            System.out.println("[" + (i+OFFSET) + "] - " + list.get(i).getTitle());
+            this.io().println("[" + (i+OFFSET) + "] - " + list.get(i).getTitle());
 
-        System.out.println();
+        this.io().println();
     }
 
     @Override
@@ -1,18 +1,28 @@
 package com.agenson.cinema.console.views.management.rooms;
 
 import com.agenson.cinema.console.template.AbstractStateView;
+import com.agenson.cinema.console.template.RatioFormatter;
+import com.agenson.cinema.console.template.SeatMapRenderer;
 import com.agenson.cinema.movie.MovieDTO;
 import com.agenson.cinema.room.RoomDTO;
 import com.agenson.cinema.room.RoomService;
+import com.agenson.cinema.ticket.TicketService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class ManageRoomView extends AbstractStateView<RoomDTO> {
 
     private final RoomService roomService;
 
+    private final TicketService ticketService;
+
+    private final SeatMapRenderer seatMapRenderer;
+
     private final EditRoomMovieView editRoomMovieView;
 
     @Override
@@ -29,14 +39,21 @@ public class ManageRoomView extends AbstractStateView<RoomDTO> {
     protected void printContent() {
         MovieDTO movie = this.state.getMovie();
 
-        System.out.println("Room: " + this.state.getNumber());
-        System.out.println("Capacity: " + this.state.getCapacity());
-        System.out.println("Movie: " + (movie != null ? movie : "-") + "\n");
+        this.io().println("Room: " + this.state.getNumber());
+        this.io().println("Capacity: " + this.state.getCapacity());
+        this.io().println("Movie: " + (movie != null ? movie : "-"));
+
+        this.ticketService.findOccupancy(this.state.getUuid()).ifPresent(occupancy -> {
+            this.io().println("Reserved: " + RatioFormatter.format(occupancy.getCount(), this.state.getCapacity()));
+            this.io().print(this.seatMapRenderer.render(occupancy));
+        });
+
+        this.io().println();
 
-        System.out.println("Please select an action:");
-        System.out.println("[0] - Go back");
-        System.out.println("[1] - Edit Movie");
-        System.out.println("[2] - Remove Room\n");
+        this.io().println("Please select an action:");
+        this.io().println("[0] - Go back");
+        this.io().println("[1] - Edit Movie");
+        this.io().println("[2] - Remove Room\n");
     }
 
     @Override
@@ -5,9 +5,12 @@ import com.agenson.cinema.console.template.RatioFormatter;
 import com.agenson.cinema.room.RoomDTO;
 import com.agenson.cinema.room.RoomService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class ManageRoomsView extends AbstractListView<RoomDTO> {
 
@@ -31,30 +34,30 @@ public class ManageRoomsView extends AbstractListView<RoomDTO> {
 
     @Override
     protected void printContent() {
-        System.out.println("Please select an action or room:");
-        System.out.println("[0] - Go back");
-        System.out.println("[1] - Add a room");
+        this.io().println("Please select an action or room:");
+        this.io().println("[0] - Go back");
+        this.io().println("[1] - Add a room");
 
         for (int i = 0; i < this.list.size(); i++) {
             RoomDTO room = this.list.get(i);
 
-            System.out.println("\n[" + (i + OFFSET) + "] - Room: " + room.getNumber());
+            this.io().println("\n[" + (i + OFFSET) + "] - Room: " + room.getNumber());
 
             if (room.getMovie() != null) {
-                System.out.println("    > Movie: " + room.getMovie());
-                System.out.println("    > Reserved: " + RatioFormatter.format(
-                        room.getTickets().size(),
+                this.io().println("    > Movie: " + room.getMovie());
+                this.io().println("    > Reserved: " + RatioFormatter.format(
+                        room.getSoldCount(),
                         room.getCapacity()
                 ));
-                System.out.println("    > Income ($): " + RatioFormatter.format(
+                this.io().println("    > Income ($): " + RatioFormatter.format(
                         room.getIncome(),
                         room.getPotentialIncome()
                 ));
             } else
-                System.out.println("    > Capacity: " + room.getCapacity());
+                this.io().println("    > Capacity: " + room.getCapacity());
         }
 
-        System.out.println();
+        this.io().println();
     }
 
     @Override
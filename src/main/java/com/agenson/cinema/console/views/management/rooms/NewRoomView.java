@@ -4,12 +4,15 @@ import com.agenson.cinema.console.template.AbstractStatelessView;
 import com.agenson.cinema.room.InvalidRoomException;
 import com.agenson.cinema.room.RoomService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class NewRoomView extends AbstractStatelessView {
 
@@ -53,7 +56,7 @@ public class NewRoomView extends AbstractStatelessView {
             this.roomService.createRoom(inputs.get(0), inputs.get(1), inputs.get(2));
             this.setProcessInput(false);
         } catch (InvalidRoomException ex) {
-            System.out.println("\n" + ex.getMessage());
+            this.io().println("\n" + ex.getMessage());
             this.setProcessInput(true);
         }
     }
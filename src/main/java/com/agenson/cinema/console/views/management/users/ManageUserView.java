@@ -5,9 +5,12 @@ import com.agenson.cinema.security.SecurityRole;
 import com.agenson.cinema.user.UserDetailsDTO;
 import com.agenson.cinema.user.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class ManageUserView extends AbstractStateView<UserDetailsDTO> {
 
@@ -25,15 +28,15 @@ public class ManageUserView extends AbstractStateView<UserDetailsDTO> {
 
     @Override
     protected void printContent() {
-        System.out.println("User: " + this.state + "\n");
+        this.io().println("User: " + this.state + "\n");
 
-        System.out.println("Please select an action:");
-        System.out.println("[0] - Go back");
+        this.io().println("Please select an action:");
+        this.io().println("[0] - Go back");
 
         if (SecurityRole.STAFF.equals(this.state.getRole()))
-            System.out.println("[1] - Remove staff privilege\n");
+            this.io().println("[1] - Remove staff privilege\n");
         else
-            System.out.println("[1] - Give staff privilege\n");
+            this.io().println("[1] - Give staff privilege\n");
     }
 
     @Override
@@ -5,9 +5,12 @@ import com.agenson.cinema.security.SecurityService;
 import com.agenson.cinema.user.UserDetailsDTO;
 import com.agenson.cinema.user.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class ManageUsersView extends AbstractListView<UserDetailsDTO> {
 
@@ -34,13 +37,13 @@ public class ManageUsersView extends AbstractListView<UserDetailsDTO> {
 
     @Override
     protected void printContent() {
-        System.out.println("Please select an action or user:");
-        System.out.println("[0] - Go back\n");
+        this.io().println("Please select an action or user:");
+        this.io().println("[0] - Go back\n");
 
         for (int i = 0; i < this.list.size(); i++)
-            System.out.println("[" + (i+OFFSET) + "] - " + this.list.get(i).toString());
+            this.io().println("[" + (i+OFFSET) + "] - " + this.list.get(i).toString());
 
-        System.out.println();
+        this.io().println();
     }
 
     @Override
@@ -17,6 +17,11 @@ public class MovieDTO {
         this.title = movie.getTitle();
     }
 
+    public MovieDTO(UUID uuid, String title) {
+        this.uuid = uuid;
+        this.title = title;
+    }
+
     @Override
     public String toString() {
         return this.title;
@@ -12,6 +12,8 @@ public interface MovieRepository extends JpaRepository<MovieDB, Long> {
 
     Optional<MovieDB> findByUuid(UUID uuid);
 
+    boolean existsByUuid(UUID uuid);
+
     Optional<MovieDB> findByTitle(String title);
 
     @Transactional
@@ -1,10 +1,10 @@
 package com.agenson.cinema.movie;
 
-import com.agenson.cinema.order.OrderRepository;
+import com.agenson.cinema.room.CatalogCache;
+import com.agenson.cinema.room.CatalogVersion;
 import com.agenson.cinema.room.RoomRepository;
 import com.agenson.cinema.security.restriction.RestrictToStaff;
-import com.agenson.cinema.ticket.TicketDB;
-import com.agenson.cinema.ticket.TicketRepository;
+import com.agenson.cinema.ticket.TicketService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,49 +20,72 @@ public class MovieService {
 
     private final MovieRepository movieRepository;
 
-    private final OrderRepository orderRepository;
+    private final RoomRepository roomRepository;
 
-    private final TicketRepository ticketRepository;
+    private final TicketService ticketService;
 
+    private final CatalogVersion catalogVersion;
+
+    private final CatalogCache catalogCache;
+
+    /**
+     * One query: rooms of the movie are not read.
+     */
     public Optional<MovieDTO> findMovie(UUID uuid) {
         return this.movieRepository.findByUuid(uuid).map(MovieDTO::new);
     }
 
+    /**
+     * One query: rooms of the movies are not read.
+     */
     public List<MovieDTO> findMovies() {
         return this.movieRepository.findAll().stream().map(MovieDTO::new).collect(Collectors.toList());
     }
 
+    /**
+     * At most 3 statements: the title check, then the insert.
+     */
     @RestrictToStaff
     public MovieDTO createMovie(String title) {
         this.validateTitle(null, title);
 
-        return new MovieDTO(this.movieRepository.save(new MovieDB(this.formatTitle(title))));
+        MovieDB movie = new MovieDB(this.formatTitle(title));
+
+        return this.catalogVersion.update(() -> new MovieDTO(this.movieRepository.save(movie)));
     }
 
+    /**
+     * At most 4 statements: the movie, the title check, then the update.
+     */
     @RestrictToStaff
     public Optional<MovieDTO> updateMovieTitle(UUID uuid, String title) {
         return this.movieRepository.findByUuid(uuid).map(movie -> {
             this.validateTitle(uuid, title);
             movie.setTitle(this.formatTitle(title));
 
-            return new MovieDTO(this.movieRepository.save(movie));
+            return this.catalogVersion.update(() -> {
+                MovieDTO updated = new MovieDTO(this.movieRepository.save(movie));
+
+                this.catalogCache.invalidateMovie(uuid);
+
+                return updated;
+            });
         });
     }
 
+    /**
+     * At most 7 statements, whatever the number of rooms and tickets of the movie.
+     */
     @Transactional
     @RestrictToStaff
     public void removeMovie(UUID uuid) {
-        this.movieRepository.findByUuid(uuid).ifPresent(movie -> {
-            movie.getRooms().forEach(room -> {
-                room.getTickets().stream()
-                        .peek(ticket -> this.ticketRepository.deleteByUuid(ticket.getUuid()))
-                        .map(TicketDB::getOrder).distinct().forEach(order -> {
-                    this.orderRepository.deleteByUuid(order.getUuid());
-                });
-            });
-        });
+        this.catalogVersion.update(() -> {
+            List<UUID> roomUuids = this.roomRepository.findUuidsByMovieUuid(uuid);
 
-        this.movieRepository.deleteByUuid(uuid);
+            this.ticketService.removeRoomTickets(roomUuids);
+            this.movieRepository.deleteByUuid(uuid);
+            this.catalogCache.invalidateCatalog(roomUuids);
+        });
     }
 
     private void validateTitle(UUID uuid, String title) {
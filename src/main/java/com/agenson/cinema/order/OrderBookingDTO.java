@@ -0,0 +1,27 @@
+package com.agenson.cinema.order;
+
+import com.agenson.cinema.ticket.TicketBatchDTO;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Outcome of an order booked along with its tickets: no order when the seats conflict.
+ */
+@Getter
+@EqualsAndHashCode
+public class OrderBookingDTO {
+
+    private final UUID orderUuid;
+    private final TicketBatchDTO batch;
+
+    public OrderBookingDTO(UUID orderUuid, TicketBatchDTO batch) {
+        this.orderUuid = batch.isBooked() ? orderUuid : null;
+        this.batch = batch;
+    }
+
+    public boolean isBooked() {
+        return this.batch.isBooked();
+    }
+}
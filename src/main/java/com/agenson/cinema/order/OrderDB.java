@@ -22,12 +22,12 @@ public class OrderDB {
     private Long id = -1L;
     private UUID uuid = UUID.randomUUID();
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id")
     private UserDB user;
 
     @ToString.Exclude
-    @OneToMany(fetch = FetchType.EAGER, mappedBy = "order")
+    @OneToMany(fetch = FetchType.LAZY, mappedBy = "order")
     private List<TicketDB> tickets = Collections.emptyList();
 
     public OrderDB(UserDB user) {
@@ -1,8 +1,13 @@
 package com.agenson.cinema.order;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,5 +16,16 @@ public interface OrderRepository extends JpaRepository<OrderDB, Long> {
 
     Optional<OrderDB> findByUuid(UUID uuid);
 
+    // One row per ticket, and a single row without room nor seat for an order without ticket
+    @Query("SELECT o.uuid AS orderUuid, COALESCE(r.number, 0) AS roomNumber, " +
+            "COALESCE(r.nbRows, 0) AS nbRows, COALESCE(r.nbCols, 0) AS nbCols, m.title AS movieTitle, t.seat AS seat " +
+            "FROM OrderDB o LEFT JOIN o.tickets t LEFT JOIN t.room r LEFT JOIN r.movie m " +
+            "WHERE o.user.uuid = :userUuid ORDER BY o.id, t.id")
+    List<OrderTicket> findTicketsByUserUuid(@Param("userUuid") UUID userUuid);
+
     void deleteByUuid(UUID uuid);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM OrderDB o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
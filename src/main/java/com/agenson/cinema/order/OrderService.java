@@ -1,11 +1,21 @@
 package com.agenson.cinema.order;
 
 import com.agenson.cinema.security.restriction.RestrictToUser;
+import com.agenson.cinema.ticket.TicketBatchDTO;
+import com.agenson.cinema.ticket.TicketService;
+import com.agenson.cinema.ticket.hold.SeatHold;
+import com.agenson.cinema.ticket.seat.Seat;
 import com.agenson.cinema.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +25,11 @@ public class OrderService {
 
     private final UserRepository userRepository;
 
+    private final TicketService ticketService;
+
+    /**
+     * At most 3 statements: the user, then the insert.
+     */
     @RestrictToUser(argName = "userUuid")
     public OrderDTO createOrder(UUID userUuid) {
         return this.userRepository.findByUuid(userUuid).map(user -> {
@@ -23,4 +38,56 @@ public class OrderService {
             return new OrderDTO(order);
         }).orElseThrow(() -> new InvalidOrderException(InvalidOrderException.Type.USER));
     }
+
+    /**
+     * Creates an order and books the held seats in the same transaction: the order is kept only when they all are.
+     * <p>
+     * At most 7 statements and a single JDBC batch, whatever the number of seats.
+     */
+    @Transactional
+    @RestrictToUser(argName = "userUuid")
+    public OrderBookingDTO bookHolds(UUID userUuid, UUID roomUuid, List<SeatHold> holds) {
+        return this.book(userUuid, orderUuid -> this.ticketService.createTicketsFromHolds(roomUuid, orderUuid, holds));
+    }
+
+    /**
+     * Creates an order and books the seats in the same transaction: the order is kept only when they all are.
+     * <p>
+     * At most 7 statements and a single JDBC batch, whatever the number of seats.
+     */
+    @Transactional
+    @RestrictToUser(argName = "userUuid")
+    public OrderBookingDTO bookSeats(UUID userUuid, UUID roomUuid, List<Seat> seats) {
+        return this.book(userUuid, orderUuid -> this.ticketService.createTickets(roomUuid, orderUuid, seats));
+    }
+
+    /**
+     * Orders of the user along with their tickets, read with a single join query rather than through the entities.
+     * Orders without tickets are listed too, so that none of the user's orders is hidden.
+     * <p>
+     * One query, whatever the number of tickets of the rooms.
+     */
+    @RestrictToUser(argName = "userUuid")
+    public List<OrderSummaryDTO> findOrderSummaries(UUID userUuid) {
+        LinkedHashMap<UUID, List<OrderTicket>> orders = new LinkedHashMap<>();
+
+        this.orderRepository.findTicketsByUserUuid(userUuid).forEach(ticket -> {
+            orders.computeIfAbsent(ticket.getOrderUuid(), uuid -> new ArrayList<>()).add(ticket);
+        });
+
+        return orders.values().stream().map(OrderSummaryDTO::new).collect(Collectors.toList());
+    }
+
+    // Callers are transactional: an exception rolls back the order, conflicting seats remove it before commit
+    private OrderBookingDTO book(UUID userUuid, Function<UUID, TicketBatchDTO> createTickets) {
+        OrderDB order = this.userRepository.findByUuid(userUuid)
+                .map(user -> this.orderRepository.save(new OrderDB(user)))
+                .orElseThrow(() -> new InvalidOrderException(InvalidOrderException.Type.USER));
+
+        TicketBatchDTO batch = createTickets.apply(order.getUuid());
+
+        if (!batch.isBooked()) this.orderRepository.delete(order);
+
+        return new OrderBookingDTO(order.getUuid(), batch);
+    }
 }
@@ -0,0 +1,35 @@
+package com.agenson.cinema.order;
+
+import com.agenson.cinema.room.RoomPricing;
+import com.agenson.cinema.ticket.seat.Seat;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Flat view of an order, built from the tickets of a single order: an order without ticket has no room nor seat.
+ */
+@Getter
+@EqualsAndHashCode
+public class OrderSummaryDTO {
+
+    private final UUID uuid;
+    private final int roomNumber;
+    private final String movieTitle;
+    private final List<Seat> seats;
+    private final int price;
+
+    public OrderSummaryDTO(List<OrderTicket> tickets) {
+        OrderTicket first = tickets.get(0);
+
+        this.uuid = first.getOrderUuid();
+        this.roomNumber = first.getRoomNumber();
+        this.movieTitle = first.getMovieTitle();
+        this.seats = tickets.stream().map(OrderTicket::getSeat).filter(Objects::nonNull).collect(Collectors.toList());
+        this.price = RoomPricing.getIncome(first.getNbRows(), first.getNbCols(), this.seats);
+    }
+}
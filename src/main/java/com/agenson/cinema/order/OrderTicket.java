@@ -0,0 +1,20 @@
+package com.agenson.cinema.order;
+
+import com.agenson.cinema.ticket.seat.Seat;
+
+import java.util.UUID;
+
+public interface OrderTicket {
+
+    UUID getOrderUuid();
+
+    int getRoomNumber();
+
+    int getNbRows();
+
+    int getNbCols();
+
+    String getMovieTitle();
+
+    Seat getSeat();
+}
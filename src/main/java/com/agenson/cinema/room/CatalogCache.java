@@ -0,0 +1,256 @@
+package com.agenson.cinema.room;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Customer catalog: the rooms showing a movie, with their movie and sales, read without any query once cached.
+ * <p>
+ * Services invalidate what they change right after writing it, and again once their transaction completes:
+ * a read in between, which could still see the previous state, is never kept. Rooms are kept up to a maximum,
+ * beyond which the least recently read tenth of them is evicted.
+ */
+@Component
+public class CatalogCache {
+
+    private static final int ROOM_VERSION_STRIPES = 1024;
+
+    private final RoomRepository roomRepository;
+
+    private final int maxRooms;
+
+    private final Map<UUID, Entry> rooms = new ConcurrentHashMap<>();
+
+    // Rooms showing a movie, in catalog order: null until read, or once a room joins or leaves the catalog
+    private volatile List<UUID> catalog;
+
+    // Changes with every invalidation: a read which started before one is not kept
+    private volatile long generation = 0;
+
+    // Ticks once per catalog read and per cached room, to find the least recently read rooms
+    private final AtomicLong clock = new AtomicLong();
+
+    // Versions of the sales of the rooms, striped by room: a shared stripe only changes more often
+    private final AtomicLongArray roomVersions = new AtomicLongArray(ROOM_VERSION_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public CatalogCache(RoomRepository roomRepository, @Value("${cinema.catalog.max-rooms:10000}") int maxRooms) {
+        this.roomRepository = roomRepository;
+        this.maxRooms = Math.max(1, maxRooms);
+    }
+
+    /**
+     * No query when cached, otherwise one: every room when the catalog itself changed, or only the missing ones.
+     */
+    public List<RoomDTO> findShowingRooms() {
+        long generation = this.generation;
+        long now = this.clock.incrementAndGet();
+        List<UUID> catalog = this.catalog;
+
+        if (catalog == null) {
+            this.misses.increment();
+
+            return this.loadCatalog(generation);
+        }
+
+        List<RoomDTO> showing = new ArrayList<>(catalog.size());
+        List<UUID> missing = new ArrayList<>();
+
+        for (UUID uuid : catalog) {
+            Entry entry = this.rooms.get(uuid);
+
+            if (entry != null) {
+                entry.lastRead = now;
+                showing.add(entry.room);
+            } else {
+                missing.add(uuid);
+                showing.add(null);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            this.hits.increment();
+
+            return showing;
+        }
+
+        this.misses.increment();
+
+        return this.loadRooms(generation, catalog, showing, missing);
+    }
+
+    /**
+     * Changes when the sales of the room change or it leaves the catalog, and again once the transaction which
+     * changed them completes: an equal version means no committed change in between. Movie changes are not
+     * counted: they go through the {@link CatalogVersion}.
+     */
+    public long getRoomVersion(UUID roomUuid) {
+        return this.roomVersions.get(CatalogCache.stripe(roomUuid));
+    }
+
+    /**
+     * Sales of the rooms changed.
+     */
+    public void invalidateRooms(Collection<UUID> roomUuids) {
+        this.invalidate(() -> roomUuids.forEach(this::removeRoom));
+    }
+
+    /**
+     * Rooms joined or left the catalog: their movie changed, or they were removed.
+     */
+    public void invalidateCatalog(Collection<UUID> roomUuids) {
+        this.invalidate(() -> {
+            this.catalog = null;
+            roomUuids.forEach(this::removeRoom);
+        });
+    }
+
+    /**
+     * The movie changed: no query, the rooms showing it are known to the cache.
+     */
+    public void invalidateMovie(UUID movieUuid) {
+        this.invalidate(() -> this.rooms.values().removeIf(entry -> movieUuid.equals(entry.room.getMovie().getUuid())));
+    }
+
+    public void invalidateAll() {
+        this.invalidate(() -> {
+            this.catalog = null;
+            this.rooms.clear();
+        });
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    public int getSize() {
+        return this.rooms.size();
+    }
+
+    private List<RoomDTO> loadCatalog(long generation) {
+        List<RoomDTO> showing = this.roomRepository.findAllSummaries().stream()
+                .filter(room -> room.getMovieUuid() != null)
+                .map(RoomDTO::new)
+                .collect(Collectors.toList());
+
+        synchronized (this) {
+            if (this.generation == generation) {
+                this.catalog = showing.stream().map(RoomDTO::getUuid).collect(Collectors.toList());
+                showing.forEach(this::put);
+            }
+        }
+
+        return showing;
+    }
+
+    private List<RoomDTO> loadRooms(long generation, List<UUID> catalog, List<RoomDTO> showing, List<UUID> missing) {
+        Map<UUID, RoomDTO> loaded = this.roomRepository.findSummariesByUuidIn(missing).stream()
+                .map(RoomDTO::new)
+                .collect(Collectors.toMap(RoomDTO::getUuid, room -> room));
+
+        // A missing room which is gone, or shows no movie anymore: the catalog changed meanwhile
+        if (loaded.size() < missing.size() || loaded.values().stream().anyMatch(room -> room.getMovie() == null))
+            return this.loadCatalog(generation);
+
+        synchronized (this) {
+            if (this.generation == generation) loaded.values().forEach(this::put);
+        }
+
+        for (int i = 0; i < catalog.size(); i++) {
+            if (showing.get(i) == null) showing.set(i, loaded.get(catalog.get(i)));
+        }
+
+        return showing;
+    }
+
+    // Callers hold the lock of the cache
+    private void removeRoom(UUID roomUuid) {
+        this.rooms.remove(roomUuid);
+        this.roomVersions.incrementAndGet(CatalogCache.stripe(roomUuid));
+    }
+
+    // Callers hold the lock of the cache
+    private void put(RoomDTO room) {
+        this.rooms.put(room.getUuid(), new Entry(room, this.clock.incrementAndGet()));
+
+        if (this.rooms.size() > this.maxRooms) this.evictLeastRecentlyRead();
+    }
+
+    // Callers hold the lock of the cache: a tenth of the rooms is evicted at once, so that the sort runs once
+    // every maxRooms / 10 misses instead of a scan on each one, and filling the cache stays close to linear
+    private void evictLeastRecentlyRead() {
+        int nbEvicted = this.rooms.size() - (this.maxRooms - this.maxRooms / 10);
+        List<Map.Entry<UUID, Long>> lastReads = new ArrayList<>(this.rooms.size());
+
+        // Read times are copied first: readers keep updating them during the sort
+        this.rooms.forEach((uuid, entry) -> lastReads.add(new AbstractMap.SimpleEntry<>(uuid, entry.lastRead)));
+        lastReads.sort(Map.Entry.comparingByValue());
+
+        for (int i = 0; i < nbEvicted && i < lastReads.size(); i++) {
+            this.rooms.remove(lastReads.get(i).getKey());
+            this.evictions.increment();
+        }
+    }
+
+    private void invalidate(Runnable invalidation) {
+        synchronized (this) {
+            this.generation++;
+            invalidation.run();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    synchronized (CatalogCache.this) {
+                        CatalogCache.this.generation++;
+                        invalidation.run();
+                    }
+                }
+            });
+        }
+    }
+
+    private static int stripe(UUID roomUuid) {
+        return roomUuid.hashCode() & (ROOM_VERSION_STRIPES - 1);
+    }
+
+    private static class Entry {
+
+        private final RoomDTO room;
+
+        private volatile long lastRead;
+
+        private Entry(RoomDTO room, long lastRead) {
+            this.room = room;
+            this.lastRead = lastRead;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.agenson.cinema.room;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Version of the catalog (movies, and rooms with their movie), which changes with every update of either.
+ * <p>
+ * The version changes both before and after an update (once its transaction completes): a catalog read
+ * while the update was in progress is always labelled with a version older than the updated catalog.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return this.version.get();
+    }
+
+    public <T> T update(Supplier<T> update) {
+        this.version.incrementAndGet();
+
+        try {
+            return update.get();
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        CatalogVersion.this.version.incrementAndGet();
+                    }
+                });
+            } else
+                this.version.incrementAndGet();
+        }
+    }
+
+    public void update(Runnable update) {
+        this.update(() -> {
+            update.run();
+
+            return null;
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.agenson.cinema.room;
+
+import java.util.UUID;
+
+public interface RoomCapacity {
+
+    UUID getUuid();
+
+    int getNbRows();
+
+    int getNbCols();
+}
@@ -15,8 +15,11 @@ import java.util.UUID;
 @NoArgsConstructor
 @Entity
 @Table(name = "room")
+@NamedEntityGraph(name = RoomDB.WITH_MOVIE, attributeNodes = @NamedAttributeNode("movie"))
 public class RoomDB {
 
+    public static final String WITH_MOVIE = "RoomDB.movie";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id = -1L;
@@ -25,13 +28,20 @@ public class RoomDB {
     private int nbRows = -1;
     private int nbCols = -1;
 
+    // Maintained by TicketService with atomic updates, never written from the entity
+    @Column(insertable = false, updatable = false)
+    private int soldCount = 0;
+    @Column(insertable = false, updatable = false)
+    private int revenue = 0;
+
     // SQL Foreign Key Constraint Definition: ON DELETE SET NULL
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "movie_id")
     private MovieDB movie = null;
 
+    // SQL Foreign Key Constraint Definition: ON DELETE CASCADE
     @ToString.Exclude
-    @OneToMany(fetch = FetchType.EAGER, mappedBy = "room", cascade = CascadeType.REMOVE)
+    @OneToMany(fetch = FetchType.LAZY, mappedBy = "room")
     private List<TicketDB> tickets = Collections.emptyList();
 
     public RoomDB(int number, int nbRows, int nbCols) {
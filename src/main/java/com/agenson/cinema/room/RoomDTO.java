@@ -1,14 +1,11 @@
 package com.agenson.cinema.room;
 
 import com.agenson.cinema.movie.MovieDTO;
-import com.agenson.cinema.ticket.TicketSeatDTO;
 import com.agenson.cinema.ticket.seat.Seat;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Getter
 @EqualsAndHashCode
@@ -19,7 +16,8 @@ public class RoomDTO {
     private final int nbRows;
     private final int nbCols;
     private final MovieDTO movie;
-    private final List<TicketSeatDTO> tickets;
+    private final int soldCount;
+    private final int revenue;
 
     public RoomDTO(RoomDB room) {
         this.uuid = room.getUuid();
@@ -27,9 +25,18 @@ public class RoomDTO {
         this.nbRows = room.getNbRows();
         this.nbCols = room.getNbCols();
         this.movie = (room.getMovie() != null) ? new MovieDTO(room.getMovie()) : null;
-        this.tickets = room.getTickets().stream()
-                .map(TicketSeatDTO::new)
-                .collect(Collectors.toList());
+        this.soldCount = room.getSoldCount();
+        this.revenue = room.getRevenue();
+    }
+
+    public RoomDTO(RoomSummary room) {
+        this.uuid = room.getUuid();
+        this.number = room.getNumber();
+        this.nbRows = room.getNbRows();
+        this.nbCols = room.getNbCols();
+        this.movie = (room.getMovieUuid() != null) ? new MovieDTO(room.getMovieUuid(), room.getMovieTitle()) : null;
+        this.soldCount = room.getSoldCount();
+        this.revenue = room.getRevenue();
     }
 
     public int getCapacity() {
@@ -37,22 +44,14 @@ public class RoomDTO {
     }
 
     public int getPotentialIncome() {
-        int capacity = this.getCapacity();
-
-        return (capacity > 50) ? ((capacity / 2) * (10 + 12)) : (capacity * 10);
+        return RoomPricing.getPotentialIncome(this.nbRows, this.nbCols);
     }
 
     public int getIncome() {
-        return tickets.stream()
-                .map(ticket -> this.getPrice(ticket.getSeat()))
-                .reduce(0, Integer::sum);
+        return this.revenue;
     }
 
     public int getPrice(Seat seat) {
-        if (this.getCapacity() > 50)
-            if (seat.getRow() <= this.nbRows / 2)
-                return 12;
-
-        return 10;
+        return RoomPricing.getPrice(this.nbRows, this.nbCols, seat);
     }
 }
@@ -0,0 +1,41 @@
+package com.agenson.cinema.room;
+
+import com.agenson.cinema.ticket.seat.Seat;
+
+import java.util.Collection;
+
+/**
+ * Ticket prices of a room: in rooms of more than 50 seats, the front half rows cost more.
+ */
+public final class RoomPricing {
+
+    private static final int LARGE_ROOM_CAPACITY = 50;
+    private static final int PRICE = 10;
+    private static final int FRONT_PRICE = 12;
+
+    private RoomPricing() {
+    }
+
+    public static int getPrice(int nbRows, int nbCols, Seat seat) {
+        if (nbRows * nbCols > LARGE_ROOM_CAPACITY)
+            if (seat.getRow() <= nbRows / 2)
+                return FRONT_PRICE;
+
+        return PRICE;
+    }
+
+    public static int getIncome(int nbRows, int nbCols, Collection<Seat> seats) {
+        int income = 0;
+
+        for (Seat seat : seats)
+            income += RoomPricing.getPrice(nbRows, nbCols, seat);
+
+        return income;
+    }
+
+    public static int getPotentialIncome(int nbRows, int nbCols) {
+        int capacity = nbRows * nbCols;
+
+        return (capacity > LARGE_ROOM_CAPACITY) ? ((capacity / 2) * (PRICE + FRONT_PRICE)) : (capacity * PRICE);
+    }
+}
@@ -1,19 +1,68 @@
 package com.agenson.cinema.room;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface RoomRepository extends JpaRepository<RoomDB, Long> {
 
+    // Room details and seat maps: the movie comes along, the tickets are read through projections
+    @EntityGraph(RoomDB.WITH_MOVIE)
     Optional<RoomDB> findByUuid(UUID uuid);
 
+    boolean existsByUuid(UUID uuid);
+
     Optional<RoomDB> findByNumber(int number);
 
+    @Query("SELECT r.uuid AS uuid, r.nbRows AS nbRows, r.nbCols AS nbCols FROM RoomDB r")
+    List<RoomCapacity> findAllCapacities();
+
+    @Query("SELECT r.uuid AS uuid, r.number AS number, r.nbRows AS nbRows, r.nbCols AS nbCols, " +
+            "m.uuid AS movieUuid, m.title AS movieTitle, r.soldCount AS soldCount, r.revenue AS revenue " +
+            "FROM RoomDB r LEFT JOIN r.movie m")
+    List<RoomSummary> findAllSummaries();
+
+    @Query("SELECT r.uuid AS uuid, r.number AS number, r.nbRows AS nbRows, r.nbCols AS nbCols, " +
+            "m.uuid AS movieUuid, m.title AS movieTitle, r.soldCount AS soldCount, r.revenue AS revenue " +
+            "FROM RoomDB r LEFT JOIN r.movie m WHERE r.uuid IN :uuids")
+    List<RoomSummary> findSummariesByUuidIn(@Param("uuids") Collection<UUID> uuids);
+
+    @Query("SELECT r.uuid AS uuid, r.nbRows AS nbRows, r.nbCols AS nbCols, " +
+            "r.soldCount AS soldCount, r.revenue AS revenue FROM RoomDB r")
+    List<RoomSales> findAllSales();
+
+    @Query("SELECT r.uuid FROM RoomDB r WHERE r.movie.uuid = :movieUuid")
+    List<UUID> findUuidsByMovieUuid(@Param("movieUuid") UUID movieUuid);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RoomDB r SET r.soldCount = r.soldCount + :soldCount, r.revenue = r.revenue + :revenue " +
+            "WHERE r.uuid = :uuid")
+    int addSales(@Param("uuid") UUID uuid, @Param("soldCount") int soldCount, @Param("revenue") int revenue);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RoomDB r SET r.soldCount = :soldCount, r.revenue = :revenue WHERE r.uuid = :uuid")
+    int setSales(@Param("uuid") UUID uuid, @Param("soldCount") int soldCount, @Param("revenue") int revenue);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RoomDB r SET r.soldCount = 0, r.revenue = 0 WHERE r.uuid IN :uuids")
+    int resetSalesByUuidIn(@Param("uuids") Collection<UUID> uuids);
+
+    // Tickets are removed by the database (ON DELETE CASCADE) instead of being loaded to be removed one by one
     @Transactional
-    void deleteByUuid(UUID uuid);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM RoomDB r WHERE r.uuid = :uuid")
+    void deleteByUuid(@Param("uuid") UUID uuid);
 }
@@ -0,0 +1,8 @@
+package com.agenson.cinema.room;
+
+public interface RoomSales extends RoomCapacity {
+
+    int getSoldCount();
+
+    int getRevenue();
+}
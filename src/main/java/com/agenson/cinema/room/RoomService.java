@@ -1,19 +1,22 @@
 package com.agenson.cinema.room;
 
-import com.agenson.cinema.movie.MovieDB;
 import com.agenson.cinema.movie.MovieRepository;
-import com.agenson.cinema.order.OrderRepository;
 import com.agenson.cinema.security.restriction.RestrictToStaff;
-import com.agenson.cinema.ticket.TicketDB;
-import com.agenson.cinema.ticket.TicketRepository;
+import com.agenson.cinema.ticket.TicketService;
+import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,49 +27,121 @@ public class RoomService {
 
     private final MovieRepository movieRepository;
 
-    private final TicketRepository ticketRepository;
+    private final TicketService ticketService;
 
-    private final OrderRepository orderRepository;
+    private final CatalogVersion catalogVersion;
 
+    private final CatalogCache catalogCache;
+
+    // Loads in progress, shared by the concurrent readers of the same room, catalog and room versions
+    private final Map<RoomLoad, CompletableFuture<Optional<RoomDTO>>> roomLoads = new ConcurrentHashMap<>();
+
+    /**
+     * At most one query: the room along with its movie.
+     * <p>
+     * Concurrent readers of the same room share one load and its result, as long as neither the catalog nor the
+     * sales of the room changed meanwhile. Both versions change again once the transaction changing them commits:
+     * a reader arriving after a booking completed never joins a load which could have read the previous sales.
+     * Inside a transaction, the room is loaded on its own, so that the changes of the transaction are seen.
+     */
     public Optional<RoomDTO> findRoom(UUID uuid) {
-        return this.roomRepository.findByUuid(uuid).map(RoomDTO::new);
+        if (uuid == null) return Optional.empty();
+        else if (TransactionSynchronizationManager.isActualTransactionActive()) return this.loadRoom(uuid);
+
+        RoomLoad key = new RoomLoad(
+                uuid,
+                this.catalogVersion.current(),
+                this.catalogCache.getRoomVersion(uuid)
+        );
+        CompletableFuture<Optional<RoomDTO>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<RoomDTO>> inProgress = this.roomLoads.putIfAbsent(key, load);
+
+        if (inProgress != null) return RoomService.join(inProgress);
+
+        try {
+            Optional<RoomDTO> room = this.loadRoom(uuid);
+
+            load.complete(room);
+
+            return room;
+        } catch (RuntimeException ex) {
+            load.completeExceptionally(ex);
+
+            throw ex;
+        } finally {
+            this.roomLoads.remove(key, load);
+        }
     }
 
+    /**
+     * One query: rooms, movies and sales counters, without reading any ticket.
+     */
     public List<RoomDTO> findRooms() {
-        return this.roomRepository.findAll().stream().map(RoomDTO::new).collect(Collectors.toList());
+        return this.roomRepository.findAllSummaries().stream().map(RoomDTO::new).collect(Collectors.toList());
+    }
+
+    /**
+     * No query once cached: the rooms showing a movie, for customers.
+     */
+    public List<RoomDTO> findShowingRooms() {
+        return this.catalogCache.findShowingRooms();
     }
 
+    /**
+     * At most 3 statements: the number check, then the insert. A new room shows no movie: the catalog is unchanged.
+     */
     @RestrictToStaff
     public RoomDTO createRoom(int number, int nbRows, int nbCols) {
         this.validateNumber(null, number);
         this.validateCapacity(nbRows, nbCols);
 
-        return new RoomDTO(this.roomRepository.save(new RoomDB(number, nbRows, nbCols)));
+        RoomDB room = new RoomDB(number, nbRows, nbCols);
+
+        return this.catalogVersion.update(() -> new RoomDTO(this.roomRepository.save(room)));
     }
 
+    /**
+     * At most 9 statements, whatever the number of tickets of the room.
+     */
     @Transactional
     @RestrictToStaff
     public Optional<RoomDTO> updateRoomMovie(UUID uuid, UUID movieUuid) {
-        return this.roomRepository.findByUuid(uuid).map(room -> {
-            Optional<MovieDB> movie = this.movieRepository.findByUuid(movieUuid);
-
-            if (movieUuid == null || movie.isPresent()) {
-                room.setMovie((movieUuid == null) ? null : movie.get());
-                room.getTickets().stream()
-                        .peek(ticket -> this.ticketRepository.deleteByUuid(ticket.getUuid()))
-                        .map(TicketDB::getOrder).distinct().forEach(order -> {
-                            this.orderRepository.deleteByUuid(order.getUuid());
-                        });
+        if (!this.roomRepository.existsByUuid(uuid)) return Optional.empty();
+        else if (movieUuid != null && !this.movieRepository.existsByUuid(movieUuid))
+            throw new InvalidRoomException(InvalidRoomException.Type.MOVIE);
+
+        return this.catalogVersion.update(() -> {
+            // Tickets are removed before loading the room, so that they are not loaded along with it
+            this.ticketService.removeRoomTickets(Collections.singletonList(uuid));
+
+            return this.roomRepository.findByUuid(uuid).map(room -> {
+                room.setMovie((movieUuid == null) ? null : this.movieRepository.findByUuid(movieUuid).orElse(null));
                 room.setTickets(Collections.emptyList());
 
-                return new RoomDTO(this.roomRepository.save(room));
-            } else throw new InvalidRoomException(InvalidRoomException.Type.MOVIE);
+                RoomDTO updated = new RoomDTO(this.roomRepository.save(room));
+
+                this.catalogCache.invalidateCatalog(Collections.singletonList(uuid));
+
+                return updated;
+            });
         });
     }
 
+    /**
+     * At most 5 statements, whatever the number of tickets of the room.
+     */
+    @Transactional
     @RestrictToStaff
     public void removeRoom(UUID uuid) {
-        this.roomRepository.deleteByUuid(uuid);
+        this.catalogVersion.update(() -> {
+            this.ticketService.removeRoomTickets(Collections.singletonList(uuid));
+            this.roomRepository.deleteByUuid(uuid);
+            this.catalogCache.invalidateCatalog(Collections.singletonList(uuid));
+        });
+    }
+
+    private Optional<RoomDTO> loadRoom(UUID uuid) {
+        return this.roomRepository.findByUuid(uuid).map(RoomDTO::new);
     }
 
     private void validateNumber(UUID uuid, int number) {
@@ -83,4 +158,30 @@ public class RoomService {
         if (nbRows < 1) throw new InvalidRoomException(InvalidRoomException.Type.NB_ROWS);
         else if (nbCols < 1) throw new InvalidRoomException(InvalidRoomException.Type.NB_COLS);
     }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+
+            throw ex;
+        }
+    }
+
+    @EqualsAndHashCode
+    private static class RoomLoad {
+
+        private final UUID uuid;
+
+        private final long catalogVersion;
+
+        private final long roomVersion;
+
+        private RoomLoad(UUID uuid, long catalogVersion, long roomVersion) {
+            this.uuid = uuid;
+            this.catalogVersion = catalogVersion;
+            this.roomVersion = roomVersion;
+        }
+    }
 }
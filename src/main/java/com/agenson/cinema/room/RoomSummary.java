@@ -0,0 +1,22 @@
+package com.agenson.cinema.room;
+
+import java.util.UUID;
+
+public interface RoomSummary {
+
+    UUID getUuid();
+
+    int getNumber();
+
+    int getNbRows();
+
+    int getNbCols();
+
+    UUID getMovieUuid();
+
+    String getMovieTitle();
+
+    int getSoldCount();
+
+    int getRevenue();
+}
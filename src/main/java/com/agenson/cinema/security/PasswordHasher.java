@@ -0,0 +1,162 @@
+package com.agenson.cinema.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hashes and checks passwords on a dedicated pool, one thread per core by default, so that a burst of signups
+ * or logins never runs more BCrypt rounds at once than there are cores.
+ * <p>
+ * The queue of the pool is bounded: once full, submitting threads wait for a slot, which slows them down
+ * instead of queueing work without limit. Hashes never run on the submitting threads themselves.
+ */
+@Component
+public class PasswordHasher {
+
+    public static final int MIN_STRENGTH = 10;
+
+    public static final int MAX_STRENGTH = 31;
+
+    private final BCryptPasswordEncoder encoder;
+
+    private final ThreadPoolExecutor executor;
+
+    // A slot per thread and per queued hash: acquired before submitting, released once the hash is done
+    private final Semaphore slots;
+
+    public PasswordHasher(BCryptPasswordEncoder encoder,
+                          @Value("${cinema.security.hash.threads:0}") int threads,
+                          @Value("${cinema.security.hash.queue:64}") int queueCapacity) {
+        int nbThreads = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+        int capacity = Math.max(1, queueCapacity);
+        AtomicInteger count = new AtomicInteger();
+
+        this.encoder = encoder;
+        this.executor = new ThreadPoolExecutor(
+                nbThreads,
+                nbThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+
+                    return thread;
+                }
+        );
+        this.slots = new Semaphore(nbThreads + capacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Waits for a slot when the pool and its queue are full.
+     */
+    public CompletableFuture<String> encodeAsync(CharSequence password) {
+        return this.submit(() -> this.encoder.encode(password));
+    }
+
+    /**
+     * Waits for a slot when the pool and its queue are full.
+     */
+    public CompletableFuture<Boolean> matchesAsync(CharSequence password, String encodedPassword) {
+        return this.submit(() -> this.encoder.matches(password, encodedPassword));
+    }
+
+    public String encode(CharSequence password) {
+        return PasswordHasher.join(this.encodeAsync(password));
+    }
+
+    public boolean matches(CharSequence password, String encodedPassword) {
+        return PasswordHasher.join(this.matchesAsync(password, encodedPassword));
+    }
+
+    /**
+     * @return whether the hash was made with a lower cost than the current one, and should be replaced
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encodedPassword != null && this.encoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Finds the BCrypt cost of a single hash closest to the target latency on this machine, without going below
+     * {@link #MIN_STRENGTH}. Each additional cost doubles the hashing time, so only the minimum cost is measured.
+     */
+    public static int calibrate(Duration target) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(MIN_STRENGTH);
+        long targetNanos = target.toNanos();
+
+        encoder.encode("calibration");
+
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        long elapsed = Math.max(1, System.nanoTime() - start);
+
+        int strength = MIN_STRENGTH;
+
+        while (strength < MAX_STRENGTH && elapsed * 3 / 2 <= targetNanos) {
+            strength++;
+            elapsed *= 2;
+        }
+
+        return strength;
+    }
+
+    /**
+     * Keeps the cost used so far when the calibrated one is within a step of it: timings vary between startups,
+     * and every change of cost makes logins rehash the passwords.
+     *
+     * @param previous the cost used so far, 0 when unknown
+     */
+    public static int settle(int previous, int calibrated) {
+        boolean known = previous >= MIN_STRENGTH && previous <= MAX_STRENGTH;
+
+        return (known && Math.abs(calibrated - previous) <= 1) ? previous : calibrated;
+    }
+
+    // Slots match the capacity of the pool: once one is acquired, the executor never rejects the hash
+    private <T> CompletableFuture<T> submit(Supplier<T> hash) {
+        this.slots.acquireUninterruptibly();
+
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return hash.get();
+                } finally {
+                    this.slots.release();
+                }
+            }, this.executor);
+        } catch (RejectedExecutionException ex) {
+            this.slots.release();
+
+            throw ex;
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+
+            throw ex;
+        }
+    }
+}
@@ -1,53 +1,94 @@
 package com.agenson.cinema.security;
 
+import com.agenson.cinema.security.session.Session;
+import com.agenson.cinema.security.session.SessionContext;
+import com.agenson.cinema.security.session.SessionRegistry;
 import com.agenson.cinema.user.UserDetailsDTO;
 import com.agenson.cinema.user.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Identifies users, and answers for the session bound to the current thread (see {@link SessionContext}).
+ */
 @Service
 @RequiredArgsConstructor
 public class SecurityService {
 
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordHasher passwordHasher;
 
     private final UserRepository userRepository;
 
-    private UserDetailsDTO currentUser = null;
+    private final SessionRegistry sessionRegistry;
 
     public Optional<UserDetailsDTO> getCurrentUser() {
-        return (this.currentUser != null) ? Optional.of(this.currentUser) : Optional.empty();
+        return this.getCurrentSession().map(Session::getUser);
     }
 
+    public Optional<Session> getCurrentSession() {
+        return SessionContext.current().filter(this.sessionRegistry::touch);
+    }
+
+    /**
+     * Same as {@link #getCurrentUser}, without allocating: null when not logged in.
+     */
+    public UserDetailsDTO findCurrentUser() {
+        Session session = SessionContext.get();
+
+        return (session != null && this.sessionRegistry.touch(session)) ? session.getUser() : null;
+    }
+
+    /**
+     * Opens a session and binds it to the current thread, in place of the previous one.
+     */
     public UserDetailsDTO login(String username, String password) {
-        return this.userRepository.findByUsername(username).map(user -> {
-            if (password != null && encoder.matches(password, user.getPassword())) {
-                this.currentUser = new UserDetailsDTO(user);
+        Session session = this.openSession(username, password);
+
+        this.logout();
+        SessionContext.bind(session);
 
-                return this.currentUser;
+        return session.getUser();
+    }
+
+    /**
+     * Opens a session without binding it: the caller passes it along with {@link SessionContext#runAs}.
+     * <p>
+     * One query, reading only the credentials of the user, plus the update of a hash made with an outdated cost.
+     */
+    public Session openSession(String username, String password) {
+        return this.userRepository.findCredentialsByUsername(username).map(user -> {
+            if (password != null && this.passwordHasher.matches(password, user.getPassword())) {
+                if (this.passwordHasher.upgradeEncoding(user.getPassword()))
+                    this.userRepository.updatePassword(user.getUuid(), this.passwordHasher.encode(password));
+
+                return this.sessionRegistry.open(new UserDetailsDTO(user));
             }
 
             return null;
         }).orElseThrow(() -> new SecurityException(SecurityException.Type.CONNECTION));
     }
 
+    public Optional<Session> findSession(String token) {
+        return this.sessionRegistry.find(token);
+    }
+
     public void logout() {
-        this.currentUser = null;
+        SessionContext.current().ifPresent(this.sessionRegistry::close);
+        SessionContext.clear();
     }
 
     public boolean isLoggedIn() {
-        return this.currentUser != null;
+        return this.getCurrentSession().isPresent();
     }
 
     public boolean hasRole(SecurityRole role) {
-        return this.isLoggedIn() && this.currentUser.getRole() == role;
+        return this.getCurrentUser().map(user -> user.getRole() == role).orElse(false);
     }
 
     public boolean isUser(UUID uuid) {
-        return this.isLoggedIn() && this.currentUser.getUuid().equals(uuid);
+        return this.getCurrentUser().map(user -> user.getUuid().equals(uuid)).orElse(false);
     }
 }
@@ -3,50 +3,129 @@ package com.agenson.cinema.security.restriction;
 import com.agenson.cinema.security.SecurityException;
 import com.agenson.cinema.security.SecurityRole;
 import com.agenson.cinema.security.SecurityService;
+import com.agenson.cinema.user.UserDetailsDTO;
 import lombok.RequiredArgsConstructor;
-import org.aspectj.lang.JoinPoint;
+import org.aopalliance.intercept.MethodInvocation;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
-import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
-import java.util.*;
-
-import static java.lang.Integer.min;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Aspect
 @Component
 @RequiredArgsConstructor
-public class RestrictionHandler {
+public class RestrictionHandler implements BeanFactoryAware, SmartInitializingSingleton {
+
+    private static final int NO_ARGUMENT = -1;
+
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
 
     private final SecurityService securityService;
 
+    private final Map<Method, Integer> argIndexes = new ConcurrentHashMap<>();
+
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * Resolves the checked argument of every restricted method of the beans once they are all created,
+     * so that an argument name matching no parameter fails the startup instead of every call.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!(this.beanFactory instanceof ListableBeanFactory)) return;
+
+        ListableBeanFactory beans = (ListableBeanFactory) this.beanFactory;
+
+        for (String name : beans.getBeanDefinitionNames()) {
+            Class<?> type = beans.getType(name, false);
+
+            if (type != null) this.resolveArgIndexes(ClassUtils.getUserClass(type));
+        }
+    }
+
     @Before("@annotation(RestrictToStaff)")
     public void restrictToStaff() throws SecurityException {
-        if (!this.securityService.isLoggedIn())
-            throw new SecurityException(SecurityException.Type.IDENTIFICATION);
-        else if (!this.securityService.hasRole(SecurityRole.STAFF))
+        UserDetailsDTO user = this.currentUser();
+
+        if (user.getRole() != SecurityRole.STAFF)
             throw new SecurityException(SecurityException.Type.AUTHORIZATION);
     }
 
-    @Before("@annotation(RestrictToUser)")
-    public void restrictToUser(JoinPoint joinPoint) throws SecurityException {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        RestrictToUser annotation = signature.getMethod().getAnnotation(RestrictToUser.class);
-        List<String> argNames = Arrays.asList(signature.getParameterNames());
-        List<Object> args = Arrays.asList(joinPoint.getArgs());
-        Optional<UUID> uuid = Optional.empty();
-
-        for (int i = 0; i < min(args.size(), argNames.size()); i++) {
-            if (Objects.equals(argNames.get(i), annotation.argName()) && args.get(i) instanceof UUID) {
-                uuid = Optional.of((UUID) args.get(i));
-                break;
-            }
+    /**
+     * The index of the checked argument is resolved once per method, at startup for the beans:
+     * the check itself reads no annotation nor parameter name, walks no argument list, and allocates nothing.
+     * The arguments are read from the invocation rather than from the join point, which would copy them on every call.
+     * A method whose argument could not be resolved is never authorized.
+     * <p>
+     * Spring AOP still allocates its own join point for every advised call (see {@code RestrictionHandlerBenchmark}).
+     */
+    @Before(value = "@annotation(restriction)", argNames = "restriction")
+    public void restrictToUser(RestrictToUser restriction) throws SecurityException {
+        UserDetailsDTO user = this.currentUser();
+        MethodInvocation invocation = ExposeInvocationInterceptor.currentInvocation();
+        Integer index = this.argIndexes.get(invocation.getMethod());
+
+        if (index == null) {
+            index = RestrictionHandler.findArgIndex(invocation.getMethod(), restriction);
+            this.argIndexes.put(invocation.getMethod(), index);
         }
 
-        if (!this.securityService.isLoggedIn())
-            throw new SecurityException(SecurityException.Type.IDENTIFICATION);
-        else if (!uuid.isPresent() || !this.securityService.isUser(uuid.get()))
+        Object uuid = (index != NO_ARGUMENT) ? invocation.getArguments()[index] : null;
+
+        if (!(uuid instanceof UUID) || !user.getUuid().equals(uuid))
             throw new SecurityException(SecurityException.Type.AUTHORIZATION);
     }
+
+    /**
+     * @throws IllegalStateException when the argument name of a restricted method of the type matches no parameter
+     */
+    void resolveArgIndexes(Class<?> type) {
+        ReflectionUtils.doWithMethods(type, method -> {
+            RestrictToUser restriction = method.getAnnotation(RestrictToUser.class);
+            int index = RestrictionHandler.findArgIndex(method, restriction);
+
+            if (index == NO_ARGUMENT) {
+                throw new IllegalStateException("@RestrictToUser: no argument named \"" + restriction.argName()
+                        + "\" in " + method.toGenericString());
+            }
+
+            this.argIndexes.put(method, index);
+        }, method -> method.isAnnotationPresent(RestrictToUser.class));
+    }
+
+    // The session bound to the calling thread, resolved once per check
+    private UserDetailsDTO currentUser() throws SecurityException {
+        UserDetailsDTO user = this.securityService.findCurrentUser();
+
+        if (user == null) throw new SecurityException(SecurityException.Type.IDENTIFICATION);
+
+        return user;
+    }
+
+    private static int findArgIndex(Method method, RestrictToUser restriction) {
+        String[] argNames = PARAMETER_NAMES.getParameterNames(method);
+
+        for (int i = 0; argNames != null && i < argNames.length; i++)
+            if (restriction.argName().equals(argNames[i])) return i;
+
+        return NO_ARGUMENT;
+    }
 }
@@ -0,0 +1,50 @@
+package com.agenson.cinema.security.session;
+
+import com.agenson.cinema.user.UserDetailsDTO;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Identity of a logged in user, known by an opaque token.
+ * Its state is only made of volatile fields, so that it can be checked from any thread without locking.
+ */
+@Getter
+public class Session {
+
+    private final String token;
+
+    private final UserDetailsDTO user;
+
+    @Getter(AccessLevel.NONE)
+    private volatile long lastAccess;
+
+    @Getter(AccessLevel.NONE)
+    private volatile boolean open = true;
+
+    Session(String token, UserDetailsDTO user, long now) {
+        this.token = token;
+        this.user = user;
+        this.lastAccess = now;
+    }
+
+    public boolean isOpen() {
+        return this.open;
+    }
+
+    long getLastAccess() {
+        return this.lastAccess;
+    }
+
+    void touch(long now) {
+        this.lastAccess = now;
+    }
+
+    void close() {
+        this.open = false;
+    }
+
+    @Override
+    public String toString() {
+        return this.user.toString();
+    }
+}
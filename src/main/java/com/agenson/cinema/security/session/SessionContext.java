@@ -0,0 +1,61 @@
+package com.agenson.cinema.security.session;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Session bound to the current thread, which restrictions are checked against.
+ * <p>
+ * A thread serving one user at a time (like the console) binds its session once at login.
+ * A thread serving many users passes the session of each request explicitly with {@link #runAs} or {@link #callAs}.
+ */
+public final class SessionContext {
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+
+    private SessionContext() {
+    }
+
+    public static Optional<Session> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Same as {@link #current}, null when no session is bound: for checks made on every call.
+     */
+    public static Session get() {
+        return CURRENT.get();
+    }
+
+    public static void bind(Session session) {
+        if (session != null) CURRENT.set(session);
+        else CURRENT.remove();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void runAs(Session session, Runnable task) {
+        SessionContext.callAs(session, () -> {
+            task.run();
+
+            return null;
+        });
+    }
+
+    /**
+     * Runs the task with the given session bound to the current thread, then restores the previous one.
+     */
+    public static <T> T callAs(Session session, Supplier<T> task) {
+        Session previous = CURRENT.get();
+
+        SessionContext.bind(session);
+
+        try {
+            return task.get();
+        } finally {
+            SessionContext.bind(previous);
+        }
+    }
+}
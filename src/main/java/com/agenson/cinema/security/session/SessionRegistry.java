@@ -0,0 +1,139 @@
+package com.agenson.cinema.security.session;
+
+import com.agenson.cinema.user.UserDetailsDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Open sessions by token.
+ * <p>
+ * Lookups are a single read of a concurrent map, and using a session only writes its last access time.
+ * A session idle for longer than the configured duration is closed when next used,
+ * or by a background sweep for the ones never used again.
+ */
+@Component
+public class SessionRegistry {
+
+    private static final int TOKEN_BYTES = 24;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    private final long idleMillis;
+
+    private final long sweepMillis;
+
+    private ScheduledExecutorService sweeper;
+
+    public SessionRegistry(@Value("${cinema.session.idle:30m}") Duration idle,
+                           @Value("${cinema.session.sweep:1m}") Duration sweep) {
+        this.idleMillis = idle.toMillis();
+        this.sweepMillis = Math.max(1, sweep.toMillis());
+    }
+
+    @PostConstruct
+    public void start() {
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-expiry");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        this.sweeper.scheduleAtFixedRate(
+                () -> this.expire(System.currentTimeMillis()),
+                this.sweepMillis,
+                this.sweepMillis,
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (this.sweeper != null) this.sweeper.shutdownNow();
+    }
+
+    public Session open(UserDetailsDTO user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        this.random.nextBytes(bytes);
+
+        Session session = new Session(
+                Base64.getUrlEncoder().withoutPadding().encodeToString(bytes),
+                user,
+                System.currentTimeMillis()
+        );
+
+        this.sessions.put(session.getToken(), session);
+
+        return session;
+    }
+
+    public Optional<Session> find(String token) {
+        Session session = (token != null) ? this.sessions.get(token) : null;
+
+        return (session != null && this.touch(session)) ? Optional.of(session) : Optional.empty();
+    }
+
+    /**
+     * Marks the session as used now.
+     *
+     * @return false when the session is closed, or has just expired
+     */
+    public boolean touch(Session session) {
+        long now = System.currentTimeMillis();
+
+        if (!session.isOpen()) return false;
+
+        if (now - session.getLastAccess() > this.idleMillis) {
+            this.close(session);
+
+            return false;
+        }
+
+        session.touch(now);
+
+        return true;
+    }
+
+    public void close(Session session) {
+        if (session == null) return;
+
+        session.close();
+        this.sessions.remove(session.getToken(), session);
+    }
+
+    /**
+     * Closes every session idle for longer than the configured duration.
+     *
+     * @return the number of sessions closed
+     */
+    public int expire(long nowMillis) {
+        int count = 0;
+
+        for (Session session : this.sessions.values()) {
+            if (nowMillis - session.getLastAccess() > this.idleMillis) {
+                this.close(session);
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    public int size() {
+        return this.sessions.size();
+    }
+}
@@ -0,0 +1,31 @@
+package com.agenson.cinema.snapshot;
+
+import lombok.Getter;
+
+public class SnapshotException extends RuntimeException {
+
+    public enum Type {
+        FORMAT("Error: Not a snapshot"),
+        VERSION("Error: Unsupported snapshot version"),
+        TRUNCATED("Error: Snapshot is truncated");
+
+        private final String type;
+
+        Type(String type) {
+            this.type = type;
+        }
+
+        @Override
+        public String toString() {
+            return this.type;
+        }
+    }
+
+    @Getter
+    private final SnapshotException.Type type;
+
+    public SnapshotException(SnapshotException.Type type) {
+        super(type.toString());
+        this.type = type;
+    }
+}
@@ -0,0 +1,99 @@
+package com.agenson.cinema.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Reads the primitives written by {@link SnapshotWriter}, refilling its buffer from the channel as needed.
+ */
+class SnapshotReader implements Closeable {
+
+    private final ReadableByteChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(SnapshotWriter.BUFFER_SIZE);
+
+    SnapshotReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer.flip();
+    }
+
+    void readHeader() throws IOException {
+        byte[] magic = new byte[SnapshotWriter.MAGIC.length];
+
+        try {
+            this.require(magic.length);
+        } catch (SnapshotException ex) {
+            throw new SnapshotException(SnapshotException.Type.FORMAT);
+        }
+
+        this.buffer.get(magic);
+
+        if (!Arrays.equals(magic, SnapshotWriter.MAGIC))
+            throw new SnapshotException(SnapshotException.Type.FORMAT);
+        else if (this.readVarLong() != SnapshotWriter.VERSION)
+            throw new SnapshotException(SnapshotException.Type.VERSION);
+    }
+
+    long readVarLong() throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            this.require(1);
+
+            byte next = this.buffer.get();
+
+            value |= (long) (next & 0x7F) << shift;
+
+            if ((next & 0x80) == 0) return value;
+        }
+
+        throw new SnapshotException(SnapshotException.Type.FORMAT);
+    }
+
+    long readZigZag() throws IOException {
+        long value = this.readVarLong();
+
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    UUID readUuid() throws IOException {
+        this.require(16);
+
+        return new UUID(this.buffer.getLong(), this.buffer.getLong());
+    }
+
+    String readString() throws IOException {
+        long length = this.readVarLong();
+
+        if (length > SnapshotWriter.BUFFER_SIZE) throw new SnapshotException(SnapshotException.Type.FORMAT);
+
+        byte[] bytes = new byte[(int) length];
+
+        this.require(bytes.length);
+        this.buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private void require(int nbBytes) throws IOException {
+        if (this.buffer.remaining() >= nbBytes) return;
+
+        this.buffer.compact();
+
+        while (this.buffer.position() < nbBytes) {
+            if (this.channel.read(this.buffer) < 0) throw new SnapshotException(SnapshotException.Type.TRUNCATED);
+        }
+
+        this.buffer.flip();
+    }
+}
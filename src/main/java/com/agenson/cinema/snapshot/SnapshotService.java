@@ -0,0 +1,362 @@
+package com.agenson.cinema.snapshot;
+
+import com.agenson.cinema.room.CatalogCache;
+import com.agenson.cinema.room.CatalogVersion;
+import com.agenson.cinema.ticket.TicketService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Saves the whole database into a compact binary file, and restores it in bulk.
+ * <p>
+ * Sections follow in the order movies, rooms, users, orders and tickets, each one ended by a zero. Rows are
+ * written by increasing id, as the difference with the previous id. Tickets are grouped by room and ordered
+ * by seat, so a seat is mostly a single byte: the difference with the previous seat of the room.
+ */
+@Service
+@RequiredArgsConstructor
+public class SnapshotService {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    // In the order of restoration: a table only references the ones before it
+    private static final List<String> TABLES = Arrays.asList("movie", "room", "\"user\"", "\"order\"", "ticket");
+
+    private static final String SELECT_TICKETS =
+            "SELECT room_id, seat, id, uuid, order_id FROM ticket ORDER BY room_id, seat";
+
+    private static final String INSERT_MOVIE = "INSERT INTO movie (id, uuid, title) VALUES (?, ?, ?)";
+
+    private static final String INSERT_ROOM = "INSERT INTO room "
+            + "(id, uuid, number, nb_rows, nb_cols, sold_count, revenue, movie_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_USER = "INSERT INTO \"user\" (id, uuid, username, password, role) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ORDER = "INSERT INTO \"order\" (id, uuid, user_id) VALUES (?, ?, ?)";
+
+    private static final String INSERT_TICKET = "INSERT INTO ticket (id, uuid, seat, room_id, order_id) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TicketService ticketService;
+
+    private final CatalogVersion catalogVersion;
+
+    private final CatalogCache catalogCache;
+
+    /**
+     * Writes a consistent snapshot of the database: into a temporary file first, which then replaces the target.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public SnapshotSummary save(Path path) throws IOException {
+        SnapshotSummary summary = new SnapshotSummary();
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (SnapshotWriter writer = new SnapshotWriter(FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            writer.writeHeader();
+            summary.nbMovies = this.saveRows(writer, "SELECT id, uuid, title FROM movie ORDER BY id", row -> {
+                writer.writeUuid(row.getObject(2, UUID.class));
+                writer.writeString(row.getString(3));
+            });
+            summary.nbRooms = this.saveRows(writer, "SELECT id, uuid, number, nb_rows, nb_cols, sold_count, revenue, "
+                    + "movie_id FROM room ORDER BY id", row -> {
+                writer.writeUuid(row.getObject(2, UUID.class));
+
+                for (int column = 3; column <= 8; column++)
+                    writer.writeVarLong(row.getLong(column));
+            });
+            summary.nbUsers = this.saveRows(writer, "SELECT id, uuid, username, password, role FROM \"user\" "
+                    + "ORDER BY id", row -> {
+                writer.writeUuid(row.getObject(2, UUID.class));
+                writer.writeString(row.getString(3));
+                writer.writeString(row.getString(4));
+                writer.writeVarLong(row.getLong(5));
+            });
+            summary.nbOrders = this.saveRows(writer, "SELECT id, uuid, user_id FROM \"order\" ORDER BY id", row -> {
+                writer.writeUuid(row.getObject(2, UUID.class));
+                writer.writeVarLong(row.getLong(3));
+            });
+            summary.nbTickets = this.saveTickets(writer);
+            summary.nbBytes = writer.size();
+        }
+
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return summary;
+    }
+
+    /**
+     * Replaces the content of the database with a snapshot, then reloads the occupancy index.
+     * <p>
+     * Meant for an idle database (at startup, or during maintenance): referential integrity is disabled for the
+     * whole database while the rows are inserted by batches, and is not checked again afterwards.
+     * Batches are committed as they go, so a failed restore leaves the database partially restored.
+     */
+    public SnapshotSummary restore(Path path) throws IOException {
+        SnapshotSummary summary = new SnapshotSummary();
+
+        try (SnapshotReader reader = new SnapshotReader(FileChannel.open(path, StandardOpenOption.READ));
+             Connection connection = this.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            boolean autoCommit = connection.getAutoCommit();
+
+            reader.readHeader();
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            connection.setAutoCommit(false);
+
+            try {
+                for (String table : TABLES)
+                    statement.execute("TRUNCATE TABLE " + table);
+
+                summary.nbMovies = this.restoreRows(connection, reader, INSERT_MOVIE, row -> {
+                    row.setObject(2, reader.readUuid());
+                    row.setString(3, reader.readString());
+                });
+                summary.nbRooms = this.restoreRows(connection, reader, INSERT_ROOM, row -> {
+                    row.setObject(2, reader.readUuid());
+
+                    for (int column = 3; column <= 7; column++)
+                        row.setLong(column, reader.readVarLong());
+
+                    SnapshotService.setId(row, 8, reader.readVarLong());
+                });
+                summary.nbUsers = this.restoreRows(connection, reader, INSERT_USER, row -> {
+                    row.setObject(2, reader.readUuid());
+                    row.setString(3, reader.readString());
+                    row.setString(4, reader.readString());
+                    row.setLong(5, reader.readVarLong());
+                });
+                summary.nbOrders = this.restoreRows(connection, reader, INSERT_ORDER, row -> {
+                    row.setObject(2, reader.readUuid());
+                    row.setLong(3, reader.readVarLong());
+                });
+                summary.nbTickets = this.restoreTickets(connection, reader);
+                summary.nbBytes = Files.size(path);
+
+                for (String table : TABLES)
+                    SnapshotService.restartIdentity(statement, table);
+
+                connection.commit();
+            } finally {
+                connection.setAutoCommit(autoCommit);
+                statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+        } catch (SQLException ex) {
+            DataAccessException translated = this.jdbcTemplate.getExceptionTranslator().translate("restore", null, ex);
+
+            throw (translated != null) ? translated : new UncategorizedSQLException("restore", null, ex);
+        }
+
+        // Catalog and seat maps read before are stale
+        this.catalogVersion.update(this.ticketService::rebuildOccupancyIndex);
+        this.catalogCache.invalidateAll();
+
+        return summary;
+    }
+
+    private long saveRows(SnapshotWriter writer, String query, RowWriter rowWriter) throws IOException {
+        long[] previousId = {0};
+        long nbRows = this.query(query, row -> {
+            long id = row.getLong(1);
+
+            writer.writeVarLong(id - previousId[0]);
+            rowWriter.write(row);
+            previousId[0] = id;
+        });
+
+        writer.writeVarLong(0);
+
+        return nbRows;
+    }
+
+    // Per room: the room id difference, its tickets by seat, and a zero
+    private long saveTickets(SnapshotWriter writer) throws IOException {
+        long[] previous = {0, 0, 0};
+        long nbTickets = this.query(SELECT_TICKETS, row -> {
+            long roomId = row.getLong(1);
+            long seat = row.getShort(2);
+            long id = row.getLong(3);
+
+            if (roomId != previous[0]) {
+                if (previous[0] != 0) writer.writeVarLong(0);
+
+                writer.writeVarLong(roomId - previous[0]);
+                previous[0] = roomId;
+                previous[1] = 0;
+            }
+
+            writer.writeVarLong(seat - previous[1]);
+            writer.writeZigZag(id - previous[2]);
+            writer.writeUuid(row.getObject(4, UUID.class));
+            writer.writeVarLong(row.getLong(5));
+            previous[1] = seat;
+            previous[2] = id;
+        });
+
+        if (previous[0] != 0) writer.writeVarLong(0);
+
+        writer.writeVarLong(0);
+
+        return nbTickets;
+    }
+
+    private long restoreRows(Connection connection, SnapshotReader reader, String insert, RowReader rowReader)
+            throws IOException, SQLException {
+        long[] id = {0};
+
+        return SnapshotService.insertAll(connection, insert, row -> {
+            long difference = reader.readVarLong();
+
+            if (difference == 0) return false;
+
+            id[0] += difference;
+            row.setLong(1, id[0]);
+            rowReader.read(row);
+
+            return true;
+        });
+    }
+
+    private long restoreTickets(Connection connection, SnapshotReader reader) throws IOException, SQLException {
+        long[] current = {0, 0, 0};
+        boolean[] inRoom = {false};
+
+        return SnapshotService.insertAll(connection, INSERT_TICKET, row -> {
+            while (true) {
+                if (!inRoom[0]) {
+                    long difference = reader.readVarLong();
+
+                    if (difference == 0) return false;
+
+                    current[0] += difference;
+                    current[1] = 0;
+                    inRoom[0] = true;
+                }
+
+                long seatDifference = reader.readVarLong();
+
+                if (seatDifference == 0) {
+                    inRoom[0] = false;
+                    continue;
+                }
+
+                current[1] += seatDifference;
+                current[2] += reader.readZigZag();
+                row.setLong(1, current[2]);
+                row.setObject(2, reader.readUuid());
+                row.setShort(3, (short) current[1]);
+                row.setLong(4, current[0]);
+                SnapshotService.setId(row, 5, reader.readVarLong());
+
+                return true;
+            }
+        });
+    }
+
+    private long query(String query, RowWriter rowWriter) throws IOException {
+        long[] nbRows = {0};
+
+        try {
+            this.jdbcTemplate.query(query, (RowCallbackHandler) row -> {
+                try {
+                    rowWriter.write(row);
+                    nbRows[0]++;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+
+        return nbRows[0];
+    }
+
+    // Commits every batch, so that the transaction never holds more than one batch of rows
+    private static long insertAll(Connection connection, String insert, BatchRow batchRow)
+            throws IOException, SQLException {
+        long nbRows = 0;
+
+        try (PreparedStatement statement = connection.prepareStatement(insert)) {
+            while (batchRow.next(statement)) {
+                statement.addBatch();
+
+                if (++nbRows % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+
+            statement.executeBatch();
+            connection.commit();
+        }
+
+        return nbRows;
+    }
+
+    // Ids start at 1: a zero stands for no reference
+    private static void setId(PreparedStatement statement, int index, long id) throws SQLException {
+        if (id != 0)
+            statement.setLong(index, id);
+        else
+            statement.setNull(index, Types.BIGINT);
+    }
+
+    private static void restartIdentity(Statement statement, String table) throws SQLException {
+        long next;
+
+        try (ResultSet max = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            max.next();
+            next = max.getLong(1) + 1;
+        }
+
+        statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+
+        void write(ResultSet row) throws IOException, SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowReader {
+
+        void read(PreparedStatement row) throws IOException, SQLException;
+    }
+
+    @FunctionalInterface
+    private interface BatchRow {
+
+        boolean next(PreparedStatement statement) throws IOException, SQLException;
+    }
+}
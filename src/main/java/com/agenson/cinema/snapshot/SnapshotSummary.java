@@ -0,0 +1,20 @@
+package com.agenson.cinema.snapshot;
+
+import lombok.Getter;
+
+@Getter
+public class SnapshotSummary {
+
+    long nbMovies;
+    long nbRooms;
+    long nbUsers;
+    long nbOrders;
+    long nbTickets;
+    long nbBytes;
+
+    @Override
+    public String toString() {
+        return String.format("%d movies, %d rooms, %d users, %d orders, %d tickets in %d bytes",
+                this.nbMovies, this.nbRooms, this.nbUsers, this.nbOrders, this.nbTickets, this.nbBytes);
+    }
+}
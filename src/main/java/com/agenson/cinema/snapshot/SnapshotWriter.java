@@ -0,0 +1,96 @@
+package com.agenson.cinema.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Writes the primitives of a snapshot through a buffer: unsigned varints (7 bits per byte, low bits first),
+ * zigzag varints for signed values, raw UUIDs and length-prefixed UTF-8 strings.
+ */
+class SnapshotWriter implements Closeable {
+
+    static final byte[] MAGIC = "CINEMA".getBytes(StandardCharsets.US_ASCII);
+
+    static final int VERSION = 1;
+
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private long size = 0;
+
+    SnapshotWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    void writeHeader() throws IOException {
+        this.require(MAGIC.length);
+        this.buffer.put(MAGIC);
+        this.writeVarLong(VERSION);
+    }
+
+    void writeVarLong(long value) throws IOException {
+        this.require(10);
+
+        while ((value & ~0x7FL) != 0) {
+            this.buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        this.buffer.put((byte) value);
+    }
+
+    void writeZigZag(long value) throws IOException {
+        this.writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeUuid(UUID uuid) throws IOException {
+        this.require(16);
+        this.buffer.putLong(uuid.getMostSignificantBits());
+        this.buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        // Columns are at most a few dozen characters: a string always fits in the buffer
+        this.writeVarLong(bytes.length);
+        this.require(bytes.length);
+        this.buffer.put(bytes);
+    }
+
+    /**
+     * @return the number of bytes written so far, flushed or not
+     */
+    long size() {
+        return this.size + this.buffer.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    private void require(int nbBytes) throws IOException {
+        if (this.buffer.remaining() < nbBytes) this.flush();
+    }
+
+    private void flush() throws IOException {
+        this.buffer.flip();
+
+        while (this.buffer.hasRemaining())
+            this.size += this.channel.write(this.buffer);
+
+        this.buffer.clear();
+    }
+}
@@ -1,5 +1,7 @@
 package com.agenson.cinema.ticket;
 
+import lombok.Getter;
+
 public class InvalidTicketException extends RuntimeException {
 
     public enum Type {
@@ -21,7 +23,11 @@ public class InvalidTicketException extends RuntimeException {
         }
     }
 
+    @Getter
+    private final InvalidTicketException.Type type;
+
     public InvalidTicketException(InvalidTicketException.Type type) {
         super(type.toString());
+        this.type = type;
     }
 }
@@ -0,0 +1,21 @@
+package com.agenson.cinema.ticket;
+
+import com.agenson.cinema.ticket.seat.Seat;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * State of a seat after a change of its room: deltas are absolute, so applying one twice is harmless.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class SeatChange {
+
+    private final long version;
+    private final Seat seat;
+    private final boolean available;
+}
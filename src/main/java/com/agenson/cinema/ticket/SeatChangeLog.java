@@ -0,0 +1,69 @@
+package com.agenson.cinema.ticket;
+
+import com.agenson.cinema.ticket.seat.Seat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Latest seat changes of a room, in a ring of fixed capacity where the oldest changes are forgotten first.
+ * <p>
+ * Not thread-safe: guarded by the lock of the room, like its occupancy.
+ */
+class SeatChangeLog {
+
+    private final long[] versions;
+    private final short[] seats;
+    private final boolean[] available;
+
+    private int head = 0;
+    private int size = 0;
+
+    // Every change newer than this version is still in the ring
+    private long floor;
+
+    SeatChangeLog(int capacity, long floor) {
+        this.versions = new long[capacity];
+        this.seats = new short[capacity];
+        this.available = new boolean[capacity];
+        this.floor = floor;
+    }
+
+    void add(long version, Seat seat, boolean available) {
+        int capacity = this.versions.length;
+
+        if (this.size == capacity) {
+            this.floor = this.versions[this.head];
+            this.head = (this.head + 1) % capacity;
+            this.size--;
+        }
+
+        int index = (this.head + this.size) % capacity;
+
+        this.versions[index] = version;
+        this.seats[index] = seat.getCode();
+        this.available[index] = available;
+        this.size++;
+    }
+
+    /**
+     * @return the changes newer than the version, null when some of them were forgotten
+     */
+    List<SeatChange> since(long version) {
+        if (version < this.floor) return null;
+
+        List<SeatChange> changes = new ArrayList<>();
+
+        for (int i = 0; i < this.size; i++) {
+            int index = (this.head + i) % this.versions.length;
+
+            if (this.versions[index] > version) {
+                Seat seat = Seat.fromCode(this.seats[index]);
+
+                changes.add(new SeatChange(this.versions[index], seat, this.available[index]));
+            }
+        }
+
+        return changes;
+    }
+}
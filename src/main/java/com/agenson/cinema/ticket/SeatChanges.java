@@ -0,0 +1,24 @@
+package com.agenson.cinema.ticket;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Seat changes of a room up to a version, or a reset when they are not known (anymore):
+ * the seat map must then be read again.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SeatChanges {
+
+    private final long version;
+    private final List<SeatChange> changes;
+    private final boolean reset;
+
+    public static SeatChanges reset(long version) {
+        return new SeatChanges(version, Collections.emptyList(), true);
+    }
+}
@@ -0,0 +1,489 @@
+package com.agenson.cinema.ticket;
+
+import com.agenson.cinema.ticket.seat.Seat;
+import com.agenson.cinema.ticket.seat.SeatOccupancy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * In-memory occupancy bitmaps of the rooms, kept in step with the ticket table.
+ * <p>
+ * Rooms are loaded on first access (or all at once at startup), reservations are applied immediately
+ * and undone if the surrounding transaction rolls back, evictions are repeated once the transaction completes.
+ * <p>
+ * Every access to a room runs under the lock stripe of that room: bookings of different rooms proceed in parallel
+ * while bookings of the same room are serialised around a few bit operations.
+ * <p>
+ * Seats held during selection live in a second bitmap per room: they are unavailable to everyone
+ * (snapshots show them as reserved) until the hold is released or turned into a reservation.
+ * Each held seat also records the uuid of its hold, and only that hold may release or reserve it:
+ * once a room is evicted, its former holds no longer own any seat, even if the seat is held again meanwhile.
+ * <p>
+ * Every change of a room, reservation or hold, stamps it with a new version taken from a single sequence:
+ * versions of a room only grow, even across evictions, so equal versions mean equal snapshots.
+ * The latest seat changes of each indexed room are kept in a bounded log, and pushed to the subscribers of the room.
+ */
+@Component
+public class SeatOccupancyIndex {
+
+    private final Map<UUID, SeatOccupancy> rooms = new ConcurrentHashMap<>();
+
+    private final Map<UUID, SeatOccupancy> holds = new ConcurrentHashMap<>();
+
+    private final Map<UUID, Map<Seat, UUID>> holders = new ConcurrentHashMap<>();
+
+    static final int CHANGE_LOG_CAPACITY = 256;
+
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+
+    private final Map<UUID, SeatChangeLog> logs = new ConcurrentHashMap<>();
+
+    private final Map<UUID, List<Consumer<SeatChanges>>> subscribers = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final StripedLock locks = StripedLock.forAvailableProcessors();
+
+    public Optional<SeatOccupancy> snapshot(UUID roomUuid) {
+        if (roomUuid == null) return Optional.empty();
+
+        return this.locks.withLock(roomUuid, () -> Optional.ofNullable(this.rooms.get(roomUuid))
+                .map(occupancy -> this.withHolds(roomUuid, occupancy)));
+    }
+
+    public SeatOccupancy snapshot(UUID roomUuid, Function<UUID, SeatOccupancy> loader) {
+        return this.locks.withLock(roomUuid, () -> {
+            SeatOccupancy occupancy = this.getOrLoad(roomUuid, loader);
+
+            return (occupancy != null) ? this.withHolds(roomUuid, occupancy) : null;
+        });
+    }
+
+    /**
+     * @return the version along with the snapshot, null when the loader does not know the room
+     */
+    public VersionedOccupancy versionedSnapshot(UUID roomUuid, Function<UUID, SeatOccupancy> loader) {
+        return this.locks.withLock(roomUuid, () -> {
+            SeatOccupancy occupancy = this.getOrLoad(roomUuid, loader);
+
+            return (occupancy != null)
+                    ? new VersionedOccupancy(this.versions.get(roomUuid), this.withHolds(roomUuid, occupancy))
+                    : null;
+        });
+    }
+
+    /**
+     * @return the current version of the room, empty when it is not indexed
+     */
+    public Optional<Long> version(UUID roomUuid) {
+        if (roomUuid == null) return Optional.empty();
+
+        return this.locks.withLock(roomUuid, () -> this.rooms.containsKey(roomUuid)
+                ? Optional.ofNullable(this.versions.get(roomUuid))
+                : Optional.<Long>empty());
+    }
+
+    /**
+     * @return the changes of the room newer than the version, a reset when they are not all known
+     */
+    public SeatChanges changesSince(UUID roomUuid, long version) {
+        if (roomUuid == null) return SeatChanges.reset(0);
+
+        return this.locks.withLock(roomUuid, () -> {
+            long current = this.versions.getOrDefault(roomUuid, 0L);
+            SeatChangeLog log = this.logs.get(roomUuid);
+            List<SeatChange> changes = (log != null && version <= current) ? log.since(version) : null;
+
+            return (changes != null) ? new SeatChanges(current, changes, false) : SeatChanges.reset(current);
+        });
+    }
+
+    /**
+     * Pushes every later change of the room to the subscriber, until it unsubscribes.
+     * Subscribers are called under the lock of the room, in the order of the versions: they must only hand
+     * the changes over, never block.
+     */
+    public void subscribe(UUID roomUuid, Consumer<SeatChanges> subscriber) {
+        this.subscribers.computeIfAbsent(roomUuid, uuid -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    public void unsubscribe(UUID roomUuid, Consumer<SeatChanges> subscriber) {
+        this.subscribers.computeIfPresent(roomUuid, (uuid, roomSubscribers) -> {
+            roomSubscribers.remove(subscriber);
+
+            return roomSubscribers.isEmpty() ? null : roomSubscribers;
+        });
+    }
+
+    public Optional<InvalidTicketException.Type> reserve(UUID roomUuid, Seat seat,
+                                                         Function<UUID, SeatOccupancy> loader) {
+        Optional<InvalidTicketException.Type> conflict = this.locks.withLock(roomUuid, () -> {
+            SeatOccupancy occupancy = this.getOrLoad(roomUuid, loader);
+
+            if (!occupancy.fits(seat))
+                return Optional.of(InvalidTicketException.Type.CAPACITY);
+            else if (this.isHeld(roomUuid, seat) || !occupancy.reserve(seat))
+                return Optional.of(InvalidTicketException.Type.EXISTS);
+
+            this.changed(roomUuid, Collections.singletonList(seat));
+
+            return Optional.<InvalidTicketException.Type>empty();
+        });
+
+        if (!conflict.isPresent())
+            this.afterRollback(() -> this.release(roomUuid, seat));
+
+        return conflict;
+    }
+
+    /**
+     * Holds a free seat on behalf of the given hold: nobody else can hold or reserve it
+     * until {@link #unhold} or {@link #reserveAll}.
+     *
+     * @return the conflict, {@link InvalidTicketException.Type#ROOM} when the loader does not know the room
+     */
+    public Optional<InvalidTicketException.Type> hold(UUID roomUuid, Seat seat, UUID holdUuid,
+                                                      Function<UUID, SeatOccupancy> loader) {
+        if (roomUuid == null) return Optional.of(InvalidTicketException.Type.ROOM);
+
+        return this.locks.withLock(roomUuid, () -> {
+            SeatOccupancy occupancy = this.getOrLoad(roomUuid, loader);
+
+            if (occupancy == null)
+                return Optional.of(InvalidTicketException.Type.ROOM);
+
+            SeatOccupancy held = this.heldSeats(roomUuid, occupancy);
+
+            if (!occupancy.fits(seat))
+                return Optional.of(InvalidTicketException.Type.CAPACITY);
+            else if (occupancy.isReserved(seat) || !held.reserve(seat))
+                return Optional.of(InvalidTicketException.Type.EXISTS);
+
+            this.holders.computeIfAbsent(roomUuid, uuid -> new HashMap<>()).put(seat, holdUuid);
+            this.changed(roomUuid, Collections.singletonList(seat));
+
+            return Optional.<InvalidTicketException.Type>empty();
+        });
+    }
+
+    public Optional<List<Seat>> findBestBlock(UUID roomUuid, int nbSeats, Function<UUID, SeatOccupancy> loader) {
+        if (roomUuid == null) return Optional.empty();
+
+        return this.locks.withLock(roomUuid, () -> {
+            SeatOccupancy occupancy = this.getOrLoad(roomUuid, loader);
+
+            return (occupancy != null)
+                    ? occupancy.findBestBlock(nbSeats, this.holds.get(roomUuid))
+                    : Optional.<List<Seat>>empty();
+        });
+    }
+
+    /**
+     * Finds and holds the best block of adjacent free seats in one step, so that no other session takes it meanwhile:
+     * one seat per given hold, from left to right.
+     *
+     * @return the held seats, empty when no row has enough adjacent free seats
+     */
+    public Optional<List<Seat>> holdBestBlock(UUID roomUuid, List<UUID> holdUuids,
+                                              Function<UUID, SeatOccupancy> loader) {
+        if (roomUuid == null) return Optional.empty();
+
+        return this.locks.withLock(roomUuid, () -> {
+            SeatOccupancy occupancy = this.getOrLoad(roomUuid, loader);
+
+            if (occupancy == null) return Optional.<List<Seat>>empty();
+
+            SeatOccupancy held = this.heldSeats(roomUuid, occupancy);
+            Optional<List<Seat>> block = occupancy.findBestBlock(holdUuids.size(), held);
+
+            block.ifPresent(seats -> {
+                Map<Seat, UUID> roomHolders = this.holders.computeIfAbsent(roomUuid, uuid -> new HashMap<>());
+
+                for (int i = 0; i < seats.size(); i++) {
+                    held.reserve(seats.get(i));
+                    roomHolders.put(seats.get(i), holdUuids.get(i));
+                }
+
+                this.changed(roomUuid, seats);
+            });
+
+            return block;
+        });
+    }
+
+    /**
+     * Releases the seat when it is still held by the given hold: a hold lost to an eviction releases nothing.
+     */
+    public void unhold(UUID roomUuid, Seat seat, UUID holdUuid) {
+        this.locks.withLock(roomUuid, () -> {
+            SeatOccupancy held = this.holds.get(roomUuid);
+
+            return this.isHeldBy(roomUuid, seat, holdUuid)
+                    && this.changed(roomUuid, seat, this.releaseHold(roomUuid, held, seat));
+        });
+    }
+
+    /**
+     * Reserves every seat or none of them.
+     *
+     * @return the conflicting seats (a seat requested twice conflicts with itself), empty when all are reserved
+     */
+    public Map<Seat, InvalidTicketException.Type> reserveAll(UUID roomUuid, List<Seat> seats,
+                                                             Function<UUID, SeatOccupancy> loader) {
+        return this.reserveAll(roomUuid, seats, Collections.emptyMap(), loader);
+    }
+
+    /**
+     * Reserves every seat or none of them, taking over the given held seats, each along with the uuid of its hold.
+     * A seat still held by its hold is known to be valid and free for its holder, so it is not checked again;
+     * a seat whose hold was lost to an eviction conflicts, since the room may have changed meanwhile.
+     * Seats of holds which expired are not given: they are checked like any other seat.
+     *
+     * @return the conflicting seats (a seat requested twice conflicts with itself), empty when all are reserved
+     */
+    public Map<Seat, InvalidTicketException.Type> reserveAll(UUID roomUuid, List<Seat> seats,
+                                                             Map<Seat, UUID> heldSeats,
+                                                             Function<UUID, SeatOccupancy> loader) {
+        Map<Seat, InvalidTicketException.Type> conflicts = this.locks.withLock(roomUuid, () -> {
+            LinkedHashMap<Seat, InvalidTicketException.Type> result = new LinkedHashMap<>();
+            SeatOccupancy occupancy = this.getOrLoad(roomUuid, loader);
+            SeatOccupancy held = this.holds.get(roomUuid);
+            HashSet<Seat> requested = new HashSet<>();
+
+            for (Seat seat : seats) {
+                boolean stillHeld = heldSeats.containsKey(seat) && this.isHeldBy(roomUuid, seat, heldSeats.get(seat));
+
+                if (seat == null)
+                    result.put(null, InvalidTicketException.Type.SEAT);
+                else if (!requested.add(seat))
+                    result.put(seat, InvalidTicketException.Type.EXISTS);
+                else if (stillHeld)
+                    continue;
+                else if (heldSeats.containsKey(seat))
+                    result.put(seat, InvalidTicketException.Type.EXISTS);
+                else if (!occupancy.fits(seat))
+                    result.put(seat, InvalidTicketException.Type.CAPACITY);
+                else if (occupancy.isReserved(seat) || this.isHeld(roomUuid, seat))
+                    result.put(seat, InvalidTicketException.Type.EXISTS);
+            }
+
+            if (result.isEmpty()) {
+                for (Seat seat : seats) {
+                    if (heldSeats.containsKey(seat)) this.releaseHold(roomUuid, held, seat);
+
+                    occupancy.reserve(seat);
+                }
+
+                this.changed(roomUuid, seats);
+            }
+
+            return result;
+        });
+
+        if (conflicts.isEmpty()) {
+            List<Seat> reservedSeats = new ArrayList<>(seats);
+
+            this.afterRollback(() -> reservedSeats.forEach(seat -> this.release(roomUuid, seat)));
+        }
+
+        return conflicts;
+    }
+
+    public void release(UUID roomUuid, Seat seat) {
+        this.locks.withLock(roomUuid, () -> {
+            SeatOccupancy occupancy = this.rooms.get(roomUuid);
+
+            return (occupancy != null) && this.changed(roomUuid, seat, occupancy.release(seat));
+        });
+    }
+
+    public void evict(UUID roomUuid) {
+        if (roomUuid == null) return;
+
+        this.drop(roomUuid);
+        this.afterCompletion(() -> this.drop(roomUuid));
+    }
+
+    public void rebuild(Map<UUID, SeatOccupancy> rooms) {
+        Set<UUID> known = new HashSet<>(this.rooms.keySet());
+
+        known.addAll(rooms.keySet());
+        known.addAll(this.holds.keySet());
+        this.rooms.clear();
+        this.rooms.putAll(rooms);
+        known.forEach(this::dropHolds);
+        known.forEach(this::reset);
+        rooms.keySet().forEach(this::track);
+    }
+
+    // Callers hold the lock of the room: loading outside of the map keeps slow queries off its internal locks
+    private SeatOccupancy getOrLoad(UUID roomUuid, Function<UUID, SeatOccupancy> loader) {
+        SeatOccupancy occupancy = this.rooms.get(roomUuid);
+
+        if (occupancy == null) {
+            occupancy = loader.apply(roomUuid);
+
+            if (occupancy != null) {
+                this.rooms.put(roomUuid, occupancy);
+                this.track(roomUuid);
+            }
+        }
+
+        return occupancy;
+    }
+
+    // Starts the change log of a freshly indexed room, from its current version
+    private void track(UUID roomUuid) {
+        long version = this.versions.computeIfAbsent(roomUuid, uuid -> this.sequence.incrementAndGet());
+
+        this.logs.put(roomUuid, new SeatChangeLog(CHANGE_LOG_CAPACITY, version));
+    }
+
+    // Callers hold the lock of the room
+    private void changed(UUID roomUuid, Collection<Seat> seats) {
+        long version = this.sequence.incrementAndGet();
+        SeatChangeLog log = this.logs.get(roomUuid);
+        List<SeatChange> changes = new ArrayList<>(seats.size());
+
+        this.versions.put(roomUuid, version);
+
+        for (Seat seat : seats) {
+            SeatChange change = new SeatChange(version, seat, this.isAvailable(roomUuid, seat));
+
+            if (log != null) log.add(version, seat, change.isAvailable());
+
+            changes.add(change);
+        }
+
+        this.publish(roomUuid, new SeatChanges(version, changes, false));
+    }
+
+    private boolean changed(UUID roomUuid, Seat seat, boolean changed) {
+        if (changed) this.changed(roomUuid, Collections.singletonList(seat));
+
+        return changed;
+    }
+
+    private void drop(UUID roomUuid) {
+        this.locks.withLock(roomUuid, () -> {
+            this.rooms.remove(roomUuid);
+            this.dropHolds(roomUuid);
+            this.reset(roomUuid);
+
+            return null;
+        });
+    }
+
+    // Former holds of the room no longer own any seat: they release and reserve nothing once they come back
+    private void dropHolds(UUID roomUuid) {
+        this.locks.withLock(roomUuid, () -> {
+            this.holds.remove(roomUuid);
+            this.holders.remove(roomUuid);
+
+            return null;
+        });
+    }
+
+    // Callers hold the lock of the room
+    private SeatOccupancy heldSeats(UUID roomUuid, SeatOccupancy occupancy) {
+        return this.holds.computeIfAbsent(roomUuid,
+                uuid -> new SeatOccupancy(occupancy.getNbRows(), occupancy.getNbCols()));
+    }
+
+    // Callers hold the lock of the room
+    private boolean isHeldBy(UUID roomUuid, Seat seat, UUID holdUuid) {
+        Map<Seat, UUID> roomHolders = this.holders.get(roomUuid);
+
+        return holdUuid != null && roomHolders != null && holdUuid.equals(roomHolders.get(seat));
+    }
+
+    // Callers hold the lock of the room
+    private boolean releaseHold(UUID roomUuid, SeatOccupancy held, Seat seat) {
+        Map<Seat, UUID> roomHolders = this.holders.get(roomUuid);
+
+        if (roomHolders != null) roomHolders.remove(seat);
+
+        return (held != null) && held.release(seat);
+    }
+
+    // The changes of the room are forgotten along with its occupancy: readers start again from a snapshot
+    private void reset(UUID roomUuid) {
+        this.locks.withLock(roomUuid, () -> {
+            long version = this.sequence.incrementAndGet();
+
+            this.versions.put(roomUuid, version);
+            this.logs.remove(roomUuid);
+            this.publish(roomUuid, SeatChanges.reset(version));
+
+            return version;
+        });
+    }
+
+    private void publish(UUID roomUuid, SeatChanges changes) {
+        List<Consumer<SeatChanges>> roomSubscribers = this.subscribers.get(roomUuid);
+
+        if (roomSubscribers != null) roomSubscribers.forEach(subscriber -> subscriber.accept(changes));
+    }
+
+    // Callers hold the lock of the room
+    private boolean isAvailable(UUID roomUuid, Seat seat) {
+        SeatOccupancy occupancy = this.rooms.get(roomUuid);
+
+        return (occupancy == null || !occupancy.isReserved(seat)) && !this.isHeld(roomUuid, seat);
+    }
+
+    // Callers hold the lock of the room
+    private boolean isHeld(UUID roomUuid, Seat seat) {
+        SeatOccupancy held = this.holds.get(roomUuid);
+
+        return held != null && held.isReserved(seat);
+    }
+
+    // Callers hold the lock of the room
+    private SeatOccupancy withHolds(UUID roomUuid, SeatOccupancy occupancy) {
+        SeatOccupancy held = this.holds.get(roomUuid);
+
+        return (held != null) ? occupancy.copy().merge(held) : occupancy.copy();
+    }
+
+    private void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == TransactionSynchronization.STATUS_ROLLED_BACK) action.run();
+                }
+            });
+        }
+    }
+
+    private void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.agenson.cinema.ticket;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of locks shared by hashing keys onto them: keys on different stripes never contend,
+ * and memory does not grow with the number of keys.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] stripes;
+
+    private final int mask;
+
+    public StripedLock(int minStripes) {
+        int size = Integer.highestOneBit(Math.max(1, minStripes - 1)) << 1;
+
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++)
+            this.stripes[i] = new ReentrantLock();
+    }
+
+    public static StripedLock forAvailableProcessors() {
+        return new StripedLock(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    public Lock get(Object key) {
+        int hash = (key != null) ? key.hashCode() : 0;
+
+        return this.stripes[(hash ^ (hash >>> 16)) & this.mask];
+    }
+
+    public <T> T withLock(Object key, Supplier<T> action) {
+        Lock lock = this.get(key);
+
+        lock.lock();
+
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return this.stripes.length;
+    }
+}
@@ -0,0 +1,34 @@
+package com.agenson.cinema.ticket;
+
+import com.agenson.cinema.ticket.seat.Seat;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Getter
+@EqualsAndHashCode
+public class TicketBatchDTO {
+
+    private final List<TicketSeatDTO> tickets;
+    private final Map<Seat, InvalidTicketException.Type> conflicts;
+
+    public TicketBatchDTO(List<TicketDB> tickets) {
+        this.tickets = tickets.stream()
+                .map(TicketSeatDTO::new)
+                .collect(Collectors.toList());
+        this.conflicts = Collections.emptyMap();
+    }
+
+    public TicketBatchDTO(Map<Seat, InvalidTicketException.Type> conflicts) {
+        this.tickets = Collections.emptyList();
+        this.conflicts = Collections.unmodifiableMap(conflicts);
+    }
+
+    public boolean isBooked() {
+        return this.conflicts.isEmpty();
+    }
+}
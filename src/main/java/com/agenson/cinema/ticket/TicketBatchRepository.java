@@ -0,0 +1,14 @@
+package com.agenson.cinema.ticket;
+
+import com.agenson.cinema.ticket.seat.Seat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+public interface TicketBatchRepository {
+
+    void insertAll(List<TicketDB> tickets);
+
+    void scanRoomSeats(BiConsumer<UUID, Seat> consumer);
+}
@@ -0,0 +1,77 @@
+package com.agenson.cinema.ticket;
+
+import com.agenson.cinema.ticket.seat.Seat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+@RequiredArgsConstructor
+public class TicketBatchRepositoryImpl implements TicketBatchRepository {
+
+    private static final String INSERT_TICKET = "INSERT INTO ticket (uuid, seat, room_id, order_id) VALUES (?, ?, ?, ?)";
+
+    private static final String SELECT_ROOM_SEATS =
+            "SELECT t.room_id, r.uuid, t.seat FROM ticket t JOIN room r ON r.id = t.room_id ORDER BY t.room_id";
+
+    private final EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts every ticket with a single JDBC batch (IDENTITY keys prevent Hibernate from batching inserts).
+     * The persistence context is flushed first so that rooms & orders created in the same transaction exist.
+     */
+    @Override
+    @Transactional
+    public void insertAll(List<TicketDB> tickets) {
+        if (tickets.isEmpty()) return;
+
+        this.entityManager.flush();
+        this.jdbcTemplate.batchUpdate(INSERT_TICKET, tickets, tickets.size(), (statement, ticket) -> {
+            statement.setObject(1, ticket.getUuid());
+            statement.setShort(2, ticket.getSeat().getCode());
+            statement.setLong(3, ticket.getRoom().getId());
+
+            if (ticket.getOrder() != null)
+                statement.setLong(4, ticket.getOrder().getId());
+            else
+                statement.setNull(4, Types.BIGINT);
+        });
+    }
+
+    /**
+     * Hands the seat of every ticket to the consumer along with the uuid of its room, room by room.
+     * Rows are read as plain columns and never kept: the uuid of a room is read once for all its tickets,
+     * and seats come from the flyweight table, so a scan of millions of tickets allocates next to nothing.
+     */
+    @Override
+    public void scanRoomSeats(BiConsumer<UUID, Seat> consumer) {
+        this.jdbcTemplate.query(SELECT_ROOM_SEATS, new RowCallbackHandler() {
+
+            private long roomId;
+
+            private UUID roomUuid;
+
+            @Override
+            public void processRow(ResultSet row) throws SQLException {
+                long id = row.getLong(1);
+
+                if (this.roomUuid == null || id != this.roomId) {
+                    this.roomId = id;
+                    this.roomUuid = row.getObject(2, UUID.class);
+                }
+
+                consumer.accept(this.roomUuid, Seat.fromCode(row.getShort(3)));
+            }
+        });
+    }
+}
@@ -24,12 +24,12 @@ public class TicketDB {
     @Convert(converter = SeatConverter.class)
     private Seat seat;
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "room_id")
     private RoomDB room;
 
     // SQL Foreign Key Constraint Definition: ON DELETE SET NULL
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id")
     private OrderDB order = null;
 
@@ -1,12 +1,28 @@
 package com.agenson.cinema.ticket;
 
+import com.agenson.cinema.ticket.seat.Seat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface TicketRepository extends JpaRepository<TicketDB, Long> {
+public interface TicketRepository extends JpaRepository<TicketDB, Long>, TicketBatchRepository {
+
+    @Query("SELECT t.seat FROM TicketDB t WHERE t.room.uuid = :roomUuid")
+    List<Seat> findSeatsByRoomUuid(@Param("roomUuid") UUID roomUuid);
+
+    @Query("SELECT DISTINCT t.order.id FROM TicketDB t WHERE t.room.uuid IN :roomUuids AND t.order IS NOT NULL")
+    List<Long> findOrderIdsByRoomUuidIn(@Param("roomUuids") Collection<UUID> roomUuids);
 
     void deleteByUuid(UUID uuid);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TicketDB t WHERE t.room IN (SELECT r FROM RoomDB r WHERE r.uuid IN :roomUuids)")
+    int deleteByRoomUuidIn(@Param("roomUuids") Collection<UUID> roomUuids);
 }
@@ -2,13 +2,37 @@ package com.agenson.cinema.ticket;
 
 import com.agenson.cinema.order.OrderDB;
 import com.agenson.cinema.order.OrderRepository;
+import com.agenson.cinema.room.CatalogCache;
+import com.agenson.cinema.room.RoomCapacity;
 import com.agenson.cinema.room.RoomDB;
+import com.agenson.cinema.room.RoomPricing;
 import com.agenson.cinema.room.RoomRepository;
+import com.agenson.cinema.room.RoomSales;
+import com.agenson.cinema.security.restriction.RestrictToStaff;
+import com.agenson.cinema.ticket.hold.SeatHold;
+import com.agenson.cinema.ticket.hold.SeatHoldRegistry;
 import com.agenson.cinema.ticket.seat.Seat;
+import com.agenson.cinema.ticket.seat.SeatOccupancy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +44,60 @@ public class TicketService {
 
     private final OrderRepository orderRepository;
 
+    private final SeatOccupancyIndex seatOccupancyIndex;
+
+    private final SeatHoldRegistry seatHoldRegistry;
+
+    private final CatalogCache catalogCache;
+
+    /**
+     * No query once the room is indexed, 2 the first time.
+     */
+    public Optional<SeatOccupancy> findOccupancy(UUID roomUuid) {
+        Optional<SeatOccupancy> occupancy = this.seatOccupancyIndex.snapshot(roomUuid);
+
+        if (occupancy.isPresent()) return occupancy;
+
+        return this.roomRepository.findByUuid(roomUuid)
+                .map(room -> this.seatOccupancyIndex.snapshot(room.getUuid(), this.occupancyLoader(room)));
+    }
+
+    /**
+     * Like {@link #findOccupancy}, along with the version of the room which changes with every reservation or hold.
+     */
+    public Optional<VersionedOccupancy> findVersionedOccupancy(UUID roomUuid) {
+        if (roomUuid == null) return Optional.empty();
+
+        return Optional.ofNullable(this.seatOccupancyIndex.versionedSnapshot(roomUuid, this::loadOccupancy));
+    }
+
+    /**
+     * No query: empty when the room is not indexed yet.
+     */
+    public Optional<Long> findOccupancyVersion(UUID roomUuid) {
+        return this.seatOccupancyIndex.version(roomUuid);
+    }
+
+    /**
+     * No query: seat changes of the room since the version of a previous snapshot or of previous changes.
+     * A reset means they are not all known, and the occupancy must be read again.
+     */
+    public SeatChanges findSeatChanges(UUID roomUuid, long version) {
+        return this.seatOccupancyIndex.changesSince(roomUuid, version);
+    }
+
+    public void subscribeSeatChanges(UUID roomUuid, Consumer<SeatChanges> subscriber) {
+        this.seatOccupancyIndex.subscribe(roomUuid, subscriber);
+    }
+
+    public void unsubscribeSeatChanges(UUID roomUuid, Consumer<SeatChanges> subscriber) {
+        this.seatOccupancyIndex.unsubscribe(roomUuid, subscriber);
+    }
+
+    /**
+     * At most 6 statements: room, order, seats when not indexed, the insert and the sales update.
+     */
+    @Transactional
     public TicketDetailsDTO createTicket(UUID roomUuid, UUID orderUuid, Seat seat) {
         RoomDB room = this.roomRepository.findByUuid(roomUuid)
                 .orElseThrow(() -> new InvalidTicketException(InvalidTicketException.Type.ROOM));
@@ -29,13 +107,290 @@ public class TicketService {
 
         if (seat == null)
             throw new InvalidTicketException(InvalidTicketException.Type.SEAT);
-        else if (seat.getCol() > room.getNbCols() || seat.getRow() > room.getNbRows())
-            throw new InvalidTicketException(InvalidTicketException.Type.CAPACITY);
-        else if(room.getTickets().stream().anyMatch(ticket -> ticket.getSeat().equals(seat)))
-            throw new InvalidTicketException(InvalidTicketException.Type.EXISTS);
 
-        TicketDB ticket = this.ticketRepository.save(new TicketDB(room, order, seat));
+        this.seatOccupancyIndex.reserve(room.getUuid(), seat, this.occupancyLoader(room)).ifPresent(type -> {
+            throw new InvalidTicketException(type);
+        });
+
+        try {
+            TicketDB ticket = this.ticketRepository.save(new TicketDB(room, order, seat));
+
+            this.addSales(room, Collections.singletonList(seat));
+
+            return new TicketDetailsDTO(ticket);
+        } catch (DataIntegrityViolationException ex) {
+            throw this.seatAlreadyReserved(room);
+        }
+    }
+
+    /**
+     * Books all the seats in one transaction, or none of them when at least one seat conflicts.
+     * Seats are validated against a single room occupancy and inserted with one JDBC batch.
+     * <p>
+     * At most 4 statements and a single JDBC batch, whatever the number of seats.
+     */
+    @Transactional
+    public TicketBatchDTO createTickets(UUID roomUuid, UUID orderUuid, List<Seat> seats) {
+        RoomDB room = this.roomRepository.findByUuid(roomUuid)
+                .orElseThrow(() -> new InvalidTicketException(InvalidTicketException.Type.ROOM));
+
+        OrderDB order = this.orderRepository.findByUuid(orderUuid)
+                .orElseThrow(() -> new InvalidTicketException(InvalidTicketException.Type.ORDER));
+
+        if (seats == null || seats.isEmpty())
+            throw new InvalidTicketException(InvalidTicketException.Type.SEAT);
+
+        Map<Seat, InvalidTicketException.Type> conflicts =
+                this.seatOccupancyIndex.reserveAll(room.getUuid(), seats, this.occupancyLoader(room));
+
+        if (!conflicts.isEmpty()) return new TicketBatchDTO(conflicts);
+
+        return this.insertTickets(room, order, seats);
+    }
+
+    /**
+     * Keeps a free seat aside until the hold is released, booked or expires.
+     */
+    public SeatHold holdSeat(UUID roomUuid, Seat seat) {
+        if (seat == null)
+            throw new InvalidTicketException(InvalidTicketException.Type.SEAT);
+
+        UUID holdUuid = UUID.randomUUID();
+
+        this.seatOccupancyIndex.hold(roomUuid, seat, holdUuid, this::loadOccupancy).ifPresent(type -> {
+            throw new InvalidTicketException(type);
+        });
+
+        return this.seatHoldRegistry.register(holdUuid, roomUuid, seat);
+    }
+
+    /**
+     * @return the best adjacent free seats for a group, empty when the room is unknown or has no such block
+     */
+    public Optional<List<Seat>> findBestBlock(UUID roomUuid, int nbSeats) {
+        return this.seatOccupancyIndex.findBestBlock(roomUuid, nbSeats, this::loadOccupancy);
+    }
+
+    /**
+     * Holds the best adjacent free seats for a group, ready to be booked with {@link #createTicketsFromHolds}.
+     *
+     * @return the holds from left to right, empty when the room is unknown or has no such block
+     */
+    public List<SeatHold> holdBestBlock(UUID roomUuid, int nbSeats) {
+        List<UUID> holdUuids = new ArrayList<>(Math.max(0, nbSeats));
+
+        for (int i = 0; i < nbSeats; i++)
+            holdUuids.add(UUID.randomUUID());
+
+        return this.seatOccupancyIndex.holdBestBlock(roomUuid, holdUuids, this::loadOccupancy)
+                .map(seats -> IntStream.range(0, seats.size())
+                        .mapToObj(i -> this.seatHoldRegistry.register(holdUuids.get(i), roomUuid, seats.get(i)))
+                        .collect(Collectors.toList()))
+                .orElse(Collections.emptyList());
+    }
+
+    public void releaseHolds(List<SeatHold> holds) {
+        if (holds != null) holds.forEach(this.seatHoldRegistry::release);
+    }
+
+    /**
+     * Books the held seats like {@link #createTickets}, without validating again the seats still held.
+     * Holds lost to an eviction of the room conflict: the room may have been emptied or given another movie.
+     * Holds are consumed either way: on conflict their seats are released.
+     * <p>
+     * At most 4 statements and a single JDBC batch, whatever the number of seats.
+     */
+    @Transactional
+    public TicketBatchDTO createTicketsFromHolds(UUID roomUuid, UUID orderUuid, List<SeatHold> holds) {
+        RoomDB room = this.roomRepository.findByUuid(roomUuid)
+                .orElseThrow(() -> new InvalidTicketException(InvalidTicketException.Type.ROOM));
+
+        OrderDB order = this.orderRepository.findByUuid(orderUuid)
+                .orElseThrow(() -> new InvalidTicketException(InvalidTicketException.Type.ORDER));
+
+        if (holds == null || holds.isEmpty())
+            throw new InvalidTicketException(InvalidTicketException.Type.SEAT);
+
+        List<Seat> seats = holds.stream()
+                .map(hold -> (hold != null) ? hold.getSeat() : null)
+                .collect(Collectors.toList());
+        List<SeatHold> claimed = this.seatHoldRegistry.claim(room.getUuid(), holds);
+        HashMap<Seat, UUID> heldSeats = new HashMap<>();
+
+        claimed.forEach(hold -> heldSeats.put(hold.getSeat(), hold.getUuid()));
+
+        Map<Seat, InvalidTicketException.Type> conflicts =
+                this.seatOccupancyIndex.reserveAll(room.getUuid(), seats, heldSeats, this.occupancyLoader(room));
+
+        if (!conflicts.isEmpty()) {
+            claimed.forEach(hold -> this.seatOccupancyIndex.unhold(hold.getRoomUuid(), hold.getSeat(), hold.getUuid()));
+
+            return new TicketBatchDTO(conflicts);
+        }
+
+        return this.insertTickets(room, order, seats);
+    }
+
+    /**
+     * Removes the tickets of the rooms along with their orders, in at most 4 bulk statements whatever their number.
+     */
+    @Transactional
+    @RestrictToStaff
+    public void removeRoomTickets(Collection<UUID> roomUuids) {
+        if (roomUuids.isEmpty()) return;
+
+        List<Long> orderIds = this.ticketRepository.findOrderIdsByRoomUuidIn(roomUuids);
+
+        this.ticketRepository.deleteByRoomUuidIn(roomUuids);
+        this.roomRepository.resetSalesByUuidIn(roomUuids);
+        this.catalogCache.invalidateRooms(roomUuids);
+
+        if (!orderIds.isEmpty())
+            this.orderRepository.deleteByIdIn(orderIds);
+
+        roomUuids.forEach(this.seatOccupancyIndex::evict);
+    }
+
+    /**
+     * Loads the occupancy index and checks the sales counters at startup, from a single scan of the tickets:
+     * on a persistent storage, this scan is most of the time to ready.
+     * Tickets are streamed room by room into the bitmaps and counters, never loaded all at once.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void loadRooms() {
+        List<RoomSales> rooms = this.roomRepository.findAllSales();
+        TicketScan scan = this.scanTickets(rooms);
+
+        this.seatOccupancyIndex.rebuild(scan.occupancies);
+        this.reconcileRoomSales(rooms, scan);
+    }
+
+    public void rebuildOccupancyIndex() {
+        this.seatOccupancyIndex.rebuild(this.scanTickets(this.roomRepository.findAllCapacities()).occupancies);
+    }
+
+    /**
+     * Checks the sales counters of every room against the ticket table, and corrects the ones which drifted.
+     * Two queries, plus one update per corrected room.
+     *
+     * @return the uuids of the corrected rooms
+     */
+    public List<UUID> reconcileRoomSales() {
+        List<RoomSales> rooms = this.roomRepository.findAllSales();
+
+        return this.reconcileRoomSales(rooms, this.scanTickets(rooms));
+    }
+
+    private TicketScan scanTickets(List<? extends RoomCapacity> rooms) {
+        TicketScan scan = new TicketScan(rooms);
+
+        this.ticketRepository.scanRoomSeats(scan);
+
+        return scan;
+    }
+
+    private List<UUID> reconcileRoomSales(List<RoomSales> rooms, TicketScan scan) {
+        List<UUID> corrected = new ArrayList<>();
+
+        rooms.forEach(room -> {
+            int[] roomSales = scan.sales.get(room.getUuid());
+
+            if (room.getSoldCount() != roomSales[0] || room.getRevenue() != roomSales[1]) {
+                this.roomRepository.setSales(room.getUuid(), roomSales[0], roomSales[1]);
+                corrected.add(room.getUuid());
+            }
+        });
+
+        if (!corrected.isEmpty())
+            this.catalogCache.invalidateRooms(corrected);
+
+        return corrected;
+    }
+
+    private TicketBatchDTO insertTickets(RoomDB room, OrderDB order, List<Seat> seats) {
+        List<TicketDB> tickets = seats.stream()
+                .map(seat -> new TicketDB(room, order, seat))
+                .collect(Collectors.toList());
+
+        try {
+            this.ticketRepository.insertAll(tickets);
+        } catch (DataIntegrityViolationException ex) {
+            throw this.seatAlreadyReserved(room);
+        }
+
+        this.addSales(room, seats);
+
+        return new TicketBatchDTO(tickets);
+    }
+
+    // A single UPDATE adding to the counters, so that concurrent orders of the room never overwrite each other
+    private void addSales(RoomDB room, List<Seat> seats) {
+        int revenue = RoomPricing.getIncome(room.getNbRows(), room.getNbCols(), seats);
+
+        this.roomRepository.addSales(room.getUuid(), seats.size(), revenue);
+        this.catalogCache.invalidateRooms(Collections.singletonList(room.getUuid()));
+    }
+
+    // The unique (room, seat) constraint caught a ticket unknown to the index: reload the room on next access
+    private InvalidTicketException seatAlreadyReserved(RoomDB room) {
+        this.seatOccupancyIndex.evict(room.getUuid());
+
+        return new InvalidTicketException(InvalidTicketException.Type.EXISTS);
+    }
+
+    private SeatOccupancy loadOccupancy(UUID roomUuid) {
+        return this.roomRepository.findByUuid(roomUuid)
+                .map(room -> this.occupancyLoader(room).apply(roomUuid))
+                .orElse(null);
+    }
+
+    private Function<UUID, SeatOccupancy> occupancyLoader(RoomDB room) {
+        return uuid -> new SeatOccupancy(
+                room.getNbRows(),
+                room.getNbCols(),
+                this.ticketRepository.findSeatsByRoomUuid(uuid)
+        );
+    }
+
+    // Occupancy and sales of every room, filled by a scan of the tickets which come room by room
+    private static class TicketScan implements BiConsumer<UUID, Seat> {
+
+        private final Map<UUID, RoomCapacity> rooms = new HashMap<>();
+
+        private final Map<UUID, SeatOccupancy> occupancies = new HashMap<>();
+
+        private final Map<UUID, int[]> sales = new HashMap<>();
+
+        private UUID roomUuid;
+
+        private RoomCapacity room;
+
+        private SeatOccupancy occupancy;
+
+        private int[] roomSales;
+
+        private TicketScan(List<? extends RoomCapacity> rooms) {
+            rooms.forEach(room -> {
+                this.rooms.put(room.getUuid(), room);
+                this.occupancies.put(room.getUuid(), new SeatOccupancy(room.getNbRows(), room.getNbCols()));
+                this.sales.put(room.getUuid(), new int[2]);
+            });
+        }
+
+        @Override
+        public void accept(UUID roomUuid, Seat seat) {
+            if (!roomUuid.equals(this.roomUuid)) {
+                this.roomUuid = roomUuid;
+                this.room = this.rooms.get(roomUuid);
+                this.occupancy = this.occupancies.get(roomUuid);
+                this.roomSales = this.sales.get(roomUuid);
+            }
+
+            if (this.room == null) return;
 
-        return new TicketDetailsDTO(ticket);
+            this.occupancy.reserve(seat);
+            this.roomSales[0]++;
+            this.roomSales[1] += RoomPricing.getPrice(this.room.getNbRows(), this.room.getNbCols(), seat);
+        }
     }
 }
@@ -0,0 +1,17 @@
+package com.agenson.cinema.ticket;
+
+import com.agenson.cinema.ticket.seat.SeatOccupancy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Snapshot of the occupancy of a room, with the version of the room it was taken at.
+ */
+@Getter
+@RequiredArgsConstructor
+public class VersionedOccupancy {
+
+    private final long version;
+
+    private final SeatOccupancy occupancy;
+}
@@ -0,0 +1,174 @@
+package com.agenson.cinema.ticket.hold;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel: timeouts are hashed by deadline tick onto a ring of buckets (doubly linked lists),
+ * so scheduling and cancelling are O(1) and a tick only visits the bucket it lands on, never the whole set.
+ * <p>
+ * Time is passed in by the caller (milliseconds), which keeps the wheel free of any clock or thread.
+ * A wheel spanning the usual delays ({@code tickMillis * wheelSize}) sees few timeouts waiting for a later round.
+ */
+public class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+
+    private final long startMillis;
+
+    private final Timeout<T>[] buckets;
+
+    private final int mask;
+
+    private long currentTick = 0;
+
+    private int size = 0;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int minWheelSize, long startMillis) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("tickMillis must be positive");
+
+        int wheelSize = Integer.highestOneBit(Math.max(1, minWheelSize - 1)) << 1;
+
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.buckets = (Timeout<T>[]) new Timeout[wheelSize];
+        this.mask = wheelSize - 1;
+    }
+
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        Timeout<T> timeout = this.timeout(item, deadlineMillis);
+
+        this.schedule(timeout);
+
+        return timeout;
+    }
+
+    /**
+     * Creates a timeout without scheduling it yet, so that the caller can publish it before it may expire.
+     */
+    public Timeout<T> timeout(T item, long deadlineMillis) {
+        return new Timeout<>(item, deadlineMillis);
+    }
+
+    /**
+     * @return {@code false} when the timeout is already scheduled
+     */
+    public synchronized boolean schedule(Timeout<T> timeout) {
+        if (timeout.scheduled) return false;
+
+        timeout.deadlineTick = Math.max(
+                this.currentTick + 1,
+                this.tickOf(timeout.deadlineMillis + this.tickMillis - 1)
+        );
+        this.link(timeout);
+
+        return true;
+    }
+
+    /**
+     * @return {@code false} when the timeout already expired or was cancelled
+     */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || !timeout.scheduled) return false;
+
+        this.unlink(timeout);
+
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to the given time.
+     *
+     * @return the items whose deadline has passed, in no particular order
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = this.tickOf(nowMillis);
+        ArrayList<T> expired = new ArrayList<>();
+
+        if (targetTick <= this.currentTick) return expired;
+
+        // After a long pause every bucket is due once: the whole ring is visited at most one time
+        long nbTicks = Math.min(targetTick - this.currentTick, this.buckets.length);
+
+        for (long tick = this.currentTick + 1; tick <= this.currentTick + nbTicks; tick++) {
+            Timeout<T> timeout = this.buckets[(int) (tick & this.mask)];
+
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+
+                if (timeout.deadlineTick <= targetTick) {
+                    this.unlink(timeout);
+                    expired.add(timeout.item);
+                }
+
+                timeout = next;
+            }
+        }
+
+        this.currentTick = targetTick;
+
+        return expired;
+    }
+
+    public synchronized int size() {
+        return this.size;
+    }
+
+    public int getWheelSize() {
+        return this.buckets.length;
+    }
+
+    private long tickOf(long millis) {
+        return Math.max(0, millis - this.startMillis) / this.tickMillis;
+    }
+
+    private void link(Timeout<T> timeout) {
+        int index = (int) (timeout.deadlineTick & this.mask);
+        Timeout<T> head = this.buckets[index];
+
+        timeout.next = head;
+        if (head != null) head.prev = timeout;
+
+        this.buckets[index] = timeout;
+        timeout.scheduled = true;
+        this.size++;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null)
+            timeout.prev.next = timeout.next;
+        else
+            this.buckets[(int) (timeout.deadlineTick & this.mask)] = timeout.next;
+
+        if (timeout.next != null) timeout.next.prev = timeout.prev;
+
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.scheduled = false;
+        this.size--;
+    }
+
+    public static class Timeout<T> {
+
+        @Getter
+        private final T item;
+
+        private final long deadlineMillis;
+
+        private long deadlineTick;
+
+        private Timeout<T> prev;
+
+        private Timeout<T> next;
+
+        private boolean scheduled = false;
+
+        private Timeout(T item, long deadlineMillis) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
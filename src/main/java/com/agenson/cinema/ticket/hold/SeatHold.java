@@ -0,0 +1,32 @@
+package com.agenson.cinema.ticket.hold;
+
+import com.agenson.cinema.ticket.seat.Seat;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Seat kept aside for a customer while the order is being confirmed.
+ * The uuid is only handed to the session which placed the hold, so it also proves ownership.
+ */
+@Getter
+@EqualsAndHashCode
+public class SeatHold {
+
+    private final UUID uuid;
+    private final UUID roomUuid;
+    private final Seat seat;
+    private final long expiresAt;
+
+    public SeatHold(UUID roomUuid, Seat seat, long expiresAt) {
+        this(UUID.randomUUID(), roomUuid, seat, expiresAt);
+    }
+
+    public SeatHold(UUID uuid, UUID roomUuid, Seat seat, long expiresAt) {
+        this.uuid = uuid;
+        this.roomUuid = roomUuid;
+        this.seat = seat;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,154 @@
+package com.agenson.cinema.ticket.hold;
+
+import com.agenson.cinema.ticket.SeatOccupancyIndex;
+import com.agenson.cinema.ticket.seat.Seat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live seat holds and their expiry.
+ * <p>
+ * Each hold is scheduled on a timing wheel spanning the hold TTL, which a background thread advances every tick:
+ * a tick only touches the holds due in it, whatever the number of live holds.
+ * The map of live holds decides between concurrent claim, release and expiry of a hold: whoever removes it wins.
+ * Seats are released in the occupancy index on behalf of their hold only, so a hold outliving an eviction of its room
+ * never releases the seat of a later hold.
+ */
+@Component
+public class SeatHoldRegistry {
+
+    private final SeatOccupancyIndex seatOccupancyIndex;
+
+    private final long ttlMillis;
+
+    private final long tickMillis;
+
+    private final HashedTimingWheel<SeatHold> wheel;
+
+    private final Map<UUID, HashedTimingWheel.Timeout<SeatHold>> holds = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService ticker;
+
+    public SeatHoldRegistry(SeatOccupancyIndex seatOccupancyIndex,
+                            @Value("${cinema.hold.ttl:5m}") Duration ttl,
+                            @Value("${cinema.hold.tick:1s}") Duration tick) {
+        this.seatOccupancyIndex = seatOccupancyIndex;
+        this.ttlMillis = ttl.toMillis();
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.wheel = new HashedTimingWheel<>(
+                this.tickMillis,
+                (int) Math.min(1 << 16, this.ttlMillis / this.tickMillis + 1),
+                System.currentTimeMillis()
+        );
+    }
+
+    @PostConstruct
+    public void start() {
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-hold-expiry");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        this.ticker.scheduleAtFixedRate(
+                () -> this.expire(System.currentTimeMillis()),
+                this.tickMillis,
+                this.tickMillis,
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (this.ticker != null) this.ticker.shutdownNow();
+    }
+
+    /**
+     * Registers a hold on a seat already marked as held by it in the occupancy index.
+     * The hold is live before it is scheduled, so that an expiry can never miss it.
+     */
+    public SeatHold register(UUID uuid, UUID roomUuid, Seat seat) {
+        SeatHold hold = new SeatHold(uuid, roomUuid, seat, System.currentTimeMillis() + this.ttlMillis);
+        HashedTimingWheel.Timeout<SeatHold> timeout = this.wheel.timeout(hold, hold.getExpiresAt());
+
+        this.holds.put(hold.getUuid(), timeout);
+        this.wheel.schedule(timeout);
+
+        return hold;
+    }
+
+    public boolean isLive(SeatHold hold) {
+        return hold != null && this.holds.containsKey(hold.getUuid());
+    }
+
+    /**
+     * Removes the given holds of the room so that they no longer expire.
+     * Their seats stay held in the occupancy index: the caller turns them into reservations or unholds them,
+     * and the index rejects those whose room was evicted meanwhile.
+     *
+     * @return the holds which were still live
+     */
+    public List<SeatHold> claim(UUID roomUuid, Collection<SeatHold> holds) {
+        ArrayList<SeatHold> claimed = new ArrayList<>();
+
+        for (SeatHold hold : holds) {
+            if (hold == null || !hold.getRoomUuid().equals(roomUuid)) continue;
+
+            HashedTimingWheel.Timeout<SeatHold> timeout = this.holds.remove(hold.getUuid());
+
+            if (timeout != null) {
+                this.wheel.cancel(timeout);
+                claimed.add(hold);
+            }
+        }
+
+        return claimed;
+    }
+
+    public boolean release(SeatHold hold) {
+        HashedTimingWheel.Timeout<SeatHold> timeout = (hold != null) ? this.holds.remove(hold.getUuid()) : null;
+
+        if (timeout == null) return false;
+
+        this.wheel.cancel(timeout);
+        this.seatOccupancyIndex.unhold(hold.getRoomUuid(), hold.getSeat(), hold.getUuid());
+
+        return true;
+    }
+
+    /**
+     * Releases every hold whose deadline has passed.
+     *
+     * @return the number of holds released
+     */
+    public int expire(long nowMillis) {
+        int count = 0;
+
+        for (SeatHold hold : this.wheel.advance(nowMillis)) {
+            if (this.holds.remove(hold.getUuid()) != null) {
+                this.seatOccupancyIndex.unhold(hold.getRoomUuid(), hold.getSeat(), hold.getUuid());
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    public int size() {
+        return this.holds.size();
+    }
+}
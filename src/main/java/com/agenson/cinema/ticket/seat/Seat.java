@@ -3,50 +3,88 @@ package com.agenson.cinema.ticket.seat;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
+/**
+ * Seat of a room, packed as {@code row << 8 | col} (e.g. A01 = 257), which is also how it is stored.
+ * <p>
+ * Instances are flyweights: every valid position is created once, and parsing or formatting never allocates.
+ */
 @Getter
-@EqualsAndHashCode
-public class Seat {
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public final class Seat {
 
     public static final int MAX_ROW = 26;
     public static final int MAX_COL = 52;
 
+    private static final String[] ROW_STRINGS = new String[MAX_ROW + 1];
+    private static final String[] COL_STRINGS = new String[MAX_COL + 1];
+    private static final Seat[] SEATS = new Seat[(MAX_ROW + 1) << 8];
+
+    static {
+        for (int row = 1; row <= MAX_ROW; row++)
+            ROW_STRINGS[row] = String.valueOf((char) (row + 'A' - 1));
+
+        for (int col = 1; col <= MAX_COL; col++)
+            COL_STRINGS[col] = String.format("%02d", col);
+
+        for (int row = 1; row <= MAX_ROW; row++)
+            for (int col = 1; col <= MAX_COL; col++)
+                SEATS[Seat.pack(row, col)] = new Seat(row, col);
+    }
+
     private final int row;
     private final int col;
 
+    @EqualsAndHashCode.Include
+    private final short code;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final String string;
+
     private Seat(int row, int col) {
         this.row = row;
         this.col = col;
+        this.code = (short) Seat.pack(row, col);
+        this.string = ROW_STRINGS[row] + COL_STRINGS[col];
     }
 
     public String getRowString() {
-        return Seat.letterFromNumber(this.row);
+        return ROW_STRINGS[this.row];
     }
 
     public String getColString() {
-        return String.format("%02d", this.col);
+        return COL_STRINGS[this.col];
     }
 
+    public static Seat of(int row, int col) throws InvalidSeatException {
+        if (row < 1 || row > MAX_ROW) throw new InvalidSeatException(InvalidSeatException.Type.ROW);
+        else if (col < 1 || col > MAX_COL) throw new InvalidSeatException(InvalidSeatException.Type.COL);
+
+        return SEATS[Seat.pack(row, col)];
+    }
+
+    public static Seat fromCode(short code) throws InvalidSeatException {
+        return Seat.of(code >> 8, code & 0xFF);
+    }
+
+    /**
+     * Parses a seat like "A01": a row letter followed by a column number, read like {@link Integer#parseInt}.
+     */
     public static Seat fromString(String seat) throws InvalidSeatException {
         if (seat == null || seat.length() == 0) throw new InvalidSeatException(InvalidSeatException.Type.FORMAT);
 
         int row = Seat.numberFromLetter(seat.charAt(0));
-        int col;
-
-        try {
-            col = Integer.parseInt(seat.substring(1));
-        } catch (NumberFormatException ignored) {
-            throw new InvalidSeatException(InvalidSeatException.Type.FORMAT);
-        }
+        long col = Seat.parseColumn(seat);
 
-        if (row < 1) throw new InvalidSeatException(InvalidSeatException.Type.ROW);
+        if (col == Long.MIN_VALUE) throw new InvalidSeatException(InvalidSeatException.Type.FORMAT);
+        else if (row < 1) throw new InvalidSeatException(InvalidSeatException.Type.ROW);
         else if (col < 1) throw new InvalidSeatException(InvalidSeatException.Type.COL);
         else if (col > MAX_COL) throw new InvalidSeatException(InvalidSeatException.Type.COL);
 
-        return new Seat(row, col);
+        return SEATS[Seat.pack(row, (int) col)];
     }
 
     public static String letterFromNumber(int number) {
-        return number >= 1 && number <= 26 ? String.valueOf((char)(number + 'A' - 1)) : null;
+        return number >= 1 && number <= 26 ? ROW_STRINGS[number] : null;
     }
 
     public static int numberFromLetter(char letter) {
@@ -55,6 +93,35 @@ public class Seat {
 
     @Override
     public String toString() {
-        return String.format("%s%s", this.getRowString(), this.getColString());
+        return this.string;
+    }
+
+    private static int pack(int row, int col) {
+        return row << 8 | col;
+    }
+
+    // Integer.parseInt(seat.substring(1)) without the substring: Long.MIN_VALUE stands for a format error
+    private static long parseColumn(String seat) {
+        int length = seat.length();
+        int index = 1;
+        boolean negative = false;
+        long value = 0;
+
+        if (index < length && (seat.charAt(index) == '-' || seat.charAt(index) == '+'))
+            negative = seat.charAt(index++) == '-';
+
+        if (index == length) return Long.MIN_VALUE;
+
+        for (; index < length; index++) {
+            int digit = Character.digit(seat.charAt(index), 10);
+
+            if (digit < 0) return Long.MIN_VALUE;
+
+            value = value * 10 + digit;
+
+            if (value > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) return Long.MIN_VALUE;
+        }
+
+        return negative ? -value : value;
     }
 }
@@ -4,15 +4,15 @@ import javax.persistence.AttributeConverter;
 import javax.persistence.Converter;
 
 @Converter
-public class SeatConverter implements AttributeConverter<Seat, String> {
+public class SeatConverter implements AttributeConverter<Seat, Short> {
 
     @Override
-    public String convertToDatabaseColumn(Seat seat) {
-        return seat.toString();
+    public Short convertToDatabaseColumn(Seat seat) {
+        return (seat != null) ? seat.getCode() : null;
     }
 
     @Override
-    public Seat convertToEntityAttribute(String seat) {
-        return Seat.fromString(seat);
+    public Seat convertToEntityAttribute(Short seat) {
+        return (seat != null) ? Seat.fromCode(seat) : null;
     }
 }
@@ -0,0 +1,199 @@
+package com.agenson.cinema.ticket.seat;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Occupancy bitmap of a room: one {@code long} per row, bit {@code (col - 1)} set when the seat is reserved.
+ * A row holds at most {@link Seat#MAX_COL} seats, so it always fits in a single word.
+ * <p>
+ * The longest run of free seats of each row is kept up to date on every change,
+ * so that block searches skip the rows which cannot fit the block.
+ * <p>
+ * Not thread-safe: shared instances are guarded by their owner.
+ */
+public class SeatOccupancy {
+
+    @Getter
+    private final int nbRows;
+
+    @Getter
+    private final int nbCols;
+
+    @Getter
+    private int count = 0;
+
+    private final long colMask;
+    private final long[] rows;
+    private final byte[] freeRuns;
+
+    public SeatOccupancy(int nbRows, int nbCols) {
+        this.nbRows = Math.max(0, Math.min(nbRows, Seat.MAX_ROW));
+        this.nbCols = Math.max(0, Math.min(nbCols, Seat.MAX_COL));
+        this.colMask = (1L << this.nbCols) - 1;
+        this.rows = new long[this.nbRows];
+        this.freeRuns = new byte[this.nbRows];
+
+        Arrays.fill(this.freeRuns, (byte) this.nbCols);
+    }
+
+    public SeatOccupancy(int nbRows, int nbCols, Collection<Seat> reservedSeats) {
+        this(nbRows, nbCols);
+        reservedSeats.forEach(this::reserve);
+    }
+
+    private SeatOccupancy(SeatOccupancy occupancy) {
+        this.nbRows = occupancy.nbRows;
+        this.nbCols = occupancy.nbCols;
+        this.count = occupancy.count;
+        this.colMask = occupancy.colMask;
+        this.rows = occupancy.rows.clone();
+        this.freeRuns = occupancy.freeRuns.clone();
+    }
+
+    public int getCapacity() {
+        return this.nbRows * this.nbCols;
+    }
+
+    public boolean fits(Seat seat) {
+        return seat != null
+                && seat.getRow() >= 1 && seat.getRow() <= this.nbRows
+                && seat.getCol() >= 1 && (this.colMask & SeatOccupancy.bit(seat.getCol())) != 0;
+    }
+
+    public boolean isReserved(int row, int col) {
+        return row >= 1 && row <= this.nbRows && col >= 1 && col <= this.nbCols
+                && (this.rows[row - 1] & SeatOccupancy.bit(col)) != 0;
+    }
+
+    public boolean isReserved(Seat seat) {
+        return seat != null && this.isReserved(seat.getRow(), seat.getCol());
+    }
+
+    /**
+     * @return the reserved bits of the given row (1-based), {@code 0} when out of boundary
+     */
+    public long getRowBits(int row) {
+        return (row >= 1 && row <= this.nbRows) ? this.rows[row - 1] : 0L;
+    }
+
+    /**
+     * @return {@code false} when the seat is out of boundary or already reserved
+     */
+    public boolean reserve(Seat seat) {
+        if (!this.fits(seat) || this.isReserved(seat)) return false;
+
+        this.rows[seat.getRow() - 1] |= SeatOccupancy.bit(seat.getCol());
+        this.updateFreeRun(seat.getRow() - 1);
+        this.count++;
+
+        return true;
+    }
+
+    /**
+     * @return {@code false} when the seat was not reserved
+     */
+    public boolean release(Seat seat) {
+        if (!this.isReserved(seat)) return false;
+
+        this.rows[seat.getRow() - 1] &= ~SeatOccupancy.bit(seat.getCol());
+        this.updateFreeRun(seat.getRow() - 1);
+        this.count--;
+
+        return true;
+    }
+
+    /**
+     * Marks every seat reserved in the other occupancy (of the same room) as reserved in this one.
+     */
+    public SeatOccupancy merge(SeatOccupancy occupancy) {
+        this.count = 0;
+
+        for (int i = 0; i < this.nbRows; i++) {
+            this.rows[i] |= occupancy.getRowBits(i + 1) & this.colMask;
+            this.count += Long.bitCount(this.rows[i]);
+            this.updateFreeRun(i);
+        }
+
+        return this;
+    }
+
+    /**
+     * @return the length of the longest run of free seats of the given row (1-based), {@code 0} when out of boundary
+     */
+    public int getFreeRun(int row) {
+        return (row >= 1 && row <= this.nbRows) ? this.freeRuns[row - 1] : 0;
+    }
+
+    /**
+     * Finds the adjacent free seats of a row closest to the centre of the room, rows and columns weighing the same.
+     * Ties go to the front rows, then to the left.
+     *
+     * @param unavailable seats to avoid on top of the reserved ones (e.g. held seats), may be {@code null}
+     * @return the seats from left to right, empty when no row has enough adjacent free seats
+     */
+    public Optional<List<Seat>> findBestBlock(int nbSeats, SeatOccupancy unavailable) {
+        if (nbSeats < 1 || nbSeats > this.nbCols) return Optional.empty();
+
+        int bestRow = 0;
+        int bestCol = 0;
+        int bestScore = Integer.MAX_VALUE;
+
+        for (int row = 1; row <= this.nbRows; row++) {
+            if (this.freeRuns[row - 1] < nbSeats) continue;
+
+            long free = ~(this.rows[row - 1] | (unavailable != null ? unavailable.getRowBits(row) : 0L)) & this.colMask;
+            long starts = free;
+
+            // Bit i stays set only when seats i to (i + nbSeats - 1) are all free
+            for (int i = 1; i < nbSeats && starts != 0; i++)
+                starts &= free >>> i;
+
+            int rowScore = Math.abs(2 * row - (this.nbRows + 1));
+
+            for (; starts != 0; starts &= starts - 1) {
+                int col = Long.numberOfTrailingZeros(starts) + 1;
+                int score = rowScore + Math.abs(2 * col + nbSeats - 1 - (this.nbCols + 1));
+
+                if (score < bestScore) {
+                    bestRow = row;
+                    bestCol = col;
+                    bestScore = score;
+                }
+            }
+        }
+
+        if (bestRow == 0) return Optional.empty();
+
+        ArrayList<Seat> seats = new ArrayList<>(nbSeats);
+
+        for (int col = bestCol; col < bestCol + nbSeats; col++)
+            seats.add(Seat.of(bestRow, col));
+
+        return Optional.of(seats);
+    }
+
+    public SeatOccupancy copy() {
+        return new SeatOccupancy(this);
+    }
+
+    // Each pass shortens every run of free seats by one: the number of passes is the longest run
+    private void updateFreeRun(int index) {
+        long free = ~this.rows[index] & this.colMask;
+        byte run = 0;
+
+        for (; free != 0; run++)
+            free &= free >>> 1;
+
+        this.freeRuns[index] = run;
+    }
+
+    private static long bit(int col) {
+        return 1L << (col - 1);
+    }
+}
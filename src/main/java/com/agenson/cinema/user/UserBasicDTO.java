@@ -16,4 +16,9 @@ public class UserBasicDTO {
         this.uuid = user.getUuid();
         this.username = user.getUsername();
     }
+
+    public UserBasicDTO(UUID uuid, String username) {
+        this.uuid = uuid;
+        this.username = username;
+    }
 }
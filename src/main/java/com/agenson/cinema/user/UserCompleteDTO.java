@@ -1,22 +1,19 @@
 package com.agenson.cinema.user;
 
-import com.agenson.cinema.order.OrderDTO;
+import com.agenson.cinema.order.OrderSummaryDTO;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Getter
 @EqualsAndHashCode(callSuper = true)
 public class UserCompleteDTO extends UserDetailsDTO {
 
-    private final List<OrderDTO> orders;
+    private final List<OrderSummaryDTO> orders;
 
-    public UserCompleteDTO(UserDB user) {
+    public UserCompleteDTO(UserSummary user, List<OrderSummaryDTO> orders) {
         super(user);
-        this.orders = user.getOrders().stream()
-                        .map(OrderDTO::new)
-                        .collect(Collectors.toList());
+        this.orders = orders;
     }
 }
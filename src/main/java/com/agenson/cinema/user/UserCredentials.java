@@ -0,0 +1,6 @@
+package com.agenson.cinema.user;
+
+public interface UserCredentials extends UserSummary {
+
+    String getPassword();
+}
@@ -15,6 +15,11 @@ public class UserDetailsDTO extends UserBasicDTO {
         this.role = user.getRole();
     }
 
+    public UserDetailsDTO(UserSummary user) {
+        super(user.getUuid(), user.getUsername());
+        this.role = user.getRole();
+    }
+
     @Override
     public String toString() {
         if (SecurityRole.STAFF.equals(this.role))
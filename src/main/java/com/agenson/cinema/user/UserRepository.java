@@ -1,8 +1,13 @@
 package com.agenson.cinema.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,5 +16,22 @@ public interface UserRepository extends JpaRepository<UserDB, Long> {
 
     Optional<UserDB> findByUuid(UUID uuid);
 
+    @Query("SELECT u.uuid AS uuid, u.username AS username, u.role AS role FROM UserDB u WHERE u.uuid = :uuid")
+    Optional<UserSummary> findSummaryByUuid(@Param("uuid") UUID uuid);
+
+    @Query("SELECT u.uuid AS uuid, u.username AS username, u.role AS role FROM UserDB u ORDER BY u.id")
+    List<UserSummary> findAllSummaries();
+
     Optional<UserDB> findByUsername(String username);
+
+    @Query("SELECT u.uuid AS uuid, u.username AS username, u.password AS password, u.role AS role "
+            + "FROM UserDB u WHERE u.username = :username")
+    Optional<UserCredentials> findCredentialsByUsername(@Param("username") String username);
+
+    boolean existsByUsername(String username);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserDB u SET u.password = :password WHERE u.uuid = :uuid")
+    int updatePassword(@Param("uuid") UUID uuid, @Param("password") String password);
 }
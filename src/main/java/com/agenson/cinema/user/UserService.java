@@ -1,10 +1,11 @@
 package com.agenson.cinema.user;
 
+import com.agenson.cinema.order.OrderService;
 import com.agenson.cinema.security.restriction.RestrictToStaff;
 import com.agenson.cinema.security.restriction.RestrictToUser;
+import com.agenson.cinema.security.PasswordHasher;
 import com.agenson.cinema.security.SecurityRole;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,30 +17,45 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserService {
 
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordHasher passwordHasher;
 
     private final UserRepository userRepository;
 
+    private final OrderService orderService;
+
+    /**
+     * Two queries: the user, then the tickets of their orders.
+     */
     @RestrictToUser
     public Optional<UserCompleteDTO> findUser(UUID uuid) {
-        return this.userRepository.findByUuid(uuid).map(UserCompleteDTO::new);
+        return this.userRepository.findSummaryByUuid(uuid)
+                .map(user -> new UserCompleteDTO(user, this.orderService.findOrderSummaries(user.getUuid())));
     }
 
+    /**
+     * One query, reading only the uuid, username and role of the users.
+     */
     @RestrictToStaff
     public List<UserDetailsDTO> findUsers() {
-        return this.userRepository.findAll().stream().map(UserDetailsDTO::new).collect(Collectors.toList());
+        return this.userRepository.findAllSummaries().stream().map(UserDetailsDTO::new).collect(Collectors.toList());
     }
 
+    /**
+     * At most 3 statements: the username check, then the insert.
+     */
     public UserBasicDTO createUser(String username, String password) {
         this.validateUsername(username);
         this.validatePassword(password);
 
-        String encodedPassword = encoder.encode(password);
+        String encodedPassword = this.passwordHasher.encode(password);
         UserDB user = this.userRepository.save(new UserDB(username, encodedPassword));
 
         return new UserBasicDTO(user);
     }
 
+    /**
+     * At most 3 statements: the user, then the update.
+     */
     @RestrictToStaff
     public Optional<UserDetailsDTO> updateUserRole(UUID uuid, SecurityRole role) {
         return this.userRepository.findByUuid(uuid).map(user -> {
@@ -56,7 +72,7 @@ public class UserService {
             throw new InvalidUserException(InvalidUserException.Type.USERNAME_MANDATORY);
         else if (username.trim().length() > 16)
             throw new InvalidUserException(InvalidUserException.Type.USERNAME_MAXSIZE);
-        else if (this.userRepository.findByUsername(username).isPresent())
+        else if (this.userRepository.existsByUsername(username))
             throw new InvalidUserException(InvalidUserException.Type.USERNAME_EXISTS);
     }
 
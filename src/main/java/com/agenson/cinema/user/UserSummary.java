@@ -0,0 +1,14 @@
+package com.agenson.cinema.user;
+
+import com.agenson.cinema.security.SecurityRole;
+
+import java.util.UUID;
+
+public interface UserSummary {
+
+    UUID getUuid();
+
+    String getUsername();
+
+    SecurityRole getRole();
+}
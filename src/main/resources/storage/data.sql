@@ -3,10 +3,11 @@ INSERT INTO movie (id, uuid, title) VALUES
     (2, 'a63f583d-c6fc-4ed3-8620-8235a04bc2c6', 'READY PLAYER ONE'),
     (3, '8b302fcb-9dfc-4035-b43e-83843e9020d4', 'JURASSIC PARK');
 
-INSERT INTO room (id, uuid, number, nb_rows, nb_cols, movie_id) VALUES
-    (1, '48b61c7e-cffa-4961-ad7c-f0b567e7ee47', 1, 10, 15, 1),
-    (2, 'ded941e7-695f-47a4-a088-fffafe29b6ef', 2, 9, 14, 2),
-    (3, 'c66820cd-546f-40fb-bbf8-4e464eae9981', 3, 8, 13, 3);
+-- sold_count & revenue match the tickets below
+INSERT INTO room (id, uuid, number, nb_rows, nb_cols, sold_count, revenue, movie_id) VALUES
+    (1, '48b61c7e-cffa-4961-ad7c-f0b567e7ee47', 1, 10, 15, 2, 24, 1),
+    (2, 'ded941e7-695f-47a4-a088-fffafe29b6ef', 2, 9, 14, 1, 12, 2),
+    (3, 'c66820cd-546f-40fb-bbf8-4e464eae9981', 3, 8, 13, 0, 0, 3);
 
 INSERT INTO "user" (id, uuid, username, password, role) VALUES
     (1, 'f99b946d-8d93-42fd-93f0-4f6fa25781be', 'staff', '$2a$10$y5FAw5f3NRxF2SV4Wvwc7OZOV2zwXc86b.tCaHj7umczGQkhGFTvS', 1),
@@ -16,7 +17,15 @@ INSERT INTO "order" (id, uuid, user_id) VALUES
     (1, '50cb36de-5c03-4097-a281-1d8d99fd793c', 2),
     (2, 'f5bca9f2-e582-48b1-ba8d-c85f0d89844d', 2);
 
+-- seat = row << 8 | col: A01 = 257, A02 = 258, D12 = 1036
 INSERT INTO ticket (id, uuid, seat, room_id, order_id) VALUES
-    (1, '4165fa3a-d546-48ca-8915-15aaf4b47cce', 'A01', 1, 1),
-    (2, '218fd0d2-cadc-46f9-a09e-f9f37b9b4114', 'A02', 1, 1),
-    (3, '5864afe0-72db-4183-9b52-e3fd698bfffd', 'D12', 2, 2);
+    (1, '4165fa3a-d546-48ca-8915-15aaf4b47cce', 257, 1, 1),
+    (2, '218fd0d2-cadc-46f9-a09e-f9f37b9b4114', 258, 1, 1),
+    (3, '5864afe0-72db-4183-9b52-e3fd698bfffd', 1036, 2, 2);
+
+-- Explicit ids do not move identity columns: they restart past the ones above
+ALTER TABLE movie ALTER COLUMN id RESTART WITH 4;
+ALTER TABLE room ALTER COLUMN id RESTART WITH 4;
+ALTER TABLE "user" ALTER COLUMN id RESTART WITH 3;
+ALTER TABLE "order" ALTER COLUMN id RESTART WITH 3;
+ALTER TABLE ticket ALTER COLUMN id RESTART WITH 4;
@@ -5,22 +5,24 @@ DROP TABLE IF EXISTS "order";
 DROP TABLE IF EXISTS "user";
 
 CREATE TABLE movie (
-    id          IDENTITY        NOT NULL        PRIMARY KEY,
+    id          BIGINT          GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     uuid        UUID            NOT NULL        UNIQUE,
     title       VARCHAR(32)     NOT NULL        UNIQUE
 );
 
 CREATE TABLE room (
-    id          IDENTITY        NOT NULL        PRIMARY KEY,
+    id          BIGINT          GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     uuid        UUID            NOT NULL        UNIQUE,
     number      INT             NOT NULL        UNIQUE,
     nb_rows     INT             NOT NULL,
     nb_cols     INT             NOT NULL,
+    sold_count  INT             DEFAULT 0       NOT NULL,
+    revenue     INT             DEFAULT 0       NOT NULL,
     movie_id    BIGINT                          REFERENCES movie(id) ON DELETE SET NULL
 );
 
 CREATE TABLE "user" (
-    id          IDENTITY        NOT NULL        PRIMARY KEY,
+    id          BIGINT          GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     uuid        UUID            NOT NULL        UNIQUE,
     username    VARCHAR(16)     NOT NULL        UNIQUE,
     password    CHAR(60)        NOT NULL,
@@ -28,15 +30,16 @@ CREATE TABLE "user" (
 );
 
 CREATE TABLE "order" (
-    id          IDENTITY        NOT NULL        PRIMARY KEY,
+    id          BIGINT          GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     uuid        UUID            NOT NULL        UNIQUE,
     user_id     BIGINT          NOT NULL        REFERENCES "user"(id)
 );
 
 CREATE TABLE ticket (
-    id          IDENTITY        NOT NULL        PRIMARY KEY,
+    id          BIGINT          GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     uuid        UUID            NOT NULL        UNIQUE,
-    seat        CHAR(3)         NOT NULL,
-    room_id     BIGINT          NOT NULL        REFERENCES room(id),
-    order_id    BIGINT                          REFERENCES "order"(id) ON DELETE SET NULL
+    seat        SMALLINT        NOT NULL,
+    room_id     BIGINT          NOT NULL        REFERENCES room(id) ON DELETE CASCADE,
+    order_id    BIGINT                          REFERENCES "order"(id) ON DELETE SET NULL,
+    CONSTRAINT ticket_room_seat UNIQUE (room_id, seat)
 );
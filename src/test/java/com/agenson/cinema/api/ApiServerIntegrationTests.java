@@ -0,0 +1,281 @@
+package com.agenson.cinema.api;
+
+import com.agenson.cinema.movie.MovieDB;
+import com.agenson.cinema.movie.MovieRepository;
+import com.agenson.cinema.movie.MovieService;
+import com.agenson.cinema.room.RoomDB;
+import com.agenson.cinema.room.RoomRepository;
+import com.agenson.cinema.security.SecurityRole;
+import com.agenson.cinema.security.SecurityService;
+import com.agenson.cinema.security.session.Session;
+import com.agenson.cinema.security.session.SessionContext;
+import com.agenson.cinema.user.UserDB;
+import com.agenson.cinema.user.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: requests are served, and commit, on the threads of the server
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class ApiServerIntegrationTests {
+
+    private static final String PASSWORD = "password";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BCryptPasswordEncoder encoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private SecurityService securityService;
+
+    @Autowired
+    private ApiServer apiServer;
+
+    private RoomDB room;
+
+    private int port;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        UserDB staff = new UserDB("apistaff", this.encoder.encode(PASSWORD));
+        RoomDB room = new RoomDB(960, 5, 10);
+
+        staff.setRole(SecurityRole.STAFF);
+        this.userRepository.save(staff);
+        this.userRepository.save(new UserDB("apiuser", this.encoder.encode(PASSWORD)));
+        room.setMovie(this.movieRepository.save(new MovieDB("API")));
+
+        this.room = this.roomRepository.save(room);
+        this.port = this.apiServer.start(0);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        this.apiServer.stop();
+        this.jdbcTemplate.update("DELETE FROM ticket");
+        this.jdbcTemplate.update("DELETE FROM room WHERE number = 960");
+        this.jdbcTemplate.update("DELETE FROM movie WHERE title LIKE 'API%'");
+        this.jdbcTemplate.update("DELETE FROM \"order\"");
+        this.jdbcTemplate.update("DELETE FROM \"user\" WHERE username LIKE 'api%'");
+    }
+
+    @Test
+    public void movies_ShouldNotBeModified_UntilCatalogChanges() throws Exception {
+        HttpResponse<String> first = this.get("/api/movies", null);
+        String etag = first.headers().firstValue("ETag").orElse(null);
+
+        assertThat(first.statusCode()).isEqualTo(200);
+        assertThat(first.body()).contains("\"title\":\"API\"");
+        assertThat(etag).isNotNull();
+
+        Statistics statistics = this.statistics();
+        HttpResponse<String> unchanged = this.get("/api/movies", etag);
+
+        assertThat(unchanged.statusCode()).isEqualTo(304);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        Session staff = this.securityService.openSession("apistaff", PASSWORD);
+
+        SessionContext.runAs(staff, () -> this.movieService.createMovie("API sequel"));
+        SessionContext.runAs(staff, this.securityService::logout);
+
+        HttpResponse<String> changed = this.get("/api/movies", etag);
+
+        assertThat(changed.statusCode()).isEqualTo(200);
+        assertThat(changed.headers().firstValue("ETag").orElse(null)).isNotNull().isNotEqualTo(etag);
+        assertThat(changed.body()).contains("\"title\":\"API SEQUEL\"");
+    }
+
+    @Test
+    public void rooms_ShouldListRoomsShowingAMovie() throws Exception {
+        HttpResponse<String> response = this.get("/api/rooms", null);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body())
+                .contains("\"uuid\":\"" + this.room.getUuid() + "\"")
+                .contains("\"number\":960")
+                .doesNotContain("revenue");
+    }
+
+    @Test
+    public void seatMap_ShouldNotBeModified_UntilSeatsAreBooked() throws Exception {
+        String path = "/api/rooms/" + this.room.getUuid() + "/seats";
+        HttpResponse<String> first = this.get(path, null);
+        String etag = first.headers().firstValue("ETag").orElse(null);
+
+        assertThat(first.statusCode()).isEqualTo(200);
+        assertThat(first.body()).contains("\"unavailable\":[]");
+
+        Statistics statistics = this.statistics();
+
+        assertThat(this.get(path, etag).statusCode()).isEqualTo(304);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        HttpResponse<String> order = this.order("apiuser", PASSWORD, "A01", "A02");
+
+        assertThat(order.statusCode()).isEqualTo(201);
+        assertThat(order.body()).contains("\"seats\":[\"A01\",\"A02\"]");
+
+        HttpResponse<String> changed = this.get(path, etag);
+
+        assertThat(changed.statusCode()).isEqualTo(200);
+        assertThat(changed.body()).contains("\"unavailable\":[\"A01\",\"A02\"]");
+    }
+
+    @Test
+    public void seatChanges_ShouldListSeatsBookedSinceVersion() throws Exception {
+        String path = "/api/rooms/" + this.room.getUuid() + "/seats";
+        long version = this.version(this.get(path, null).body());
+
+        assertThat(this.order("apiuser", PASSWORD, "A01", "A02").statusCode()).isEqualTo(201);
+
+        HttpResponse<String> changes = this.get(path + "/changes?since=" + version, null);
+
+        assertThat(changes.statusCode()).isEqualTo(200);
+        assertThat(changes.body())
+                .contains("\"reset\":false")
+                .contains("{\"seat\":\"A01\",\"available\":false}")
+                .contains("{\"seat\":\"A02\",\"available\":false}");
+        assertThat(this.version(changes.body())).isGreaterThan(version);
+        assertThat(this.get(path + "/changes", null).statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    public void seatStream_ShouldPushSeatsBookedAfterSubscribing() throws Exception {
+        String path = "/api/rooms/" + this.room.getUuid() + "/seats";
+        long version = this.version(this.get(path, null).body());
+        HttpRequest request = HttpRequest.newBuilder(this.uri(path + "/stream?since=" + version)).GET().build();
+        HttpResponse<Stream<String>> stream = this.client.send(request, HttpResponse.BodyHandlers.ofLines());
+
+        assertThat(stream.statusCode()).isEqualTo(200);
+        assertThat(stream.headers().firstValue("Content-Type").orElse("")).startsWith("text/event-stream");
+        assertThat(this.order("apiuser", PASSWORD, "C01").statusCode()).isEqualTo(201);
+
+        try (Stream<String> lines = stream.body()) {
+            String data = CompletableFuture
+                    .supplyAsync(() -> lines.filter(line -> line.startsWith("data: ")).findFirst().orElse(""))
+                    .get(10, TimeUnit.SECONDS);
+
+            assertThat(data).contains("{\"seat\":\"C01\",\"available\":false}");
+        }
+    }
+
+    @Test
+    public void orders_ShouldAnswerConflicts_WhenSeatsAreTaken() throws Exception {
+        assertThat(this.order("apiuser", PASSWORD, "B01").statusCode()).isEqualTo(201);
+
+        HttpResponse<String> conflict = this.order("apiuser", PASSWORD, "B01", "B02");
+
+        assertThat(conflict.statusCode()).isEqualTo(409);
+        assertThat(conflict.body()).contains("\"B01\":\"Error: Seat already reserved\"").doesNotContain("B02");
+        assertThat(this.nbOrders("apiuser")).isOne();
+    }
+
+    @Test
+    public void orders_ShouldAuthenticateBeforeReadingRequest() throws Exception {
+        assertThat(this.order("apiuser", "wrong", "not a seat").statusCode()).isEqualTo(401);
+        assertThat(this.order("apiuser", PASSWORD, "not a seat").statusCode()).isEqualTo(400);
+        assertThat(this.nbOrders("apiuser")).isZero();
+    }
+
+    @Test
+    public void orders_ShouldBeRejected_WhenGivenInvalidRequests() throws Exception {
+        assertThat(this.order("apiuser", "wrong", "C01").statusCode()).isEqualTo(401);
+        assertThat(this.order("apiuser", PASSWORD, "Z99").statusCode()).isEqualTo(400);
+        assertThat(this.get("/api/rooms/" + UUID.randomUUID() + "/seats", null).statusCode()).isEqualTo(404);
+        assertThat(this.get("/api/orders", null).statusCode()).isEqualTo(405);
+    }
+
+    private long version(String body) {
+        Matcher matcher = Pattern.compile("\"version\":(\\d+)").matcher(body);
+
+        assertThat(matcher.find()).isTrue();
+
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private long nbOrders(String username) {
+        return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM \"order\" o JOIN \"user\" u ON u.id = o.user_id "
+                + "WHERE u.username = ?", Long.class, username);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+
+        return statistics;
+    }
+
+    private HttpResponse<String> get(String path, String etag) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(this.uri(path)).GET();
+
+        if (etag != null) request.header("If-None-Match", etag);
+
+        return this.client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> order(String username, String password, String... seats)
+            throws IOException, InterruptedException {
+        String credentials = Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        String body = "{\"room\":\"" + this.room.getUuid() + "\",\"seats\":[\"" + String.join("\",\"", seats) + "\"]}";
+        HttpRequest request = HttpRequest.newBuilder(this.uri("/api/orders"))
+                .header("Authorization", "Basic " + credentials)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        return this.client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + this.port + path);
+    }
+}
@@ -0,0 +1,82 @@
+package com.agenson.cinema.config;
+
+import com.agenson.cinema.Application;
+import com.agenson.cinema.ticket.TicketService;
+import com.agenson.cinema.ticket.seat.SeatOccupancy;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: ./gradlew benchmark
+@Tag("benchmark")
+public class PersistentStorageBenchmark {
+
+    private static final int NB_ROOMS = 1000;
+
+    private static final int NB_ROWS = 25;
+
+    private static final int NB_COLS = 40;
+
+    private static final int NB_TICKETS = NB_ROOMS * NB_ROWS * NB_COLS;
+
+    @TempDir
+    public Path storage;
+
+    @Test
+    public void start_TimeToReadyWithOneMillionTickets() {
+        long start = System.nanoTime();
+
+        try (ConfigurableApplicationContext context = this.start()) {
+            System.out.printf("%-32s %8d ms%n", "new storage", (System.nanoTime() - start) / 1_000_000);
+
+            this.fill(context.getBean(JdbcTemplate.class));
+            context.getBean(TicketService.class).reconcileRoomSales();
+        }
+
+        for (int i = 1; i <= 3; i++) {
+            start = System.nanoTime();
+
+            try (ConfigurableApplicationContext context = this.start()) {
+                long elapsed = (System.nanoTime() - start) / 1_000_000;
+                JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                UUID room = jdbcTemplate.queryForObject("SELECT uuid FROM room WHERE number = 1000", UUID.class);
+
+                System.out.printf("%-32s %8d ms%n", "restart " + i + ", " + NB_TICKETS + " tickets", elapsed);
+
+                assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ticket", Integer.class))
+                        .isGreaterThanOrEqualTo(NB_TICKETS);
+                SeatOccupancy occupancy = context.getBean(TicketService.class).findOccupancy(room).get();
+
+                assertThat(occupancy.isReserved(1, 1) && occupancy.isReserved(NB_ROWS, NB_COLS)).isTrue();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(Application.class)
+                .profiles("test", "persistent")
+                .properties(
+                        "cinema.storage.path=" + this.storage.resolve("cinema").toAbsolutePath(),
+                        "spring.jpa.show-sql=false"
+                )
+                .run();
+    }
+
+    // Full rooms, inserted by the database itself
+    private void fill(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO room (uuid, number, nb_rows, nb_cols) "
+                + "SELECT RANDOM_UUID(), 1000 + x, ?, ? FROM SYSTEM_RANGE(0, ?)", NB_ROWS, NB_COLS, NB_ROOMS - 1);
+        jdbcTemplate.update("INSERT INTO ticket (uuid, seat, room_id) "
+                        + "SELECT RANDOM_UUID(), ((x / ?) % ? + 1) * 256 + x % ? + 1, r.id "
+                        + "FROM SYSTEM_RANGE(0, ?) JOIN room r ON r.number = 1000 + x / ?",
+                NB_COLS, NB_ROWS, NB_COLS, NB_TICKETS - 1, NB_ROWS * NB_COLS);
+    }
+}
@@ -0,0 +1,125 @@
+package com.agenson.cinema.console.io;
+
+import com.agenson.cinema.console.io.FrameBufferUnitTests.CountingOutputStream;
+import com.agenson.cinema.console.template.SeatMapRenderer;
+import com.agenson.cinema.ticket.seat.Seat;
+import com.agenson.cinema.ticket.seat.SeatOccupancy;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Run with: ./gradlew benchmark
+@Tag("benchmark")
+public class FrameBufferBenchmark {
+
+    private static final File NULL_DEVICE = new File("/dev/null");
+
+    private static final int WARMUP = 20;
+
+    private static final int ITERATIONS = 200;
+
+    @Test
+    public void print_ComparedToPrintingEveryLine() throws IOException {
+        System.out.printf("%-14s %8s %14s %14s %14s %14s%n",
+                "screen", "lines", "lines (MB/s)", "frame (MB/s)", "lines writes", "frame writes");
+
+        this.compare("seat map", FrameBufferBenchmark.seatMap());
+
+        for (int nbUsers : new int[]{100, 10_000})
+            this.compare(nbUsers + " users", FrameBufferBenchmark.userList(nbUsers));
+    }
+
+    private void compare(String name, List<String> lines) throws IOException {
+        try (OutputStream sink = FrameBufferBenchmark.sink()) {
+            CountingOutputStream lineWrites = new CountingOutputStream();
+            CountingOutputStream frameWrites = new CountingOutputStream();
+            long bytes = lines.stream().mapToLong(line -> line.length() + 1).sum();
+
+            FrameBufferBenchmark.printEveryLine(lines, FrameBufferBenchmark.systemOut(lineWrites));
+            FrameBufferBenchmark.printFrame(lines, new FrameBuffer(), new PrintStream(frameWrites));
+
+            PrintStream out = FrameBufferBenchmark.systemOut(sink);
+            FrameBuffer frame = new FrameBuffer();
+
+            double perLine = FrameBufferBenchmark.throughput(bytes, () -> {
+                FrameBufferBenchmark.printEveryLine(lines, out);
+            });
+            double perFrame = FrameBufferBenchmark.throughput(bytes, () -> {
+                FrameBufferBenchmark.printFrame(lines, frame, out);
+            });
+
+            System.out.printf("%-14s %8d %14.1f %14.1f %14d %14d%n",
+                    name, lines.size(), perLine, perFrame, lineWrites.nbWrites, frameWrites.nbWrites);
+        }
+    }
+
+    // Same buffering as System.out: a 128 bytes buffer, flushed at every line
+    private static PrintStream systemOut(OutputStream out) {
+        return new PrintStream(new BufferedOutputStream(out, 128), true);
+    }
+
+    private static void printEveryLine(List<String> lines, PrintStream out) {
+        lines.forEach(out::println);
+    }
+
+    private static void printFrame(List<String> lines, FrameBuffer frame, PrintStream out) {
+        frame.open(new StreamConsoleIO(new ByteArrayInputStream(new byte[0]), out));
+        lines.forEach(frame::println);
+        frame.flush();
+    }
+
+    private static double throughput(long bytes, Runnable print) {
+        for (int i = 0; i < WARMUP; i++)
+            print.run();
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; i++)
+            print.run();
+
+        return bytes * ITERATIONS / ((System.nanoTime() - start) / 1e9) / (1024 * 1024);
+    }
+
+    // Real writes to the null device when there is one, so that every flush costs a system call
+    private static OutputStream sink() throws IOException {
+        if (NULL_DEVICE.exists()) return new FileOutputStream(NULL_DEVICE);
+
+        return new OutputStream() {
+            @Override
+            public void write(int b) {
+                // IGNORED
+            }
+        };
+    }
+
+    private static List<String> seatMap() {
+        SeatOccupancy occupancy = new SeatOccupancy(Seat.MAX_ROW, Seat.MAX_COL);
+
+        for (int row = 1; row <= Seat.MAX_ROW; row += 2)
+            occupancy.reserve(Seat.of(row, row));
+
+        return Arrays.asList(new SeatMapRenderer().render(occupancy).split("\n"));
+    }
+
+    private static List<String> userList(int nbUsers) {
+        List<String> lines = new ArrayList<>();
+
+        lines.add("Please select an action or user:");
+        lines.add("[0] - Go back\n");
+
+        for (int i = 0; i < nbUsers; i++)
+            lines.add("[" + (i + 1) + "] - customer" + i);
+
+        return lines;
+    }
+}
@@ -0,0 +1,131 @@
+package com.agenson.cinema.console.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FrameBufferUnitTests {
+
+    @Test
+    public void flush_ShouldWriteWholeFrameAtOnce() {
+        RecordingConsole console = new RecordingConsole();
+        FrameBuffer frame = new FrameBuffer().open(console);
+
+        frame.println("# Title");
+        frame.print("Room: ");
+        frame.println(1);
+        frame.flush();
+        frame.flush();
+
+        assertThat(console.writes).containsExactly("# Title\nRoom: 1\n");
+    }
+
+    @Test
+    public void print_ShouldStreamChunks_WhenFrameExceedsChunkSize() {
+        RecordingConsole console = new RecordingConsole();
+        FrameBuffer frame = new FrameBuffer(16).open(console);
+
+        for (int i = 0; i < 10; i++)
+            frame.println("line " + i);
+
+        frame.flush();
+
+        assertThat(String.join("", console.writes)).isEqualTo(
+                "line 0\nline 1\nline 2\nline 3\nline 4\nline 5\nline 6\nline 7\nline 8\nline 9\n"
+        );
+        assertThat(console.writes).hasSize(4).allSatisfy(chunk -> assertThat(chunk.length()).isLessThan(16 + 8));
+    }
+
+    @Test
+    public void readLine_ShouldFlushPendingOutputFirst() {
+        RecordingConsole console = new RecordingConsole();
+        FrameBuffer frame = new FrameBuffer().open(console);
+
+        frame.print("Input = ");
+
+        assertThat(frame.readLine()).isEqualTo("input");
+        assertThat(console.writes).containsExactly("Input = ");
+    }
+
+    @Test
+    public void open_ShouldReuseBufferAndDropUnflushedOutput() {
+        RecordingConsole console = new RecordingConsole();
+        FrameBuffer frame = new FrameBuffer().open(console);
+
+        frame.println("dropped");
+        frame.open(console).println("kept");
+        frame.flush();
+
+        assertThat(console.writes).containsExactly("kept\n");
+    }
+
+    @Test
+    public void write_ShouldFlushStreamOnce() {
+        CountingOutputStream counting = new CountingOutputStream();
+        StreamConsoleIO console = new StreamConsoleIO(new ByteArrayInputStream(new byte[0]), new PrintStream(counting));
+
+        console.write("# Title\nRoom: 1\nMovie: Title\n");
+
+        assertThat(counting.output.toString()).isEqualTo("# Title\nRoom: 1\nMovie: Title\n");
+        assertThat(counting.nbWrites).isEqualTo(1);
+        assertThat(counting.nbFlushes).isEqualTo(1);
+    }
+
+    private static class RecordingConsole implements ConsoleIO {
+
+        private final List<String> writes = new ArrayList<>();
+
+        @Override
+        public String readLine() {
+            return "input";
+        }
+
+        @Override
+        public void print(Object text) {
+            this.writes.add("print: " + text);
+        }
+
+        @Override
+        public void println(Object line) {
+            this.writes.add("println: " + line);
+        }
+
+        @Override
+        public void write(CharSequence frame) {
+            this.writes.add(frame.toString());
+        }
+    }
+
+    static class CountingOutputStream extends OutputStream {
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        int nbWrites = 0;
+
+        int nbFlushes = 0;
+
+        @Override
+        public void write(int b) {
+            this.output.write(b);
+            this.nbWrites++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            this.output.write(bytes, offset, length);
+            this.nbWrites++;
+        }
+
+        @Override
+        public void flush() {
+            this.nbFlushes++;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.agenson.cinema.console.script;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Inputs of a customer signing up, booking seats in the first room of the catalog, then leaving
+public class BookingScript {
+
+    public static final String PASSWORD = "password";
+
+    public static List<String> of(String username, String... seats) {
+        List<String> script = new ArrayList<>(Arrays.asList("2", "1", username, PASSWORD, PASSWORD, "1", "1"));
+
+        script.addAll(Arrays.asList(seats));
+        script.addAll(Arrays.asList("C", "y", "", "0", "3", "3"));
+
+        return script;
+    }
+}
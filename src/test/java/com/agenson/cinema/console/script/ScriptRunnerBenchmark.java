@@ -0,0 +1,61 @@
+package com.agenson.cinema.console.script;
+
+import com.agenson.cinema.movie.MovieDB;
+import com.agenson.cinema.movie.MovieRepository;
+import com.agenson.cinema.room.RoomDB;
+import com.agenson.cinema.room.RoomRepository;
+import com.agenson.cinema.ticket.seat.Seat;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: ./gradlew benchmark
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class ScriptRunnerBenchmark {
+
+    private static final int NB_THREADS = Runtime.getRuntime().availableProcessors();
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ScriptRunner scriptRunner;
+
+    @Test
+    public void runSessions_FullBookingPath() {
+        RoomDB room = new RoomDB(1, Seat.MAX_ROW, Seat.MAX_COL);
+        List<List<String>> scripts = new ArrayList<>();
+
+        room.setMovie(this.movieRepository.save(new MovieDB("Benchmark")));
+        this.roomRepository.save(room);
+
+        for (int row = 1; row <= Seat.MAX_ROW; row++)
+            for (int col = 1; col <= Seat.MAX_COL; col += 2)
+                scripts.add(BookingScript.of(
+                        "bench" + scripts.size(),
+                        Seat.of(row, col).toString(),
+                        Seat.of(row, col + 1).toString()
+                ));
+
+        ScriptReport report = this.scriptRunner.runSessions(scripts, NB_THREADS);
+
+        System.out.printf("threads: %d%n%s", NB_THREADS, report);
+
+        assertThat(report.getFailures()).isEmpty();
+        assertThat(report.getNbCompleted()).isEqualTo(scripts.size());
+    }
+}
@@ -0,0 +1,108 @@
+package com.agenson.cinema.console.script;
+
+import com.agenson.cinema.movie.MovieDB;
+import com.agenson.cinema.movie.MovieRepository;
+import com.agenson.cinema.room.RoomDB;
+import com.agenson.cinema.room.RoomRepository;
+import com.agenson.cinema.ticket.TicketRepository;
+import com.agenson.cinema.ticket.seat.Seat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: every scripted session commits on its own thread
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class ScriptRunnerIntegrationTests {
+
+    private static final int NB_SESSIONS = 12;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ScriptRunner scriptRunner;
+
+    private RoomDB room;
+
+    @BeforeEach
+    public void setup() {
+        RoomDB room = new RoomDB(950, 5, 10);
+
+        room.setMovie(this.movieRepository.save(new MovieDB("Scripted")));
+
+        this.room = this.roomRepository.save(room);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        this.jdbcTemplate.update("DELETE FROM ticket");
+        this.jdbcTemplate.update("DELETE FROM room WHERE number = 950");
+        this.jdbcTemplate.update("DELETE FROM movie WHERE title = 'Scripted'");
+        this.jdbcTemplate.update("DELETE FROM \"order\"");
+        this.jdbcTemplate.update("DELETE FROM \"user\" WHERE username LIKE 'script%'");
+    }
+
+    @Test
+    public void runSession_ShouldBookSeatsThroughTheViews() {
+        ScriptedConsole console = this.scriptRunner.runSession(BookingScript.of("script", "A01", "A02"));
+
+        assertThat(console.getOutput())
+                .contains("# Movie Selection")
+                .contains("Seat A01 -> Ordered")
+                .contains("Seat A02 -> Ordered")
+                .endsWith("# Main Menu\n\nPlease select an action:\n[1] - See movie catalog\n"
+                        + "[2] - Identify\n[3] - Leave\n\nInput = 3\n");
+        assertThat(console.getLatencies())
+                .containsKeys("Main Menu", "Sign Up", "Movie Catalog", "Movie Selection", "Order Review");
+        assertThat(this.ticketRepository.findSeatsByRoomUuid(this.room.getUuid()))
+                .containsExactlyInAnyOrder(Seat.of(1, 1), Seat.of(1, 2));
+    }
+
+    @Test
+    public void runSessions_ShouldBookEverySeat_WhenRunInParallel() {
+        List<List<String>> scripts = new ArrayList<>();
+
+        for (int i = 0; i < NB_SESSIONS; i++)
+            scripts.add(BookingScript.of("script" + i, Seat.of(1 + i / 10, 1 + i % 10).toString()));
+
+        ScriptReport report = this.scriptRunner.runSessions(scripts, 4);
+
+        assertThat(report.getFailures()).isEmpty();
+        assertThat(report.getNbCompleted()).isEqualTo(NB_SESSIONS);
+        assertThat(report.getLatencies().get("Order Review")).hasSize(NB_SESSIONS);
+        assertThat(report.getPercentile("Movie Selection", 95)).isPositive();
+        assertThat(this.ticketRepository.findSeatsByRoomUuid(this.room.getUuid())).hasSize(NB_SESSIONS);
+    }
+
+    @Test
+    public void runSessions_ShouldReportExhaustedSession_WhenScriptEndsBeforeLeaving() {
+        List<String> script = Collections.singletonList("1");
+        ScriptReport report = this.scriptRunner.runSessions(Collections.singletonList(script), 1);
+
+        assertThat(report.getNbExhausted()).isEqualTo(1);
+        assertThat(report.getNbCompleted()).isZero();
+        assertThat(report.getLatencies()).containsKeys("Main Menu", "Movie Catalog");
+    }
+}
@@ -0,0 +1,72 @@
+package com.agenson.cinema.console.server;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+// Blocking client of the console server, reading its output up to the next prompt of the main menu
+public class ConsoleClient implements AutoCloseable {
+
+    public static final String MAIN_MENU = "# Main Menu";
+
+    private final Socket socket;
+
+    private final Reader reader;
+
+    private final Writer writer;
+
+    public ConsoleClient(int port) throws IOException {
+        this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        this.socket.setSoTimeout(10_000);
+        this.reader = new InputStreamReader(this.socket.getInputStream(), StandardCharsets.UTF_8);
+        this.writer = new OutputStreamWriter(this.socket.getOutputStream(), StandardCharsets.UTF_8);
+    }
+
+    public void send(String line) throws IOException {
+        this.writer.write(line + "\r\n");
+        this.writer.flush();
+    }
+
+    public void signUp(String username) throws IOException {
+        this.send("2");
+        this.send("1");
+        this.send(username);
+        this.send("password");
+        this.send("password");
+    }
+
+    // Output up to the next prompt of the main menu
+    public String readPrompt() throws IOException {
+        StringBuilder output = new StringBuilder();
+        int c;
+
+        while ((c = this.reader.read()) >= 0) {
+            output.append((char) c);
+
+            if (c == ' ' && output.indexOf(MAIN_MENU) >= 0 && output.toString().endsWith("Input = "))
+                break;
+        }
+
+        return output.toString();
+    }
+
+    public String readToEnd() throws IOException {
+        StringBuilder output = new StringBuilder();
+        int c;
+
+        while ((c = this.reader.read()) >= 0)
+            output.append((char) c);
+
+        return output.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.socket.close();
+    }
+}
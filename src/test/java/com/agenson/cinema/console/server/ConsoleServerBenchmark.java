@@ -0,0 +1,162 @@
+package com.agenson.cinema.console.server;
+
+import com.agenson.cinema.console.views.MainMenuView;
+import com.agenson.cinema.security.SecurityService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: ./gradlew benchmark
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class ConsoleServerBenchmark {
+
+    private static final int NB_SESSIONS = 2_000;
+
+    private static final int POOL_SIZE = 200;
+
+    // An idle session on a virtual thread should cost a few kilobytes of heap, its stack included
+    private static final long MAX_VIRTUAL_SESSION_BYTES = 32 * 1024;
+
+    @Autowired
+    private ObjectProvider<MainMenuView> mainMenuViews;
+
+    @Autowired
+    private SecurityService securityService;
+
+    @Test
+    public void idleSessions_VirtualThreadsComparedToPlatformThreadPools() throws Exception {
+        long connectionBytes = this.measureConnections(NB_SESSIONS);
+
+        System.out.printf("%-28s %10s %12s %12s %16s%n",
+                "session threads", "sessions", "all served", "threads", "heap / session");
+
+        long virtualBytes = this.measure("virtual", 0, NB_SESSIONS, connectionBytes);
+
+        this.measure("platform, one per session", NB_SESSIONS, NB_SESSIONS, connectionBytes);
+        this.measure("platform, pool of " + POOL_SIZE, POOL_SIZE, POOL_SIZE, connectionBytes);
+
+        assertThat(virtualBytes).isLessThan(MAX_VIRTUAL_SESSION_BYTES);
+    }
+
+    // Opens the sessions, and keeps them idle on the main menu until all are served
+    // Returns the heap retained by each idle session, beyond the cost of its bare connection and test client
+    private long measure(String label, int sessionThreads, int nbSessions, long connectionBytes) throws Exception {
+        ConsoleServer server = new ConsoleServer(
+                this.mainMenuViews,
+                this.securityService,
+                "127.0.0.1",
+                nbSessions,
+                sessionThreads
+        );
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        List<ConsoleClient> clients = new ArrayList<>();
+        long heapBefore = ConsoleServerBenchmark.usedHeap();
+        int port = server.start(0);
+
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            List<Future<String>> prompts = new ArrayList<>();
+
+            for (int i = 0; i < nbSessions; i++) {
+                ConsoleClient client = new ConsoleClient(port);
+
+                clients.add(client);
+                prompts.add(readers.submit(client::readPrompt));
+            }
+
+            for (Future<String> prompt : prompts)
+                assertThat(prompt.get()).contains(ConsoleClient.MAIN_MENU);
+
+            long elapsed = System.nanoTime() - start;
+
+            prompts.clear();
+
+            long sessionBytes = (ConsoleServerBenchmark.usedHeap() - heapBefore) / nbSessions - connectionBytes;
+
+            System.out.printf(
+                    "%-28s %10d %10.1fms %12d %14.1fKB%n",
+                    label,
+                    server.getNbSessions(),
+                    elapsed / 1_000_000.0,
+                    threads.getThreadCount(),
+                    sessionBytes / 1024.0
+            );
+
+            clients.forEach(client -> readers.submit(() -> this.leave(client)));
+
+            return sessionBytes;
+        } finally {
+            server.stop();
+        }
+    }
+
+    // Heap retained by a test client connected to a server socket which only accepts: the baseline of a session
+    private long measureConnections(int nbConnections) throws Exception {
+        List<ConsoleClient> clients = new ArrayList<>();
+        List<Socket> accepted = new ArrayList<>();
+        long heapBefore = ConsoleServerBenchmark.usedHeap();
+
+        try (ServerSocket serverSocket = new ServerSocket(0, nbConnections, InetAddress.getLoopbackAddress())) {
+            for (int i = 0; i < nbConnections; i++) {
+                clients.add(new ConsoleClient(serverSocket.getLocalPort()));
+                accepted.add(serverSocket.accept());
+            }
+
+            long connectionBytes = (ConsoleServerBenchmark.usedHeap() - heapBefore) / nbConnections;
+
+            System.out.printf("%-28s %10d %40.1fKB%n", "bare connections", nbConnections, connectionBytes / 1024.0);
+
+            return connectionBytes;
+        } finally {
+            for (ConsoleClient client : clients)
+                client.close();
+
+            for (Socket socket : accepted)
+                socket.close();
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private String leave(ConsoleClient client) {
+        try (ConsoleClient closing = client) {
+            closing.send("3");
+
+            return closing.readToEnd();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.agenson.cinema.console.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: every connection commits on its own session thread
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class ConsoleServerIntegrationTests {
+
+    private static final int NB_CLIENTS = 200;
+
+    private static final String MAIN_MENU = ConsoleClient.MAIN_MENU;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ConsoleServer consoleServer;
+
+    private int port;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        this.port = this.consoleServer.start(0);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        this.consoleServer.stop();
+        this.jdbcTemplate.update("DELETE FROM \"user\" WHERE username LIKE 'server%'");
+    }
+
+    @Test
+    public void connections_ShouldEachRunTheirOwnSession() throws IOException {
+        try (ConsoleClient first = new ConsoleClient(this.port);
+             ConsoleClient second = new ConsoleClient(this.port)) {
+            assertThat(first.readPrompt()).contains("Welcome to the Cinema!").contains(MAIN_MENU);
+            assertThat(second.readPrompt()).contains("Welcome to the Cinema!").contains(MAIN_MENU);
+
+            first.signUp("server1");
+            second.signUp("server2");
+
+            assertThat(first.readPrompt()).contains("Logged in as: server1").doesNotContain("server2");
+            assertThat(second.readPrompt()).contains("Logged in as: server2").doesNotContain("server1");
+
+            first.send("3");
+            assertThat(first.readPrompt()).contains(MAIN_MENU).doesNotContain("Logged in as");
+
+            first.send("3");
+            assertThat(first.readToEnd()).endsWith("Thank you! See you soon!\n");
+
+            second.send("3");
+            second.send("3");
+            assertThat(second.readToEnd()).endsWith("Thank you! See you soon!\n");
+        }
+    }
+
+    @Test
+    public void connections_ShouldBeServedConcurrently() throws IOException {
+        List<ConsoleClient> clients = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < NB_CLIENTS; i++)
+                clients.add(new ConsoleClient(this.port));
+
+            for (ConsoleClient client : clients)
+                assertThat(client.readPrompt()).contains(MAIN_MENU).endsWith("Input = ");
+
+            assertThat(this.consoleServer.getNbSessions()).isEqualTo(NB_CLIENTS);
+
+            for (ConsoleClient client : clients)
+                client.send("3");
+
+            for (ConsoleClient client : clients)
+                assertThat(client.readToEnd()).endsWith("Thank you! See you soon!\n");
+        } finally {
+            for (ConsoleClient client : clients)
+                client.close();
+        }
+
+        assertThat(this.consoleServer.getNbSessions()).isZero();
+    }
+
+    @Test
+    public void connection_ShouldServeEveryLine_WhenClientSendsFasterThanSessionReads() throws IOException {
+        List<String> lines = new ArrayList<>();
+
+        // Invalid choices, many more than the pending lines kept, then the exit
+        for (int i = 0; i < 10 * ConsoleConnection.MAX_PENDING_LINES; i++)
+            lines.add("9");
+
+        lines.add("3");
+
+        try (ConsoleClient client = new ConsoleClient(this.port)) {
+            client.send(String.join("\r\n", lines));
+
+            assertThat(client.readToEnd()).endsWith("Thank you! See you soon!\n");
+        }
+    }
+
+    @Test
+    public void connection_ShouldEndItsSessionWhenClosedByTheClient() throws IOException, InterruptedException {
+        try (ConsoleClient client = new ConsoleClient(this.port)) {
+            assertThat(client.readPrompt()).contains(MAIN_MENU);
+            assertThat(this.consoleServer.getNbSessions()).isOne();
+        }
+
+        for (int i = 0; i < 100 && this.consoleServer.getNbSessions() > 0; i++)
+            Thread.sleep(10);
+
+        assertThat(this.consoleServer.getNbSessions()).isZero();
+    }
+}
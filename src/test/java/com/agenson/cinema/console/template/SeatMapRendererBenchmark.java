@@ -0,0 +1,92 @@
+package com.agenson.cinema.console.template;
+
+import com.agenson.cinema.ticket.seat.Seat;
+import com.agenson.cinema.ticket.seat.SeatOccupancy;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: ./gradlew benchmark
+@Tag("benchmark")
+public class SeatMapRendererBenchmark {
+
+    private static final int[][] ROOM_SIZES = {{5, 10}, {10, 20}, {18, 36}, {Seat.MAX_ROW, Seat.MAX_COL}};
+
+    private static final int WARMUP = 2_000;
+
+    private static final int ITERATIONS = 10_000;
+
+    private final SeatMapRenderer seatMapRenderer = new SeatMapRenderer();
+
+    @Test
+    public void render_ComparedToPrintingEveryCell() {
+        System.out.printf("%-8s %14s %14s%n", "room", "per cell (us)", "buffer (us)");
+
+        for (int[] size : ROOM_SIZES) {
+            SeatOccupancy occupancy = SeatMapRendererBenchmark.randomOccupancy(size[0], size[1]);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            PrintStream out = new PrintStream(output);
+
+            SeatMapRendererBenchmark.printEveryCell(occupancy, out);
+            assertThat(this.seatMapRenderer.render(occupancy)).isEqualTo(output.toString());
+
+            double perCell = this.measure(() -> {
+                output.reset();
+                SeatMapRendererBenchmark.printEveryCell(occupancy, out);
+            });
+            double buffer = this.measure(() -> {
+                output.reset();
+                out.print(this.seatMapRenderer.render(occupancy));
+            });
+
+            System.out.printf("%-8s %14.2f %14.2f%n", size[0] + "x" + size[1], perCell, buffer);
+        }
+    }
+
+    private double measure(Runnable task) {
+        for (int i = 0; i < WARMUP; i++)
+            task.run();
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; i++)
+            task.run();
+
+        return (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    }
+
+    // Former rendering of MovieSelectionView: one print call per cell
+    private static void printEveryCell(SeatOccupancy occupancy, PrintStream out) {
+        out.print("\n   ");
+
+        for (int j = 1; j <= occupancy.getNbCols(); j++)
+            out.printf(" %02d", j);
+
+        out.print("\n    " + String.join("", Collections.nCopies((3 * occupancy.getNbCols() - 1), "-")) + "\n");
+
+        for (int i = 1; i <= occupancy.getNbRows(); i++) {
+            out.print(Seat.letterFromNumber(i) + " |");
+
+            for (int j = 1; j <= occupancy.getNbCols(); j++)
+                out.print("  " + (occupancy.isReserved(i, j) ? "R" : "A"));
+
+            out.print("\n");
+        }
+    }
+
+    private static SeatOccupancy randomOccupancy(int nbRows, int nbCols) {
+        SeatOccupancy occupancy = new SeatOccupancy(nbRows, nbCols);
+        Random random = new Random(42);
+
+        for (int i = 0; i < nbRows * nbCols / 3; i++)
+            occupancy.reserve(Seat.of(1 + random.nextInt(nbRows), 1 + random.nextInt(nbCols)));
+
+        return occupancy;
+    }
+}
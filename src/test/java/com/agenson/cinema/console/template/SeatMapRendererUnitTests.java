@@ -0,0 +1,43 @@
+package com.agenson.cinema.console.template;
+
+import com.agenson.cinema.ticket.seat.Seat;
+import com.agenson.cinema.ticket.seat.SeatOccupancy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SeatMapRendererUnitTests {
+
+    private final SeatMapRenderer seatMapRenderer = new SeatMapRenderer();
+
+    @Test
+    public void render_ShouldDrawHeaderAndCells_WhenGivenOccupancy() {
+        SeatOccupancy occupancy = new SeatOccupancy(2, 3, Arrays.asList(Seat.fromString("A02"), Seat.fromString("B03")));
+
+        assertThat(this.seatMapRenderer.render(occupancy)).isEqualTo(
+                "\n    01 02 03\n" +
+                "    --------\n" +
+                "A |  A  R  A\n" +
+                "B |  A  A  R\n"
+        );
+    }
+
+    @Test
+    public void render_ShouldDrawEveryCell_WhenGivenLargestRoom() {
+        SeatOccupancy occupancy = new SeatOccupancy(Seat.MAX_ROW, Seat.MAX_COL, Arrays.asList(Seat.fromString("Z52")));
+        String[] lines = this.seatMapRenderer.render(occupancy).split("\n");
+
+        assertThat(lines).hasSize(3 + Seat.MAX_ROW);
+        assertThat(lines[1]).endsWith(" 51 52");
+        assertThat(lines[2]).hasSize(4 + 3 * Seat.MAX_COL - 1);
+        assertThat(lines[3]).startsWith("A |  A").doesNotContain("R");
+        assertThat(lines[lines.length - 1]).startsWith("Z |").endsWith("  A  R");
+    }
+
+    @Test
+    public void render_ShouldDrawHeaderOnly_WhenGivenEmptyRoom() {
+        assertThat(this.seatMapRenderer.render(new SeatOccupancy(0, 0))).isEqualTo("\n   \n    \n");
+    }
+}
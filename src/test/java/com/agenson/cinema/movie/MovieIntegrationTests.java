@@ -1,10 +1,18 @@
 package com.agenson.cinema.movie;
 
+import com.agenson.cinema.order.OrderDB;
+import com.agenson.cinema.order.OrderRepository;
+import com.agenson.cinema.room.RoomDB;
+import com.agenson.cinema.room.RoomRepository;
 import com.agenson.cinema.security.SecurityService;
 import com.agenson.cinema.security.SecurityRole;
+import com.agenson.cinema.ticket.TicketDB;
+import com.agenson.cinema.ticket.TicketRepository;
+import com.agenson.cinema.ticket.seat.Seat;
 import com.agenson.cinema.user.UserDB;
 import com.agenson.cinema.utils.CallableOneArgument;
 import com.agenson.cinema.utils.StaffSecurityAssertion;
+import com.agenson.cinema.utils.StatementCounter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +24,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -43,6 +52,15 @@ public class MovieIntegrationTests implements MovieConstants {
     @Autowired
     private MovieRepository movieRepository;
 
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
     @Autowired
     private MovieService movieService;
 
@@ -74,6 +92,16 @@ public class MovieIntegrationTests implements MovieConstants {
         assertThat(actual.get()).isEqualTo(expected);
     }
 
+    @Test
+    public void findMovie_ShouldIssueOneStatement_WhenRoomsAreSoldOut() {
+        MovieDB movie = this.persistMovieWithTickets(NORMAL_TITLE, 1, 200, new ArrayList<>());
+
+        assertThat(StatementCounter.count(this.entityManager, () -> this.movieService.findMovie(movie.getUuid())))
+                .isEqualTo(1);
+        assertThat(StatementCounter.count(this.entityManager, () -> this.movieService.findMovies()))
+                .isEqualTo(1);
+    }
+
     @Test
     public void findMovie_ShouldReturnNull_WhenNotFoundWithUuid() {
         this.movieRepository.save(new MovieDB(NORMAL_TITLE));
@@ -160,6 +188,31 @@ public class MovieIntegrationTests implements MovieConstants {
         assertThat(this.movieRepository.findByUuid(uuid)).isEmpty();
     }
 
+    @Test
+    public void removeMovie_ShouldRemoveTicketsAndOrdersOfItsRoomsInBulk_WhenRoomsAreSoldOut() {
+        List<UUID> orderUuids = new ArrayList<>();
+        MovieDB fewTickets = this.persistMovieWithTickets(NORMAL_TITLE, 1, 2, orderUuids);
+        MovieDB soldOut = this.persistMovieWithTickets(ANOTHER_TITLE, 3, 200, orderUuids);
+
+        long expected = StatementCounter.count(this.entityManager,
+                () -> this.movieService.removeMovie(fewTickets.getUuid()));
+        long actual = StatementCounter.count(this.entityManager,
+                () -> this.movieService.removeMovie(soldOut.getUuid()));
+
+        assertThat(actual).isEqualTo(expected).isLessThanOrEqualTo(7);
+
+        this.entityManager.clear();
+
+        assertThat(this.movieRepository.findByUuid(soldOut.getUuid())).isEmpty();
+        assertThat(this.roomRepository.findAll()).hasSize(4).allSatisfy(room -> {
+            assertThat(room.getMovie()).isNull();
+            assertThat(this.ticketRepository.findSeatsByRoomUuid(room.getUuid())).isEmpty();
+        });
+
+        for (UUID orderUuid : orderUuids)
+            assertThat(this.orderRepository.findByUuid(orderUuid)).isEmpty();
+    }
+
     @Test
     public void removeMovie_ShouldThrowSecurityException_WhenNotLoggedInAsStaff() {
         StaffSecurityAssertion.assertShouldThrowSecurityException(
@@ -169,6 +222,30 @@ public class MovieIntegrationTests implements MovieConstants {
         );
     }
 
+    private MovieDB persistMovieWithTickets(String title, int firstRoomNumber, int nbTicketsPerRoom,
+                                            List<UUID> orderUuids) {
+        MovieDB movie = new MovieDB(title);
+
+        this.entityManager.persist(movie);
+
+        for (int number = firstRoomNumber; number < firstRoomNumber + 2; number++) {
+            RoomDB room = new RoomDB(number, 10, 20);
+
+            room.setMovie(movie);
+            this.entityManager.persist(room);
+
+            for (int i = 0; i < nbTicketsPerRoom; i++) {
+                OrderDB order = new OrderDB(this.defaultUser);
+
+                this.entityManager.persist(order);
+                this.entityManager.persist(new TicketDB(room, order, Seat.of(1 + i / 20, 1 + i % 20)));
+                orderUuids.add(order.getUuid());
+            }
+        }
+
+        return movie;
+    }
+
     private void assertShouldThrowInvalidMovieException_WhenGivenInvalidTitle(CallableOneArgument<String> callable) {
         this.movieRepository.save(new MovieDB(ANOTHER_TITLE));
 
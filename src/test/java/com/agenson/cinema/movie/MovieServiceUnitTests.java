@@ -1,11 +1,16 @@
 package com.agenson.cinema.movie;
 
+import com.agenson.cinema.room.CatalogCache;
+import com.agenson.cinema.room.CatalogVersion;
+import com.agenson.cinema.room.RoomRepository;
+import com.agenson.cinema.ticket.TicketService;
 import com.agenson.cinema.utils.CallableOneArgument;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -15,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +37,18 @@ class MovieServiceUnitTests implements MovieConstants {
     @Mock
     private MovieRepository movieRepository;
 
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private TicketService ticketService;
+
+    @Spy
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private CatalogCache catalogCache;
+
     @InjectMocks
     private MovieService movieService;
 
@@ -81,6 +99,21 @@ class MovieServiceUnitTests implements MovieConstants {
         assertThat(actual.getTitle()).isEqualTo(NORMAL_TITLE);
     }
 
+    @Test
+    public void createMovie_ShouldChangeCatalogVersion_OnlyWhenMovieIsCreated() {
+        long version = this.catalogVersion.current();
+
+        when(this.movieRepository.findByTitle(NORMAL_TITLE)).thenReturn(Optional.empty());
+        when(this.movieRepository.save(any(MovieDB.class))).then(returnsFirstArg());
+
+        assertThatExceptionOfType(InvalidMovieException.class).isThrownBy(() -> this.movieService.createMovie(null));
+        assertThat(this.catalogVersion.current()).isEqualTo(version);
+
+        this.movieService.createMovie(NORMAL_TITLE);
+
+        assertThat(this.catalogVersion.current()).isGreaterThan(version);
+    }
+
     @Test
     public void createMovie_ShouldThrowAssociatedInvalidMovieException_WhenGivenInvalidTitle() {
         this.assertShouldThrowInvalidMovieException_WhenGivenInvalidTitle(title -> {
@@ -114,6 +147,19 @@ class MovieServiceUnitTests implements MovieConstants {
         });
     }
 
+    @Test
+    public void removeMovie_ShouldRemoveTicketsOfItsRoomsInBulk_WhenGivenUuid() {
+        UUID uuid = UUID.randomUUID();
+        List<UUID> roomUuids = Arrays.asList(UUID.randomUUID(), UUID.randomUUID());
+
+        when(this.roomRepository.findUuidsByMovieUuid(uuid)).thenReturn(roomUuids);
+
+        this.movieService.removeMovie(uuid);
+
+        verify(this.ticketService).removeRoomTickets(roomUuids);
+        verify(this.movieRepository).deleteByUuid(uuid);
+    }
+
     private void assertShouldThrowInvalidMovieException_WhenGivenInvalidTitle(CallableOneArgument<String> callable) {
         when(this.movieRepository.findByTitle(anyString())).thenAnswer(invocation -> {
             MovieDB movieWithSameTitle = new MovieDB(invocation.getArgument(0));
@@ -1,9 +1,15 @@
 package com.agenson.cinema.order;
 
+import com.agenson.cinema.room.RoomDB;
 import com.agenson.cinema.security.SecurityService;
 import com.agenson.cinema.security.SecurityRole;
+import com.agenson.cinema.ticket.TicketDB;
+import com.agenson.cinema.ticket.TicketService;
+import com.agenson.cinema.ticket.hold.SeatHold;
+import com.agenson.cinema.ticket.seat.Seat;
 import com.agenson.cinema.user.UserDB;
 import com.agenson.cinema.utils.StaffSecurityAssertion;
+import com.agenson.cinema.utils.StatementCounter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +46,9 @@ public class OrderIntegrationTests {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private TicketService ticketService;
+
     private UserDB defaultUser;
 
     @BeforeEach
@@ -66,6 +75,88 @@ public class OrderIntegrationTests {
         assertThat(actual.get()).isEqualTo(expected);
     }
 
+    @Test
+    public void createOrder_ShouldIssueAtMostThreeStatements() {
+        assertThat(StatementCounter.count(this.entityManager, () -> {
+            this.orderService.createOrder(this.defaultUser.getUuid());
+        })).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    public void bookHolds_ShouldLeaveNoOrder_WhenSeatsConflict() {
+        RoomDB room = new RoomDB(1, 10, 20);
+
+        this.entityManager.persist(room);
+
+        List<SeatHold> holds = Collections.singletonList(this.ticketService.holdSeat(room.getUuid(), Seat.of(1, 1)));
+        OrderBookingDTO booked = this.orderService.bookHolds(this.defaultUser.getUuid(), room.getUuid(), holds);
+        long nbOrders = this.orderRepository.count();
+
+        // The holds were consumed by the first booking: the seat is now reserved
+        OrderBookingDTO conflicting = this.orderService.bookHolds(this.defaultUser.getUuid(), room.getUuid(), holds);
+
+        assertThat(booked.isBooked()).isTrue();
+        assertThat(this.orderRepository.findByUuid(booked.getOrderUuid())).isPresent();
+        assertThat(conflicting.isBooked()).isFalse();
+        assertThat(conflicting.getOrderUuid()).isNull();
+        assertThat(this.orderRepository.count()).isEqualTo(nbOrders);
+    }
+
+    @Test
+    public void findOrderSummaries_ShouldOnlyReadUserTickets_WhenRoomIsSoldOut() {
+        UserDB otherUser = new UserDB("other", this.encoder.encode("password"));
+        RoomDB room = new RoomDB(1, 10, 20);
+        OrderDB otherOrder = new OrderDB(otherUser);
+        List<OrderDB> orders = Arrays.asList(new OrderDB(this.defaultUser), new OrderDB(this.defaultUser));
+
+        this.entityManager.persist(otherUser);
+        this.entityManager.persist(room);
+        this.entityManager.persist(otherOrder);
+        orders.forEach(this.entityManager::persist);
+
+        for (int i = 0; i < 200; i++) {
+            OrderDB order = (i < orders.size()) ? orders.get(i) : otherOrder;
+
+            this.entityManager.persist(new TicketDB(room, order, Seat.of(1 + i / 20, 1 + i % 20)));
+        }
+
+        List<OrderSummaryDTO> actual = new ArrayList<>();
+        long statements = StatementCounter.count(this.entityManager, () -> {
+            actual.addAll(this.orderService.findOrderSummaries(this.defaultUser.getUuid()));
+        });
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(actual).extracting(OrderSummaryDTO::getUuid)
+                .containsExactly(orders.get(0).getUuid(), orders.get(1).getUuid());
+        assertThat(actual).allSatisfy(order -> {
+            assertThat(order.getRoomNumber()).isEqualTo(room.getNumber());
+            assertThat(order.getMovieTitle()).isNull();
+            assertThat(order.getPrice()).isEqualTo(12);
+        });
+    }
+
+    @Test
+    public void findOrderSummaries_ShouldListOrder_WhenOrderHasNoTicket() {
+        RoomDB room = new RoomDB(1, 10, 20);
+        List<OrderDB> orders = Arrays.asList(new OrderDB(this.defaultUser), new OrderDB(this.defaultUser));
+
+        this.entityManager.persist(room);
+        orders.forEach(this.entityManager::persist);
+        this.entityManager.persist(new TicketDB(room, orders.get(1), Seat.of(1, 1)));
+
+        List<OrderSummaryDTO> actual = new ArrayList<>();
+        long statements = StatementCounter.count(this.entityManager, () -> {
+            actual.addAll(this.orderService.findOrderSummaries(this.defaultUser.getUuid()));
+        });
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(actual).extracting(OrderSummaryDTO::getUuid)
+                .containsExactly(orders.get(0).getUuid(), orders.get(1).getUuid());
+        assertThat(actual.get(0).getSeats()).isEmpty();
+        assertThat(actual.get(0).getPrice()).isZero();
+        assertThat(actual.get(1).getSeats()).containsExactly(Seat.of(1, 1));
+    }
+
     @Test
     public void createOrder_ShouldThrowSecurityException_WhenNotLoggedInAsStaff() {
         StaffSecurityAssertion.assertShouldThrowSecurityException(
@@ -14,6 +14,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -56,6 +58,22 @@ public class OrderRepositoryUnitTests {
         assertThat(actual).isEmpty();
     }
 
+    @Test
+    public void findTicketsByUserUuid_ShouldReturnTicketsOfUserOrders_WhenGivenUserUuid() {
+        RoomDB room = this.entityManager.persist(new RoomDB(1, 10, 20));
+
+        this.entityManager.persist(new TicketDB(room, this.expected, Seat.fromString("A01")));
+        this.entityManager.persist(new TicketDB(room, null, Seat.fromString("A02")));
+
+        List<OrderTicket> actual = this.orderRepository.findTicketsByUserUuid(this.expected.getUser().getUuid());
+
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0).getOrderUuid()).isEqualTo(this.expected.getUuid());
+        assertThat(actual.get(0).getRoomNumber()).isEqualTo(room.getNumber());
+        assertThat(actual.get(0).getSeat()).isEqualTo(Seat.fromString("A01"));
+        assertThat(this.orderRepository.findTicketsByUserUuid(UUID.randomUUID())).isEmpty();
+    }
+
     @Test
     public void deleteByUuid_ShouldDeleteOrder_WhenGivenUuid() {
         this.orderRepository.deleteByUuid(this.expected.getUuid());
@@ -65,6 +83,14 @@ public class OrderRepositoryUnitTests {
         assertThat(actual).isEmpty();
     }
 
+    @Test
+    public void deleteByIdIn_ShouldDeleteOrders_WhenGivenIds() {
+        int actual = this.orderRepository.deleteByIdIn(Collections.singletonList(this.expected.getId()));
+
+        assertThat(actual).isEqualTo(1);
+        assertThat(this.orderRepository.findById(this.expected.getId())).isEmpty();
+    }
+
     @Test
     public void deleteByUuid_ShouldSetForeignKeysToNull_WhenGivenUuid() {
         RoomDB room = this.entityManager.persist(new RoomDB(1, 10, 20));
@@ -1,5 +1,10 @@
 package com.agenson.cinema.order;
 
+import com.agenson.cinema.ticket.InvalidTicketException;
+import com.agenson.cinema.ticket.TicketBatchDTO;
+import com.agenson.cinema.ticket.TicketService;
+import com.agenson.cinema.ticket.hold.SeatHold;
+import com.agenson.cinema.ticket.seat.Seat;
 import com.agenson.cinema.user.UserDB;
 import com.agenson.cinema.user.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -7,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.util.*;
@@ -15,6 +21,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +35,9 @@ public class OrderServiceUnitTests {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TicketService ticketService;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -42,6 +54,81 @@ public class OrderServiceUnitTests {
         assertThat(actual.getUuid()).isNotNull();
     }
 
+    @Test
+    public void bookHolds_ShouldKeepOrder_WhenAllSeatsAreBooked() {
+        UserDB user = new UserDB("username", "password");
+        UUID roomUuid = UUID.randomUUID();
+        List<SeatHold> holds = Collections.singletonList(new SeatHold(roomUuid, Seat.fromString("A01"), 0));
+
+        when(this.userRepository.findByUuid(user.getUuid())).thenReturn(Optional.of(user));
+        when(this.orderRepository.save(any(OrderDB.class))).then(returnsFirstArg());
+        when(this.ticketService.createTicketsFromHolds(eq(roomUuid), any(UUID.class), eq(holds)))
+                .thenReturn(new TicketBatchDTO(Collections.emptyList()));
+
+        OrderBookingDTO actual = this.orderService.bookHolds(user.getUuid(), roomUuid, holds);
+
+        assertThat(actual.isBooked()).isTrue();
+        assertThat(actual.getOrderUuid()).isNotNull();
+        verify(this.orderRepository, never()).delete(any(OrderDB.class));
+    }
+
+    @Test
+    public void bookHolds_ShouldRemoveOrder_WhenSeatsConflict() {
+        UserDB user = new UserDB("username", "password");
+        UUID roomUuid = UUID.randomUUID();
+        Seat seat = Seat.fromString("A01");
+        List<SeatHold> holds = Collections.singletonList(new SeatHold(roomUuid, seat, 0));
+
+        when(this.userRepository.findByUuid(user.getUuid())).thenReturn(Optional.of(user));
+        when(this.orderRepository.save(any(OrderDB.class))).then(returnsFirstArg());
+        when(this.ticketService.createTicketsFromHolds(eq(roomUuid), any(UUID.class), eq(holds)))
+                .thenReturn(new TicketBatchDTO(Collections.singletonMap(seat, InvalidTicketException.Type.EXISTS)));
+
+        OrderBookingDTO actual = this.orderService.bookHolds(user.getUuid(), roomUuid, holds);
+
+        assertThat(actual.isBooked()).isFalse();
+        assertThat(actual.getOrderUuid()).isNull();
+        assertThat(actual.getBatch().getConflicts()).containsOnlyKeys(seat);
+        verify(this.orderRepository).delete(any(OrderDB.class));
+    }
+
+    @Test
+    public void findOrderSummaries_ShouldGroupTicketsByOrder_WhenGivenUserUuid() {
+        UUID userUuid = UUID.randomUUID();
+        UUID firstOrder = UUID.randomUUID();
+        UUID secondOrder = UUID.randomUUID();
+
+        when(this.orderRepository.findTicketsByUserUuid(userUuid)).thenReturn(Arrays.asList(
+                this.orderTicket(firstOrder, 1, "A01"),
+                this.orderTicket(firstOrder, 1, "J01"),
+                this.orderTicket(secondOrder, 2, "B01")
+        ));
+
+        List<OrderSummaryDTO> actual = this.orderService.findOrderSummaries(userUuid);
+
+        assertThat(actual).extracting(OrderSummaryDTO::getUuid).containsExactly(firstOrder, secondOrder);
+        assertThat(actual.get(0).getSeats()).containsExactly(Seat.fromString("A01"), Seat.fromString("J01"));
+        assertThat(actual.get(0).getPrice()).isEqualTo(12 + 10);
+        assertThat(actual.get(0).getMovieTitle()).isEqualTo("A NORMAL TITLE");
+        assertThat(actual.get(1).getRoomNumber()).isEqualTo(2);
+        assertThat(actual.get(1).getPrice()).isEqualTo(12);
+    }
+
+    @Test
+    public void findOrderSummaries_ShouldListOrder_WhenOrderHasNoTicket() {
+        UUID userUuid = UUID.randomUUID();
+        UUID orderUuid = UUID.randomUUID();
+
+        when(this.orderRepository.findTicketsByUserUuid(userUuid))
+                .thenReturn(Collections.singletonList(this.orderTicket(orderUuid, 0, null)));
+
+        List<OrderSummaryDTO> actual = this.orderService.findOrderSummaries(userUuid);
+
+        assertThat(actual).extracting(OrderSummaryDTO::getUuid).containsExactly(orderUuid);
+        assertThat(actual.get(0).getSeats()).isEmpty();
+        assertThat(actual.get(0).getPrice()).isZero();
+    }
+
     @Test
     public void createOrder_ShouldThrowInvalidOrderException_WhenGivenInvalidUserUuid() {
         when(this.userRepository.findByUuid(any(UUID.class))).thenReturn(Optional.empty());
@@ -52,4 +139,17 @@ public class OrderServiceUnitTests {
                     .isThrownBy(() -> this.orderService.createOrder(uuid))
                     .withMessage(InvalidOrderException.Type.USER.toString());
     }
+
+    private OrderTicket orderTicket(UUID orderUuid, int roomNumber, String seat) {
+        HashMap<String, Object> ticket = new HashMap<>();
+
+        ticket.put("orderUuid", orderUuid);
+        ticket.put("roomNumber", roomNumber);
+        ticket.put("nbRows", 10);
+        ticket.put("nbCols", 20);
+        ticket.put("movieTitle", "A NORMAL TITLE");
+        ticket.put("seat", (seat != null) ? Seat.fromString(seat) : null);
+
+        return new SpelAwareProxyProjectionFactory().createProjection(OrderTicket.class, ticket);
+    }
 }
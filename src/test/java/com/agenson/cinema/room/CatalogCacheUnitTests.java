@@ -0,0 +1,212 @@
+package com.agenson.cinema.room;
+
+import com.agenson.cinema.movie.MovieDB;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.transaction.support.TransactionSynchronization.STATUS_COMMITTED;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CatalogCacheUnitTests implements RoomConstants {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    private final MovieDB movie = new MovieDB("MOVIE");
+
+    private final MovieDB otherMovie = new MovieDB("OTHER MOVIE");
+
+    private List<RoomDB> rooms;
+
+    @BeforeEach
+    public void setup() {
+        this.rooms = Arrays.asList(
+                new RoomDB(NORMAL_NUMBER, NORMAL_ROWS, NORMAL_COLS),
+                new RoomDB(NORMAL_NUMBER + 1, NORMAL_ROWS, NORMAL_COLS),
+                new RoomDB(NORMAL_NUMBER + 2, NORMAL_ROWS, NORMAL_COLS),
+                new RoomDB(NORMAL_NUMBER + 3, NORMAL_ROWS, NORMAL_COLS)
+        );
+
+        this.rooms.get(0).setMovie(this.movie);
+        this.rooms.get(1).setMovie(this.otherMovie);
+        this.rooms.get(2).setMovie(this.movie);
+    }
+
+    @Test
+    public void findShowingRooms_ShouldReadRoomsOnce_WhenNothingChanged() {
+        CatalogCache catalogCache = new CatalogCache(this.roomRepository, 10);
+
+        when(this.roomRepository.findAllSummaries()).thenReturn(this.summaries());
+
+        List<RoomDTO> first = catalogCache.findShowingRooms();
+        List<RoomDTO> second = catalogCache.findShowingRooms();
+
+        assertThat(first).containsExactlyElementsOf(this.showing());
+        assertThat(second).containsExactlyElementsOf(first);
+        assertThat(catalogCache.getMisses()).isEqualTo(1);
+        assertThat(catalogCache.getHits()).isEqualTo(1);
+        verify(this.roomRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    public void findShowingRooms_ShouldReadOnlyInvalidatedRooms_WhenSalesChanged() {
+        CatalogCache catalogCache = new CatalogCache(this.roomRepository, 10);
+        RoomDB room = this.rooms.get(2);
+
+        when(this.roomRepository.findAllSummaries()).thenReturn(this.summaries());
+        when(this.roomRepository.findSummariesByUuidIn(Collections.singletonList(room.getUuid())))
+                .thenReturn(Collections.singletonList(RoomServiceUnitTests.summaryOf(room)));
+
+        catalogCache.findShowingRooms();
+        room.setSoldCount(5);
+
+        assertThat(catalogCache.findShowingRooms().get(2).getSoldCount()).isZero();
+
+        catalogCache.invalidateRooms(Collections.singletonList(room.getUuid()));
+
+        assertThat(catalogCache.findShowingRooms()).containsExactlyElementsOf(this.showing());
+        assertThat(catalogCache.findShowingRooms().get(2).getSoldCount()).isEqualTo(5);
+        verify(this.roomRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    public void findShowingRooms_ShouldReadOnlyRoomsOfMovie_WhenMovieChanged() {
+        CatalogCache catalogCache = new CatalogCache(this.roomRepository, 10);
+        List<RoomDB> movieRooms = Arrays.asList(this.rooms.get(0), this.rooms.get(2));
+
+        when(this.roomRepository.findAllSummaries()).thenReturn(this.summaries());
+        when(this.roomRepository.findSummariesByUuidIn(
+                movieRooms.stream().map(RoomDB::getUuid).collect(Collectors.toList())
+        )).thenReturn(movieRooms.stream().map(RoomServiceUnitTests::summaryOf).collect(Collectors.toList()));
+
+        catalogCache.findShowingRooms();
+        this.movie.setTitle("MOVIE SEQUEL");
+        catalogCache.invalidateMovie(this.movie.getUuid());
+
+        assertThat(catalogCache.findShowingRooms())
+                .extracting(room -> room.getMovie().getTitle())
+                .containsExactly("MOVIE SEQUEL", "OTHER MOVIE", "MOVIE SEQUEL");
+        verify(this.roomRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    public void findShowingRooms_ShouldReadCatalogAgain_WhenRoomJoinsCatalog() {
+        CatalogCache catalogCache = new CatalogCache(this.roomRepository, 10);
+        RoomDB room = this.rooms.get(3);
+
+        when(this.roomRepository.findAllSummaries()).thenReturn(this.summaries());
+
+        catalogCache.findShowingRooms();
+        room.setMovie(this.otherMovie);
+        catalogCache.invalidateCatalog(Collections.singletonList(room.getUuid()));
+
+        assertThat(catalogCache.findShowingRooms()).containsExactlyElementsOf(this.showing()).hasSize(4);
+        verify(this.roomRepository, times(2)).findAllSummaries();
+        verify(this.roomRepository, never()).findSummariesByUuidIn(Collections.singletonList(room.getUuid()));
+    }
+
+    @Test
+    public void findShowingRooms_ShouldNotKeepRooms_WhenInvalidatedDuringRead() {
+        CatalogCache catalogCache = new CatalogCache(this.roomRepository, 10);
+
+        when(this.roomRepository.findAllSummaries()).then(invocation -> {
+            catalogCache.invalidateRooms(Collections.singletonList(this.rooms.get(0).getUuid()));
+
+            return this.summaries();
+        });
+
+        assertThat(catalogCache.findShowingRooms()).containsExactlyElementsOf(this.showing());
+        assertThat(catalogCache.getSize()).isZero();
+
+        catalogCache.findShowingRooms();
+
+        verify(this.roomRepository, times(2)).findAllSummaries();
+    }
+
+    @Test
+    public void findShowingRooms_ShouldEvictLeastRecentlyReadRooms_WhenFull() {
+        CatalogCache catalogCache = new CatalogCache(this.roomRepository, 2);
+        RoomDB evicted = this.rooms.get(0);
+
+        when(this.roomRepository.findAllSummaries()).thenReturn(this.summaries());
+        when(this.roomRepository.findSummariesByUuidIn(Collections.singletonList(evicted.getUuid())))
+                .thenReturn(Collections.singletonList(RoomServiceUnitTests.summaryOf(evicted)));
+
+        assertThat(catalogCache.findShowingRooms()).containsExactlyElementsOf(this.showing());
+        assertThat(catalogCache.getSize()).isEqualTo(2);
+        assertThat(catalogCache.getEvictions()).isEqualTo(1);
+
+        assertThat(catalogCache.findShowingRooms()).containsExactlyElementsOf(this.showing());
+        assertThat(catalogCache.getSize()).isEqualTo(2);
+        assertThat(catalogCache.getEvictions()).isEqualTo(2);
+        assertThat(catalogCache.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    public void findShowingRooms_ShouldEvictATenthOfRoomsAtOnce_WhenFull() {
+        CatalogCache catalogCache = new CatalogCache(this.roomRepository, 20);
+        List<RoomSummary> summaries = new ArrayList<>();
+
+        for (int i = 0; i < 21; i++) {
+            RoomDB room = new RoomDB(NORMAL_NUMBER + i, NORMAL_ROWS, NORMAL_COLS);
+
+            room.setMovie(this.movie);
+            summaries.add(RoomServiceUnitTests.summaryOf(room));
+        }
+
+        when(this.roomRepository.findAllSummaries()).thenReturn(summaries);
+
+        assertThat(catalogCache.findShowingRooms()).hasSize(21);
+        assertThat(catalogCache.getSize()).isEqualTo(18);
+        assertThat(catalogCache.getEvictions()).isEqualTo(3);
+    }
+
+    @Test
+    public void getRoomVersion_ShouldChangeAgain_WhenTransactionCompletes() {
+        CatalogCache catalogCache = new CatalogCache(this.roomRepository, 10);
+        UUID roomUuid = this.rooms.get(0).getUuid();
+        long version = catalogCache.getRoomVersion(roomUuid);
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            catalogCache.invalidateRooms(Collections.singletonList(roomUuid));
+
+            assertThat(catalogCache.getRoomVersion(roomUuid)).isEqualTo(version + 1);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(catalogCache.getRoomVersion(roomUuid)).isEqualTo(version + 2);
+    }
+
+    private List<RoomSummary> summaries() {
+        return this.rooms.stream().map(RoomServiceUnitTests::summaryOf).collect(Collectors.toList());
+    }
+
+    private List<RoomDTO> showing() {
+        return this.rooms.stream()
+                .filter(room -> room.getMovie() != null)
+                .map(RoomDTO::new)
+                .collect(Collectors.toList());
+    }
+}
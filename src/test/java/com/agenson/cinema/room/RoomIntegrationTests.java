@@ -1,11 +1,18 @@
 package com.agenson.cinema.room;
 
 import com.agenson.cinema.movie.MovieDB;
+import com.agenson.cinema.movie.MovieDTO;
 import com.agenson.cinema.movie.MovieRepository;
+import com.agenson.cinema.order.OrderDB;
+import com.agenson.cinema.order.OrderRepository;
 import com.agenson.cinema.security.SecurityService;
 import com.agenson.cinema.security.SecurityRole;
+import com.agenson.cinema.ticket.TicketDB;
+import com.agenson.cinema.ticket.TicketRepository;
+import com.agenson.cinema.ticket.seat.Seat;
 import com.agenson.cinema.user.UserDB;
 import com.agenson.cinema.utils.StaffSecurityAssertion;
+import com.agenson.cinema.utils.StatementCounter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -51,6 +58,12 @@ public class RoomIntegrationTests implements RoomConstants {
     @Autowired
     private MovieRepository movieRepository;
 
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
     @Autowired
     private RoomService roomService;
 
@@ -82,6 +95,47 @@ public class RoomIntegrationTests implements RoomConstants {
         assertThat(actual.get()).isEqualTo(expected);
     }
 
+    @Test
+    public void findRoom_ShouldIssueOneStatement_WhenRoomIsSoldOut() {
+        MovieDB movie = this.movieRepository.save(new MovieDB("A NORMAL TITLE"));
+        RoomDB room = this.persistRoomWithTickets(NORMAL_NUMBER, NORMAL_ROWS * NORMAL_COLS, new ArrayList<>());
+
+        room.setMovie(movie);
+
+        assertThat(StatementCounter.count(this.entityManager, () -> this.roomService.findRoom(room.getUuid())))
+                .isEqualTo(1);
+        assertThat(this.roomService.findRoom(room.getUuid()))
+                .hasValueSatisfying(actual -> assertThat(actual.getMovie()).isEqualTo(new MovieDTO(movie)));
+    }
+
+    @Test
+    public void findRooms_ShouldIssueOneStatement_WhenRoomsAreSoldOut() {
+        this.persistRoomWithTickets(NORMAL_NUMBER, NORMAL_ROWS * NORMAL_COLS, new ArrayList<>());
+        this.persistRoomWithTickets(NORMAL_NUMBER+1, NORMAL_ROWS * NORMAL_COLS, new ArrayList<>());
+
+        assertThat(StatementCounter.count(this.entityManager, () -> this.roomService.findRooms())).isEqualTo(1);
+    }
+
+    @Test
+    public void findShowingRooms_ShouldIssueNoStatement_UntilCatalogChanges() {
+        MovieDB movie = this.movieRepository.save(new MovieDB("A NORMAL TITLE"));
+        RoomDB room = this.roomRepository.save(new RoomDB(NORMAL_NUMBER, NORMAL_ROWS, NORMAL_COLS));
+        RoomDB otherRoom = this.roomRepository.save(new RoomDB(NORMAL_NUMBER+1, NORMAL_ROWS, NORMAL_COLS));
+
+        this.roomService.updateRoomMovie(room.getUuid(), movie.getUuid());
+        this.roomService.updateRoomMovie(otherRoom.getUuid(), movie.getUuid());
+
+        assertThat(this.roomService.findShowingRooms())
+                .extracting(RoomDTO::getUuid)
+                .containsExactlyInAnyOrder(room.getUuid(), otherRoom.getUuid());
+        assertThat(StatementCounter.count(this.entityManager, () -> this.roomService.findShowingRooms())).isZero();
+
+        this.roomService.updateRoomMovie(otherRoom.getUuid(), null);
+
+        assertThat(StatementCounter.count(this.entityManager, () -> this.roomService.findShowingRooms())).isEqualTo(1);
+        assertThat(this.roomService.findShowingRooms()).extracting(RoomDTO::getUuid).containsExactly(room.getUuid());
+    }
+
     @Test
     public void findRoom_ShouldReturnNull_WhenNotFoundWithUuidOrRoomNumber() {
         assertThat(this.roomRepository.findByUuid(UUID.randomUUID())).isEmpty();
@@ -114,6 +168,13 @@ public class RoomIntegrationTests implements RoomConstants {
         assertThat(actual.get()).isEqualTo(expected);
     }
 
+    @Test
+    public void createRoom_ShouldIssueAtMostThreeStatements() {
+        assertThat(StatementCounter.count(this.entityManager, () -> {
+            this.roomService.createRoom(NORMAL_NUMBER, NORMAL_ROWS, NORMAL_COLS);
+        })).isLessThanOrEqualTo(3);
+    }
+
     @Test
     public void createRoom_ShouldNotPersistRoom_WhenGivenInvalidRoomNumber() {
         if (!this.roomRepository.findByNumber(NORMAL_NUMBER+1).isPresent())
@@ -186,6 +247,21 @@ public class RoomIntegrationTests implements RoomConstants {
         assertThat(actual.get()).isEqualTo(expected);
     }
 
+    @Test
+    public void updateRoomMovie_ShouldRemoveTicketsAndOrdersInBulk_WhenRoomIsSoldOut() {
+        List<UUID> orderUuids = new ArrayList<>();
+        RoomDB fewTickets = this.persistRoomWithTickets(NORMAL_NUMBER, 2, orderUuids);
+        RoomDB soldOut = this.persistRoomWithTickets(NORMAL_NUMBER+1, NORMAL_ROWS * NORMAL_COLS, orderUuids);
+
+        long expected = StatementCounter.count(this.entityManager,
+                () -> this.roomService.updateRoomMovie(fewTickets.getUuid(), null));
+        long actual = StatementCounter.count(this.entityManager,
+                () -> this.roomService.updateRoomMovie(soldOut.getUuid(), null));
+
+        assertThat(actual).isEqualTo(expected).isLessThanOrEqualTo(9);
+        this.assertRoomTicketsAndOrdersRemoved(Arrays.asList(fewTickets, soldOut), orderUuids);
+    }
+
     @Test
     public void updateRoomMovie_ShouldThrowSecurityException_WhenNotLoggedInAsStaff() {
         StaffSecurityAssertion.assertShouldThrowSecurityException(
@@ -205,6 +281,23 @@ public class RoomIntegrationTests implements RoomConstants {
         assertThat(actual).isEmpty();
     }
 
+    @Test
+    public void removeRoom_ShouldRemoveTicketsAndOrdersInBulk_WhenRoomIsSoldOut() {
+        List<UUID> orderUuids = new ArrayList<>();
+        RoomDB fewTickets = this.persistRoomWithTickets(NORMAL_NUMBER, 2, orderUuids);
+        RoomDB soldOut = this.persistRoomWithTickets(NORMAL_NUMBER+1, NORMAL_ROWS * NORMAL_COLS, orderUuids);
+
+        long expected = StatementCounter.count(this.entityManager,
+                () -> this.roomService.removeRoom(fewTickets.getUuid()));
+        long actual = StatementCounter.count(this.entityManager,
+                () -> this.roomService.removeRoom(soldOut.getUuid()));
+
+        assertThat(actual).isEqualTo(expected).isLessThanOrEqualTo(5);
+        assertThat(this.roomRepository.findByUuid(fewTickets.getUuid())).isEmpty();
+        assertThat(this.roomRepository.findByUuid(soldOut.getUuid())).isEmpty();
+        this.assertRoomTicketsAndOrdersRemoved(Arrays.asList(fewTickets, soldOut), orderUuids);
+    }
+
     @Test
     public void removeRoom_ShouldThrowSecurityException_WhenNotLoggedInAsStaff() {
         StaffSecurityAssertion.assertShouldThrowSecurityException(
@@ -214,6 +307,30 @@ public class RoomIntegrationTests implements RoomConstants {
         );
     }
 
+    private RoomDB persistRoomWithTickets(int number, int nbTickets, List<UUID> orderUuids) {
+        RoomDB room = new RoomDB(number, NORMAL_ROWS, NORMAL_COLS);
+
+        this.entityManager.persist(room);
+
+        for (int i = 0; i < nbTickets; i++) {
+            OrderDB order = new OrderDB(this.defaultUser);
+
+            this.entityManager.persist(order);
+            this.entityManager.persist(new TicketDB(room, order, Seat.of(1 + i / NORMAL_COLS, 1 + i % NORMAL_COLS)));
+            orderUuids.add(order.getUuid());
+        }
+
+        return room;
+    }
+
+    private void assertRoomTicketsAndOrdersRemoved(List<RoomDB> rooms, List<UUID> orderUuids) {
+        for (RoomDB room : rooms)
+            assertThat(this.ticketRepository.findSeatsByRoomUuid(room.getUuid())).isEmpty();
+
+        for (UUID orderUuid : orderUuids)
+            assertThat(this.orderRepository.findByUuid(orderUuid)).isEmpty();
+    }
+
     private void loginAs(SecurityRole role) {
         this.defaultUser.setRole(role);
         this.entityManager.persist(this.defaultUser);
@@ -1,5 +1,6 @@
 package com.agenson.cinema.room;
 
+import com.agenson.cinema.movie.MovieDB;
 import com.agenson.cinema.ticket.TicketDB;
 import com.agenson.cinema.ticket.seat.Seat;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -63,6 +65,44 @@ public class RoomRepositoryUnitTests implements RoomConstants {
         assertThat(actual).isEmpty();
     }
 
+    @Test
+    public void existsByUuid_ShouldTellWhetherRoomIsPersisted_WhenGivenUuid() {
+        assertThat(this.roomRepository.existsByUuid(this.expected.getUuid())).isTrue();
+        assertThat(this.roomRepository.existsByUuid(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    public void findUuidsByMovieUuid_ShouldReturnUuidsOfMovieRooms_WhenGivenMovieUuid() {
+        MovieDB movie = this.entityManager.persist(new MovieDB("A NORMAL TITLE"));
+        RoomDB room = new RoomDB(NORMAL_NUMBER+1, NORMAL_ROWS, NORMAL_COLS);
+
+        room.setMovie(movie);
+        this.entityManager.persist(room);
+
+        assertThat(this.roomRepository.findUuidsByMovieUuid(movie.getUuid())).containsExactly(room.getUuid());
+        assertThat(this.roomRepository.findUuidsByMovieUuid(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    public void findAllSummaries_ShouldReturnRoomsWithMovieAndSales() {
+        MovieDB movie = this.entityManager.persist(new MovieDB("A NORMAL TITLE"));
+
+        this.expected.setMovie(movie);
+        this.entityManager.flush();
+        this.roomRepository.addSales(this.expected.getUuid(), 2, 22);
+        this.roomRepository.addSales(this.expected.getUuid(), 1, 10);
+        this.entityManager.clear();
+
+        List<RoomSummary> actual = this.roomRepository.findAllSummaries();
+        RoomDB room = this.entityManager.find(RoomDB.class, this.expected.getId());
+
+        assertThat(actual).hasSize(1);
+        assertThat(new RoomDTO(actual.get(0))).isEqualTo(new RoomDTO(room));
+        assertThat(actual.get(0).getMovieTitle()).isEqualTo(movie.getTitle());
+        assertThat(actual.get(0).getSoldCount()).isEqualTo(3);
+        assertThat(actual.get(0).getRevenue()).isEqualTo(32);
+    }
+
     @Test
     public void deleteByUuid_ShouldDeleteRoom_WhenGivenUuid() {
         this.roomRepository.deleteByUuid(this.expected.getUuid());
@@ -0,0 +1,113 @@
+package com.agenson.cinema.room;
+
+import com.agenson.cinema.movie.MovieDB;
+import com.agenson.cinema.movie.MovieRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: ./gradlew benchmark
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class RoomServiceBenchmark {
+
+    private static final int[] NB_READERS = {1, 10, 100, 1000};
+
+    private static final int NB_READS = 50;
+
+    private static final int NUMBER = 980;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomService roomService;
+
+    @AfterEach
+    public void cleanUp() {
+        this.jdbcTemplate.update("DELETE FROM room WHERE number = ?", NUMBER);
+        this.jdbcTemplate.update("DELETE FROM movie WHERE title = 'BLOCKBUSTER'");
+    }
+
+    @Test
+    public void findRoom_SharedLoadsComparedToOneLoadPerReader() throws Exception {
+        MovieDB movie = this.movieRepository.save(new MovieDB("BLOCKBUSTER"));
+        RoomDB room = new RoomDB(NUMBER, 25, 40);
+
+        room.setMovie(movie);
+        UUID uuid = this.roomRepository.save(room).getUuid();
+
+        System.out.printf("%-22s %8s %10s %12s %14s%n", "loads", "readers", "reads", "statements", "reads / sec");
+
+        for (int nbReaders : NB_READERS) {
+            this.measure("one per reader", nbReaders, () -> this.roomRepository.findByUuid(uuid).map(RoomDTO::new));
+
+            long statements = this.measure("shared", nbReaders, () -> this.roomService.findRoom(uuid));
+
+            assertThat(statements).isLessThanOrEqualTo((long) nbReaders * NB_READS);
+        }
+    }
+
+    // Readers all start together, then read the same room over and over
+    private long measure(String label, int nbReaders, Runnable read) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(nbReaders);
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Future<?>> readers = new ArrayList<>();
+
+        statistics.clear();
+        long begin = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < nbReaders; i++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+
+                    for (int j = 0; j < NB_READS; j++)
+                        read.run();
+
+                    return null;
+                }));
+            }
+
+            for (Future<?> reader : readers)
+                reader.get();
+        }
+
+        long elapsed = System.nanoTime() - begin;
+        long statements = statistics.getPrepareStatementCount();
+        long reads = (long) nbReaders * NB_READS;
+
+        System.out.printf("%-22s %8d %10d %12d %14.0f%n", label, nbReaders, reads, statements, reads * 1e9 / elapsed);
+
+        return statements;
+    }
+}
@@ -3,13 +3,17 @@ package com.agenson.cinema.room;
 import com.agenson.cinema.movie.MovieDB;
 import com.agenson.cinema.movie.MovieDTO;
 import com.agenson.cinema.movie.MovieRepository;
+import com.agenson.cinema.ticket.TicketService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -17,6 +21,9 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +50,15 @@ public class RoomServiceUnitTests implements RoomConstants {
     @Mock
     private MovieRepository movieRepository;
 
+    @Mock
+    private TicketService ticketService;
+
+    @Spy
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private CatalogCache catalogCache;
+
     @InjectMocks
     private RoomService roomService;
 
@@ -67,6 +83,59 @@ public class RoomServiceUnitTests implements RoomConstants {
         assertThat(this.roomService.findRoom(null)).isEmpty();
     }
 
+    @Test
+    public void findRoom_ShouldShareOneLoad_WhenReadConcurrently() throws Exception {
+        RoomDB room = new RoomDB(NORMAL_NUMBER, NORMAL_ROWS, NORMAL_COLS);
+        CountDownLatch loaded = new CountDownLatch(1);
+
+        when(this.roomRepository.findByUuid(room.getUuid())).thenAnswer(invocation -> {
+            loaded.await();
+
+            return Optional.of(room);
+        });
+
+        List<Optional<RoomDTO>> results = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> readers = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++)
+            readers.add(RoomServiceUnitTests.start(() -> results.add(this.roomService.findRoom(room.getUuid()))));
+
+        // The first reader waits for the load, the others for its result
+        RoomServiceUnitTests.awaitWaiting(readers);
+        loaded.countDown();
+
+        for (Thread reader : readers)
+            reader.join();
+
+        assertThat(results).hasSize(readers.size()).first().isEqualTo(Optional.of(new RoomDTO(room)));
+        assertThat(results).allSatisfy(actual -> assertThat(actual).containsSame(results.get(0).get()));
+        verify(this.roomRepository, times(1)).findByUuid(room.getUuid());
+    }
+
+    @Test
+    public void findRoom_ShouldLoadAgain_WhenSalesChangedDuringLoad() throws Exception {
+        RoomDB room = new RoomDB(NORMAL_NUMBER, NORMAL_ROWS, NORMAL_COLS);
+        CountDownLatch loaded = new CountDownLatch(1);
+
+        when(this.catalogCache.getRoomVersion(room.getUuid())).thenReturn(1L, 3L);
+        when(this.roomRepository.findByUuid(room.getUuid())).thenAnswer(invocation -> {
+            loaded.await();
+
+            return Optional.of(room);
+        }).thenReturn(Optional.of(room));
+
+        Thread former = RoomServiceUnitTests.start(() -> this.roomService.findRoom(room.getUuid()));
+
+        RoomServiceUnitTests.awaitWaiting(Collections.singletonList(former));
+
+        assertThat(this.roomService.findRoom(room.getUuid())).contains(new RoomDTO(room));
+
+        loaded.countDown();
+        former.join();
+
+        verify(this.roomRepository, times(2)).findByUuid(room.getUuid());
+    }
+
     @Test
     public void findMovies_ShouldReturnRoomList() {
         List<RoomDB> roomList = Arrays.asList(
@@ -74,7 +143,8 @@ public class RoomServiceUnitTests implements RoomConstants {
                 new RoomDB(NORMAL_NUMBER+1, NORMAL_ROWS+10, NORMAL_COLS+20)
         );
 
-        when(this.roomRepository.findAll()).thenReturn(roomList);
+        when(this.roomRepository.findAllSummaries())
+                .thenReturn(roomList.stream().map(RoomServiceUnitTests::summaryOf).collect(Collectors.toList()));
 
         List<RoomDTO> actual = this.roomService.findRooms();
         List<RoomDTO> expected = roomList.stream().map(RoomDTO::new).collect(Collectors.toList());
@@ -96,6 +166,18 @@ public class RoomServiceUnitTests implements RoomConstants {
         assertThat(actual.getNbCols()).isEqualTo(NORMAL_COLS);
     }
 
+    @Test
+    public void createRoom_ShouldChangeCatalogVersion_WhenRoomIsCreated() {
+        long version = this.catalogVersion.current();
+
+        when(this.roomRepository.save(any(RoomDB.class))).then(returnsFirstArg());
+        when(this.roomRepository.findByNumber(anyInt())).thenReturn(Optional.empty());
+
+        this.roomService.createRoom(NORMAL_NUMBER, NORMAL_ROWS, NORMAL_COLS);
+
+        assertThat(this.catalogVersion.current()).isGreaterThan(version);
+    }
+
     @Test
     public void createRoom_ShouldThrowAssociatedInvalidRoomException_WhenGivenInvalidRoomNumber() {
         when(this.roomRepository.findByNumber(anyInt())).thenAnswer(invocation -> {
@@ -131,7 +213,9 @@ public class RoomServiceUnitTests implements RoomConstants {
         MovieDB movie = new MovieDB("A NORMAL TITLE");
 
         when(this.roomRepository.save(any(RoomDB.class))).then(returnsFirstArg());
+        when(this.roomRepository.existsByUuid(room.getUuid())).thenReturn(true);
         when(this.roomRepository.findByUuid(room.getUuid())).thenReturn(Optional.of(room));
+        when(this.movieRepository.existsByUuid(movie.getUuid())).thenReturn(true);
         when(this.movieRepository.findByUuid(movie.getUuid())).thenReturn(Optional.of(movie));
 
         Optional<RoomDTO> actual = this.roomService.updateRoomMovie(room.getUuid(), movie.getUuid());
@@ -139,17 +223,81 @@ public class RoomServiceUnitTests implements RoomConstants {
 
         assertThat(actual).isNotEmpty();
         assertThat(actual.get().getMovie()).isEqualTo(expected);
+        verify(this.ticketService).removeRoomTickets(Collections.singletonList(room.getUuid()));
     }
 
     @Test
     public void updateRoomMovie_ShouldThrowAssociatedInvalidRoomException_WhenGivenInvalidMovieUuid() {
         RoomDB room = new RoomDB(NORMAL_NUMBER, NORMAL_ROWS, NORMAL_COLS);
 
-        when(this.roomRepository.findByUuid(room.getUuid())).thenReturn(Optional.of(room));
-        when(this.movieRepository.findByUuid(any(UUID.class))).thenReturn(Optional.empty());
+        when(this.roomRepository.existsByUuid(room.getUuid())).thenReturn(true);
+        when(this.movieRepository.existsByUuid(any(UUID.class))).thenReturn(false);
 
         assertThatExceptionOfType(InvalidRoomException.class)
                 .isThrownBy(() -> this.roomService.updateRoomMovie(room.getUuid(), UUID.randomUUID()))
                 .withMessage(InvalidRoomException.Type.MOVIE.toString());
+        verify(this.ticketService, never()).removeRoomTickets(any());
+    }
+
+    static RoomSummary summaryOf(RoomDB room) {
+        return new RoomSummary() {
+            @Override
+            public UUID getUuid() {
+                return room.getUuid();
+            }
+
+            @Override
+            public int getNumber() {
+                return room.getNumber();
+            }
+
+            @Override
+            public int getNbRows() {
+                return room.getNbRows();
+            }
+
+            @Override
+            public int getNbCols() {
+                return room.getNbCols();
+            }
+
+            @Override
+            public UUID getMovieUuid() {
+                return (room.getMovie() != null) ? room.getMovie().getUuid() : null;
+            }
+
+            @Override
+            public String getMovieTitle() {
+                return (room.getMovie() != null) ? room.getMovie().getTitle() : null;
+            }
+
+            @Override
+            public int getSoldCount() {
+                return room.getSoldCount();
+            }
+
+            @Override
+            public int getRevenue() {
+                return room.getRevenue();
+            }
+        };
+    }
+
+    private static Thread start(Runnable reader) {
+        Thread thread = new Thread(reader);
+
+        thread.start();
+
+        return thread;
+    }
+
+    private static void awaitWaiting(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (threads.stream().anyMatch(thread -> thread.getState() != Thread.State.WAITING)) {
+            if (System.nanoTime() > deadline) throw new IllegalStateException("Readers are not waiting");
+
+            Thread.sleep(1);
+        }
     }
 }
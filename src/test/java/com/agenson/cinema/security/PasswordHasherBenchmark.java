@@ -0,0 +1,69 @@
+package com.agenson.cinema.security;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: ./gradlew benchmark
+@Tag("benchmark")
+public class PasswordHasherBenchmark {
+
+    private static final String PASSWORD = "password";
+
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    private static final int LOGINS = 40 * CORES;
+
+    @Test
+    public void matches_LoginsPerSecondPerCore() throws Exception {
+        int strength = PasswordHasher.calibrate(Duration.ofMillis(250));
+
+        System.out.printf("cores: %d, calibrated strength: %d%n", CORES, strength);
+        System.out.printf("%-9s %12s %12s %14s%n", "strength", "caller", "pool", "pool per core");
+
+        for (int cost : new int[]{PasswordHasher.MIN_STRENGTH - 2, PasswordHasher.MIN_STRENGTH}) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+            String encodedPassword = encoder.encode(PASSWORD);
+            PasswordHasher passwordHasher = new PasswordHasher(encoder, 0, 64);
+            ExecutorService clients = Executors.newFixedThreadPool(2 * CORES);
+
+            try {
+                double caller = PasswordHasherBenchmark.perSecond(() -> {
+                    for (int i = 0; i < LOGINS; i++)
+                        assertThat(encoder.matches(PASSWORD, encodedPassword)).isTrue();
+                });
+                double pool = PasswordHasherBenchmark.perSecond(() -> {
+                    List<CompletableFuture<Boolean>> logins = IntStream.range(0, LOGINS)
+                            .mapToObj(i -> CompletableFuture.supplyAsync(
+                                    () -> passwordHasher.matches(PASSWORD, encodedPassword), clients))
+                            .collect(Collectors.toList());
+
+                    logins.forEach(login -> assertThat(login.join()).isTrue());
+                });
+
+                System.out.printf("%-9d %12.1f %12.1f %14.1f%n", cost, caller, pool, pool / CORES);
+            } finally {
+                clients.shutdownNow();
+                passwordHasher.stop();
+            }
+        }
+    }
+
+    private static double perSecond(Runnable logins) {
+        long start = System.nanoTime();
+
+        logins.run();
+
+        return LOGINS / ((System.nanoTime() - start) / 1e9);
+    }
+}
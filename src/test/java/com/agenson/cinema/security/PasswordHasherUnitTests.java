@@ -0,0 +1,100 @@
+package com.agenson.cinema.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PasswordHasherUnitTests {
+
+    private static final String PASSWORD = "password";
+
+    private final PasswordHasher passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(5), 1, 1);
+
+    @AfterEach
+    public void stop() {
+        this.passwordHasher.stop();
+    }
+
+    @Test
+    public void encode_ShouldReturnHashMatchingPassword() {
+        String encodedPassword = this.passwordHasher.encode(PASSWORD);
+
+        assertThat(encodedPassword).startsWith("$2a$05$");
+        assertThat(this.passwordHasher.matches(PASSWORD, encodedPassword)).isTrue();
+        assertThat(this.passwordHasher.matches("another", encodedPassword)).isFalse();
+    }
+
+    @Test
+    public void encodeAsync_ShouldCompleteEveryHash_WhenQueueIsFull() {
+        List<CompletableFuture<String>> futures = IntStream.range(0, 8)
+                .mapToObj(i -> this.passwordHasher.encodeAsync(PASSWORD + i))
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < futures.size(); i++)
+            assertThat(this.passwordHasher.matches(PASSWORD + i, futures.get(i).join())).isTrue();
+    }
+
+    @Test
+    public void encodeAsync_ShouldNeverHashOnSubmittingThread_WhenQueueIsFull() {
+        Set<Thread> hashingThreads = ConcurrentHashMap.newKeySet();
+        PasswordHasher passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(5) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingThreads.add(Thread.currentThread());
+
+                return super.encode(rawPassword);
+            }
+        }, 1, 1);
+
+        try {
+            List<CompletableFuture<String>> futures = IntStream.range(0, 8)
+                    .mapToObj(i -> passwordHasher.encodeAsync(PASSWORD + i))
+                    .collect(Collectors.toList());
+
+            futures.forEach(CompletableFuture::join);
+        } finally {
+            passwordHasher.stop();
+        }
+
+        assertThat(hashingThreads).hasSize(1).doesNotContain(Thread.currentThread());
+    }
+
+    @Test
+    public void upgradeEncoding_ShouldReturnWhetherCostIsOutdated() {
+        assertThat(this.passwordHasher.upgradeEncoding(new BCryptPasswordEncoder(4).encode(PASSWORD))).isTrue();
+        assertThat(this.passwordHasher.upgradeEncoding(new BCryptPasswordEncoder(5).encode(PASSWORD))).isFalse();
+        assertThat(this.passwordHasher.upgradeEncoding(new BCryptPasswordEncoder(6).encode(PASSWORD))).isFalse();
+        assertThat(this.passwordHasher.upgradeEncoding(null)).isFalse();
+    }
+
+    @Test
+    public void calibrate_ShouldNeverGoBelowMinimumStrength() {
+        assertThat(PasswordHasher.calibrate(Duration.ZERO)).isEqualTo(PasswordHasher.MIN_STRENGTH);
+        assertThat(PasswordHasher.calibrate(Duration.ofMillis(100)))
+                .isBetween(PasswordHasher.MIN_STRENGTH, PasswordHasher.MAX_STRENGTH);
+    }
+
+    @Test
+    public void settle_ShouldKeepPreviousStrength_WhenCalibratedWithinOneStep() {
+        int previous = PasswordHasher.MIN_STRENGTH + 2;
+
+        assertThat(PasswordHasher.settle(previous, previous - 1)).isEqualTo(previous);
+        assertThat(PasswordHasher.settle(previous, previous)).isEqualTo(previous);
+        assertThat(PasswordHasher.settle(previous, previous + 1)).isEqualTo(previous);
+        assertThat(PasswordHasher.settle(previous, previous - 2)).isEqualTo(previous - 2);
+        assertThat(PasswordHasher.settle(previous, previous + 2)).isEqualTo(previous + 2);
+        assertThat(PasswordHasher.settle(0, PasswordHasher.MIN_STRENGTH)).isEqualTo(PasswordHasher.MIN_STRENGTH);
+        assertThat(PasswordHasher.settle(PasswordHasher.MAX_STRENGTH + 1, PasswordHasher.MAX_STRENGTH))
+                .isEqualTo(PasswordHasher.MAX_STRENGTH);
+    }
+}
@@ -1,9 +1,17 @@
 package com.agenson.cinema.security;
 
+import com.agenson.cinema.order.OrderDB;
+import com.agenson.cinema.room.RoomDB;
+import com.agenson.cinema.security.session.Session;
+import com.agenson.cinema.security.session.SessionContext;
+import com.agenson.cinema.ticket.TicketDB;
+import com.agenson.cinema.ticket.seat.Seat;
 import com.agenson.cinema.user.UserConstants;
 import com.agenson.cinema.user.UserDB;
 import com.agenson.cinema.user.UserDetailsDTO;
 import com.agenson.cinema.user.UserRepository;
+import com.agenson.cinema.user.UserService;
+import com.agenson.cinema.utils.StatementCounter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +22,7 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.util.Arrays;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,15 +34,23 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
 public class SecurityIntegrationTests implements UserConstants {
 
+    private static final BCryptPasswordEncoder OUTDATED_ENCODER = new BCryptPasswordEncoder(4);
+
     @Autowired
     private BCryptPasswordEncoder encoder;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private SecurityService securityService;
 
+    @Autowired
+    private UserService userService;
+
     private UserDB defaultUser;
 
     @BeforeEach
@@ -59,6 +76,65 @@ public class SecurityIntegrationTests implements UserConstants {
         assertThat(actual).isEqualTo(this.securityService.getCurrentUser().get());
     }
 
+    @Test
+    public void login_ShouldIssueOneStatement_WhenUserHasOrders() {
+        UserDB user = this.entityManager.find(UserDB.class, this.defaultUser.getId());
+        RoomDB room = new RoomDB(1, 10, 20);
+        OrderDB order = new OrderDB(user);
+
+        this.entityManager.persist(room);
+        this.entityManager.persist(order);
+
+        for (int col = 1; col <= 20; col++)
+            this.entityManager.persist(new TicketDB(room, order, Seat.of(1, col)));
+
+        assertThat(StatementCounter.count(this.entityManager, () -> {
+            this.securityService.login(NORMAL_USERNAME, NORMAL_PASSWORD);
+        })).isEqualTo(1);
+    }
+
+    @Test
+    public void login_ShouldRehashPassword_WhenStoredCostIsOutdated() {
+        UserDB user = this.userRepository.save(new UserDB(ANOTHER_USERNAME, OUTDATED_ENCODER.encode(NORMAL_PASSWORD)));
+
+        assertThat(this.encoder.upgradeEncoding(user.getPassword())).isTrue();
+
+        this.securityService.login(ANOTHER_USERNAME, NORMAL_PASSWORD);
+
+        String rehashedPassword = this.userRepository.findByUuid(user.getUuid()).map(UserDB::getPassword).orElse(null);
+
+        assertThat(rehashedPassword).isNotEqualTo(user.getPassword());
+        assertThat(this.encoder.upgradeEncoding(rehashedPassword)).isFalse();
+        assertThat(this.encoder.matches(NORMAL_PASSWORD, rehashedPassword)).isTrue();
+    }
+
+    @Test
+    public void openSession_ShouldRestrictEachSessionToItsOwnUser() {
+        UserDB another = this.userRepository.save(new UserDB(ANOTHER_USERNAME, this.encoder.encode(NORMAL_PASSWORD)));
+        Session session = this.securityService.openSession(NORMAL_USERNAME, NORMAL_PASSWORD);
+        Session anotherSession = this.securityService.openSession(ANOTHER_USERNAME, NORMAL_PASSWORD);
+
+        assertThat(this.securityService.isLoggedIn()).isFalse();
+
+        SessionContext.runAs(session, () -> {
+            assertThat(this.userService.findUser(this.defaultUser.getUuid())).isNotEmpty();
+            assertThatExceptionOfType(SecurityException.class)
+                    .isThrownBy(() -> this.userService.findUser(another.getUuid()))
+                    .withMessage(SecurityException.Type.AUTHORIZATION.toString());
+        });
+
+        SessionContext.runAs(anotherSession, () -> {
+            assertThat(this.userService.findUser(another.getUuid())).isNotEmpty();
+            assertThatExceptionOfType(SecurityException.class)
+                    .isThrownBy(() -> this.userService.findUser(this.defaultUser.getUuid()))
+                    .withMessage(SecurityException.Type.AUTHORIZATION.toString());
+        });
+
+        assertThatExceptionOfType(SecurityException.class)
+                .isThrownBy(() -> this.userService.findUser(this.defaultUser.getUuid()))
+                .withMessage(SecurityException.Type.IDENTIFICATION.toString());
+    }
+
     @Test
     public void login_ShouldThrowSecurityException_WhenGivenInvalidCredentials() {
         for (String username : Arrays.asList(null, UNKNOWN_USERNAME))
@@ -1,37 +1,55 @@
 package com.agenson.cinema.security;
 
+import com.agenson.cinema.security.session.Session;
+import com.agenson.cinema.security.session.SessionContext;
+import com.agenson.cinema.security.session.SessionRegistry;
 import com.agenson.cinema.user.UserConstants;
+import com.agenson.cinema.user.UserCredentials;
 import com.agenson.cinema.user.UserDB;
 import com.agenson.cinema.user.UserDetailsDTO;
 import com.agenson.cinema.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class SecurityServiceUnitTests implements UserConstants {
 
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
     private static final BCryptPasswordEncoder ENCODER = new BCryptPasswordEncoder();
 
     @Mock
-    private BCryptPasswordEncoder encoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private SessionRegistry sessionRegistry = new SessionRegistry(Duration.ofMinutes(30), Duration.ofMinutes(1));
+
     @InjectMocks
     private SecurityService securityService;
 
@@ -42,10 +60,16 @@ public class SecurityServiceUnitTests implements UserConstants {
         String encodedPassword = ENCODER.encode(NORMAL_PASSWORD);
 
         this.defaultUser = new UserDB(NORMAL_USERNAME, encodedPassword);
+        UserCredentials credentials = PROJECTIONS.createProjection(UserCredentials.class, this.defaultUser);
 
-        lenient().when(this.encoder.matches(NORMAL_PASSWORD, encodedPassword)).thenReturn(true);
-        lenient().when(this.encoder.matches(UNKNOWN_PASSWORD, encodedPassword)).thenReturn(false);
-        when(this.userRepository.findByUsername(NORMAL_USERNAME)).thenReturn(Optional.of(this.defaultUser));
+        lenient().when(this.passwordHasher.matches(NORMAL_PASSWORD, encodedPassword)).thenReturn(true);
+        lenient().when(this.passwordHasher.matches(UNKNOWN_PASSWORD, encodedPassword)).thenReturn(false);
+        when(this.userRepository.findCredentialsByUsername(NORMAL_USERNAME)).thenReturn(Optional.of(credentials));
+    }
+
+    @AfterEach
+    public void logout() {
+        this.securityService.logout();
     }
 
     @Test
@@ -59,10 +83,32 @@ public class SecurityServiceUnitTests implements UserConstants {
         assertThat(actual).isEqualTo(this.securityService.getCurrentUser().get());
     }
 
+    @Test
+    public void login_ShouldRehashPassword_WhenStoredCostIsOutdated() {
+        String encodedPassword = this.defaultUser.getPassword();
+        String upgradedPassword = "upgraded";
+
+        when(this.passwordHasher.upgradeEncoding(encodedPassword)).thenReturn(true);
+        when(this.passwordHasher.encode(NORMAL_PASSWORD)).thenReturn(upgradedPassword);
+
+        this.securityService.login(NORMAL_USERNAME, NORMAL_PASSWORD);
+
+        verify(this.userRepository).updatePassword(this.defaultUser.getUuid(), upgradedPassword);
+    }
+
+    @Test
+    public void login_ShouldKeepPassword_WhenStoredCostIsCurrent() {
+        when(this.passwordHasher.upgradeEncoding(this.defaultUser.getPassword())).thenReturn(false);
+
+        this.securityService.login(NORMAL_USERNAME, NORMAL_PASSWORD);
+
+        verify(this.userRepository, never()).updatePassword(any(UUID.class), anyString());
+    }
+
     @Test
     public void login_ShouldThrowSecurityException_WhenGivenInvalidCredentials() {
-        when(this.userRepository.findByUsername(UNKNOWN_USERNAME)).thenReturn(Optional.empty());
-        when(this.userRepository.findByUsername(null)).thenReturn(Optional.empty());
+        when(this.userRepository.findCredentialsByUsername(UNKNOWN_USERNAME)).thenReturn(Optional.empty());
+        when(this.userRepository.findCredentialsByUsername(null)).thenReturn(Optional.empty());
 
         for (String username : Arrays.asList(null, UNKNOWN_USERNAME))
             assertThatExceptionOfType(SecurityException.class)
@@ -77,6 +123,45 @@ public class SecurityServiceUnitTests implements UserConstants {
         assertThat(this.securityService.getCurrentUser()).isEmpty();
     }
 
+    @Test
+    public void login_ShouldCloseThePreviousSessionOfTheThread() {
+        this.securityService.login(NORMAL_USERNAME, NORMAL_PASSWORD);
+        Session previous = SessionContext.current().orElse(null);
+
+        this.securityService.login(NORMAL_USERNAME, NORMAL_PASSWORD);
+
+        assertThat(previous).isNotNull();
+        assertThat(previous.isOpen()).isFalse();
+        assertThat(this.securityService.findSession(previous.getToken())).isEmpty();
+        assertThat(this.sessionRegistry.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void openSession_ShouldNotBindSessionToThread() {
+        Session session = this.securityService.openSession(NORMAL_USERNAME, NORMAL_PASSWORD);
+
+        assertThat(this.securityService.isLoggedIn()).isFalse();
+        assertThat(this.securityService.findSession(session.getToken())).contains(session);
+
+        SessionContext.runAs(session, () -> {
+            assertThat(this.securityService.isUser(this.defaultUser.getUuid())).isTrue();
+        });
+
+        assertThat(this.securityService.isLoggedIn()).isFalse();
+    }
+
+    @Test
+    public void logout_ShouldCloseSession() {
+        this.securityService.login(NORMAL_USERNAME, NORMAL_PASSWORD);
+        Session session = this.securityService.getCurrentSession().orElse(null);
+
+        this.securityService.logout();
+
+        assertThat(session).isNotNull();
+        assertThat(this.securityService.isLoggedIn()).isFalse();
+        assertThat(this.securityService.findSession(session.getToken())).isEmpty();
+    }
+
     @Test
     public void isLoggedIn_ShouldReturnWhetherAUserIsLoggedIn() {
         assertThat(this.securityService.isLoggedIn()).isFalse();
@@ -120,4 +205,17 @@ public class SecurityServiceUnitTests implements UserConstants {
 
         assertThat(this.securityService.getCurrentUser()).isEmpty();
     }
+
+    @Test
+    public void findCurrentUser_ShouldMatchCurrentUser() {
+        assertThat(this.securityService.findCurrentUser()).isNull();
+
+        this.securityService.login(NORMAL_USERNAME, NORMAL_PASSWORD);
+
+        assertThat(this.securityService.findCurrentUser()).isEqualTo(this.securityService.getCurrentUser().get());
+
+        this.securityService.logout();
+
+        assertThat(this.securityService.findCurrentUser()).isNull();
+    }
 }
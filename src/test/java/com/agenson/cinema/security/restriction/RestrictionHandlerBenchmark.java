@@ -0,0 +1,136 @@
+package com.agenson.cinema.security.restriction;
+
+import com.agenson.cinema.security.SecurityException;
+import com.agenson.cinema.security.SecurityService;
+import com.agenson.cinema.security.session.SessionContext;
+import com.agenson.cinema.security.session.SessionRegistry;
+import com.agenson.cinema.user.UserDB;
+import com.agenson.cinema.user.UserDetailsDTO;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.*;
+
+import static java.lang.Integer.min;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+// Run with: ./gradlew benchmark
+@Tag("benchmark")
+public class RestrictionHandlerBenchmark {
+
+    private static final int WARMUP = 200_000;
+
+    private static final int ITERATIONS = 2_000_000;
+
+    private final SessionRegistry sessionRegistry = new SessionRegistry(Duration.ofMinutes(30), Duration.ofMinutes(1));
+
+    private final SecurityService securityService = new SecurityService(null, null, this.sessionRegistry);
+
+    @AfterEach
+    public void logout() {
+        SessionContext.clear();
+    }
+
+    @Test
+    public void restrictToUser_ComparedToResolvingArgumentOnEveryCall() {
+        UserDetailsDTO user = new UserDetailsDTO(new UserDB("customer", "password"));
+        Profiles plain = new Profiles();
+        Profiles former = this.proxy(new FormerRestrictionHandler(this.securityService));
+        Profiles cached = this.proxy(new RestrictionHandler(this.securityService));
+
+        SessionContext.bind(this.sessionRegistry.open(user));
+
+        for (Profiles profiles : Arrays.asList(former, cached)) {
+            assertThat(profiles.find(1, user.getUuid())).isEqualTo(user.getUuid());
+            assertThatExceptionOfType(SecurityException.class).isThrownBy(() -> profiles.find(1, UUID.randomUUID()));
+        }
+
+        System.out.printf("%-26s %10s %14s%n", "advice", "ns / call", "bytes / call");
+        RestrictionHandlerBenchmark.report("none", () -> plain.find(1, user.getUuid()));
+        RestrictionHandlerBenchmark.report("resolved on every call", () -> former.find(1, user.getUuid()));
+        RestrictionHandlerBenchmark.report("resolved once per method", () -> cached.find(1, user.getUuid()));
+    }
+
+    private Profiles proxy(Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Profiles());
+
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+
+        return factory.getProxy();
+    }
+
+    // Bytes allocated by Spring AOP itself for every advised call (join point, advice arguments) are included
+    private static void report(String label, Runnable call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        double nanos = RestrictionHandlerBenchmark.measure(call);
+        long allocated = threads.getThreadAllocatedBytes(thread);
+
+        for (int i = 0; i < ITERATIONS; i++)
+            call.run();
+
+        double bytes = (threads.getThreadAllocatedBytes(thread) - allocated) / (double) ITERATIONS;
+
+        System.out.printf("%-26s %10.1f %14.1f%n", label, nanos, bytes);
+    }
+
+    private static double measure(Runnable call) {
+        for (int i = 0; i < WARMUP; i++)
+            call.run();
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; i++)
+            call.run();
+
+        return (System.nanoTime() - start) / (double) ITERATIONS;
+    }
+
+    public static class Profiles {
+
+        @RestrictToUser(argName = "userUuid")
+        public UUID find(int page, UUID userUuid) {
+            return userUuid;
+        }
+    }
+
+    // Former advice of RestrictionHandler: annotation, parameter names and arguments read on every call
+    @Aspect
+    @RequiredArgsConstructor
+    public static class FormerRestrictionHandler {
+
+        private final SecurityService securityService;
+
+        @Before("@annotation(RestrictToUser)")
+        public void restrictToUser(JoinPoint joinPoint) throws SecurityException {
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            RestrictToUser annotation = signature.getMethod().getAnnotation(RestrictToUser.class);
+            List<String> argNames = Arrays.asList(signature.getParameterNames());
+            List<Object> args = Arrays.asList(joinPoint.getArgs());
+            Optional<UUID> uuid = Optional.empty();
+
+            for (int i = 0; i < min(args.size(), argNames.size()); i++) {
+                if (Objects.equals(argNames.get(i), annotation.argName()) && args.get(i) instanceof UUID) {
+                    uuid = Optional.of((UUID) args.get(i));
+                    break;
+                }
+            }
+
+            if (!this.securityService.isLoggedIn())
+                throw new SecurityException(SecurityException.Type.IDENTIFICATION);
+            else if (!uuid.isPresent() || !this.securityService.isUser(uuid.get()))
+                throw new SecurityException(SecurityException.Type.AUTHORIZATION);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.agenson.cinema.security.restriction;
+
+import com.agenson.cinema.security.SecurityException;
+import com.agenson.cinema.security.SecurityService;
+import com.agenson.cinema.security.session.SessionContext;
+import com.agenson.cinema.security.session.SessionRegistry;
+import com.agenson.cinema.user.UserDB;
+import com.agenson.cinema.user.UserDetailsDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class RestrictionHandlerUnitTests {
+
+    private final SessionRegistry sessionRegistry = new SessionRegistry(Duration.ofMinutes(30), Duration.ofMinutes(1));
+
+    private final UserDetailsDTO user = new UserDetailsDTO(new UserDB("customer", "password"));
+
+    private RestrictionHandler restrictionHandler;
+
+    private Profiles profiles;
+
+    @BeforeEach
+    public void setup() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Profiles());
+
+        this.restrictionHandler = new RestrictionHandler(new SecurityService(null, null, this.sessionRegistry));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(this.restrictionHandler);
+
+        this.profiles = factory.getProxy();
+    }
+
+    @AfterEach
+    public void logout() {
+        SessionContext.clear();
+    }
+
+    @Test
+    public void restrictToUser_ShouldCheckNamedArgument_WhenCalledRepeatedly() {
+        SessionContext.bind(this.sessionRegistry.open(this.user));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(this.profiles.find(i, this.user.getUuid())).isEqualTo(this.user.getUuid());
+
+            assertThatExceptionOfType(SecurityException.class)
+                    .isThrownBy(() -> this.profiles.find(0, UUID.randomUUID()))
+                    .withMessage(SecurityException.Type.AUTHORIZATION.toString());
+            assertThatExceptionOfType(SecurityException.class)
+                    .isThrownBy(() -> this.profiles.find(0, null))
+                    .withMessage(SecurityException.Type.AUTHORIZATION.toString());
+        }
+    }
+
+    @Test
+    public void restrictToUser_ShouldThrowSecurityException_WhenNotLoggedIn() {
+        assertThatExceptionOfType(SecurityException.class)
+                .isThrownBy(() -> this.profiles.find(0, this.user.getUuid()))
+                .withMessage(SecurityException.Type.IDENTIFICATION.toString());
+    }
+
+    @Test
+    public void restrictToUser_ShouldThrowSecurityException_WhenArgumentIsMissing() {
+        SessionContext.bind(this.sessionRegistry.open(this.user));
+
+        for (int i = 0; i < 2; i++) {
+            assertThatExceptionOfType(SecurityException.class)
+                    .isThrownBy(() -> this.profiles.findMisnamed(this.user.getUuid()))
+                    .withMessage(SecurityException.Type.AUTHORIZATION.toString());
+        }
+    }
+
+    @Test
+    public void afterSingletonsInstantiated_ShouldThrowIllegalStateException_WhenBeanArgumentIsMissing() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+        beanFactory.registerSingleton("profiles", new Profiles());
+        this.restrictionHandler.setBeanFactory(beanFactory);
+
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(this.restrictionHandler::afterSingletonsInstantiated)
+                .withMessageContaining("findMisnamed");
+    }
+
+    public static class Profiles {
+
+        @RestrictToUser(argName = "userUuid")
+        public UUID find(int page, UUID userUuid) {
+            return userUuid;
+        }
+
+        @RestrictToUser(argName = "userUuid")
+        public UUID findMisnamed(UUID uuid) {
+            return uuid;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.agenson.cinema.security.session;
+
+import com.agenson.cinema.user.UserDB;
+import com.agenson.cinema.user.UserDetailsDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SessionRegistryUnitTests {
+
+    private static final long IDLE_MILLIS = 60_000;
+
+    private final SessionRegistry sessionRegistry =
+            new SessionRegistry(Duration.ofMillis(IDLE_MILLIS), Duration.ofMinutes(1));
+
+    @AfterEach
+    public void clear() {
+        SessionContext.clear();
+    }
+
+    @Test
+    public void open_ShouldReturnSessionsWithDistinctTokens() {
+        Session session = this.sessionRegistry.open(SessionRegistryUnitTests.user("customer"));
+        Session another = this.sessionRegistry.open(SessionRegistryUnitTests.user("customer"));
+
+        assertThat(session.getToken()).isNotEqualTo(another.getToken());
+        assertThat(this.sessionRegistry.find(session.getToken())).contains(session);
+        assertThat(this.sessionRegistry.find(another.getToken())).contains(another);
+        assertThat(this.sessionRegistry.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void find_ShouldReturnEmpty_WhenGivenUnknownOrClosedToken() {
+        Session session = this.sessionRegistry.open(SessionRegistryUnitTests.user("customer"));
+
+        this.sessionRegistry.close(session);
+
+        assertThat(session.isOpen()).isFalse();
+        assertThat(this.sessionRegistry.find(session.getToken())).isEmpty();
+        assertThat(this.sessionRegistry.find("unknown")).isEmpty();
+        assertThat(this.sessionRegistry.find(null)).isEmpty();
+    }
+
+    @Test
+    public void touch_ShouldCloseSession_WhenIdleForTooLong() {
+        Session session = this.sessionRegistry.open(SessionRegistryUnitTests.user("customer"));
+
+        session.touch(System.currentTimeMillis() - IDLE_MILLIS - 1);
+
+        assertThat(this.sessionRegistry.touch(session)).isFalse();
+        assertThat(session.isOpen()).isFalse();
+        assertThat(this.sessionRegistry.size()).isZero();
+    }
+
+    @Test
+    public void expire_ShouldOnlyCloseIdleSessions() {
+        Session idle = this.sessionRegistry.open(SessionRegistryUnitTests.user("idle"));
+        Session active = this.sessionRegistry.open(SessionRegistryUnitTests.user("active"));
+        long now = System.currentTimeMillis();
+
+        idle.touch(now - IDLE_MILLIS - 1);
+
+        assertThat(this.sessionRegistry.expire(now)).isEqualTo(1);
+        assertThat(idle.isOpen()).isFalse();
+        assertThat(active.isOpen()).isTrue();
+        assertThat(this.sessionRegistry.find(active.getToken())).contains(active);
+    }
+
+    @Test
+    public void callAs_ShouldRestorePreviousSession() {
+        Session bound = this.sessionRegistry.open(SessionRegistryUnitTests.user("bound"));
+        Session passed = this.sessionRegistry.open(SessionRegistryUnitTests.user("passed"));
+
+        SessionContext.bind(bound);
+
+        assertThat(SessionContext.callAs(passed, SessionContext::current)).contains(passed);
+        assertThat(SessionContext.current()).contains(bound);
+    }
+
+    private static UserDetailsDTO user(String username) {
+        return new UserDetailsDTO(new UserDB(username, "password"));
+    }
+}
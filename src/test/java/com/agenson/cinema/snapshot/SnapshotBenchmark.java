@@ -0,0 +1,76 @@
+package com.agenson.cinema.snapshot;
+
+import com.agenson.cinema.Application;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: ./gradlew benchmark
+@Tag("benchmark")
+public class SnapshotBenchmark {
+
+    private static final int NB_ROOMS = 5000;
+
+    private static final int NB_ROWS = 25;
+
+    private static final int NB_COLS = 40;
+
+    private static final int NB_TICKETS = NB_ROOMS * NB_ROWS * NB_COLS;
+
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void saveAndRestore_FiveMillionTickets() throws Exception {
+        Path snapshot = this.directory.resolve("cinema.snapshot");
+        SnapshotSummary saved;
+
+        try (ConfigurableApplicationContext context = this.start("saved")) {
+            this.fill(context.getBean(JdbcTemplate.class));
+
+            long start = System.nanoTime();
+            saved = context.getBean(SnapshotService.class).save(snapshot);
+
+            System.out.printf("%-8s %8d ms   %s%n", "save", (System.nanoTime() - start) / 1_000_000, saved);
+            System.out.printf("%-8s %8.1f bytes / ticket%n", "size", saved.getNbBytes() / (double) NB_TICKETS);
+        }
+
+        try (ConfigurableApplicationContext context = this.start("restored")) {
+            long start = System.nanoTime();
+            SnapshotSummary restored = context.getBean(SnapshotService.class).restore(snapshot);
+
+            System.out.printf("%-8s %8d ms   %s%n", "restore", (System.nanoTime() - start) / 1_000_000, restored);
+
+            assertThat(restored.getNbTickets()).isEqualTo(saved.getNbTickets());
+            assertThat(context.getBean(JdbcTemplate.class).queryForObject("SELECT COUNT(*) FROM ticket", Long.class))
+                    .isEqualTo(saved.getNbTickets());
+        }
+    }
+
+    private ConfigurableApplicationContext start(String storage) {
+        return new SpringApplicationBuilder(Application.class)
+                .profiles("test", "persistent")
+                .properties(
+                        "cinema.storage.path=" + this.directory.resolve(storage).toAbsolutePath(),
+                        "spring.jpa.show-sql=false"
+                )
+                .run();
+    }
+
+    // Full rooms, inserted by the database itself
+    private void fill(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO room (uuid, number, nb_rows, nb_cols) "
+                + "SELECT RANDOM_UUID(), 1000 + x, ?, ? FROM SYSTEM_RANGE(0, ?)", NB_ROWS, NB_COLS, NB_ROOMS - 1);
+        jdbcTemplate.update("INSERT INTO ticket (uuid, seat, room_id) "
+                        + "SELECT RANDOM_UUID(), ((x / ?) % ? + 1) * 256 + x % ? + 1, r.id "
+                        + "FROM SYSTEM_RANGE(0, ?) JOIN room r ON r.number = 1000 + x / ?",
+                NB_COLS, NB_ROWS, NB_COLS, NB_TICKETS - 1, NB_ROWS * NB_COLS);
+    }
+}
@@ -0,0 +1,96 @@
+package com.agenson.cinema.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class SnapshotFormatUnitTests {
+
+    @Test
+    public void read_ShouldReturnWrittenValues_WhenGivenWrittenSnapshot() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        long[] values = {0, 1, 127, 128, 300, Integer.MAX_VALUE, Long.MAX_VALUE, -1};
+        long[] signedValues = {0, -1, 1, -64, 64, Long.MIN_VALUE, Long.MAX_VALUE};
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (SnapshotWriter writer = new SnapshotWriter(Channels.newChannel(output))) {
+            writer.writeHeader();
+
+            for (long value : values)
+                writer.writeVarLong(value);
+
+            for (long value : signedValues)
+                writer.writeZigZag(value);
+
+            writer.writeUuid(uuid);
+            writer.writeString("E.T. THE EXTRA-TERRESTRIAL");
+            writer.writeString("");
+        }
+
+        try (SnapshotReader reader = this.reader(output.toByteArray())) {
+            reader.readHeader();
+
+            for (long value : values)
+                assertThat(reader.readVarLong()).isEqualTo(value);
+
+            for (long value : signedValues)
+                assertThat(reader.readZigZag()).isEqualTo(value);
+
+            assertThat(reader.readUuid()).isEqualTo(uuid);
+            assertThat(reader.readString()).isEqualTo("E.T. THE EXTRA-TERRESTRIAL");
+            assertThat(reader.readString()).isEmpty();
+        }
+    }
+
+    @Test
+    public void writeVarLong_ShouldUseOneBytePer7Bits() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (SnapshotWriter writer = new SnapshotWriter(Channels.newChannel(output))) {
+            writer.writeVarLong(1);
+            writer.writeVarLong(127);
+            writer.writeVarLong(128);
+            writer.writeZigZag(-1);
+
+            assertThat(writer.size()).isEqualTo(5);
+        }
+
+        assertThat(output.toByteArray()).containsExactly(0x01, 0x7F, 0x80, 0x01, 0x01);
+    }
+
+    @Test
+    public void readHeader_ShouldThrowAssociatedSnapshotException_WhenGivenInvalidHeader() {
+        byte[] otherVersion = Arrays.copyOf(SnapshotWriter.MAGIC, SnapshotWriter.MAGIC.length + 1);
+
+        otherVersion[SnapshotWriter.MAGIC.length] = SnapshotWriter.VERSION + 1;
+
+        assertThatExceptionOfType(SnapshotException.class)
+                .isThrownBy(() -> this.reader(new byte[0]).readHeader())
+                .withMessage(SnapshotException.Type.FORMAT.toString());
+        assertThatExceptionOfType(SnapshotException.class)
+                .isThrownBy(() -> this.reader("SELECT 1".getBytes()).readHeader())
+                .withMessage(SnapshotException.Type.FORMAT.toString());
+        assertThatExceptionOfType(SnapshotException.class)
+                .isThrownBy(() -> this.reader(otherVersion).readHeader())
+                .withMessage(SnapshotException.Type.VERSION.toString());
+    }
+
+    @Test
+    public void readUuid_ShouldThrowAssociatedSnapshotException_WhenSnapshotIsTruncated() {
+        assertThatExceptionOfType(SnapshotException.class)
+                .isThrownBy(() -> this.reader(new byte[10]).readUuid())
+                .withMessage(SnapshotException.Type.TRUNCATED.toString());
+    }
+
+    private SnapshotReader reader(byte[] bytes) {
+        return new SnapshotReader(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+}
@@ -0,0 +1,126 @@
+package com.agenson.cinema.snapshot;
+
+import com.agenson.cinema.ticket.TicketService;
+import com.agenson.cinema.ticket.seat.Seat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+// Not transactional: the restore uses its own connection, and commits by batches
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class SnapshotIntegrationTests {
+
+    private static final List<String> TABLES = Arrays.asList("movie", "room", "\"user\"", "\"order\"", "ticket");
+
+    private static final UUID ROOM_UUID = UUID.randomUUID();
+
+    @TempDir
+    public Path directory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @BeforeEach
+    public void setup() {
+        this.jdbcTemplate.update("INSERT INTO movie (uuid, title) VALUES (RANDOM_UUID(), 'SNAPSHOT')");
+        this.jdbcTemplate.update("INSERT INTO room (uuid, number, nb_rows, nb_cols, sold_count, revenue, movie_id) "
+                + "SELECT ?, 970, 10, 15, 3, 36, id FROM movie WHERE title = 'SNAPSHOT'", ROOM_UUID);
+        this.jdbcTemplate.update("INSERT INTO \"user\" (uuid, username, password, role) "
+                + "VALUES (RANDOM_UUID(), 'snapuser', 'password', 0)");
+        this.jdbcTemplate.update("INSERT INTO \"order\" (uuid, user_id) "
+                + "SELECT RANDOM_UUID(), id FROM \"user\" WHERE username = 'snapuser'");
+        this.jdbcTemplate.update("INSERT INTO ticket (uuid, seat, room_id, order_id) "
+                + "SELECT RANDOM_UUID(), 257, r.id, o.id FROM room r, \"order\" o WHERE r.number = 970");
+        this.jdbcTemplate.update("INSERT INTO ticket (uuid, seat, room_id, order_id) "
+                + "SELECT RANDOM_UUID(), 1036, r.id, NULL FROM room r WHERE r.number = 970");
+        this.jdbcTemplate.update("INSERT INTO ticket (uuid, seat, room_id, order_id) "
+                + "SELECT RANDOM_UUID(), 258, r.id, o.id FROM room r, \"order\" o WHERE r.number = 970");
+    }
+
+    @AfterEach
+    public void cleanup() {
+        this.jdbcTemplate.update("DELETE FROM ticket");
+        this.jdbcTemplate.update("DELETE FROM room WHERE number = 970");
+        this.jdbcTemplate.update("DELETE FROM movie WHERE title LIKE 'SNAPSHOT%'");
+        this.jdbcTemplate.update("DELETE FROM \"order\"");
+        this.jdbcTemplate.update("DELETE FROM \"user\" WHERE username = 'snapuser'");
+    }
+
+    @Test
+    public void restore_ShouldReplaceDatabaseWithSnapshot_WhenGivenSavedSnapshot() throws IOException {
+        Path path = this.directory.resolve("cinema.snapshot");
+        Map<String, List<Map<String, Object>>> saved = this.dump();
+        SnapshotSummary summary = this.snapshotService.save(path);
+
+        assertThat(summary.getNbMovies()).isEqualTo(saved.get("movie").size());
+        assertThat(summary.getNbTickets()).isEqualTo(3);
+        assertThat(summary.getNbBytes()).isEqualTo(Files.size(path));
+
+        this.jdbcTemplate.update("DELETE FROM ticket WHERE seat = 257");
+        this.jdbcTemplate.update("INSERT INTO movie (uuid, title) VALUES (RANDOM_UUID(), 'SNAPSHOT SEQUEL')");
+        this.ticketService.rebuildOccupancyIndex();
+
+        assertThat(this.ticketService.findOccupancy(ROOM_UUID).get().isReserved(Seat.fromString("A01"))).isFalse();
+
+        SnapshotSummary restored = this.snapshotService.restore(path);
+
+        assertThat(this.dump()).isEqualTo(saved);
+        assertThat(restored.getNbTickets()).isEqualTo(summary.getNbTickets());
+        assertThat(restored.getNbUsers()).isEqualTo(summary.getNbUsers());
+        assertThat(this.ticketService.findOccupancy(ROOM_UUID).get().isReserved(Seat.fromString("A01"))).isTrue();
+
+        long maxMovieId = this.jdbcTemplate.queryForObject("SELECT MAX(id) FROM movie", Long.class);
+
+        this.jdbcTemplate.update("INSERT INTO movie (uuid, title) VALUES (RANDOM_UUID(), 'SNAPSHOT SEQUEL')");
+
+        assertThat(this.jdbcTemplate.queryForObject("SELECT id FROM movie WHERE title = 'SNAPSHOT SEQUEL'", Long.class))
+                .isGreaterThan(maxMovieId);
+    }
+
+    @Test
+    public void restore_ShouldThrowAssociatedSnapshotException_WhenGivenInvalidFile() throws IOException {
+        Path path = Files.write(this.directory.resolve("data.sql"), "SELECT 1;".getBytes(StandardCharsets.UTF_8));
+        Map<String, List<Map<String, Object>>> before = this.dump();
+
+        assertThatExceptionOfType(SnapshotException.class)
+                .isThrownBy(() -> this.snapshotService.restore(path))
+                .withMessage(SnapshotException.Type.FORMAT.toString());
+        assertThat(this.dump()).isEqualTo(before);
+    }
+
+    private Map<String, List<Map<String, Object>>> dump() {
+        Map<String, List<Map<String, Object>>> tables = new LinkedHashMap<>();
+
+        for (String table : TABLES)
+            tables.put(table, this.jdbcTemplate.queryForList("SELECT * FROM " + table + " ORDER BY id"));
+
+        return tables;
+    }
+}
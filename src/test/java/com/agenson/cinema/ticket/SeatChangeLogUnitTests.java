@@ -0,0 +1,44 @@
+package com.agenson.cinema.ticket;
+
+import com.agenson.cinema.ticket.seat.Seat;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SeatChangeLogUnitTests {
+
+    @Test
+    public void since_ShouldReturnNewerChanges_WhenGivenVersionInLog() {
+        SeatChangeLog log = new SeatChangeLog(4, 10);
+
+        log.add(11, Seat.fromString("A01"), false);
+        log.add(12, Seat.fromString("A02"), false);
+        log.add(13, Seat.fromString("A01"), true);
+
+        assertThat(log.since(10)).containsExactly(
+                new SeatChange(11, Seat.fromString("A01"), false),
+                new SeatChange(12, Seat.fromString("A02"), false),
+                new SeatChange(13, Seat.fromString("A01"), true)
+        );
+        assertThat(log.since(12)).containsExactly(new SeatChange(13, Seat.fromString("A01"), true));
+        assertThat(log.since(13)).isEmpty();
+    }
+
+    @Test
+    public void since_ShouldReturnNull_WhenChangesWereForgotten() {
+        SeatChangeLog log = new SeatChangeLog(2, 10);
+
+        assertThat(log.since(9)).isNull();
+
+        log.add(11, Seat.fromString("A01"), false);
+        log.add(12, Seat.fromString("A02"), false);
+        log.add(13, Seat.fromString("A03"), false);
+
+        List<SeatChange> changes = log.since(11);
+
+        assertThat(log.since(10)).isNull();
+        assertThat(changes).extracting(SeatChange::getVersion).containsExactly(12L, 13L);
+    }
+}
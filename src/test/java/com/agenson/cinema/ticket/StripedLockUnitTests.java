@@ -0,0 +1,41 @@
+package com.agenson.cinema.ticket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StripedLockUnitTests {
+
+    @Test
+    public void constructor_ShouldRoundStripesToPowerOfTwo_WhenGivenMinimumStripes() {
+        assertThat(new StripedLock(1).size()).isEqualTo(2);
+        assertThat(new StripedLock(16).size()).isEqualTo(16);
+        assertThat(new StripedLock(17).size()).isEqualTo(32);
+    }
+
+    @Test
+    public void get_ShouldReturnSameLock_WhenGivenSameKey() {
+        StripedLock locks = new StripedLock(64);
+        UUID key = UUID.randomUUID();
+
+        assertThat(locks.get(key)).isSameAs(locks.get(UUID.fromString(key.toString())));
+        assertThat(locks.get(null)).isSameAs(locks.get(null));
+    }
+
+    @Test
+    public void withLock_ShouldHoldLockDuringAction_WhenGivenKey() {
+        StripedLock locks = new StripedLock(16);
+        UUID key = UUID.randomUUID();
+        Lock lock = locks.get(key);
+
+        boolean heldDuringAction = locks.withLock(key, () -> ((ReentrantLock) lock).isHeldByCurrentThread());
+
+        assertThat(heldDuringAction).isTrue();
+        assertThat(lock.tryLock()).isTrue();
+        lock.unlock();
+    }
+}
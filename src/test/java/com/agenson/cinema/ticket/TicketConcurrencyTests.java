@@ -0,0 +1,167 @@
+package com.agenson.cinema.ticket;
+
+import com.agenson.cinema.order.OrderDB;
+import com.agenson.cinema.order.OrderRepository;
+import com.agenson.cinema.room.RoomDB;
+import com.agenson.cinema.room.RoomRepository;
+import com.agenson.cinema.ticket.seat.Seat;
+import com.agenson.cinema.ticket.seat.SeatConverter;
+import com.agenson.cinema.user.UserDB;
+import com.agenson.cinema.user.UserRepository;
+import com.agenson.cinema.utils.CallableOneArgument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+// Not transactional: every booking thread commits on its own, like concurrent customers would
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketConcurrencyTests {
+
+    private static final int NB_THREADS = 16;
+
+    private static final int NB_ROOMS = 4;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketService ticketService;
+
+    private final List<RoomDB> rooms = new ArrayList<>();
+
+    private OrderDB order;
+
+    @BeforeEach
+    public void setup() {
+        UserDB user = this.userRepository.save(new UserDB("concurrency", "password"));
+
+        this.order = this.orderRepository.save(new OrderDB(user));
+
+        for (int i = 0; i < NB_ROOMS; i++)
+            this.rooms.add(this.roomRepository.save(new RoomDB(900 + i, Seat.MAX_ROW, Seat.MAX_COL)));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        this.jdbcTemplate.update("DELETE FROM ticket");
+        this.jdbcTemplate.update("DELETE FROM room WHERE number >= 900");
+        this.jdbcTemplate.update("DELETE FROM \"order\"");
+        this.jdbcTemplate.update("DELETE FROM \"user\" WHERE username = 'concurrency'");
+        this.rooms.clear();
+    }
+
+    @Test
+    public void createTicket_ShouldBookSeatOnlyOnce_WhenCalledConcurrentlyForSameSeat() throws Exception {
+        RoomDB room = this.rooms.get(0);
+        Seat seat = Seat.fromString("M26");
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        this.runConcurrently(NB_THREADS, index -> {
+            try {
+                this.ticketService.createTicket(room.getUuid(), this.order.getUuid(), seat);
+                booked.incrementAndGet();
+            } catch (InvalidTicketException ex) {
+                assertThat(ex.getMessage()).isEqualTo(InvalidTicketException.Type.EXISTS.toString());
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(booked.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(NB_THREADS - 1);
+        assertThat(this.ticketRepository.findSeatsByRoomUuid(room.getUuid())).containsExactly(seat);
+    }
+
+    @Test
+    public void createTickets_ShouldBookEverySeat_WhenCalledConcurrentlyForDifferentRooms() throws Exception {
+        this.runConcurrently(NB_THREADS, index -> {
+            RoomDB room = this.rooms.get(index % NB_ROOMS);
+            List<Seat> seats = new ArrayList<>();
+
+            for (int col = 1; col <= Seat.MAX_COL; col++)
+                seats.add(Seat.fromString(String.format("%s%02d", Seat.letterFromNumber(index / NB_ROOMS + 1), col)));
+
+            assertThat(this.ticketService.createTickets(room.getUuid(), this.order.getUuid(), seats).isBooked())
+                    .isTrue();
+        });
+
+        for (RoomDB room : this.rooms) {
+            int expected = (NB_THREADS / NB_ROOMS) * Seat.MAX_COL;
+
+            assertThat(this.ticketRepository.findSeatsByRoomUuid(room.getUuid())).hasSize(expected);
+            assertThat(this.ticketService.findOccupancy(room.getUuid()).get().getCount()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void createTicket_ShouldThrowExistsAndResyncIndex_WhenSeatWasInsertedBehindIndex() {
+        RoomDB room = this.rooms.get(0);
+        Seat seat = Seat.fromString("A01");
+
+        this.ticketService.createTicket(room.getUuid(), this.order.getUuid(), Seat.fromString("A02"));
+        this.jdbcTemplate.update(
+                "INSERT INTO ticket (uuid, seat, room_id, order_id) VALUES (RANDOM_UUID(), ?, ?, NULL)",
+                new SeatConverter().convertToDatabaseColumn(seat), room.getId()
+        );
+
+        assertThatExceptionOfType(InvalidTicketException.class)
+                .isThrownBy(() -> this.ticketService.createTicket(room.getUuid(), this.order.getUuid(), seat))
+                .withMessage(InvalidTicketException.Type.EXISTS.toString());
+
+        assertThat(this.ticketService.findOccupancy(room.getUuid()).get().isReserved(seat)).isTrue();
+        assertThat(this.ticketRepository.findSeatsByRoomUuid(room.getUuid())).hasSize(2);
+    }
+
+    private void runConcurrently(int nbThreads, CallableOneArgument<Integer> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < nbThreads; i++) {
+            int index = i;
+
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.call(index);
+
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        try {
+            for (Future<?> future : futures)
+                future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
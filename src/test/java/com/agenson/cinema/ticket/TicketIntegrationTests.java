@@ -5,9 +5,13 @@ import com.agenson.cinema.room.RoomDB;
 import com.agenson.cinema.room.RoomDTO;
 import com.agenson.cinema.security.SecurityService;
 import com.agenson.cinema.security.SecurityRole;
+import com.agenson.cinema.ticket.hold.SeatHold;
+import com.agenson.cinema.ticket.hold.SeatHoldRegistry;
 import com.agenson.cinema.ticket.seat.Seat;
+import com.agenson.cinema.ticket.seat.SeatOccupancy;
 import com.agenson.cinema.user.UserDB;
 import com.agenson.cinema.utils.CallableOneArgument;
+import com.agenson.cinema.utils.StatementCounter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -45,6 +50,12 @@ public class TicketIntegrationTests {
     @Autowired
     private TicketService ticketService;
 
+    @Autowired
+    private SeatHoldRegistry seatHoldRegistry;
+
+    @Autowired
+    private SeatOccupancyIndex seatOccupancyIndex;
+
     private RoomDB defaultRoom;
 
     private OrderDB defaultOrder;
@@ -116,6 +127,172 @@ public class TicketIntegrationTests {
         }
     }
 
+    @Test
+    public void findOccupancy_ShouldReturnReservedSeats_WhenGivenRoomUuid() {
+        Seat persistedSeat = Seat.fromString("B05");
+        Seat orderedSeat = Seat.fromString("C07");
+
+        this.ticketRepository.save(new TicketDB(this.defaultRoom, this.defaultOrder, persistedSeat));
+        this.ticketService.createTicket(this.defaultRoom.getUuid(), this.defaultOrder.getUuid(), orderedSeat);
+
+        Optional<SeatOccupancy> actual = this.ticketService.findOccupancy(this.defaultRoom.getUuid());
+
+        assertThat(actual).isNotEmpty();
+        assertThat(actual.get().isReserved(persistedSeat)).isTrue();
+        assertThat(actual.get().isReserved(orderedSeat)).isTrue();
+        assertThat(actual.get().getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void createTickets_ShouldPersistAllTickets_WhenGivenFreeSeats() {
+        List<Seat> seats = Arrays.asList(Seat.fromString("A01"), Seat.fromString("A02"), Seat.fromString("B01"));
+        int expectedSize = this.ticketRepository.findAll().size() + seats.size();
+
+        TicketBatchDTO actual = this.ticketService.createTickets(
+                this.defaultRoom.getUuid(),
+                this.defaultOrder.getUuid(),
+                seats
+        );
+
+        assertThat(actual.isBooked()).isTrue();
+        assertThat(this.ticketRepository.findAll().size()).isEqualTo(expectedSize);
+        assertThat(this.ticketRepository.findSeatsByRoomUuid(this.defaultRoom.getUuid()))
+                .containsExactlyInAnyOrderElementsOf(seats);
+    }
+
+    @Test
+    public void createTickets_ShouldNotPersistAnyTicket_WhenOneSeatConflicts() {
+        Seat seatAlreadyUsed = Seat.fromString("A01");
+
+        this.ticketRepository.save(new TicketDB(this.defaultRoom, this.defaultOrder, seatAlreadyUsed));
+
+        List<TicketDB> expected = this.ticketRepository.findAll();
+        TicketBatchDTO actual = this.ticketService.createTickets(
+                this.defaultRoom.getUuid(),
+                this.defaultOrder.getUuid(),
+                Arrays.asList(Seat.fromString("A02"), seatAlreadyUsed, Seat.fromString("A03"))
+        );
+
+        assertThat(actual.isBooked()).isFalse();
+        assertThat(actual.getConflicts()).containsOnlyKeys(seatAlreadyUsed);
+        assertThat(this.ticketRepository.findAll()).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void findOccupancy_ShouldOnlyQueryRoomOnce_WhenCalledTwice() {
+        this.seatOccupancyIndex.evict(this.defaultRoom.getUuid());
+
+        assertThat(StatementCounter.count(this.entityManager, () -> {
+            this.ticketService.findOccupancy(this.defaultRoom.getUuid());
+        })).isLessThanOrEqualTo(2);
+        assertThat(StatementCounter.count(this.entityManager, () -> {
+            this.ticketService.findOccupancy(this.defaultRoom.getUuid());
+        })).isZero();
+    }
+
+    @Test
+    public void createTickets_ShouldIssueAtMostFourStatements_WhateverTheNumberOfSeats() {
+        List<Seat> seats = new ArrayList<>();
+
+        for (int col = 1; col <= 20; col++)
+            seats.add(Seat.of(1, col));
+
+        assertThat(StatementCounter.count(this.entityManager, () -> {
+            this.ticketService.createTickets(this.defaultRoom.getUuid(), this.defaultOrder.getUuid(), seats);
+        })).isLessThanOrEqualTo(4);
+        assertThat(this.ticketRepository.findSeatsByRoomUuid(this.defaultRoom.getUuid()))
+                .containsExactlyInAnyOrderElementsOf(seats);
+    }
+
+    @Test
+    public void createTickets_ShouldAddToRoomSales_WhenTicketsArePersisted() {
+        this.ticketService.createTickets(
+                this.defaultRoom.getUuid(),
+                this.defaultOrder.getUuid(),
+                Arrays.asList(Seat.fromString("A01"), Seat.fromString("J01"))
+        );
+        this.ticketService.createTicket(
+                this.defaultRoom.getUuid(),
+                this.defaultOrder.getUuid(),
+                Seat.fromString("B01")
+        );
+        this.entityManager.refresh(this.defaultRoom);
+
+        assertThat(this.defaultRoom.getSoldCount()).isEqualTo(3);
+        assertThat(this.defaultRoom.getRevenue()).isEqualTo(12 + 10 + 12);
+        assertThat(this.ticketService.reconcileRoomSales()).isEmpty();
+    }
+
+    @Test
+    public void reconcileRoomSales_ShouldCorrectRoomSales_WhenTheyDriftedFromTickets() {
+        this.ticketRepository.saveAndFlush(new TicketDB(this.defaultRoom, this.defaultOrder, Seat.fromString("A01")));
+
+        assertThat(this.ticketService.reconcileRoomSales()).containsExactly(this.defaultRoom.getUuid());
+
+        this.entityManager.refresh(this.defaultRoom);
+
+        assertThat(this.defaultRoom.getSoldCount()).isEqualTo(1);
+        assertThat(this.defaultRoom.getRevenue()).isEqualTo(12);
+        assertThat(this.ticketService.reconcileRoomSales()).isEmpty();
+    }
+
+    @Test
+    public void holdSeat_ShouldBlockOtherBookings_UntilHoldExpires() {
+        Seat seat = Seat.fromString("E05");
+        SeatHold hold = this.ticketService.holdSeat(this.defaultRoom.getUuid(), seat);
+
+        assertThat(this.ticketService.findOccupancy(this.defaultRoom.getUuid()).get().isReserved(seat)).isTrue();
+        assertThat(this.ticketService.createTickets(
+                this.defaultRoom.getUuid(),
+                this.defaultOrder.getUuid(),
+                Collections.singletonList(seat)
+        ).getConflicts()).containsOnlyKeys(seat);
+
+        this.seatHoldRegistry.expire(hold.getExpiresAt());
+
+        assertThat(this.seatHoldRegistry.isLive(hold)).isFalse();
+        assertThat(this.ticketService.findOccupancy(this.defaultRoom.getUuid()).get().isReserved(seat)).isFalse();
+        assertThat(this.ticketService.createTicket(this.defaultRoom.getUuid(), this.defaultOrder.getUuid(), seat)
+                .getSeat()).isEqualTo(seat);
+    }
+
+    @Test
+    public void createTicketsFromHolds_ShouldPersistHeldSeats_WhenHoldsAreLive() {
+        List<SeatHold> holds = Arrays.asList(
+                this.ticketService.holdSeat(this.defaultRoom.getUuid(), Seat.fromString("F01")),
+                this.ticketService.holdSeat(this.defaultRoom.getUuid(), Seat.fromString("F02"))
+        );
+
+        TicketBatchDTO actual = this.ticketService.createTicketsFromHolds(
+                this.defaultRoom.getUuid(),
+                this.defaultOrder.getUuid(),
+                holds
+        );
+
+        assertThat(actual.isBooked()).isTrue();
+        assertThat(holds).noneMatch(this.seatHoldRegistry::isLive);
+        assertThat(this.ticketRepository.findSeatsByRoomUuid(this.defaultRoom.getUuid()))
+                .containsExactlyInAnyOrder(Seat.fromString("F01"), Seat.fromString("F02"));
+    }
+
+    @Test
+    public void holdBestBlock_ShouldFeedBooking_WhenGivenGroupSize() {
+        List<SeatHold> holds = this.ticketService.holdBestBlock(this.defaultRoom.getUuid(), 4);
+
+        TicketBatchDTO actual = this.ticketService.createTicketsFromHolds(
+                this.defaultRoom.getUuid(),
+                this.defaultOrder.getUuid(),
+                holds
+        );
+
+        List<Seat> seats = holds.stream().map(SeatHold::getSeat).collect(Collectors.toList());
+
+        assertThat(holds).hasSize(4);
+        assertThat(actual.isBooked()).isTrue();
+        assertThat(this.ticketRepository.findSeatsByRoomUuid(this.defaultRoom.getUuid()))
+                .containsExactlyInAnyOrderElementsOf(seats);
+    }
+
     private void assertShouldThrowInvalidTicketException_WhenGivenInvalidUuid(CallableOneArgument<UUID> callable) {
         this.ticketRepository.save(new TicketDB(this.defaultRoom, this.defaultOrder, Seat.fromString("A02")));
 
@@ -1,7 +1,9 @@
 package com.agenson.cinema.ticket;
 
+import com.agenson.cinema.order.OrderDB;
 import com.agenson.cinema.room.RoomDB;
 import com.agenson.cinema.ticket.seat.Seat;
+import com.agenson.cinema.user.UserDB;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +13,12 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -26,6 +33,8 @@ public class TicketRepositoryUnitTests {
     @Autowired
     private TicketRepository ticketRepository;
 
+    private RoomDB room;
+
     private TicketDB expected;
 
     @BeforeEach
@@ -33,7 +42,7 @@ public class TicketRepositoryUnitTests {
         RoomDB room = new RoomDB(1, 10, 20);
         TicketDB ticket = new TicketDB(room, null, Seat.fromString("A01"));
 
-        this.entityManager.persist(room);
+        this.room = this.entityManager.persist(room);
         this.expected = this.entityManager.persist(ticket);
     }
 
@@ -45,4 +54,80 @@ public class TicketRepositoryUnitTests {
 
         assertThat(actual).isEmpty();
     }
+
+    @Test
+    public void findSeatsByRoomUuid_ShouldReturnReservedSeats_WhenGivenRoomUuid() {
+        List<Seat> actual = this.ticketRepository.findSeatsByRoomUuid(this.room.getUuid());
+
+        assertThat(actual).containsOnly(this.expected.getSeat());
+    }
+
+    @Test
+    public void insertAll_ShouldPersistTickets_WhenGivenTickets() {
+        List<TicketDB> tickets = Arrays.asList(
+                new TicketDB(this.room, null, Seat.fromString("B01")),
+                new TicketDB(this.room, null, Seat.fromString("B02"))
+        );
+
+        this.ticketRepository.insertAll(tickets);
+
+        assertThat(this.ticketRepository.findSeatsByRoomUuid(this.room.getUuid()))
+                .containsExactlyInAnyOrder(this.expected.getSeat(), Seat.fromString("B01"), Seat.fromString("B02"));
+    }
+
+    @Test
+    public void scanRoomSeats_ShouldHandEverySeatRoomByRoom_WhenTicketsExist() {
+        RoomDB otherRoom = this.entityManager.persist(new RoomDB(2, 10, 20));
+
+        this.entityManager.persist(new TicketDB(otherRoom, null, Seat.fromString("B02")));
+        this.entityManager.persist(new TicketDB(this.room, null, Seat.fromString("C03")));
+        this.entityManager.persist(new TicketDB(otherRoom, null, Seat.fromString("D04")));
+        this.entityManager.flush();
+
+        List<UUID> rooms = new ArrayList<>();
+        List<Seat> seats = new ArrayList<>();
+
+        this.ticketRepository.scanRoomSeats((roomUuid, seat) -> {
+            if (!roomUuid.equals(this.room.getUuid()) && !roomUuid.equals(otherRoom.getUuid())) return;
+
+            if (rooms.isEmpty() || !rooms.get(rooms.size() - 1).equals(roomUuid)) rooms.add(roomUuid);
+
+            seats.add(seat);
+        });
+
+        assertThat(rooms).containsExactly(this.room.getUuid(), otherRoom.getUuid());
+        assertThat(seats).containsExactlyInAnyOrder(
+                this.expected.getSeat(),
+                Seat.fromString("B02"),
+                Seat.fromString("C03"),
+                Seat.fromString("D04")
+        );
+    }
+
+    @Test
+    public void findOrderIdsByRoomUuidIn_ShouldReturnDistinctOrderIds_WhenGivenRoomUuids() {
+        UserDB user = this.entityManager.persist(new UserDB("username", ""));
+        OrderDB order = this.entityManager.persist(new OrderDB(user));
+
+        this.entityManager.persist(new TicketDB(this.room, order, Seat.fromString("B01")));
+        this.entityManager.persist(new TicketDB(this.room, order, Seat.fromString("B02")));
+
+        List<Long> actual = this.ticketRepository.findOrderIdsByRoomUuidIn(Collections.singletonList(this.room.getUuid()));
+
+        assertThat(actual).containsExactly(order.getId());
+    }
+
+    @Test
+    public void deleteByRoomUuidIn_ShouldDeleteEveryTicketOfRooms_WhenGivenRoomUuids() {
+        RoomDB otherRoom = this.entityManager.persist(new RoomDB(2, 10, 20));
+        TicketDB otherTicket = this.entityManager.persist(new TicketDB(otherRoom, null, Seat.fromString("A01")));
+
+        this.entityManager.persist(new TicketDB(this.room, null, Seat.fromString("B01")));
+
+        int actual = this.ticketRepository.deleteByRoomUuidIn(Collections.singletonList(this.room.getUuid()));
+
+        assertThat(actual).isEqualTo(2);
+        assertThat(this.ticketRepository.findSeatsByRoomUuid(this.room.getUuid())).isEmpty();
+        assertThat(this.ticketRepository.findById(otherTicket.getId())).isNotEmpty();
+    }
 }
@@ -2,15 +2,20 @@ package com.agenson.cinema.ticket;
 
 import com.agenson.cinema.order.OrderDB;
 import com.agenson.cinema.order.OrderRepository;
+import com.agenson.cinema.room.CatalogCache;
 import com.agenson.cinema.room.RoomDB;
 import com.agenson.cinema.room.RoomRepository;
+import com.agenson.cinema.ticket.hold.SeatHold;
+import com.agenson.cinema.ticket.hold.SeatHoldRegistry;
 import com.agenson.cinema.ticket.seat.Seat;
+import com.agenson.cinema.ticket.seat.SeatOccupancy;
 import com.agenson.cinema.user.UserDB;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
@@ -20,7 +25,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +53,15 @@ public class TicketServiceUnitTests {
     @Mock
     private OrderRepository orderRepository;
 
+    @Spy
+    private SeatOccupancyIndex seatOccupancyIndex;
+
+    @Mock
+    private SeatHoldRegistry seatHoldRegistry;
+
+    @Mock
+    private CatalogCache catalogCache;
+
     @InjectMocks
     private TicketService ticketService;
 
@@ -77,6 +96,57 @@ public class TicketServiceUnitTests {
         assertThat(actual.getRoom().getUuid()).isEqualTo(this.defaultRoom.getUuid());
     }
 
+    @Test
+    public void findVersionedOccupancy_ShouldChangeVersion_WhenSeatIsReserved() {
+        Seat seat = Seat.fromString("A01");
+        UUID roomUuid = this.defaultRoom.getUuid();
+
+        when(this.ticketRepository.save(any(TicketDB.class))).then(returnsFirstArg());
+        when(this.roomRepository.findByUuid(roomUuid)).thenReturn(Optional.of(this.defaultRoom));
+        when(this.orderRepository.findByUuid(this.defaultOrder.getUuid())).thenReturn(Optional.of(this.defaultOrder));
+
+        assertThat(this.ticketService.findOccupancyVersion(roomUuid)).isEmpty();
+
+        VersionedOccupancy before = this.ticketService.findVersionedOccupancy(roomUuid).get();
+
+        assertThat(this.ticketService.findOccupancyVersion(roomUuid)).contains(before.getVersion());
+
+        this.ticketService.createTicket(roomUuid, this.defaultOrder.getUuid(), seat);
+
+        VersionedOccupancy after = this.ticketService.findVersionedOccupancy(roomUuid).get();
+
+        assertThat(after.getVersion()).isGreaterThan(before.getVersion());
+        assertThat(after.getOccupancy().isReserved(seat)).isTrue();
+        assertThat(before.getOccupancy().isReserved(seat)).isFalse();
+    }
+
+    @Test
+    public void findSeatChanges_ShouldReturnChangesSinceVersion_WhenSeatsAreReserved() {
+        Seat seat = Seat.fromString("A01");
+        UUID roomUuid = this.defaultRoom.getUuid();
+        List<SeatChanges> pushed = new ArrayList<>();
+
+        when(this.ticketRepository.save(any(TicketDB.class))).then(returnsFirstArg());
+        when(this.roomRepository.findByUuid(roomUuid)).thenReturn(Optional.of(this.defaultRoom));
+        when(this.orderRepository.findByUuid(this.defaultOrder.getUuid())).thenReturn(Optional.of(this.defaultOrder));
+
+        assertThat(this.ticketService.findSeatChanges(roomUuid, 0).isReset()).isTrue();
+
+        long version = this.ticketService.findVersionedOccupancy(roomUuid).get().getVersion();
+
+        this.ticketService.subscribeSeatChanges(roomUuid, pushed::add);
+        this.ticketService.createTicket(roomUuid, this.defaultOrder.getUuid(), seat);
+
+        SeatChanges changes = this.ticketService.findSeatChanges(roomUuid, version);
+
+        assertThat(changes.isReset()).isFalse();
+        assertThat(changes.getVersion()).isGreaterThan(version);
+        assertThat(changes.getChanges()).containsExactly(new SeatChange(changes.getVersion(), seat, false));
+        assertThat(pushed).extracting(SeatChanges::getChanges).containsExactly(changes.getChanges());
+        assertThat(this.ticketService.findSeatChanges(roomUuid, changes.getVersion()).getChanges()).isEmpty();
+        assertThat(this.ticketService.findSeatChanges(roomUuid, changes.getVersion() + 1).isReset()).isTrue();
+    }
+
     @Test
     public void createTicket_ShouldThrowAssociatedInvalidTicketException_WhenGivenInvalidRoomUuid() {
         Seat seat = Seat.fromString("A01");
@@ -112,6 +182,8 @@ public class TicketServiceUnitTests {
         Seat seat = Seat.fromString("A01");
 
         this.defaultRoom.setTickets(Collections.singletonList(new TicketDB(this.defaultRoom, null, seat)));
+        when(this.ticketRepository.findSeatsByRoomUuid(this.defaultRoom.getUuid()))
+                .thenReturn(Collections.singletonList(seat));
         when(this.orderRepository.findByUuid(this.defaultOrder.getUuid())).thenReturn(Optional.of(this.defaultOrder));
         when(this.roomRepository.findByUuid(this.defaultRoom.getUuid())).thenReturn(Optional.of(this.defaultRoom));
 
@@ -123,4 +195,291 @@ public class TicketServiceUnitTests {
                             pair.getKey())
                     ).withMessage(pair.getValue().toString());
     }
+
+    @Test
+    public void createTicket_ShouldReserveSeatInOccupancyIndex_WhenGivenRoomAndOrderUuidAndSeat() {
+        Seat seat = Seat.fromString("B02");
+
+        when(this.ticketRepository.save(any(TicketDB.class))).then(returnsFirstArg());
+        when(this.ticketRepository.findSeatsByRoomUuid(this.defaultRoom.getUuid()))
+                .thenReturn(Collections.emptyList());
+        when(this.roomRepository.findByUuid(this.defaultRoom.getUuid())).thenReturn(Optional.of(this.defaultRoom));
+        when(this.orderRepository.findByUuid(this.defaultOrder.getUuid())).thenReturn(Optional.of(this.defaultOrder));
+
+        this.ticketService.createTicket(this.defaultRoom.getUuid(), this.defaultOrder.getUuid(), seat);
+
+        Optional<SeatOccupancy> actual = this.ticketService.findOccupancy(this.defaultRoom.getUuid());
+
+        assertThat(actual).isNotEmpty();
+        assertThat(actual.get().isReserved(seat)).isTrue();
+        assertThat(actual.get().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void findOccupancy_ShouldLoadReservedSeats_WhenRoomNotIndexed() {
+        Seat seat = Seat.fromString("C03");
+
+        when(this.ticketRepository.findSeatsByRoomUuid(this.defaultRoom.getUuid()))
+                .thenReturn(Collections.singletonList(seat));
+        when(this.roomRepository.findByUuid(this.defaultRoom.getUuid())).thenReturn(Optional.of(this.defaultRoom));
+
+        Optional<SeatOccupancy> actual = this.ticketService.findOccupancy(this.defaultRoom.getUuid());
+
+        assertThat(actual).isNotEmpty();
+        assertThat(actual.get().isReserved(seat)).isTrue();
+        assertThat(actual.get().getNbRows()).isEqualTo(this.defaultRoom.getNbRows());
+        assertThat(actual.get().getNbCols()).isEqualTo(this.defaultRoom.getNbCols());
+    }
+
+    @Test
+    public void findOccupancy_ShouldReturnNull_WhenGivenUnknownRoomUuid() {
+        when(this.roomRepository.findByUuid(any(UUID.class))).thenReturn(Optional.empty());
+
+        assertThat(this.ticketService.findOccupancy(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    public void createTickets_ShouldInsertAllTicketsAtOnce_WhenGivenFreeSeats() {
+        List<Seat> seats = Arrays.asList(Seat.fromString("A01"), Seat.fromString("A02"), Seat.fromString("A03"));
+
+        when(this.roomRepository.findByUuid(this.defaultRoom.getUuid())).thenReturn(Optional.of(this.defaultRoom));
+        when(this.orderRepository.findByUuid(this.defaultOrder.getUuid())).thenReturn(Optional.of(this.defaultOrder));
+
+        TicketBatchDTO actual = this.ticketService.createTickets(
+                this.defaultRoom.getUuid(),
+                this.defaultOrder.getUuid(),
+                seats
+        );
+
+        assertThat(actual.isBooked()).isTrue();
+        assertThat(actual.getConflicts()).isEmpty();
+        assertThat(actual.getTickets()).extracting(TicketSeatDTO::getSeat).containsExactlyElementsOf(seats);
+        verify(this.ticketRepository, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    public void createTickets_ShouldReportConflictsAndInsertNothing_WhenGivenInvalidSeats() {
+        Seat reservedSeat = Seat.fromString("A01");
+        Seat freeSeat = Seat.fromString("A02");
+        Seat outOfBoundarySeat = Seat.fromString("A50");
+
+        when(this.ticketRepository.findSeatsByRoomUuid(this.defaultRoom.getUuid()))
+                .thenReturn(Collections.singletonList(reservedSeat));
+        when(this.roomRepository.findByUuid(this.defaultRoom.getUuid())).thenReturn(Optional.of(this.defaultRoom));
+        when(this.orderRepository.findByUuid(this.defaultOrder.getUuid())).thenReturn(Optional.of(this.defaultOrder));
+
+        TicketBatchDTO actual = this.ticketService.createTickets(
+                this.defaultRoom.getUuid(),
+                this.defaultOrder.getUuid(),
+                Arrays.asList(reservedSeat, freeSeat, outOfBoundarySeat, freeSeat, null)
+        );
+
+        assertThat(actual.isBooked()).isFalse();
+        assertThat(actual.getTickets()).isEmpty();
+        assertThat(actual.getConflicts()).containsOnly(
+                new AbstractMap.SimpleEntry<>(reservedSeat, InvalidTicketException.Type.EXISTS),
+                new AbstractMap.SimpleEntry<>(outOfBoundarySeat, InvalidTicketException.Type.CAPACITY),
+                new AbstractMap.SimpleEntry<>(freeSeat, InvalidTicketException.Type.EXISTS),
+                new AbstractMap.SimpleEntry<>(null, InvalidTicketException.Type.SEAT)
+        );
+        assertThat(this.ticketService.findOccupancy(this.defaultRoom.getUuid()).get().isReserved(freeSeat)).isFalse();
+        verify(this.ticketRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    public void createTickets_ShouldThrowAssociatedInvalidTicketException_WhenGivenInvalidUuidsOrNoSeat() {
+        when(this.roomRepository.findByUuid(any(UUID.class))).thenReturn(Optional.empty());
+        when(this.roomRepository.findByUuid(this.defaultRoom.getUuid())).thenReturn(Optional.of(this.defaultRoom));
+        when(this.orderRepository.findByUuid(any(UUID.class))).thenReturn(Optional.empty());
+        when(this.orderRepository.findByUuid(this.defaultOrder.getUuid())).thenReturn(Optional.of(this.defaultOrder));
+
+        List<Seat> seats = Collections.singletonList(Seat.fromString("A01"));
+
+        assertThatExceptionOfType(InvalidTicketException.class)
+                .isThrownBy(() -> this.ticketService.createTickets(UUID.randomUUID(), this.defaultOrder.getUuid(), seats))
+                .withMessage(InvalidTicketException.Type.ROOM.toString());
+
+        assertThatExceptionOfType(InvalidTicketException.class)
+                .isThrownBy(() -> this.ticketService.createTickets(this.defaultRoom.getUuid(), UUID.randomUUID(), seats))
+                .withMessage(InvalidTicketException.Type.ORDER.toString());
+
+        assertThatExceptionOfType(InvalidTicketException.class)
+                .isThrownBy(() -> this.ticketService.createTickets(
+                        this.defaultRoom.getUuid(),
+                        this.defaultOrder.getUuid(),
+                        Collections.emptyList())
+                ).withMessage(InvalidTicketException.Type.SEAT.toString());
+    }
+
+    @Test
+    public void holdSeat_ShouldMakeSeatUnavailable_WhenGivenFreeSeat() {
+        Seat seat = Seat.fromString("B02");
+
+        when(this.roomRepository.findByUuid(this.defaultRoom.getUuid())).thenReturn(Optional.of(this.defaultRoom));
+        when(this.orderRepository.findByUuid(this.defaultOrder.getUuid())).thenReturn(Optional.of(this.defaultOrder));
+        when(this.seatHoldRegistry.register(any(UUID.class), eq(this.defaultRoom.getUuid()), eq(seat)))
+                .then(invocation -> new SeatHold(invocation.getArgument(0), this.defaultRoom.getUuid(), seat, 0));
+
+        SeatHold actual = this.ticketService.holdSeat(this.defaultRoom.getUuid(), seat);
+
+        assertThat(actual.getSeat()).isEqualTo(seat);
+        assertThat(this.ticketService.findOccupancy(this.defaultRoom.getUuid()).get().isReserved(seat)).isTrue();
+
+        assertThatExceptionOfType(InvalidTicketException.class)
+                .isThrownBy(() -> this.ticketService.holdSeat(this.defaultRoom.getUuid(), seat))
+                .withMessage(InvalidTicketException.Type.EXISTS.toString());
+
+        assertThatExceptionOfType(InvalidTicketException.class)
+                .isThrownBy(() -> this.ticketService.createTicket(
+                        this.defaultRoom.getUuid(),
+                        this.defaultOrder.getUuid(),
+                        seat)
+                ).withMessage(InvalidTicketException.Type.EXISTS.toString());
+    }
+
+    @Test
+    public void holdSeat_ShouldThrowAssociatedInvalidTicketException_WhenGivenInvalidRoomOrSeat() {
+        when(this.roomRepository.findByUuid(any(UUID.class))).thenReturn(Optional.empty());
+
+        assertThatExceptionOfType(InvalidTicketException.class)
+                .isThrownBy(() -> this.ticketService.holdSeat(UUID.randomUUID(), Seat.fromString("A01")))
+                .withMessage(InvalidTicketException.Type.ROOM.toString());
+
+        assertThatExceptionOfType(InvalidTicketException.class)
+                .isThrownBy(() -> this.ticketService.holdSeat(this.defaultRoom.getUuid(), null))
+                .withMessage(InvalidTicketException.Type.SEAT.toString());
+
+        verify(this.seatHoldRegistry, never()).register(any(UUID.class), any(UUID.class), any(Seat.class));
+    }
+
+    @Test
+    public void createTicketsFromHolds_ShouldInsertHeldSeatsWithoutReloading_WhenHoldsAreLive() {
+        when(this.roomRepository.findByUuid(this.defaultRoom.getUuid())).thenReturn(Optional.of(this.defaultRoom));
+        when(this.orderRepository.findByUuid(this.defaultOrder.getUuid())).thenReturn(Optional.of(this.defaultOrder));
+        when(this.seatHoldRegistry.register(any(UUID.class), any(UUID.class), any(Seat.class))).then(invocation ->
+                new SeatHold(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), 0));
+
+        List<SeatHold> holds = Arrays.asList(
+                this.ticketService.holdSeat(this.defaultRoom.getUuid(), Seat.fromString("C01")),
+                this.ticketService.holdSeat(this.defaultRoom.getUuid(), Seat.fromString("C02"))
+        );
+
+        when(this.seatHoldRegistry.claim(this.defaultRoom.getUuid(), holds)).thenReturn(holds);
+
+        TicketBatchDTO actual = this.ticketService.createTicketsFromHolds(
+                this.defaultRoom.getUuid(),
+                this.defaultOrder.getUuid(),
+                holds
+        );
+
+        SeatOccupancy occupancy = this.ticketService.findOccupancy(this.defaultRoom.getUuid()).get();
+
+        assertThat(actual.isBooked()).isTrue();
+        assertThat(actual.getTickets()).extracting(TicketSeatDTO::getSeat)
+                .containsExactly(Seat.fromString("C01"), Seat.fromString("C02"));
+        assertThat(occupancy.getCount()).isEqualTo(2);
+        verify(this.ticketRepository, times(1)).findSeatsByRoomUuid(this.defaultRoom.getUuid());
+        verify(this.ticketRepository, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    public void createTicketsFromHolds_ShouldReleaseHoldsAndInsertNothing_WhenExpiredHoldSeatWasTaken() {
+        Seat heldSeat = Seat.fromString("D01");
+        Seat expiredSeat = Seat.fromString("D02");
+
+        when(this.ticketRepository.save(any(TicketDB.class))).then(returnsFirstArg());
+        when(this.roomRepository.findByUuid(this.defaultRoom.getUuid())).thenReturn(Optional.of(this.defaultRoom));
+        when(this.orderRepository.findByUuid(this.defaultOrder.getUuid())).thenReturn(Optional.of(this.defaultOrder));
+        when(this.seatHoldRegistry.register(any(UUID.class), any(UUID.class), any(Seat.class))).then(invocation ->
+                new SeatHold(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), 0));
+
+        SeatHold hold = this.ticketService.holdSeat(this.defaultRoom.getUuid(), heldSeat);
+        SeatHold expiredHold = this.ticketService.holdSeat(this.defaultRoom.getUuid(), expiredSeat);
+        List<SeatHold> holds = Arrays.asList(hold, expiredHold);
+
+        this.seatOccupancyIndex.unhold(this.defaultRoom.getUuid(), expiredSeat, expiredHold.getUuid());
+        this.ticketService.createTicket(this.defaultRoom.getUuid(), this.defaultOrder.getUuid(), expiredSeat);
+
+        when(this.seatHoldRegistry.claim(this.defaultRoom.getUuid(), holds))
+                .thenReturn(Collections.singletonList(hold));
+
+        TicketBatchDTO actual = this.ticketService.createTicketsFromHolds(
+                this.defaultRoom.getUuid(),
+                this.defaultOrder.getUuid(),
+                holds
+        );
+
+        assertThat(actual.isBooked()).isFalse();
+        assertThat(actual.getConflicts()).containsOnly(
+                new AbstractMap.SimpleEntry<>(expiredSeat, InvalidTicketException.Type.EXISTS)
+        );
+        assertThat(this.ticketService.findOccupancy(this.defaultRoom.getUuid()).get().isReserved(heldSeat)).isFalse();
+        verify(this.ticketRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    public void createTicketsFromHolds_ShouldConflictAndKeepLaterHold_WhenRoomWasEvictedSinceHold() {
+        Seat seat = Seat.fromString("E01");
+
+        when(this.roomRepository.findByUuid(this.defaultRoom.getUuid())).thenReturn(Optional.of(this.defaultRoom));
+        when(this.orderRepository.findByUuid(this.defaultOrder.getUuid())).thenReturn(Optional.of(this.defaultOrder));
+        when(this.seatHoldRegistry.register(any(UUID.class), any(UUID.class), any(Seat.class))).then(invocation ->
+                new SeatHold(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), 0));
+
+        SeatHold staleHold = this.ticketService.holdSeat(this.defaultRoom.getUuid(), seat);
+
+        this.seatOccupancyIndex.evict(this.defaultRoom.getUuid());
+
+        SeatHold hold = this.ticketService.holdSeat(this.defaultRoom.getUuid(), seat);
+        List<SeatHold> staleHolds = Collections.singletonList(staleHold);
+
+        this.seatOccupancyIndex.unhold(this.defaultRoom.getUuid(), seat, staleHold.getUuid());
+
+        assertThat(this.ticketService.findOccupancy(this.defaultRoom.getUuid()).get().isReserved(seat)).isTrue();
+
+        when(this.seatHoldRegistry.claim(this.defaultRoom.getUuid(), staleHolds)).thenReturn(staleHolds);
+
+        TicketBatchDTO actual = this.ticketService.createTicketsFromHolds(
+                this.defaultRoom.getUuid(),
+                this.defaultOrder.getUuid(),
+                staleHolds
+        );
+
+        assertThat(actual.getConflicts()).containsOnly(
+                new AbstractMap.SimpleEntry<>(seat, InvalidTicketException.Type.EXISTS)
+        );
+        assertThat(this.ticketService.findOccupancy(this.defaultRoom.getUuid()).get().isReserved(seat)).isTrue();
+
+        this.seatOccupancyIndex.unhold(this.defaultRoom.getUuid(), seat, hold.getUuid());
+
+        assertThat(this.ticketService.findOccupancy(this.defaultRoom.getUuid()).get().isReserved(seat)).isFalse();
+        verify(this.ticketRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    public void holdBestBlock_ShouldHoldAdjacentFreeSeats_WhenRoomHasEnoughSpace() {
+        when(this.roomRepository.findByUuid(this.defaultRoom.getUuid())).thenReturn(Optional.of(this.defaultRoom));
+        when(this.seatHoldRegistry.register(any(UUID.class), any(UUID.class), any(Seat.class))).then(invocation ->
+                new SeatHold(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), 0));
+
+        Optional<List<Seat>> expected = this.ticketService.findBestBlock(this.defaultRoom.getUuid(), 5);
+        List<SeatHold> actual = this.ticketService.holdBestBlock(this.defaultRoom.getUuid(), 5);
+
+        assertThat(expected).isPresent();
+        assertThat(actual).extracting(SeatHold::getSeat).containsExactlyElementsOf(expected.get());
+        assertThat(this.ticketService.findBestBlock(this.defaultRoom.getUuid(), 5))
+                .hasValueSatisfying(block -> assertThat(block).doesNotContainAnyElementsOf(expected.get()));
+        assertThat(this.ticketService.findOccupancy(this.defaultRoom.getUuid()).get().getCount()).isEqualTo(5);
+    }
+
+    @Test
+    public void holdBestBlock_ShouldReturnEmpty_WhenGivenUnknownRoomOrTooLargeGroup() {
+        when(this.roomRepository.findByUuid(any(UUID.class))).thenReturn(Optional.empty());
+        when(this.roomRepository.findByUuid(this.defaultRoom.getUuid())).thenReturn(Optional.of(this.defaultRoom));
+
+        assertThat(this.ticketService.holdBestBlock(UUID.randomUUID(), 2)).isEmpty();
+        assertThat(this.ticketService.holdBestBlock(this.defaultRoom.getUuid(), this.defaultRoom.getNbCols() + 1))
+                .isEmpty();
+        verify(this.seatHoldRegistry, never()).register(any(UUID.class), any(UUID.class), any(Seat.class));
+    }
 }
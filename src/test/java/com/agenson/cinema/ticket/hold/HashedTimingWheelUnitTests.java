@@ -0,0 +1,115 @@
+package com.agenson.cinema.ticket.hold;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HashedTimingWheelUnitTests {
+
+    private static final long TICK = 100;
+
+    @Test
+    public void constructor_ShouldRoundWheelSizeToPowerOfTwo_WhenGivenAnySize() {
+        assertThat(new HashedTimingWheel<String>(TICK, 1, 0).getWheelSize()).isEqualTo(2);
+        assertThat(new HashedTimingWheel<String>(TICK, 64, 0).getWheelSize()).isEqualTo(64);
+        assertThat(new HashedTimingWheel<String>(TICK, 65, 0).getWheelSize()).isEqualTo(128);
+    }
+
+    @Test
+    public void advance_ShouldReturnItem_OnlyOnceDeadlineHasPassed() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+
+        wheel.schedule("item", 250);
+
+        assertThat(wheel.advance(100)).isEmpty();
+        assertThat(wheel.advance(200)).isEmpty();
+        assertThat(wheel.advance(300)).containsExactly("item");
+        assertThat(wheel.advance(400)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    public void schedule_ShouldExpireTimeoutOnNextTick_WhenScheduledAfterItsDeadline() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+        HashedTimingWheel.Timeout<String> timeout = wheel.timeout("item", 150);
+
+        assertThat(wheel.advance(300)).isEmpty();
+        assertThat(wheel.schedule(timeout)).isTrue();
+        assertThat(wheel.schedule(timeout)).isFalse();
+        assertThat(wheel.advance(400)).containsExactly("item");
+    }
+
+    @Test
+    public void advance_ShouldKeepItem_WhenDeadlineIsSeveralRoundsAhead() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 4, 0);
+
+        wheel.schedule("late", 1000);
+        wheel.schedule("early", 200);
+
+        assertThat(wheel.advance(200)).containsExactly("early");
+        assertThat(wheel.advance(600)).isEmpty();
+        assertThat(wheel.advance(900)).isEmpty();
+        assertThat(wheel.advance(1000)).containsExactly("late");
+    }
+
+    @Test
+    public void advance_ShouldReturnEveryDueItem_WhenCalledAfterLongPause() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(TICK, 4, 0);
+
+        for (int i = 1; i <= 20; i++)
+            wheel.schedule(i, i * TICK);
+
+        assertThat(wheel.advance(10 * TICK)).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        assertThat(wheel.size()).isEqualTo(10);
+    }
+
+    @Test
+    public void schedule_ShouldExpireOnNextTick_WhenGivenPastDeadline() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+
+        wheel.advance(500);
+        wheel.schedule("past", 100);
+
+        assertThat(wheel.advance(550)).isEmpty();
+        assertThat(wheel.advance(600)).containsExactly("past");
+    }
+
+    @Test
+    public void cancel_ShouldRemoveItem_WhenScheduled() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+        HashedTimingWheel.Timeout<String> first = wheel.schedule("first", 200);
+        HashedTimingWheel.Timeout<String> second = wheel.schedule("second", 200);
+
+        assertThat(wheel.cancel(second)).isTrue();
+        assertThat(wheel.cancel(second)).isFalse();
+        assertThat(wheel.advance(200)).containsExactly("first");
+        assertThat(wheel.cancel(first)).isFalse();
+    }
+
+    @Test
+    public void advance_ShouldOnlyVisitDueItems_WhenManyItemsScheduled() {
+        int nbItems = 100_000;
+        int nbTicks = 3000;
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(TICK, nbTicks, 0);
+        Random random = new Random(42);
+        int[] expectedPerTick = new int[nbTicks + 1];
+
+        for (int i = 0; i < nbItems; i++) {
+            int tick = 1 + random.nextInt(nbTicks);
+
+            wheel.schedule(i, tick * TICK);
+            expectedPerTick[tick]++;
+        }
+
+        for (int tick = 1; tick <= nbTicks; tick++) {
+            List<Integer> expired = wheel.advance(tick * TICK);
+
+            assertThat(expired).hasSize(expectedPerTick[tick]);
+        }
+
+        assertThat(wheel.size()).isZero();
+    }
+}
@@ -0,0 +1,90 @@
+package com.agenson.cinema.ticket.hold;
+
+import com.agenson.cinema.ticket.SeatOccupancyIndex;
+import com.agenson.cinema.ticket.seat.Seat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class SeatHoldRegistryUnitTests {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    @Mock
+    private SeatOccupancyIndex seatOccupancyIndex;
+
+    private SeatHoldRegistry seatHoldRegistry;
+
+    private final UUID roomUuid = UUID.randomUUID();
+
+    @BeforeEach
+    public void setup() {
+        this.seatHoldRegistry = new SeatHoldRegistry(this.seatOccupancyIndex, TTL, Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void register_ShouldReturnLiveHold_WhenGivenRoomAndSeat() {
+        long before = System.currentTimeMillis();
+        SeatHold hold = this.seatHoldRegistry.register(UUID.randomUUID(), this.roomUuid, Seat.fromString("A01"));
+
+        assertThat(this.seatHoldRegistry.isLive(hold)).isTrue();
+        assertThat(hold.getRoomUuid()).isEqualTo(this.roomUuid);
+        assertThat(hold.getSeat()).isEqualTo(Seat.fromString("A01"));
+        assertThat(hold.getExpiresAt()).isGreaterThanOrEqualTo(before + TTL.toMillis());
+    }
+
+    @Test
+    public void expire_ShouldReleaseHeldSeat_WhenHoldDeadlineHasPassed() {
+        SeatHold hold = this.seatHoldRegistry.register(UUID.randomUUID(), this.roomUuid, Seat.fromString("A01"));
+
+        assertThat(this.seatHoldRegistry.expire(hold.getExpiresAt() - TTL.toMillis() / 2)).isZero();
+        verify(this.seatOccupancyIndex, never()).unhold(any(UUID.class), any(Seat.class), any(UUID.class));
+
+        assertThat(this.seatHoldRegistry.expire(hold.getExpiresAt() + 1000)).isEqualTo(1);
+        assertThat(this.seatHoldRegistry.isLive(hold)).isFalse();
+        verify(this.seatOccupancyIndex).unhold(this.roomUuid, hold.getSeat(), hold.getUuid());
+    }
+
+    @Test
+    public void claim_ShouldReturnLiveHoldsOfRoom_AndStopTheirExpiry() {
+        SeatHold first = this.seatHoldRegistry.register(UUID.randomUUID(), this.roomUuid, Seat.fromString("A01"));
+        SeatHold second = this.seatHoldRegistry.register(UUID.randomUUID(), this.roomUuid, Seat.fromString("A02"));
+        SeatHold otherRoom =
+                this.seatHoldRegistry.register(UUID.randomUUID(), UUID.randomUUID(), Seat.fromString("A03"));
+
+        this.seatHoldRegistry.release(second);
+
+        assertThat(this.seatHoldRegistry.claim(this.roomUuid, Arrays.asList(first, second, otherRoom, null)))
+                .containsExactly(first);
+        assertThat(this.seatHoldRegistry.isLive(first)).isFalse();
+        assertThat(this.seatHoldRegistry.isLive(otherRoom)).isTrue();
+
+        this.seatHoldRegistry.expire(first.getExpiresAt() + 1000);
+
+        verify(this.seatOccupancyIndex, never()).unhold(this.roomUuid, first.getSeat(), first.getUuid());
+    }
+
+    @Test
+    public void release_ShouldUnholdSeatOnlyOnce_WhenCalledTwice() {
+        SeatHold hold = this.seatHoldRegistry.register(UUID.randomUUID(), this.roomUuid, Seat.fromString("A01"));
+
+        assertThat(this.seatHoldRegistry.release(hold)).isTrue();
+        assertThat(this.seatHoldRegistry.release(hold)).isFalse();
+        assertThat(this.seatHoldRegistry.release(null)).isFalse();
+        assertThat(this.seatHoldRegistry.size()).isZero();
+
+        verify(this.seatOccupancyIndex).unhold(this.roomUuid, hold.getSeat(), hold.getUuid());
+    }
+}
@@ -0,0 +1,142 @@
+package com.agenson.cinema.ticket.seat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SeatOccupancyUnitTests {
+
+    private static final int NB_ROWS = 10;
+    private static final int NB_COLS = 20;
+
+    @Test
+    public void fits_ShouldReturnTrue_WhenGivenSeatInsideRoom() {
+        SeatOccupancy occupancy = new SeatOccupancy(NB_ROWS, NB_COLS);
+
+        for (String seat : Arrays.asList("A01", "A20", "J01", "J20"))
+            assertThat(occupancy.fits(Seat.fromString(seat))).isTrue();
+    }
+
+    @Test
+    public void fits_ShouldReturnFalse_WhenGivenSeatOutsideRoom() {
+        SeatOccupancy occupancy = new SeatOccupancy(NB_ROWS, NB_COLS);
+
+        for (String seat : Arrays.asList("A21", "K01", "Z52"))
+            assertThat(occupancy.fits(Seat.fromString(seat))).isFalse();
+
+        assertThat(occupancy.fits(null)).isFalse();
+    }
+
+    @Test
+    public void fits_ShouldAcceptEverySeat_WhenGivenLargestRoom() {
+        SeatOccupancy occupancy = new SeatOccupancy(Seat.MAX_ROW, Seat.MAX_COL);
+
+        assertThat(occupancy.fits(Seat.fromString("Z52"))).isTrue();
+        assertThat(occupancy.reserve(Seat.fromString("Z52"))).isTrue();
+        assertThat(occupancy.isReserved(Seat.MAX_ROW, Seat.MAX_COL)).isTrue();
+    }
+
+    @Test
+    public void reserve_ShouldMarkSeatAsReserved_WhenGivenFreeSeat() {
+        SeatOccupancy occupancy = new SeatOccupancy(NB_ROWS, NB_COLS);
+        Seat seat = Seat.fromString("B03");
+
+        assertThat(occupancy.reserve(seat)).isTrue();
+        assertThat(occupancy.isReserved(seat)).isTrue();
+        assertThat(occupancy.isReserved(Seat.fromString("B02"))).isFalse();
+        assertThat(occupancy.isReserved(Seat.fromString("A03"))).isFalse();
+        assertThat(occupancy.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void reserve_ShouldReturnFalse_WhenGivenReservedOrOutOfBoundarySeat() {
+        SeatOccupancy occupancy = new SeatOccupancy(NB_ROWS, NB_COLS, Arrays.asList(Seat.fromString("B03")));
+
+        assertThat(occupancy.reserve(Seat.fromString("B03"))).isFalse();
+        assertThat(occupancy.reserve(Seat.fromString("B21"))).isFalse();
+        assertThat(occupancy.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void release_ShouldFreeSeat_WhenGivenReservedSeat() {
+        Seat seat = Seat.fromString("C04");
+        SeatOccupancy occupancy = new SeatOccupancy(NB_ROWS, NB_COLS, Arrays.asList(seat));
+
+        assertThat(occupancy.release(seat)).isTrue();
+        assertThat(occupancy.isReserved(seat)).isFalse();
+        assertThat(occupancy.release(seat)).isFalse();
+        assertThat(occupancy.getCount()).isZero();
+    }
+
+    @Test
+    public void copy_ShouldNotShareState_WhenModified() {
+        SeatOccupancy occupancy = new SeatOccupancy(NB_ROWS, NB_COLS, Arrays.asList(Seat.fromString("A01")));
+        SeatOccupancy copy = occupancy.copy();
+
+        copy.reserve(Seat.fromString("A02"));
+
+        assertThat(copy.isReserved(Seat.fromString("A01"))).isTrue();
+        assertThat(occupancy.isReserved(Seat.fromString("A02"))).isFalse();
+        assertThat(occupancy.getCount()).isEqualTo(1);
+        assertThat(copy.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void getFreeRun_ShouldFollowReservations_WhenSeatsReservedAndReleased() {
+        SeatOccupancy occupancy = new SeatOccupancy(NB_ROWS, NB_COLS);
+
+        assertThat(occupancy.getFreeRun(1)).isEqualTo(NB_COLS);
+
+        occupancy.reserve(Seat.fromString("A08"));
+        assertThat(occupancy.getFreeRun(1)).isEqualTo(12);
+
+        occupancy.reserve(Seat.fromString("A15"));
+        assertThat(occupancy.getFreeRun(1)).isEqualTo(7);
+
+        occupancy.release(Seat.fromString("A08"));
+        assertThat(occupancy.getFreeRun(1)).isEqualTo(14);
+        assertThat(occupancy.getFreeRun(NB_ROWS + 1)).isZero();
+    }
+
+    @Test
+    public void findBestBlock_ShouldReturnCentredSeats_WhenRoomIsEmpty() {
+        SeatOccupancy occupancy = new SeatOccupancy(NB_ROWS, NB_COLS);
+
+        assertThat(occupancy.findBestBlock(4, null)).contains(seats("E09", "E10", "E11", "E12"));
+        assertThat(occupancy.findBestBlock(NB_COLS, null)).hasValueSatisfying(block -> {
+            assertThat(block).hasSize(NB_COLS);
+            assertThat(block.get(0)).isEqualTo(Seat.fromString("E01"));
+        });
+    }
+
+    @Test
+    public void findBestBlock_ShouldAvoidReservedAndUnavailableSeats_WhenCentreIsTaken() {
+        SeatOccupancy occupancy = new SeatOccupancy(NB_ROWS, NB_COLS, seats("E10", "F10"));
+        SeatOccupancy held = new SeatOccupancy(NB_ROWS, NB_COLS, seats("E12"));
+
+        Optional<List<Seat>> actual = occupancy.findBestBlock(3, held);
+
+        assertThat(actual).isPresent();
+        assertThat(actual.get()).doesNotContainAnyElementsOf(seats("E10", "F10", "E12"));
+        assertThat(actual).contains(seats("D09", "D10", "D11"));
+    }
+
+    @Test
+    public void findBestBlock_ShouldReturnEmpty_WhenNoRowHasEnoughAdjacentFreeSeats() {
+        SeatOccupancy occupancy = new SeatOccupancy(2, 5, seats("A03", "B02"));
+
+        assertThat(occupancy.findBestBlock(3, null)).contains(seats("B03", "B04", "B05"));
+        assertThat(occupancy.findBestBlock(3, new SeatOccupancy(2, 5, seats("B04")))).isEmpty();
+        assertThat(occupancy.findBestBlock(6, null)).isEmpty();
+        assertThat(occupancy.findBestBlock(0, null)).isEmpty();
+    }
+
+    private static List<Seat> seats(String... seats) {
+        return Arrays.stream(seats).map(Seat::fromString).collect(Collectors.toList());
+    }
+}
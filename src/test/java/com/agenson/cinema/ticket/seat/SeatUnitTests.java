@@ -77,6 +77,71 @@ public class SeatUnitTests {
         });
     }
 
+    @Test
+    public void of_ShouldReturnSeat_WhenGivenRowAndColumnInsideBoundaries() {
+        assertThat(Seat.of(1, 1)).isEqualTo(Seat.fromString("A01"));
+        assertThat(Seat.of(Seat.MAX_ROW, Seat.MAX_COL)).isEqualTo(Seat.fromString("Z52"));
+    }
+
+    @Test
+    public void of_ShouldThrowAssociatedInvalidSeatException_WhenGivenRowOrColumnOutOfBoundaries() {
+        for (int row : Arrays.asList(0, Seat.MAX_ROW + 1))
+            assertThatExceptionOfType(InvalidSeatException.class)
+                    .isThrownBy(() -> Seat.of(row, 1))
+                    .withMessage(InvalidSeatException.Type.ROW.toString());
+
+        this.testColumnOutOfBound(value -> {
+            assertThatExceptionOfType(InvalidSeatException.class)
+                    .isThrownBy(() -> Seat.of(1, value))
+                    .withMessage(InvalidSeatException.Type.COL.toString());
+        });
+    }
+
+    @Test
+    public void of_ShouldReturnSharedInstance_WhenGivenSamePosition() {
+        assertThat(Seat.of(4, 12)).isSameAs(Seat.of(4, 12));
+        assertThat(Seat.fromString("D12")).isSameAs(Seat.of(4, 12));
+        assertThat(Seat.fromString("D12").toString()).isSameAs(Seat.of(4, 12).toString());
+    }
+
+    @Test
+    public void fromCode_ShouldReturnSeat_WhenGivenPackedRowAndColumn() {
+        assertThat(Seat.fromCode((short) 257)).isEqualTo(Seat.fromString("A01"));
+        assertThat(Seat.fromCode((short) 1036)).isEqualTo(Seat.fromString("D12"));
+
+        for (char c : ALPHABET.toCharArray()) {
+            for (int i = 1; i <= Seat.MAX_COL; i++) {
+                Seat seat = Seat.fromString(String.format("%c%02d", c, i));
+
+                assertThat(Seat.fromCode(seat.getCode())).isSameAs(seat);
+            }
+        }
+    }
+
+    @Test
+    public void fromCode_ShouldThrowAssociatedInvalidSeatException_WhenGivenInvalidCode() {
+        for (short code : new short[]{0, 1, (short) (27 << 8 | 1), -1})
+            assertThatExceptionOfType(InvalidSeatException.class)
+                    .isThrownBy(() -> Seat.fromCode(code))
+                    .withMessage(InvalidSeatException.Type.ROW.toString());
+
+        for (short code : new short[]{256, (short) (1 << 8 | 53)})
+            assertThatExceptionOfType(InvalidSeatException.class)
+                    .isThrownBy(() -> Seat.fromCode(code))
+                    .withMessage(InvalidSeatException.Type.COL.toString());
+    }
+
+    @Test
+    public void fromString_ShouldReadColumnLikeParseInt_WhenGivenSignOrLeadingZeros() {
+        assertThat(Seat.fromString("A+5")).isEqualTo(Seat.of(1, 5));
+        assertThat(Seat.fromString("A0005")).isEqualTo(Seat.of(1, 5));
+
+        for (String str : Arrays.asList("A+", "A-", "A99999999999", "A1-"))
+            assertThatExceptionOfType(InvalidSeatException.class)
+                    .isThrownBy(() -> Seat.fromString(str))
+                    .withMessage(InvalidSeatException.Type.FORMAT.toString());
+    }
+
     private void testRowOutOfBound(CallableOneArgument<Character> callable) {
         for (char c = 0; c < 'A'; c++)
             callable.call(c);
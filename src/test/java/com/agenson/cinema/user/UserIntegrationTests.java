@@ -1,19 +1,27 @@
 package com.agenson.cinema.user;
 
+import com.agenson.cinema.order.OrderDB;
+import com.agenson.cinema.room.RoomDB;
 import com.agenson.cinema.security.SecurityRole;
 import com.agenson.cinema.security.SecurityService;
+import com.agenson.cinema.ticket.TicketDB;
+import com.agenson.cinema.ticket.seat.Seat;
 import com.agenson.cinema.utils.StaffSecurityAssertion;
+import com.agenson.cinema.utils.StatementCounter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,6 +42,9 @@ public class UserIntegrationTests implements UserConstants {
     @Autowired
     private SecurityService securityService;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -62,13 +73,41 @@ public class UserIntegrationTests implements UserConstants {
         UserDB user = this.userRepository.save(new UserDB(NORMAL_USERNAME, this.defaultPasswordEncoded));
         this.loginAs(user);
 
-        UserCompleteDTO expected = new UserCompleteDTO(user);
+        UserSummary summary = new SpelAwareProxyProjectionFactory().createProjection(UserSummary.class, user);
+        UserCompleteDTO expected = new UserCompleteDTO(summary, Collections.emptyList());
         Optional<UserCompleteDTO> actual = this.userService.findUser(user.getUuid());
 
         assertThat(actual).isNotEmpty();
         assertThat(actual.get()).isEqualTo(expected);
     }
 
+    @Test
+    public void findUser_ShouldIssueTwoStatements_WhenUserHasOrdersInSoldOutRoom() {
+        UserDB user = this.userRepository.save(new UserDB(NORMAL_USERNAME, this.defaultPasswordEncoded));
+        RoomDB room = new RoomDB(1, 10, 20);
+        OrderDB order = new OrderDB(user);
+        OrderDB otherOrder = new OrderDB(this.defaultUser);
+
+        this.entityManager.persist(room);
+        this.entityManager.persist(order);
+        this.entityManager.persist(otherOrder);
+
+        for (int i = 0; i < 200; i++) {
+            OrderDB ticketOrder = (i < 20) ? order : otherOrder;
+
+            this.entityManager.persist(new TicketDB(room, ticketOrder, Seat.of(1 + i / 20, 1 + i % 20)));
+        }
+
+        this.loginAs(user);
+
+        assertThat(StatementCounter.count(this.entityManager, () -> this.userService.findUser(user.getUuid())))
+                .isEqualTo(2);
+        assertThat(this.userService.findUser(user.getUuid())).hasValueSatisfying(actual -> {
+            assertThat(actual.getOrders()).hasSize(1);
+            assertThat(actual.getOrders().get(0).getSeats()).hasSize(20);
+        });
+    }
+
     @Test
     public void findUser_ShouldThrowSecurityException_WhenNotLoggedInAsUser() {
         StaffSecurityAssertion.assertShouldThrowSecurityException(
@@ -97,6 +136,23 @@ public class UserIntegrationTests implements UserConstants {
         assertThat(actual).containsOnlyOnceElementsOf(expected);
     }
 
+    @Test
+    public void findUsers_ShouldIssueOneStatement_WhenUsersHaveOrders() {
+        RoomDB room = new RoomDB(1, 10, 20);
+
+        this.entityManager.persist(room);
+
+        for (int i = 0; i < 20; i++) {
+            UserDB user = this.userRepository.save(new UserDB("user" + i, this.defaultPasswordEncoded));
+            OrderDB order = new OrderDB(user);
+
+            this.entityManager.persist(order);
+            this.entityManager.persist(new TicketDB(room, order, Seat.of(1, 1 + i)));
+        }
+
+        assertThat(StatementCounter.count(this.entityManager, () -> this.userService.findUsers())).isEqualTo(1);
+    }
+
     @Test
     public void findUsers_ShouldThrowSecurityException_WhenNotLoggedInAsStaff() {
         StaffSecurityAssertion.assertShouldThrowSecurityException(
@@ -10,6 +10,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -64,4 +65,37 @@ public class UserRepositoryUnitTests implements UserConstants {
 
         assertThat(actual).isEmpty();
     }
+
+    @Test
+    public void findAllSummaries_ShouldReturnPersistedUsers() {
+        List<UserSummary> actual = this.userRepository.findAllSummaries();
+
+        assertThat(actual).anySatisfy(user -> {
+            assertThat(user.getUuid()).isEqualTo(this.expected.getUuid());
+            assertThat(user.getUsername()).isEqualTo(this.expected.getUsername());
+            assertThat(user.getRole()).isEqualTo(this.expected.getRole());
+        });
+    }
+
+    @Test
+    public void findCredentialsByUsername_ShouldReturnCredentials_WhenGivenPersistedUsername() {
+        Optional<UserCredentials> actual = this.userRepository.findCredentialsByUsername(this.expected.getUsername());
+
+        assertThat(actual).isNotEmpty();
+        assertThat(actual.get().getUuid()).isEqualTo(this.expected.getUuid());
+        assertThat(actual.get().getUsername()).isEqualTo(this.expected.getUsername());
+        assertThat(actual.get().getPassword()).isEqualTo(this.expected.getPassword());
+        assertThat(actual.get().getRole()).isEqualTo(this.expected.getRole());
+    }
+
+    @Test
+    public void findCredentialsByUsername_ShouldReturnNull_WhenGivenUnknownUsername() {
+        assertThat(this.userRepository.findCredentialsByUsername(UNKNOWN_USERNAME)).isEmpty();
+    }
+
+    @Test
+    public void existsByUsername_ShouldReturnWhetherUsernameIsTaken() {
+        assertThat(this.userRepository.existsByUsername(this.expected.getUsername())).isTrue();
+        assertThat(this.userRepository.existsByUsername(UNKNOWN_USERNAME)).isFalse();
+    }
 }
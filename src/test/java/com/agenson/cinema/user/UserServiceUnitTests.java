@@ -1,11 +1,16 @@
 package com.agenson.cinema.user;
 
+import com.agenson.cinema.order.OrderService;
+import com.agenson.cinema.order.OrderSummaryDTO;
+import com.agenson.cinema.security.PasswordHasher;
 import com.agenson.cinema.security.SecurityRole;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.util.*;
@@ -21,6 +26,8 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 public class UserServiceUnitTests implements UserConstants {
 
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
     private static final String NORMAL_PASSWORD_ENCODED = new BCryptPasswordEncoder().encode(NORMAL_PASSWORD);
 
     private static final HashMap<String, InvalidUserException.Type> INVALID_USER_USERNAMES =
@@ -39,11 +46,14 @@ public class UserServiceUnitTests implements UserConstants {
             }};
 
     @Mock
-    private BCryptPasswordEncoder encoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private OrderService orderService;
+
     @InjectMocks
     private UserService userService;
 
@@ -51,9 +61,13 @@ public class UserServiceUnitTests implements UserConstants {
     public void findUser_ShouldReturnUser_WhenGivenUuid() {
         UserDB user = new UserDB(NORMAL_USERNAME, NORMAL_PASSWORD_ENCODED);
 
-        when(this.userRepository.findByUuid(user.getUuid())).thenReturn(Optional.of(user));
+        UserSummary summary = PROJECTIONS.createProjection(UserSummary.class, user);
+        List<OrderSummaryDTO> orders = Collections.emptyList();
+
+        when(this.userRepository.findSummaryByUuid(user.getUuid())).thenReturn(Optional.of(summary));
+        when(this.orderService.findOrderSummaries(user.getUuid())).thenReturn(orders);
 
-        UserCompleteDTO expected = new UserCompleteDTO(user);
+        UserCompleteDTO expected = new UserCompleteDTO(summary, orders);
         Optional<UserCompleteDTO> actual = this.userService.findUser(user.getUuid());
 
         assertThat(actual).isNotEmpty();
@@ -63,7 +77,7 @@ public class UserServiceUnitTests implements UserConstants {
     @Test
     // Mock test only: will throw SecurityException when not logged in as user
     public void findUser_ShouldReturnNull_WhenGivenUnknownUuid() {
-        when(this.userRepository.findByUuid(any(UUID.class))).thenReturn(Optional.empty());
+        when(this.userRepository.findSummaryByUuid(any(UUID.class))).thenReturn(Optional.empty());
 
         assertThat(this.userService.findUser(UUID.randomUUID())).isEmpty();
         assertThat(this.userService.findUser(null)).isEmpty();
@@ -71,12 +85,12 @@ public class UserServiceUnitTests implements UserConstants {
 
     @Test
     public void findUsers_ShouldReturnUserList() {
-        List<UserDB> userList = Arrays.asList(
-                new UserDB(NORMAL_USERNAME, NORMAL_PASSWORD_ENCODED),
-                new UserDB(ANOTHER_USERNAME, NORMAL_PASSWORD_ENCODED)
+        List<UserSummary> userList = Arrays.asList(
+                PROJECTIONS.createProjection(UserSummary.class, new UserDB(NORMAL_USERNAME, NORMAL_PASSWORD_ENCODED)),
+                PROJECTIONS.createProjection(UserSummary.class, new UserDB(ANOTHER_USERNAME, NORMAL_PASSWORD_ENCODED))
         );
 
-        when(this.userRepository.findAll()).thenReturn(userList);
+        when(this.userRepository.findAllSummaries()).thenReturn(userList);
 
         List<UserDetailsDTO> actual = this.userService.findUsers();
         List<UserDetailsDTO> expected = userList.stream().map(UserDetailsDTO::new).collect(Collectors.toList());
@@ -87,9 +101,9 @@ public class UserServiceUnitTests implements UserConstants {
 
     @Test
     public void createUser_ShouldReturnUser_WhenGivenCredentials() {
-        when(this.userRepository.findByUsername(NORMAL_USERNAME)).thenReturn(Optional.empty());
+        when(this.userRepository.existsByUsername(NORMAL_USERNAME)).thenReturn(false);
         when(this.userRepository.save(any(UserDB.class))).then(returnsFirstArg());
-        when(this.encoder.encode(NORMAL_PASSWORD)).thenReturn(NORMAL_PASSWORD_ENCODED);
+        when(this.passwordHasher.encode(NORMAL_PASSWORD)).thenReturn(NORMAL_PASSWORD_ENCODED);
 
         UserBasicDTO actual = this.userService.createUser(NORMAL_USERNAME, NORMAL_PASSWORD);
 
@@ -99,18 +113,14 @@ public class UserServiceUnitTests implements UserConstants {
 
     @Test
     public void createUser_ShouldThrowAssociatedInvalidUserException_WhenGivenInvalidCredentials() {
-        when(this.userRepository.findByUsername(anyString())).thenAnswer(invocation -> {
-            UserDB userWithSameUsername = new UserDB(invocation.getArgument(0), NORMAL_PASSWORD_ENCODED);
-
-            return Optional.of(userWithSameUsername);
-        });
+        when(this.userRepository.existsByUsername(anyString())).thenReturn(true);
 
         for (Map.Entry<String, InvalidUserException.Type> pair : INVALID_USER_USERNAMES.entrySet())
             assertThatExceptionOfType(InvalidUserException.class)
                     .isThrownBy(() -> this.userService.createUser(pair.getKey(), NORMAL_PASSWORD))
                     .withMessage(pair.getValue().toString());
 
-        when(this.userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+        when(this.userRepository.existsByUsername(anyString())).thenReturn(false);
 
         for (Map.Entry<String, InvalidUserException.Type> pair : INVALID_USER_PASSWORDS.entrySet())
             assertThatExceptionOfType(InvalidUserException.class)
@@ -0,0 +1,29 @@
+package com.agenson.cinema.utils;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManager;
+
+public class StatementCounter {
+
+    /**
+     * Counts the JDBC statements prepared by the callable, once pending changes are flushed.
+     * Requires the "hibernate.generate_statistics" property (enabled by the test profile).
+     */
+    public static long count(EntityManager entityManager, Callable callable) {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        if (!statistics.isStatisticsEnabled())
+            throw new IllegalStateException("Hibernate statistics are disabled");
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        callable.call();
+        entityManager.flush();
+
+        return statistics.getPrepareStatementCount();
+    }
+}